@@ -43,6 +43,8 @@ public enum Group
     LOG_ROTATION( "LogRotation" ),
     /** Checkpoint and store flush. */
     CHECKPOINT( "CheckPoint" ),
+    /** Forces the transaction log on behalf of committing transactions, when the dedicated transaction log flusher is enabled. */
+    TRANSACTION_LOG_FLUSHER( "TransactionLogFlusher" ),
     /** Various little periodic tasks that need to be done on a regular basis to keep the store in good shape. */
     STORAGE_MAINTENANCE( "StorageMaintenance" ),
     /** Index recovery cleanup. */
@@ -65,7 +67,7 @@ public enum Group
     /** Background index sampling */
     INDEX_SAMPLING( "IndexSampling" ),
     /** Background index update applier, for eventually consistent indexes. */
-    INDEX_UPDATING( "IndexUpdating", ExecutorServiceFactory.singleThread() ), // Single-threaded to serialise updates with opening/closing/flushing of indexes.
+    INDEX_UPDATING( "IndexUpdating" ), // Updates are serialised per entity, and with flushing/closing of indexes, by the IndexUpdateSink.
     /** Thread pool for anyone who want some help doing file IO in parallel. */
     FILE_IO_HELPER( "FileIOHelper" ),
     NATIVE_SECURITY( "NativeSecurity" ),
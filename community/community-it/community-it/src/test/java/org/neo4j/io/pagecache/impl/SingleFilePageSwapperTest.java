@@ -144,6 +144,21 @@ public class SingleFilePageSwapperTest extends PageSwapperTest
         }
     }
 
+    @Test
+    void directIOForAllFilesMustUseBufferedIOWhenPageSizeIsNotMultipleOfBlockSize() throws IOException
+    {
+        PageSwapperFactory factory = new SingleFilePageSwapperFactory( getFs(), true );
+        try ( var swapper = createSwapper( factory, getPath(), 17, null, true ) )
+        {
+            long page = createPage( 17 );
+            UnsafeUtil.putByte( page, (byte) 42 );
+            assertEquals( 17, swapper.write( 0, page ) );
+            UnsafeUtil.putByte( page, (byte) 0 );
+            assertEquals( 17, swapper.read( 0, page ) );
+            assertEquals( 42, UnsafeUtil.getByte( page ) );
+        }
+    }
+
     @Test
     void reportExternalIoOnSwapIn() throws IOException
     {
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.scheduler.JobHandle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class FaultStreamsTest
+{
+    private final DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+    private final FaultStreams streams = new FaultStreams( tracer );
+    private long nanos;
+
+    @ValueSource( longs = {1, -1, 4, -16} )
+    @ParameterizedTest
+    void mustHandOutWindowOnceStrideHasBeenConfirmed( long stride )
+    {
+        long filePageId = 1000;
+        assertThat( fault( filePageId ) ).isNull();
+        assertThat( fault( filePageId += stride ) ).isNull();
+        FaultStreams.Window window = fault( filePageId += stride );
+
+        assertThat( window ).isNotNull();
+        assertThat( window.startPageId ).isEqualTo( filePageId + stride );
+        assertThat( window.stride ).isEqualTo( stride );
+        assertThat( window.pages ).isBetween( FaultStreams.MIN_WINDOW, FaultStreams.MAX_WINDOW );
+    }
+
+    @Test
+    void mustNotHandOutWindowsForFaultsThatAreFarApart()
+    {
+        long filePageId = 0;
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertThat( fault( filePageId += FaultStreams.MAX_STRIDE + 1 ) ).isNull();
+        }
+    }
+
+    @Test
+    void mustDetectInterleavedStreams()
+    {
+        assertThat( fault( 100 ) ).isNull();
+        assertThat( fault( 5000 ) ).isNull();
+        assertThat( fault( 101 ) ).isNull();
+        assertThat( fault( 4998 ) ).isNull();
+        assertThat( fault( 102 ) ).isNotNull();
+        assertThat( fault( 4996 ) ).isNotNull();
+    }
+
+    @Test
+    void mustNotHandOutNewWindowWhileWindowIsInFlight()
+    {
+        fault( 0 );
+        fault( 1 );
+        FaultStreams.Window window = fault( 2 );
+        assertThat( window ).isNotNull();
+
+        // The cursor got ahead of the pre-fetcher, and faulted the page right after the window itself.
+        long nextPageId = window.startPageId + window.pages;
+        assertThat( fault( nextPageId ) ).isNull();
+        assertThat( fault( nextPageId + 1 ) ).isNull();
+
+        streams.windowDone( window );
+        assertThat( fault( nextPageId + 2 ) ).isNotNull();
+    }
+
+    @Test
+    void mustGrowWindowAndCountHitsWhenStreamContinuesPastWindow()
+    {
+        fault( 0 );
+        fault( 1 );
+        FaultStreams.Window first = fault( 2 );
+        streams.windowDone( first );
+
+        FaultStreams.Window second = fault( first.startPageId + first.pages );
+        assertThat( second ).isNotNull();
+        assertThat( second.startPageId ).isEqualTo( first.startPageId + first.pages + 1 );
+        assertThat( second.pages ).isGreaterThanOrEqualTo( Math.min( first.pages * 2, FaultStreams.MAX_WINDOW ) );
+        assertThat( tracer.preFetchHits() ).isEqualTo( first.pages );
+        assertThat( tracer.preFetchWaste() ).isZero();
+    }
+
+    @Test
+    void mustCountWasteWhenStreamWithWindowIsAbandoned()
+    {
+        fault( 0 );
+        fault( 1 );
+        FaultStreams.Window window = fault( 2 );
+        streams.windowDone( window );
+
+        // Push the stream out of the table with unrelated faults.
+        long filePageId = 1_000_000;
+        for ( int i = 0; i < 100; i++ )
+        {
+            fault( filePageId += FaultStreams.MAX_STRIDE + 1 );
+        }
+        assertThat( tracer.preFetchHits() ).isZero();
+        assertThat( tracer.preFetchWaste() ).isEqualTo( window.pages );
+    }
+
+    @Test
+    void mustSizeWindowFromFaultLatency()
+    {
+        // Each page takes 10 microseconds to process, but 1 millisecond to fault in.
+        long latency = 1_000_000;
+        long processing = 10_000;
+        streams.pageFaulted( 0, latency, nanos += latency + processing );
+        streams.pageFaulted( 1, latency, nanos += latency + processing );
+        FaultStreams.Window window = streams.pageFaulted( 2, latency, nanos += latency + processing );
+
+        // A hundred pages are processed in the time it takes to fault in one, so the window is twice that.
+        assertThat( window.pages ).isEqualTo( 200 );
+    }
+
+    @Test
+    void closeMustCancelWindowsInFlightAndStopHandingOutWindows()
+    {
+        fault( 0 );
+        fault( 1 );
+        FaultStreams.Window inFlight = fault( 2 );
+        JobHandle<?> inFlightJob = mock( JobHandle.class );
+        streams.windowStarted( inFlight, inFlightJob );
+        fault( 100 );
+        fault( 101 );
+        FaultStreams.Window done = fault( 102 );
+        JobHandle<?> doneJob = mock( JobHandle.class );
+        streams.windowStarted( done, doneJob );
+        streams.windowDone( done );
+
+        streams.close();
+
+        assertThat( streams.isClosed() ).isTrue();
+        verify( inFlightJob ).cancel();
+        verify( doneJob, never() ).cancel();
+        assertThat( fault( inFlight.startPageId + inFlight.pages ) ).isNull();
+    }
+
+    @Test
+    void jobOfWindowStartedAfterCloseMustBeCancelled()
+    {
+        fault( 0 );
+        fault( 1 );
+        FaultStreams.Window window = fault( 2 );
+
+        streams.close();
+        JobHandle<?> job = mock( JobHandle.class );
+        streams.windowStarted( window, job );
+
+        verify( job ).cancel();
+    }
+
+    private FaultStreams.Window fault( long filePageId )
+    {
+        nanos += 1000;
+        return streams.pageFaulted( filePageId, 100, nanos );
+    }
+}
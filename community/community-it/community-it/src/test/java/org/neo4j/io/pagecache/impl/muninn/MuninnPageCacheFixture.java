@@ -35,6 +35,41 @@ public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnP
 {
     CountDownLatch backgroundFlushLatch;
     private MemoryAllocator allocator;
+    private EvictionPolicy evictionPolicy = EvictionPolicy.CLOCK;
+    private boolean streamPreFetching;
+    private long compressedTierSize;
+    private int maxFlushRunPages = Integer.MAX_VALUE;
+    private int maxFlushCleanGap;
+
+    public MuninnPageCacheFixture withEvictionPolicy( EvictionPolicy evictionPolicy )
+    {
+        this.evictionPolicy = evictionPolicy;
+        return this;
+    }
+
+    public MuninnPageCacheFixture withStreamPreFetching( boolean streamPreFetching )
+    {
+        this.streamPreFetching = streamPreFetching;
+        return this;
+    }
+
+    public MuninnPageCacheFixture withCompressedTierSize( long compressedTierSize )
+    {
+        this.compressedTierSize = compressedTierSize;
+        return this;
+    }
+
+    public MuninnPageCacheFixture withMaxFlushRunPages( int maxFlushRunPages )
+    {
+        this.maxFlushRunPages = maxFlushRunPages;
+        return this;
+    }
+
+    public MuninnPageCacheFixture withMaxFlushCleanGap( int maxFlushCleanGap )
+    {
+        this.maxFlushCleanGap = maxFlushCleanGap;
+        return this;
+    }
 
     @Override
     public MuninnPageCache createPageCache( PageSwapperFactory swapperFactory, int maxPages, PageCacheTracer tracer,
@@ -45,6 +80,11 @@ public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnP
         allocator = MemoryAllocator.createAllocator( memory, memoryTracker );
         MuninnPageCache.Configuration configuration = MuninnPageCache.config( allocator )
                 .pageCacheTracer( tracer )
+                .evictionPolicy( evictionPolicy )
+                .streamPreFetching( streamPreFetching )
+                .compressedTierSize( compressedTierSize )
+                .maxFlushRunPages( maxFlushRunPages )
+                .maxFlushCleanGap( maxFlushCleanGap )
                 .bufferFactory( selectBufferFactory( bufferFactory, memoryTracker ) );
         return new MuninnPageCache( swapperFactory, jobScheduler, configuration );
     }
@@ -21,6 +21,7 @@ package org.neo4j.io.pagecache.impl.muninn;
 
 import org.junit.jupiter.api.Test;
 
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.pagecache.stress.Condition;
 import org.neo4j.io.pagecache.stress.PageCacheStressTest;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
@@ -28,6 +29,7 @@ import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
 import org.neo4j.test.rule.TestDirectory;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.io.pagecache.stress.Conditions.numberOfEvictions;
 
 /**
@@ -57,4 +59,21 @@ class MuninnPageCacheStressIT
 
         runner.run();
     }
+
+    @Test
+    void shouldHandleTheStressOfManyManyEvictionsWithCompressedTier() throws Exception
+    {
+        DefaultPageCacheTracer monitor = new DefaultPageCacheTracer();
+        Condition condition = numberOfEvictions( monitor, 100_000 );
+
+        PageCacheStressTest runner = new PageCacheStressTest.Builder()
+                .withWorkingDirectory( testDirectory.homePath() )
+                .withCompressedTierSize( ByteUnit.mebiBytes( 16 ) )
+                .with( monitor )
+                .with( condition )
+                .build();
+
+        runner.run();
+        assertThat( monitor.compressedTierHits() ).isGreaterThan( 0 );
+    }
 }
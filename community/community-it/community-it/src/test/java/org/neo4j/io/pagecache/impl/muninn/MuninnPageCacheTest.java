@@ -20,10 +20,12 @@
 package org.neo4j.io.pagecache.impl.muninn;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.eclipse.collections.api.factory.Sets;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -32,7 +34,12 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.IntSupplier;
+import java.util.stream.LongStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.pagecache.ConfigurableIOBufferFactory;
@@ -54,6 +61,7 @@ import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.VersionContext;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.DelegatingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.EvictionEvent;
@@ -71,11 +79,13 @@ import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
 import org.neo4j.memory.ScopedMemoryTracker;
 
+import static java.nio.file.StandardOpenOption.CREATE;
 import static java.time.Duration.ofMillis;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -83,7 +93,11 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_buffered_flush_enabled;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_flush_buffer_size_in_pages;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACTORY;
@@ -296,6 +310,653 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    void scanResistantEvictionMustKeepFrequentlyUsedPagesDuringSequentialScans() throws Exception
+    {
+        fixture.withEvictionPolicy( EvictionPolicy.SCAN_RESISTANT );
+        int filePages = 1000;
+        try ( MuninnPageCache pageCache = createPageCache( fs, 100, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < filePages; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+            for ( int i = 0; i < 3; i++ )
+            {
+                for ( int pageId = 0; pageId < 2; pageId++ )
+                {
+                    try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK, NULL ) )
+                    {
+                        assertTrue( cursor.next() );
+                    }
+                }
+            }
+
+            for ( int i = 0; i < 3; i++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( 2, PF_SHARED_READ_LOCK | PF_READ_AHEAD, NULL ) )
+                {
+                    while ( cursor.next() )
+                    {
+                        long value;
+                        do
+                        {
+                            value = cursor.getLong();
+                        }
+                        while ( cursor.shouldRetry() );
+                        assertEquals( cursor.getCurrentPageId(), value );
+                    }
+                }
+            }
+
+            for ( int pageId = 0; pageId < 2; pageId++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK | PF_NO_FAULT, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                    assertEquals( pageId, cursor.getCurrentPageId() );
+                }
+            }
+        }
+    }
+
+    @Test
+    void clockEvictionMustReportDemotionsOfFrequentlyUsedPages() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, blockCacheFlush( tracer ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            for ( int i = 0; i < 2; i++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+            }
+
+            long clockArm = pageCache.evictPages( 1, 0, EvictionRunEvent.NULL );
+            assertThat( clockArm ).isEqualTo( 1L );
+            assertThat( tracer.demotions() ).isEqualTo( 1L );
+        }
+    }
+
+    @Test
+    void faultAheadMustReadMissingPagesInBatchesWithoutPinningThem() throws Exception
+    {
+        int filePages = 20;
+        try ( MuninnPageCache pageCache = createPageCache( fs, 100, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < filePages; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+        }
+
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        PageCursorTracer cursorTracer = tracer.createPageCursorTracer( "faultAheadMustReadMissingPagesInBatchesWithoutPinningThem" );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 100, blockCacheFlush( tracer ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 5, PF_SHARED_READ_LOCK, new CursorContext( cursorTracer ) ) )
+            {
+                assertTrue( cursor.next() );
+            }
+            try ( MuninnPageCursor cursor = (MuninnPageCursor) pagedFile.io( 0, PF_SHARED_READ_LOCK, new CursorContext( cursorTracer ) ) )
+            {
+                // Page 5 is already in memory, so it is skipped over, and the batch is cut short by the end of the file.
+                assertEquals( filePages - 2, cursor.faultAhead( 2, filePages * 2 ) );
+                assertEquals( UNBOUND_PAGE_ID, cursor.getCurrentPageId() );
+            }
+            assertEquals( filePages - 2, cursorTracer.faults() );
+            assertEquals( cursorTracer.pins(), cursorTracer.unpins() );
+
+            for ( int pageId = 2; pageId < filePages; pageId++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK | PF_NO_FAULT, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                    assertEquals( pageId, cursor.getCurrentPageId() );
+                    long value;
+                    do
+                    {
+                        value = cursor.getLong();
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertEquals( pageId, value );
+                }
+            }
+        }
+    }
+
+    @Test
+    void faultAheadMustReleasePagesAndLatchesOnlyOnceWhenReadOfRunFails() throws Exception
+    {
+        int filePages = 20;
+        try ( MuninnPageCache pageCache = createPageCache( fs, 100, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < filePages; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+        }
+
+        MutableBoolean failNextVectoredRead = new MutableBoolean();
+        PageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory( fs )
+        {
+            @Override
+            public PageSwapper createPageSwapper( Path file, int filePageSize, PageEvictionCallback onEviction, boolean createIfNotExist,
+                    boolean useDirectIO, boolean preallocateStoreFiles, IOController ioController, SwapperSet swappers ) throws IOException
+            {
+                return new DelegatingPageSwapper(
+                        super.createPageSwapper( file, filePageSize, onEviction, createIfNotExist, useDirectIO, preallocateStoreFiles, ioController,
+                                swappers ) )
+                {
+                    @Override
+                    public long read( long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length ) throws IOException
+                    {
+                        if ( failNextVectoredRead.isTrue() )
+                        {
+                            failNextVectoredRead.setFalse();
+                            throw new IOException( "boom" );
+                        }
+                        return super.read( startFilePageId, bufferAddresses, bufferLengths, length );
+                    }
+                };
+            }
+        };
+        try ( MuninnPageCache pageCache = createPageCache( swapperFactory, 100, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 5, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+            }
+            try ( MuninnPageCursor cursor = (MuninnPageCursor) pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                // The run of pages 2 to 4 is cut short by page 5, and the read of that run fails partway through the batch.
+                // Unlocking the pages of the run a second time would fail with an IllegalMonitorStateException instead.
+                failNextVectoredRead.setTrue();
+                IOException exception = assertThrows( IOException.class, () -> cursor.faultAhead( 2, filePages ) );
+                assertEquals( "boom", exception.getMessage() );
+                assertThat( exception.getSuppressed() ).isEmpty();
+
+                // The latches of the failed run have been released, so the same pages can be faulted ahead again.
+                assertEquals( filePages - 2, cursor.faultAhead( 2, filePages ) );
+            }
+
+            for ( int pageId = 2; pageId < filePages; pageId++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK | PF_NO_FAULT, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                    long value;
+                    do
+                    {
+                        value = cursor.getLong();
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertEquals( pageId, value );
+                }
+            }
+        }
+    }
+
+    @Test
+    void streamPreFetchingMustPreFetchPagesAheadOfFaultsFromManyCursors() throws Exception
+    {
+        int filePages = 100;
+        try ( MuninnPageCache pageCache = createPageCache( fs, 200, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < filePages; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+        }
+
+        fixture.withStreamPreFetching( true );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 200, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            // Every page is read by its own cursor, like when following a chain of records, and the pages are read backwards.
+            for ( int pageId = 50; pageId > 47; pageId-- )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+            }
+
+            assertTimeoutPreemptively( ofMillis( 10_000 ), () ->
+            {
+                for ( int pageId = 47; pageId > 47 - FaultStreams.MIN_WINDOW; pageId-- )
+                {
+                    boolean inMemory;
+                    do
+                    {
+                        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK | PF_NO_FAULT, NULL ) )
+                        {
+                            inMemory = cursor.next() && cursor.getCurrentPageId() == pageId;
+                        }
+                        Thread.onSpinWait();
+                    }
+                    while ( !inMemory );
+                }
+            } );
+        }
+    }
+
+    @Test
+    void compressedTierMustServeFaultsOfEvictedPagesWithoutReadingTheFile() throws Exception
+    {
+        int filePages = 20;
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        PageCursorTracer cursorTracer = tracer.createPageCursorTracer( "compressedTierMustServeFaultsOfEvictedPagesWithoutReadingTheFile" );
+        fixture.withCompressedTierSize( ByteUnit.mebiBytes( 1 ) );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( tracer ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, filePages, 0 );
+            long bytesRead = cursorTracer.bytesRead();
+            assertPageValues( pagedFile, filePages, 0, new CursorContext( cursorTracer ) );
+
+            // All but the pages that were still in memory came from the compressed tier.
+            assertThat( tracer.compressedTierHits() ).isGreaterThanOrEqualTo( filePages - 4 );
+            assertEquals( bytesRead, cursorTracer.bytesRead() );
+            assertEquals( 0, tracer.compressedTierEvictions() );
+        }
+    }
+
+    @Test
+    void compressedTierMustNotServeStalePagesAfterTheyHaveBeenModified() throws Exception
+    {
+        int filePages = 20;
+        fixture.withCompressedTierSize( ByteUnit.mebiBytes( 1 ) );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, filePages, 0 );
+            assertPageValues( pagedFile, filePages, 0, NULL );
+            writePageValues( pagedFile, filePages, 1000 );
+            assertPageValues( pagedFile, filePages, 1000, NULL );
+        }
+
+        // The file is no longer mapped, so it is written to directly, and then read through a new mapping.
+        try ( StoreChannel channel = fs.write( file( "a" ) ) )
+        {
+            for ( int pageId = 0; pageId < filePages; pageId++ )
+            {
+                ByteBuffer buffer = ByteBuffers.allocate( Long.BYTES, INSTANCE );
+                buffer.putLong( pageId + 2000 ).flip();
+                channel.writeAll( buffer, (long) pageId * PAGE_SIZE );
+            }
+        }
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            assertPageValues( pagedFile, filePages, 2000, NULL );
+            assertPageValues( pagedFile, filePages, 2000, NULL );
+        }
+    }
+
+    @Test
+    void compressedTierMustNotKeepPagesThatDoNotCompressWell() throws Exception
+    {
+        int filePages = 10;
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        fixture.withCompressedTierSize( ByteUnit.mebiBytes( 1 ) );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( tracer ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int pageId = 0; pageId < filePages; pageId++ )
+                {
+                    assertTrue( cursor.next() );
+                    byte[] bytes = new byte[pageCache.pageSize()];
+                    ThreadLocalRandom.current().nextBytes( bytes );
+                    cursor.putBytes( bytes );
+                }
+            }
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                for ( int pageId = 0; pageId < filePages; pageId++ )
+                {
+                    assertTrue( cursor.next() );
+                }
+            }
+            assertEquals( 0, tracer.compressedTierHits() );
+            assertEquals( 0, pageCache.compressedPageTier.pageCount() );
+        }
+    }
+
+    @Test
+    void flushMustWriteCleanPagesBetweenNearbyDirtyPagesInOneVectoredWrite() throws Exception
+    {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        fixture.withMaxFlushCleanGap( 2 ).withBufferFactory( DISABLED_BUFFER_FACTORY );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, blockCacheFlush( tracer ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 10, 0 );
+            pagedFile.flushAndForce();
+            long[] initialRuns = tracer.flushRunLengthHistogram();
+
+            for ( long pageId : new long[]{0, 2, 4, 8} )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_WRITE_LOCK, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( pageId + 1000 );
+                }
+            }
+            pagedFile.flushAndForce();
+
+            // Pages 0 to 4 are written together, but page 8 is too far away from them.
+            long[] runs = runsSince( initialRuns, tracer.flushRunLengthHistogram() );
+            assertEquals( 1, runs[0] );
+            assertEquals( 1, runs[2] );
+            assertEquals( 2, LongStream.of( runs ).sum() );
+        }
+
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                for ( long pageId = 0; pageId < 10; pageId++ )
+                {
+                    assertTrue( cursor.next() );
+                    boolean modified = pageId == 0 || pageId == 2 || pageId == 4 || pageId == 8;
+                    assertEquals( modified ? pageId + 1000 : pageId, cursor.getLong() );
+                }
+            }
+        }
+    }
+
+    @Test
+    void flushMustNotWriteMorePagesThanMaxFlushRunPagesInOneVectoredWrite() throws Exception
+    {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        fixture.withMaxFlushRunPages( 4 ).withBufferFactory( DISABLED_BUFFER_FACTORY );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, blockCacheFlush( tracer ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 10, 0 );
+            pagedFile.flushAndForce();
+
+            // Two runs of 4 pages, and one of 2.
+            long[] runs = tracer.flushRunLengthHistogram();
+            assertEquals( 1, runs[1] );
+            assertEquals( 2, runs[2] );
+            assertEquals( 3, LongStream.of( runs ).sum() );
+            assertPageValues( pagedFile, 10, 0, NULL );
+        }
+    }
+
+    @Test
+    void mustKeepAccessStatisticsPerFileAndTag() throws Exception
+    {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, tracer );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() );
+                PagedFile otherPagedFile = map( pageCache, file( "b" ), pageCache.pageSize(), Sets.immutable.of( CREATE ) ) )
+        {
+            writePageValues( pagedFile, 4, 0 );
+            try ( PageCursorTracer cursorTracer = tracer.createPageCursorTracer( "reader" ) )
+            {
+                assertPageValues( pagedFile, 4, 0, new CursorContext( cursorTracer ) );
+                assertPageValues( pagedFile, 4, 0, new CursorContext( cursorTracer ) );
+            }
+            pagedFile.flushAndForce();
+
+            PagedFileStatistics statistics = pagedFile.statistics();
+            PagedFileStatistics.TagStatistics readerStatistics = statistics.tag( "reader" );
+            assertEquals( 8, readerStatistics.pins() );
+            assertEquals( 8, readerStatistics.hits() );
+            assertEquals( 0, readerStatistics.faults() );
+            PagedFileStatistics.TagStatistics writerStatistics = statistics.tag( PageCursorTracer.NULL.getTag() );
+            assertEquals( 4, writerStatistics.pins() );
+            assertEquals( 4, writerStatistics.faults() );
+            assertEquals( 12, statistics.pins() );
+            assertEquals( 4, statistics.flushes() );
+            assertEquals( 4L * pageCache.pageSize(), statistics.bytesWritten() );
+            assertThat( statistics.tags() ).hasSize( 2 );
+
+            assertEquals( 0, otherPagedFile.statistics().pins() );
+            assertThat( otherPagedFile.statistics().tags() ).isEmpty();
+        }
+    }
+
+    @Test
+    void mustCountEvictionsOfPagesOfFile() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 20, 0 );
+            assertPageValues( pagedFile, 20, 0, NULL );
+
+            assertThat( pagedFile.statistics().evictions() ).isGreaterThanOrEqualTo( 16 );
+            assertEquals( 40, pagedFile.statistics().pins() );
+        }
+    }
+
+    @Test
+    void mustEmitFileStatisticsAsFlightRecorderEvents() throws Exception
+    {
+        Path dump = Files.createTempFile( "page-cache-statistics", ".jfr" );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() );
+                Recording recording = new Recording() )
+        {
+            writePageValues( pagedFile, 4, 0 );
+            recording.enable( PagedFileStatisticsEvent.class ).withPeriod( ofMillis( 10 ) );
+            recording.start();
+            Thread.sleep( 500 );
+            recording.stop();
+            recording.dump( dump );
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents( dump );
+            assertThat( events ).anySatisfy( event ->
+            {
+                assertThat( event.getString( "file" ) ).isEqualTo( pagedFile.path().toString() );
+                assertThat( event.getString( "tag" ) ).isNull();
+                assertThat( event.getLong( "pins" ) ).isEqualTo( 4 );
+            } );
+        }
+        finally
+        {
+            Files.deleteIfExists( dump );
+        }
+    }
+
+    @Test
+    void mustNotRetryReadsOfReadStablePages() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 4, 0 );
+            pagedFile.markReadStable( 0, 4 );
+
+            try ( PageCursor cursor = pagedFile.io( 2, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 2, cursor.getLong() );
+                assertFalse( cursor.shouldRetry() );
+            }
+            assertPageValues( pagedFile, 4, 0, NULL );
+        }
+    }
+
+    @Test
+    void mustNotAllowWritesToReadStablePages() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 4, 0 );
+            pagedFile.markReadStable( 1, 3 );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                assertThrows( IllegalStateException.class, cursor::next );
+                assertThrows( IllegalStateException.class, () -> cursor.next( 2 ) );
+                assertTrue( cursor.next( 3 ) );
+            }
+
+            pagedFile.clearReadStable( 1, 3 );
+            try ( PageCursor cursor = pagedFile.io( 1, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 42 );
+            }
+        }
+    }
+
+    @Test
+    void mustRetryReadOfReadStablePageThatIsNoLongerReadStable() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 4, 0 );
+            pagedFile.markReadStable( 0, 4 );
+
+            try ( PageCursor reader = pagedFile.io( 1, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( reader.next() );
+                pagedFile.clearReadStable( 0, 4 );
+                try ( PageCursor writer = pagedFile.io( 1, PF_SHARED_WRITE_LOCK, NULL ) )
+                {
+                    assertTrue( writer.next() );
+                    writer.putLong( 42 );
+                }
+                assertTrue( reader.shouldRetry() );
+                assertEquals( 42, reader.getLong() );
+                assertFalse( reader.shouldRetry() );
+            }
+        }
+    }
+
+    @Test
+    void mustRetryReadOfReadStablePageThatWasEvicted() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            writePageValues( pagedFile, 20, 0 );
+            pagedFile.markReadStable( 0, 20 );
+
+            try ( PageCursor reader = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( reader.next() );
+                assertPageValues( pagedFile, 20, 0, NULL );
+                assertThat( pagedFile.statistics().evictions() ).isGreaterThanOrEqualTo( 16 );
+
+                assertTrue( reader.shouldRetry() );
+                assertEquals( 0, reader.getLong() );
+            }
+        }
+    }
+
+    private static long[] runsSince( long[] before, long[] after )
+    {
+        long[] runs = new long[after.length];
+        for ( int i = 0; i < runs.length; i++ )
+        {
+            runs[i] = after[i] - before[i];
+        }
+        return runs;
+    }
+
+    private static void writePageValues( PagedFile pagedFile, int filePages, long base ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+        {
+            for ( int pageId = 0; pageId < filePages; pageId++ )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( pageId + base );
+            }
+        }
+    }
+
+    private static void assertPageValues( PagedFile pagedFile, int filePages, long base, CursorContext cursorContext ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, cursorContext ) )
+        {
+            for ( int pageId = 0; pageId < filePages; pageId++ )
+            {
+                assertTrue( cursor.next() );
+                long value;
+                do
+                {
+                    value = cursor.getLong();
+                }
+                while ( cursor.shouldRetry() );
+                assertEquals( pageId + base, value );
+            }
+        }
+    }
+
+    @Test
+    void faultAheadMustStopWhenThereAreNoFreePages() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < 4; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+        }
+
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            for ( int pageId = 0; pageId < 2; pageId++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+            }
+            try ( MuninnPageCursor cursor = (MuninnPageCursor) pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                // The two pages that are in memory are covered, but there is no free page for the third page to go into.
+                assertEquals( 2, cursor.faultAhead( 0, 4 ) );
+            }
+        }
+    }
+
     @Test
     void trackPageModificationTransactionId() throws Exception
     {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.mem.NumaPlacement;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+/**
+ * Pins random pages of a page cache for each of the ways its memory can be backed and placed. Huge pages and NUMA placement are only hints that
+ * the platform is free to ignore, so all that can be verified is that every placement ends up with page cache memory that works.
+ */
+@TestDirectoryExtension
+class PageCacheMemoryPlacementIT
+{
+    private static final int FILE_PAGES = (int) (mebiBytes( 16 ) / PAGE_SIZE);
+    private static final int RANDOM_PINS = 100_000;
+
+    @Inject
+    TestDirectory testDirectory;
+
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void setUp()
+    {
+        jobScheduler = new ThreadPoolJobScheduler();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        jobScheduler.close();
+    }
+
+    private static Stream<Arguments> memoryPlacements()
+    {
+        return Stream.of(
+                Arguments.of( false, NumaPlacement.DEFAULT ),
+                Arguments.of( true, NumaPlacement.DEFAULT ),
+                Arguments.of( true, NumaPlacement.INTERLEAVE ),
+                Arguments.of( true, NumaPlacement.BIND ) );
+    }
+
+    @ParameterizedTest( name = "hugePages={0}, numaPlacement={1}" )
+    @MethodSource( "memoryPlacements" )
+    void randomPinsMustSeeTheContentsOfTheirPage( boolean hugePages, NumaPlacement numaPlacement ) throws IOException
+    {
+        Path file = testDirectory.createFile( "pages" );
+        long memory = MuninnPageCache.memoryRequiredForPages( FILE_PAGES + 1000 );
+        MemoryAllocator allocator = MemoryAllocator.createAllocator( memory, hugePages, numaPlacement, INSTANCE );
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory( testDirectory.getFileSystem() );
+        try ( MuninnPageCache pageCache = new MuninnPageCache( swapperFactory, jobScheduler, MuninnPageCache.config( allocator ) );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < FILE_PAGES; i++ )
+                {
+                    assertThat( cursor.next() ).isTrue();
+                    cursor.putLong( 0, cursor.getCurrentPageId() );
+                    cursor.putLong( PAGE_SIZE - Long.BYTES, ~cursor.getCurrentPageId() );
+                }
+            }
+
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < RANDOM_PINS; i++ )
+                {
+                    long pageId = rng.nextInt( FILE_PAGES );
+                    long first;
+                    long last;
+                    assertThat( cursor.next( pageId ) ).isTrue();
+                    do
+                    {
+                        first = cursor.getLong( 0 );
+                        last = cursor.getLong( PAGE_SIZE - Long.BYTES );
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertThat( first ).isEqualTo( pageId );
+                    assertThat( last ).isEqualTo( ~pageId );
+                }
+            }
+        }
+    }
+}
@@ -1614,6 +1614,37 @@ public class PageListTest
         assertTrue( pageList.decrementUsage( pageRef ) );
     }
 
+    @ParameterizedTest( name = "pageRef = {0}" )
+    @MethodSource( "argumentsProvider" )
+    public void probationaryUsageCounterMustTruncateAtOne( int pageId )
+    {
+        init( pageId );
+
+        pageList.incrementProbationaryUsage( pageRef );
+        pageList.incrementProbationaryUsage( pageRef );
+        assertFalse( pageList.isProtected( pageRef ) );
+        assertTrue( pageList.decrementUsage( pageRef ) );
+        assertTrue( pageList.decrementUsage( pageRef ) );
+    }
+
+    @ParameterizedTest( name = "pageRef = {0}" )
+    @MethodSource( "argumentsProvider" )
+    public void probationaryUsageMustNotDemoteProtectedPage( int pageId )
+    {
+        init( pageId );
+
+        pageList.incrementUsage( pageRef );
+        pageList.incrementUsage( pageRef );
+        pageList.incrementUsage( pageRef );
+        assertTrue( pageList.isProtected( pageRef ) );
+        pageList.incrementProbationaryUsage( pageRef );
+        assertTrue( pageList.isProtected( pageRef ) );
+        assertFalse( pageList.decrementUsage( pageRef ) );
+        assertFalse( pageList.decrementUsage( pageRef ) );
+        assertFalse( pageList.isProtected( pageRef ) );
+        assertTrue( pageList.decrementUsage( pageRef ) );
+    }
+
     @ParameterizedTest( name = "pageRef = {0}" )
     @MethodSource( "argumentsProvider" )
     public void incrementingUsageCounterMustNotInterfereWithAdjacentUsageCounters( int pageId )
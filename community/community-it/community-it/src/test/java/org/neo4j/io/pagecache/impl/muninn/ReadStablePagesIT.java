@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+/**
+ * Readers of {@link PagedFile#markReadStable(long, long) read-stable} pages skip the read lock validation in {@link PageCursor#shouldRetry()}, so they
+ * rely on eviction and {@link PagedFile#clearReadStable(long, long) clearing} to tell them when to retry. This test reads read-stable pages from many
+ * threads, with a page cache that is much smaller than the file, while another thread keeps clearing, rewriting and marking some of the pages again.
+ * No reader must ever see the contents of a page that is torn, or that belongs to another page.
+ */
+@TestDirectoryExtension
+class ReadStablePagesIT
+{
+    private static final int FILE_PAGES = 512;
+    private static final int CACHE_PAGES = 128;
+    private static final int REWRITTEN_PAGES = 64;
+    private static final int VALUES_PER_PAGE = 8;
+    private static final int PINS_PER_READER = 50_000;
+    private static final int READERS = 4;
+
+    @Inject
+    TestDirectory testDirectory;
+
+    private ThreadPoolJobScheduler jobScheduler;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp()
+    {
+        jobScheduler = new ThreadPoolJobScheduler();
+        executor = Executors.newFixedThreadPool( READERS + 1 );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdown();
+        jobScheduler.close();
+    }
+
+    @Test
+    void readersOfReadStablePagesMustSeeConsistentPagesDespiteEvictionAndClearing() throws Exception
+    {
+        Path file = testDirectory.createFile( "pages" );
+        MemoryAllocator allocator = MemoryAllocator.createAllocator( MuninnPageCache.memoryRequiredForPages( CACHE_PAGES ), INSTANCE );
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory( testDirectory.getFileSystem() );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( MuninnPageCache pageCache = new MuninnPageCache( swapperFactory, jobScheduler, MuninnPageCache.config( allocator ).pageCacheTracer( tracer ) );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            writePages( pagedFile, 0, FILE_PAGES, 0 );
+            pagedFile.markReadStable( 0, FILE_PAGES );
+
+            AtomicBoolean readersDone = new AtomicBoolean();
+            Future<Integer> writer = executor.submit( () ->
+            {
+                int generation = 0;
+                while ( !readersDone.get() )
+                {
+                    generation++;
+                    pagedFile.clearReadStable( 0, REWRITTEN_PAGES );
+                    writePages( pagedFile, 0, REWRITTEN_PAGES, generation );
+                    pagedFile.markReadStable( 0, REWRITTEN_PAGES );
+                }
+                return generation;
+            } );
+            List<Future<?>> readers = new ArrayList<>();
+            for ( int i = 0; i < READERS; i++ )
+            {
+                readers.add( executor.submit( () ->
+                {
+                    readRandomPages( pagedFile );
+                    return null;
+                } ) );
+            }
+            try
+            {
+                for ( Future<?> reader : readers )
+                {
+                    reader.get();
+                }
+            }
+            finally
+            {
+                readersDone.set( true );
+            }
+            assertThat( writer.get() ).isPositive();
+            assertThat( tracer.evictions() ).isPositive();
+        }
+    }
+
+    private static void writePages( PagedFile pagedFile, long startPageId, long endPageId, int generation ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( startPageId, PF_SHARED_WRITE_LOCK, NULL ) )
+        {
+            for ( long pageId = startPageId; pageId < endPageId; pageId++ )
+            {
+                assertThat( cursor.next( pageId ) ).isTrue();
+                for ( int i = 0; i < VALUES_PER_PAGE; i++ )
+                {
+                    cursor.putLong( i * Long.BYTES, value( pageId, generation ) );
+                }
+            }
+        }
+    }
+
+    private static void readRandomPages( PagedFile pagedFile ) throws IOException
+    {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        long[] values = new long[VALUES_PER_PAGE];
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+        {
+            for ( int i = 0; i < PINS_PER_READER; i++ )
+            {
+                long pageId = rng.nextInt( FILE_PAGES );
+                assertThat( cursor.next( pageId ) ).isTrue();
+                do
+                {
+                    for ( int j = 0; j < VALUES_PER_PAGE; j++ )
+                    {
+                        values[j] = cursor.getLong( j * Long.BYTES );
+                    }
+                }
+                while ( cursor.shouldRetry() );
+                assertThat( values[0] & 0xFFFF_FFFFL ).as( "page id of page %d", pageId ).isEqualTo( pageId );
+                if ( pageId >= REWRITTEN_PAGES )
+                {
+                    assertThat( values[0] ).isEqualTo( value( pageId, 0 ) );
+                }
+                for ( int j = 1; j < VALUES_PER_PAGE; j++ )
+                {
+                    assertThat( values[j] ).as( "value %d of page %d", j, pageId ).isEqualTo( values[0] );
+                }
+            }
+        }
+    }
+
+    private static long value( long pageId, int generation )
+    {
+        return ((long) generation << 32) | pageId;
+    }
+}
@@ -121,6 +121,42 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         return delegate.evictionExceptions();
     }
 
+    @Override
+    public long demotions()
+    {
+        return delegate.demotions();
+    }
+
+    @Override
+    public long preFetchHits()
+    {
+        return delegate.preFetchHits();
+    }
+
+    @Override
+    public long preFetchWaste()
+    {
+        return delegate.preFetchWaste();
+    }
+
+    @Override
+    public long compressedTierHits()
+    {
+        return delegate.compressedTierHits();
+    }
+
+    @Override
+    public long compressedTierEvictions()
+    {
+        return delegate.compressedTierEvictions();
+    }
+
+    @Override
+    public long[] flushRunLengthHistogram()
+    {
+        return delegate.flushRunLengthHistogram();
+    }
+
     @Override
     public double hitRatio()
     {
@@ -193,6 +229,36 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         delegate.evictionExceptions( evictionExceptions );
     }
 
+    @Override
+    public void demotions( long demotions )
+    {
+        delegate.demotions( demotions );
+    }
+
+    @Override
+    public void preFetchHits( long preFetchHits )
+    {
+        delegate.preFetchHits( preFetchHits );
+    }
+
+    @Override
+    public void preFetchWaste( long preFetchWaste )
+    {
+        delegate.preFetchWaste( preFetchWaste );
+    }
+
+    @Override
+    public void compressedTierHits( long compressedTierHits )
+    {
+        delegate.compressedTierHits( compressedTierHits );
+    }
+
+    @Override
+    public void compressedTierEvictions( long compressedTierEvictions )
+    {
+        delegate.compressedTierEvictions( compressedTierEvictions );
+    }
+
     @Override
     public void bytesWritten( long bytesWritten )
     {
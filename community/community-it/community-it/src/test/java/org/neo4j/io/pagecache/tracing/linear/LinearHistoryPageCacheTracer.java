@@ -162,6 +162,42 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
         return 0;
     }
 
+    @Override
+    public long demotions()
+    {
+        return 0;
+    }
+
+    @Override
+    public long preFetchHits()
+    {
+        return 0;
+    }
+
+    @Override
+    public long preFetchWaste()
+    {
+        return 0;
+    }
+
+    @Override
+    public long compressedTierHits()
+    {
+        return 0;
+    }
+
+    @Override
+    public long compressedTierEvictions()
+    {
+        return 0;
+    }
+
+    @Override
+    public long[] flushRunLengthHistogram()
+    {
+        return new long[0];
+    }
+
     @Override
     public double hitRatio()
     {
@@ -227,6 +263,31 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
     {
     }
 
+    @Override
+    public void demotions( long demotions )
+    {
+    }
+
+    @Override
+    public void preFetchHits( long preFetchHits )
+    {
+    }
+
+    @Override
+    public void preFetchWaste( long preFetchWaste )
+    {
+    }
+
+    @Override
+    public void compressedTierHits( long compressedTierHits )
+    {
+    }
+
+    @Override
+    public void compressedTierEvictions( long compressedTierEvictions )
+    {
+    }
+
     @Override
     public void bytesWritten( long bytesWritten )
     {
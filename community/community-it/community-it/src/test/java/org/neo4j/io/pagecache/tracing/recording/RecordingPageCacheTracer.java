@@ -180,6 +180,42 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public long demotions()
+    {
+        return 0;
+    }
+
+    @Override
+    public long preFetchHits()
+    {
+        return 0;
+    }
+
+    @Override
+    public long preFetchWaste()
+    {
+        return 0;
+    }
+
+    @Override
+    public long compressedTierHits()
+    {
+        return 0;
+    }
+
+    @Override
+    public long compressedTierEvictions()
+    {
+        return 0;
+    }
+
+    @Override
+    public long[] flushRunLengthHistogram()
+    {
+        return new long[0];
+    }
+
     @Override
     public double hitRatio()
     {
@@ -248,6 +284,31 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     {
     }
 
+    @Override
+    public void demotions( long demotions )
+    {
+    }
+
+    @Override
+    public void preFetchHits( long preFetchHits )
+    {
+    }
+
+    @Override
+    public void preFetchWaste( long preFetchWaste )
+    {
+    }
+
+    @Override
+    public void compressedTierHits( long compressedTierHits )
+    {
+    }
+
+    @Override
+    public void compressedTierEvictions( long compressedTierEvictions )
+    {
+    }
+
     @Override
     public void bytesWritten( long bytesWritten )
     {
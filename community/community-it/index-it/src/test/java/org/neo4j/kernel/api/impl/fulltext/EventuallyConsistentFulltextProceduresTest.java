@@ -48,6 +48,8 @@ class EventuallyConsistentFulltextProceduresTest extends FulltextProceduresTestS
     {
         super.configure( builder );
         builder.setConfig( FulltextSettings.eventually_consistent, true );
+        // The test blocks the index updates by occupying the single index update thread
+        builder.setConfig( FulltextSettings.eventually_consistent_index_update_workers, 1 );
     }
 
     @Test
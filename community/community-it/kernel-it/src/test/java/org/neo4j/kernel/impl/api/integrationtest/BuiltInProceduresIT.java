@@ -49,7 +49,10 @@ import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingMode;
 import org.neo4j.kernel.internal.Version;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.LongValue;
+import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Values;
 import org.neo4j.values.virtual.ListValue;
 import org.neo4j.values.virtual.VirtualValues;
@@ -67,6 +70,7 @@ import static org.neo4j.internal.kernel.api.procs.ProcedureCallContext.EMPTY;
 import static org.neo4j.internal.kernel.api.procs.ProcedureSignature.procedureName;
 import static org.neo4j.internal.kernel.api.security.LoginContext.AUTH_DISABLED;
 import static org.neo4j.internal.schema.SchemaDescriptor.forLabel;
+import static org.neo4j.values.storable.Values.NO_VALUE;
 import static org.neo4j.values.storable.Values.doubleValue;
 import static org.neo4j.values.storable.Values.longValue;
 import static org.neo4j.values.storable.Values.stringValue;
@@ -202,6 +206,109 @@ class BuiltInProceduresIT extends CommunityProcedureITBase
         assertThat( asList( stream ) ).containsExactly( new AnyValue[]{stringValue( "MyRelType" )} );
     }
 
+    @Test
+    void listPageCacheFileStats() throws Throwable
+    {
+        // Given
+        KernelTransaction transaction = newTransaction( AnonymousContext.writeToken() );
+        transaction.dataWrite().nodeCreate();
+        commit();
+
+        // When
+        RawIterator<AnyValue[],ProcedureException> stream =
+                procs().procedureCallDbms( procs().procedureGet( procedureName( "dbms", "pageCache", "fileStats" ) ).id(), new AnyValue[0], EMPTY );
+
+        // Then
+        List<AnyValue[]> rows = asList( stream );
+        assertThat( rows ).anySatisfy( row ->
+        {
+            assertThat( row[0] ).isEqualTo( stringValue( db.databaseName() ) );
+            assertThat( ((TextValue) row[1]).stringValue() ).endsWith( "neostore.nodestore.db" );
+            assertThat( row[2] ).isEqualTo( NO_VALUE );
+            assertThat( ((LongValue) row[3]).longValue() ).isGreaterThan( 0 );
+        } );
+        assertThat( rows ).anySatisfy( row ->
+        {
+            assertThat( ((TextValue) row[1]).stringValue() ).endsWith( "neostore.nodestore.db" );
+            assertThat( row[2] ).isInstanceOf( TextValue.class );
+        } );
+
+        commit();
+    }
+
+    @Test
+    void streamChangesFromTransactionLog() throws Throwable
+    {
+        // Given
+        long fromTransactionId = dependencyResolver.resolveDependency( TransactionIdStore.class ).getLastClosedTransactionId() + 1;
+        KernelTransaction transaction = newTransaction( AnonymousContext.writeToken() );
+        long node = transaction.dataWrite().nodeCreate();
+        int label = transaction.tokenWrite().labelGetOrCreateForName( "MyLabel" );
+        int name = transaction.tokenWrite().propertyKeyGetOrCreateForName( "name" );
+        transaction.dataWrite().nodeAddLabel( node, label );
+        transaction.dataWrite().nodeSetProperty( node, name, stringValue( "Alice" ) );
+        commit();
+
+        // When
+        RawIterator<AnyValue[],ProcedureException> stream = procs().procedureCallRead( procs().procedureGet( procedureName( "db", "changes" ) ).id(),
+                new AnyValue[]{longValue( fromTransactionId ), longValue( 0 )}, EMPTY );
+
+        // Then
+        List<AnyValue[]> rows = asList( stream );
+        assertThat( rows ).extracting( row -> row[2] )
+                .containsExactly( stringValue( "NODE_CREATED" ), stringValue( "LABEL_ADDED" ), stringValue( "NODE_PROPERTY_SET" ) );
+        assertThat( rows ).allSatisfy( row -> assertThat( row[3] ).isEqualTo( longValue( node ) ) );
+        assertThat( rows.get( 1 )[4] ).isEqualTo( stringValue( "MyLabel" ) );
+        assertThat( rows.get( 2 )[4] ).isEqualTo( stringValue( "name" ) );
+        assertThat( rows.get( 2 )[7] ).isEqualTo( NO_VALUE );
+        assertThat( rows.get( 2 )[8] ).isEqualTo( stringValue( "Alice" ) );
+
+        commit();
+    }
+
+    @Test
+    void streamLabelChangesOfNodeWithDynamicLabelsDeletedSince() throws Throwable
+    {
+        // Given a node with more labels than fit in its record
+        KernelTransaction transaction = newTransaction( AnonymousContext.writeToken() );
+        long node = transaction.dataWrite().nodeCreate();
+        int[] labels = new int[20];
+        for ( int i = 0; i < labels.length; i++ )
+        {
+            labels[i] = transaction.tokenWrite().labelGetOrCreateForName( "Label" + i );
+            transaction.dataWrite().nodeAddLabel( node, labels[i] );
+        }
+        int added = transaction.tokenWrite().labelGetOrCreateForName( "Added" );
+        commit();
+
+        // and a transaction changing its labels, followed by one deleting the node
+        long fromTransactionId = dependencyResolver.resolveDependency( TransactionIdStore.class ).getLastClosedTransactionId() + 1;
+        transaction = newTransaction( AnonymousContext.writeToken() );
+        transaction.dataWrite().nodeAddLabel( node, added );
+        transaction.dataWrite().nodeRemoveLabel( node, labels[0] );
+        commit();
+        transaction = newTransaction( AnonymousContext.writeToken() );
+        transaction.dataWrite().nodeDelete( node );
+        commit();
+
+        // When
+        RawIterator<AnyValue[],ProcedureException> stream = procs().procedureCallRead( procs().procedureGet( procedureName( "db", "changes" ) ).id(),
+                new AnyValue[]{longValue( fromTransactionId ), longValue( 0 )}, EMPTY );
+
+        // Then the label changes are those made at the time, not read from the store where the node is gone
+        List<AnyValue[]> rows = asList( stream );
+        assertThat( rows ).hasSize( 2 + labels.length + 1 );
+        assertThat( rows.get( 0 )[2] ).isEqualTo( stringValue( "LABEL_ADDED" ) );
+        assertThat( rows.get( 0 )[4] ).isEqualTo( stringValue( "Added" ) );
+        assertThat( rows.get( 1 )[2] ).isEqualTo( stringValue( "LABEL_REMOVED" ) );
+        assertThat( rows.get( 1 )[4] ).isEqualTo( stringValue( "Label0" ) );
+        assertThat( rows.subList( 2, 2 + labels.length ) ).allSatisfy( row -> assertThat( row[2] ).isEqualTo( stringValue( "LABEL_REMOVED" ) ) );
+        assertThat( rows.get( rows.size() - 1 )[2] ).isEqualTo( stringValue( "NODE_DELETED" ) );
+        assertThat( rows ).allSatisfy( row -> assertThat( row[3] ).isEqualTo( longValue( node ) ) );
+
+        commit();
+    }
+
     @Test
     void failWhenCallingNonExistingProcedures()
     {
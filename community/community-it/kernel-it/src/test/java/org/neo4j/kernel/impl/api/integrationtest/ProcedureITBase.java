@@ -149,6 +149,14 @@ public interface ProcedureITBase
                         "Triggers an index resample and waits for it to complete, and after that clears query caches." +
                                 " After this procedure has finished queries will be planned using the latest database " + "statistics.",
                         stringArray( "admin" ), "READ" ),
+                proc( "db.changes", "(fromTransactionId :: INTEGER?, timeoutMillis = 0 :: INTEGER?) :: (transactionId :: INTEGER?, commitTime :: INTEGER?, " +
+                                "change :: STRING?, entityId :: INTEGER?, token :: STRING?, startNode :: INTEGER?, endNode :: INTEGER?, before :: ANY?, " +
+                                "after :: ANY?)",
+                        "Stream the changes to nodes and relationships made by the transactions committed from the given transaction id and onwards, " +
+                        "as read from the transaction log. The stream ends when it has caught up with the committed transactions. " +
+                        "If no transactions have been committed from the given transaction id, it waits for one to be committed, " +
+                        "at most for the given timeout.",
+                        stringArray( "admin" ), "READ" ),
                 proc( "db.stats.retrieve", "(section :: STRING?, config = {} :: MAP?) :: (section :: STRING?, data :: MAP?)",
                         "Retrieve statistical data about the current database. Valid sections are 'GRAPH COUNTS', 'TOKENS', 'QUERIES', 'META'",
                         stringArray( "admin" ), "READ" ),
@@ -229,7 +237,12 @@ public interface ProcedureITBase
                         "List all accepted network connections at this instance that are visible to the user.",
                         stringArray( "reader", "editor", "publisher", "architect", "admin" ), "DBMS" ),
                 proc( "dbms.listCapabilities", "() :: (name :: STRING?, description :: STRING?, value :: ANY?)",
-                      "List capabilities", stringArray( "reader", "editor", "publisher", "architect", "admin" ), "DBMS" )
+                      "List capabilities", stringArray( "reader", "editor", "publisher", "architect", "admin" ), "DBMS" ),
+                proc( "dbms.pageCache.fileStats", "() :: (database :: STRING?, file :: STRING?, tag :: STRING?, pins :: INTEGER?, hits :: INTEGER?, " +
+                                "faults :: INTEGER?, hitRatio :: FLOAT?, evictions :: INTEGER?, flushes :: INTEGER?, bytesWritten :: INTEGER?)",
+                        "List the access statistics of the files of all databases that are mapped by the page cache. " +
+                        "There is one row for every file as a whole, with no tag, and one for every tag of the page cursor tracers that accessed the file. " +
+                        "Evictions, flushes and written bytes are only counted for the file as a whole.", stringArray( "admin" ), "DBMS", true )
         );
     }
 
@@ -19,6 +19,10 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -40,6 +44,55 @@ public class NodeIndexTransactionStateTest extends IndexTransactionStateTestBase
 {
     private static final String DEFAULT_LABEL = "Node";
 
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldPerformMultiSeekWithTxState( boolean needsValues ) throws Exception
+    {
+        // given
+        Set<Pair<Long,Value>> expected = new HashSet<>();
+        long appleToChange;
+        long dragonfruitToChange;
+        long bananaToDelete;
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            expected.add( entityWithProp( tx, "banana" ) );
+            appleToChange = entityWithPropId( tx, "apple" );
+            dragonfruitToChange = entityWithPropId( tx, "dragonfruit" );
+            bananaToDelete = entityWithPropId( tx, "banana" );
+            entityWithProp( tx, "kiwi" );
+            tx.commit();
+        }
+
+        createIndex();
+
+        // when
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            expected.add( entityWithProp( tx, "banana" ) );
+            expected.add( entityWithProp( tx, "cherry" ) );
+            entityWithProp( tx, "fig" );
+            setProperty( tx, appleToChange, Values.of( "cherry" ) );
+            expected.add( Pair.of( appleToChange, Values.of( "cherry" ) ) );
+            setProperty( tx, dragonfruitToChange, Values.of( "banana" ) );
+            expected.add( Pair.of( dragonfruitToChange, Values.of( "banana" ) ) );
+            deleteEntity( tx, bananaToDelete );
+
+            IndexDescriptor index = tx.schemaRead().indexGetForName( INDEX_NAME );
+            int prop = tx.tokenRead().propertyKey( DEFAULT_PROPERTY_NAME );
+            PropertyIndexQuery.ExactPredicate[][] queries = {
+                    {PropertyIndexQuery.exact( prop, "cherry" )},
+                    {PropertyIndexQuery.exact( prop, "banana" )},
+                    {PropertyIndexQuery.exact( prop, "apple" )},
+                    {PropertyIndexQuery.exact( prop, "banana" )}};
+            try ( NodeValueIndexCursor nodes = tx.cursors().allocateNodeValueIndexCursor( tx.cursorContext(), tx.memoryTracker() ) )
+            {
+                IndexReadSession indexSession = tx.dataRead().indexReadSession( index );
+                tx.dataRead().nodeIndexMultiSeek( indexSession, nodes, unordered( needsValues ), queries );
+                assertEntityAndValue( expected, tx, needsValues, "banana", new NodeCursorAdapter( nodes ) );
+            }
+        }
+    }
+
     @Override
     Pair<Long,Value> entityWithProp( KernelTransaction tx, Object value ) throws Exception
     {
@@ -19,9 +19,13 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import org.eclipse.collections.api.list.primitive.MutableLongList;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import org.neo4j.common.EntityType;
 import org.neo4j.exceptions.KernelException;
@@ -32,9 +36,11 @@ import org.neo4j.internal.kernel.api.TokenPredicate;
 import org.neo4j.internal.kernel.api.TokenReadSession;
 import org.neo4j.internal.kernel.api.Write;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.KernelTransaction;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.kernel.impl.newapi.IndexReadAsserts.assertNodeCount;
 import static org.neo4j.kernel.impl.newapi.IndexReadAsserts.assertNodes;
 
@@ -158,6 +164,80 @@ public class NodeLabelTokenIndexCursorTest extends KernelAPIWriteTestBase<WriteT
         }
     }
 
+    @ParameterizedTest
+    @EnumSource( IndexOrder.class )
+    void shouldFindNodesByLabelIntersectionAndUnionInTx( IndexOrder order ) throws Exception
+    {
+        long both;
+        long onlyOne;
+        long onlyTwo;
+        long deletedInTx;
+        long labelRemovedInTx;
+        long labelAddedInTx;
+        long bothCreatedInTx;
+        long onlyTwoCreatedInTx;
+
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            both = createNode( tx.dataWrite(), labelOne, labelTwo );
+            onlyOne = createNode( tx.dataWrite(), labelOne );
+            onlyTwo = createNode( tx.dataWrite(), labelTwo );
+            deletedInTx = createNode( tx.dataWrite(), labelOne, labelTwo );
+            labelRemovedInTx = createNode( tx.dataWrite(), labelOne, labelTwo );
+            labelAddedInTx = createNode( tx.dataWrite(), labelOne );
+            createNode( tx.dataWrite(), labelThree );
+            tx.commit();
+        }
+
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            Write write = tx.dataWrite();
+            write.nodeDelete( deletedInTx );
+            write.nodeRemoveLabel( labelRemovedInTx, labelTwo );
+            write.nodeAddLabel( labelAddedInTx, labelTwo );
+            bothCreatedInTx = createNode( write, labelOne, labelTwo );
+            onlyTwoCreatedInTx = createNode( write, labelTwo );
+
+            Read read = tx.dataRead();
+            var session = getTokenReadSession( tx );
+            IndexQueryConstraints constraints = IndexQueryConstraints.ordered( order );
+
+            try ( NodeLabelIndexCursor cursor = tx.cursors().allocateNodeLabelIndexCursor( tx.cursorContext() ) )
+            {
+                // when
+                read.nodeLabelIntersectionScan( session, cursor, constraints, new TokenPredicate( labelOne ), new TokenPredicate( labelTwo ) );
+
+                // then
+                assertFoundNodesInOrder( cursor, order, both, labelAddedInTx, bothCreatedInTx );
+
+                // when
+                read.nodeLabelUnionScan( session, cursor, constraints, new TokenPredicate( labelOne ), new TokenPredicate( labelTwo ) );
+
+                // then
+                assertFoundNodesInOrder( cursor, order, both, onlyOne, onlyTwo, labelRemovedInTx, labelAddedInTx, bothCreatedInTx, onlyTwoCreatedInTx );
+            }
+        }
+    }
+
+    private static void assertFoundNodesInOrder( NodeLabelIndexCursor cursor, IndexOrder order, long... expected )
+    {
+        MutableLongList found = LongLists.mutable.empty();
+        while ( cursor.next() )
+        {
+            found.add( cursor.nodeReference() );
+        }
+        MutableLongList expectedList = LongLists.mutable.of( expected ).sortThis();
+        if ( order == IndexOrder.NONE )
+        {
+            found.sortThis();
+        }
+        else if ( order == IndexOrder.DESCENDING )
+        {
+            expectedList.reverseThis();
+        }
+        assertThat( found ).isEqualTo( expectedList );
+    }
+
     private long createNode( Write write, int... labels ) throws KernelException
     {
         long nodeId = write.nodeCreate();
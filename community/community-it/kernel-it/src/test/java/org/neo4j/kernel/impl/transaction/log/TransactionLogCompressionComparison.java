@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.helpers.Args;
+import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_compression;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_compression_level;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.logical_log_rotation_threshold;
+import static org.neo4j.configuration.GraphDatabaseSettings.preallocate_logical_logs;
+import static org.neo4j.io.ByteUnit.gibiBytes;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
+
+/**
+ * Compares commit latency, transaction log size and the time it takes to read the transactions back from the log, as recovery does,
+ * with and without transaction log compression, on a property heavy workload. The numbers are printed, to be compared across machines
+ * and compression levels. It is not part of the test suite, since the latency numbers only mean something on a machine which has
+ * nothing else to do.
+ * <p>
+ * Usage: {@code TransactionLogCompressionComparison [-transactions 2000] [-warmup 200] [-level 3] [-dir <directory>]}
+ */
+public class TransactionLogCompressionComparison
+{
+    private static final int NODES_PER_TRANSACTION = 10;
+    private static final Label PERSON = Label.label( "Person" );
+
+    private TransactionLogCompressionComparison()
+    {
+    }
+
+    public static void main( String[] arguments ) throws IOException
+    {
+        Args args = Args.parse( arguments );
+        int transactions = args.getNumber( "transactions", 2_000 ).intValue();
+        int warmup = args.getNumber( "warmup", 200 ).intValue();
+        int level = args.getNumber( "level", 3 ).intValue();
+        Path dir = args.has( "dir" ) ? Path.of( args.get( "dir" ) ) : Files.createTempDirectory( "tx-log-compression" );
+
+        long plainLogBytes = measure( dir.resolve( "plain" ), false, level, warmup, transactions );
+        long compressedLogBytes = measure( dir.resolve( "compressed" ), true, level, warmup, transactions );
+        System.out.printf( "Transaction log compression ratio: %.2f%n", (double) plainLogBytes / compressedLogBytes );
+    }
+
+    private static long measure( Path homeDirectory, boolean compression, int level, int warmup, int transactions ) throws IOException
+    {
+        DatabaseManagementService managementService = new TestDatabaseManagementServiceBuilder( homeDirectory )
+                .setConfig( transaction_log_compression, compression )
+                .setConfig( transaction_log_compression_level, level )
+                .setConfig( logical_log_rotation_threshold, gibiBytes( 1 ) )
+                .setConfig( preallocate_logical_logs, false )
+                .build();
+        try
+        {
+            GraphDatabaseAPI db = (GraphDatabaseAPI) managementService.database( DEFAULT_DATABASE_NAME );
+            LogFiles logFiles = db.getDependencyResolver().resolveDependency( LogFiles.class );
+            LogicalTransactionStore transactionStore = db.getDependencyResolver().resolveDependency( LogicalTransactionStore.class );
+
+            createPeople( db, 0, warmup );
+            LogPosition before = logFiles.getLogFile().getTransactionLogWriter().getCurrentPosition();
+            long startCommits = System.nanoTime();
+            createPeople( db, warmup, transactions );
+            long commitNanos = System.nanoTime() - startCommits;
+            LogPosition after = logFiles.getLogFile().getTransactionLogWriter().getCurrentPosition();
+            if ( after.getLogVersion() != before.getLogVersion() )
+            {
+                throw new IllegalStateException( "Transaction log rotated while measuring, log size can not be compared" );
+            }
+            long logBytes = after.getByteOffset() - before.getByteOffset();
+
+            long startReading = System.nanoTime();
+            int readTransactions = 0;
+            try ( TransactionCursor cursor = transactionStore.getTransactions( BASE_TX_ID + 1 ) )
+            {
+                while ( cursor.next() )
+                {
+                    readTransactions++;
+                }
+            }
+            long readNanos = System.nanoTime() - startReading;
+
+            System.out.printf( "Transaction log compression=%s: %.1fus per commit, %d log bytes per transaction, read %d transactions in %dms%n",
+                    compression, commitNanos / 1_000d / transactions, logBytes / transactions, readTransactions, readNanos / 1_000_000 );
+            return logBytes;
+        }
+        finally
+        {
+            managementService.shutdown();
+        }
+    }
+
+    private static void createPeople( GraphDatabaseAPI db, int firstTransaction, int transactions )
+    {
+        for ( int t = firstTransaction; t < firstTransaction + transactions; t++ )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int i = 0; i < NODES_PER_TRANSACTION; i++ )
+                {
+                    int id = t * NODES_PER_TRANSACTION + i;
+                    Node person = tx.createNode( PERSON );
+                    person.setProperty( "id", id );
+                    person.setProperty( "name", "Person number " + id );
+                    person.setProperty( "email", "person." + id + "@example.com" );
+                    person.setProperty( "address", "Street " + (id % 100) + ", City of " + (id % 10) + ", Country" );
+                    person.setProperty( "description", "A person that was created to see how well property heavy transactions compress" );
+                }
+                tx.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.io.fs.EphemeralFileSystemAbstraction;
+import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_compression;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.logical_log_rotation_threshold;
+import static org.neo4j.configuration.GraphDatabaseSettings.preallocate_logical_logs;
+import static org.neo4j.io.ByteUnit.gibiBytes;
+
+/**
+ * Transactions written with and without transaction log compression must both be readable from the log, also by recovery after a crash.
+ * The compressed ones must take less space in the log.
+ */
+class TransactionLogCompressionIT
+{
+    private static final int TRANSACTIONS = 100;
+    private static final int NODES_PER_TRANSACTION = 10;
+    private static final Label PERSON = Label.label( "Person" );
+
+    @Test
+    void compressedTransactionsMustBeRecoverableAndTakeLessSpaceInTheLog() throws IOException
+    {
+        long plainLogBytes = writeAndRecover( false );
+        long compressedLogBytes = writeAndRecover( true );
+
+        assertThat( compressedLogBytes ).isLessThan( plainLogBytes );
+    }
+
+    /**
+     * @return the number of bytes the transactions take in the log.
+     */
+    private static long writeAndRecover( boolean compression ) throws IOException
+    {
+        long logBytes;
+        EphemeralFileSystemAbstraction crashedFs;
+        try ( EphemeralFileSystemAbstraction fs = new EphemeralFileSystemAbstraction() )
+        {
+            DatabaseManagementService managementService = databaseBuilder( fs, compression ).build();
+            try
+            {
+                GraphDatabaseAPI db = (GraphDatabaseAPI) managementService.database( DEFAULT_DATABASE_NAME );
+                LogFiles logFiles = db.getDependencyResolver().resolveDependency( LogFiles.class );
+                LogicalTransactionStore transactionStore = db.getDependencyResolver().resolveDependency( LogicalTransactionStore.class );
+                long lastTxIdBefore = db.getDependencyResolver().resolveDependency( TransactionIdStore.class ).getLastCommittedTransactionId();
+
+                LogPosition before = logFiles.getLogFile().getTransactionLogWriter().getCurrentPosition();
+                createPeople( db );
+                LogPosition after = logFiles.getLogFile().getTransactionLogWriter().getCurrentPosition();
+                assertThat( after.getLogVersion() ).isEqualTo( before.getLogVersion() );
+                logBytes = after.getByteOffset() - before.getByteOffset();
+
+                int transactions = 0;
+                try ( TransactionCursor cursor = transactionStore.getTransactions( lastTxIdBefore + 1 ) )
+                {
+                    while ( cursor.next() )
+                    {
+                        assertThat( cursor.get().getCommitEntry().getTxId() ).isEqualTo( lastTxIdBefore + 1 + transactions );
+                        int[] commands = new int[1];
+                        cursor.get().getTransactionRepresentation().accept( command ->
+                        {
+                            commands[0]++;
+                            return false;
+                        } );
+                        // At least a node and its properties
+                        assertThat( commands[0] ).isGreaterThanOrEqualTo( NODES_PER_TRANSACTION * 2 );
+                        transactions++;
+                    }
+                }
+                assertThat( transactions ).isEqualTo( TRANSACTIONS );
+                crashedFs = fs.snapshot();
+            }
+            finally
+            {
+                managementService.shutdown();
+            }
+        }
+
+        // Nothing was checkpointed after the people were created, so recovery has to read them back from the log
+        try ( crashedFs )
+        {
+            DatabaseManagementService managementService = databaseBuilder( crashedFs, compression ).build();
+            try
+            {
+                assertPeople( (GraphDatabaseAPI) managementService.database( DEFAULT_DATABASE_NAME ) );
+            }
+            finally
+            {
+                managementService.shutdown();
+            }
+        }
+        return logBytes;
+    }
+
+    private static TestDatabaseManagementServiceBuilder databaseBuilder( EphemeralFileSystemAbstraction fs, boolean compression )
+    {
+        return new TestDatabaseManagementServiceBuilder()
+                .setFileSystem( fs )
+                .impermanent()
+                .setConfig( transaction_log_compression, compression )
+                .setConfig( logical_log_rotation_threshold, gibiBytes( 1 ) )
+                .setConfig( preallocate_logical_logs, false );
+    }
+
+    private static void createPeople( GraphDatabaseAPI db )
+    {
+        for ( int t = 0; t < TRANSACTIONS; t++ )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int i = 0; i < NODES_PER_TRANSACTION; i++ )
+                {
+                    int id = t * NODES_PER_TRANSACTION + i;
+                    Node person = tx.createNode( PERSON );
+                    person.setProperty( "id", id );
+                    person.setProperty( "name", name( id ) );
+                    person.setProperty( "description", "A person that was created to see how well property heavy transactions compress" );
+                }
+                tx.commit();
+            }
+        }
+    }
+
+    private static void assertPeople( GraphDatabaseAPI db )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            boolean[] seen = new boolean[TRANSACTIONS * NODES_PER_TRANSACTION];
+            tx.findNodes( PERSON ).forEachRemaining( person ->
+            {
+                int id = (int) person.getProperty( "id" );
+                assertThat( person.getProperty( "name" ) ).isEqualTo( name( id ) );
+                assertThat( seen[id] ).isFalse();
+                seen[id] = true;
+            } );
+            for ( int id = 0; id < seen.length; id++ )
+            {
+                assertThat( seen[id] ).as( "person %d", id ).isTrue();
+            }
+            tx.commit();
+        }
+    }
+
+    private static String name( int id )
+    {
+        return "Person number " + id;
+    }
+}
@@ -27,6 +27,8 @@ import java.util.List;
 
 import org.neo4j.annotations.service.ServiceProvider;
 import org.neo4j.graphdb.config.Setting;
+import org.neo4j.io.mem.NumaPlacement;
+import org.neo4j.io.pagecache.impl.muninn.EvictionPolicy;
 
 import static java.time.Duration.ofDays;
 import static java.time.Duration.ofMillis;
@@ -344,6 +346,13 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> index_sampling_parallelism =
             newBuilder( "unsupported.dbms.index_sampling.parallelism", INT, 4 ).addConstraint( min( 0 ) ).build();
 
+    @Internal
+    @Description( "Keep index statistics up to date from the index updates. For indexes whose sampling reads every value, the number of " +
+            "distinct values is estimated with a sketch of the values, and only removed index entries count towards " +
+            "`dbms.index_sampling.update_percentage`, so that growing indexes are not resampled over and over." )
+    public static final Setting<Boolean> index_sampling_incremental_enabled =
+            newBuilder( "unsupported.dbms.index_sampling.incremental_enabled", BOOL, false ).build();
+
     @Internal
     @Description( "Set the maximum number of concurrent index populations across system. " +
             "This also limit the number of threads used to scan store. " +
@@ -379,6 +388,47 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> fail_on_corrupted_log_files =
             newBuilder("unsupported.dbms.tx_log.fail_on_corrupted_log_files", BOOL, true ).build();
 
+    @Internal
+    @Description( "Use a dedicated thread to force the transaction log to disk on behalf of committing transactions. Committing transactions then " +
+            "keep appending to the log while the previous batch of transactions is being forced, instead of taking turns forcing the log themselves." )
+    public static final Setting<Boolean> dedicated_transaction_log_flusher =
+            newBuilder( "unsupported.dbms.tx_log.dedicated_flusher", BOOL, false ).build();
+
+    @Internal
+    @Description( "The longest time the dedicated transaction log flusher waits for more transactions to batch up before forcing the log. " +
+            "The flusher only waits while fewer transactions than in recent batches have asked for a force, and never for longer than recent forces took, " +
+            "so that a single committing client is not slowed down. Zero forces the log as soon as any transaction asks for it." )
+    public static final Setting<Duration> dedicated_transaction_log_flusher_max_batch_window =
+            newBuilder( "unsupported.dbms.tx_log.dedicated_flusher.max_batch_window", DURATION, Duration.ofMillis( 1 ) ).build();
+
+    @Internal
+    @Description( "Compress the commands of each transaction written to the transaction log with zstd. Transactions with commands too small " +
+            "to benefit, or larger than 64MiB, are written uncompressed. Compressed commands are written as a new kind of log entry, which only " +
+            "exists from kernel version V4_3_D5, so transactions are only compressed once the database has been upgraded to that version. " +
+            "Backup tools that predate that version can not read transaction logs that contain compressed commands." )
+    public static final Setting<Boolean> transaction_log_compression =
+            newBuilder( "unsupported.dbms.tx_log.compression", BOOL, false ).build();
+
+    @Internal
+    @Description( "The zstd compression level used when transaction log compression is enabled. Higher levels compress better, " +
+            "but take longer to commit." )
+    public static final Setting<Integer> transaction_log_compression_level =
+            newBuilder( "unsupported.dbms.tx_log.compression.level", INT, 3 ).addConstraint( range( 1, 19 ) ).build();
+
+    @Internal
+    @Description( "Reuse the files of pruned transaction logs for later log versions, instead of deleting them and creating new files on rotation. " +
+            "Pruned files are zeroed out when they are pruned, so that rotation only has to rename a file and write its header. " +
+            "Zeroing costs up to one log file worth of writes and a force for every pruned file, done by the thread that prunes logs, " +
+            "which is usually the check point thread. Files that are open by a reader when pruned are deleted rather than reused." )
+    public static final Setting<Boolean> transaction_log_file_recycling =
+            newBuilder( "unsupported.dbms.tx_log.recycle_files", BOOL, false ).build();
+
+    @Internal
+    @Description( "The largest number of pruned transaction log files kept around to be reused when transaction log file recycling is enabled. " +
+            "Further pruned files are deleted." )
+    public static final Setting<Integer> transaction_log_file_recycling_max_files =
+            newBuilder( "unsupported.dbms.tx_log.recycle_files.max_files", INT, 2 ).addConstraint( min( 1 ) ).build();
+
     @Internal
     @Description( "Specifies if engine should run cypher query based on a snapshot of accessed data. " +
             "Query will be restarted in case if concurrent modification of data will be detected." )
@@ -591,6 +641,70 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Duration> page_cache_tracer_speed_reporting_threshold =
             newBuilder( "unsupported.dbms.debug.page_cache_tracer_speed_reporting_threshold", DURATION, ofSeconds( 10 ) ).build();
 
+    @Internal
+    @Description( "The policy the page cache uses for choosing which pages to evict. " +
+            "The `SCAN_RESISTANT` policy prevents pages that are only touched by sequential scans, from pushing frequently used pages out of the cache." )
+    public static final Setting<EvictionPolicy> pagecache_eviction_policy =
+            newBuilder( "unsupported.dbms.memory.pagecache.eviction_policy", ofEnum( EvictionPolicy.class ), EvictionPolicy.CLOCK ).build();
+
+    @Internal
+    @Description( "Pre-fetch pages for streams of page faults that move forwards, backwards or with a fixed stride through a file, " +
+            "even when the pages are read by many different cursors, like when following the leaf pages of an index, or chains of dynamic records." )
+    public static final Setting<Boolean> pagecache_stream_prefetching =
+            newBuilder( "unsupported.dbms.memory.pagecache.stream_prefetching", BOOL, false ).build();
+
+    @Internal
+    @Description( "Back the page cache memory with 2 MiB transparent huge pages. " +
+            "This can reduce TLB misses when pages are accessed randomly, but its effect on page pin latency has not been measured, " +
+            "so measure the workload before and after enabling it. " +
+            "Only has an effect on Linux, where transparent huge pages are enabled in either `always` or `madvise` mode." )
+    public static final Setting<Boolean> pagecache_huge_pages =
+            newBuilder( "unsupported.dbms.memory.pagecache.huge_pages", BOOL, false ).build();
+
+    @Internal
+    @Description( "How the page cache memory is placed on the NUMA nodes of the machine. " +
+            "`INTERLEAVE` spreads the memory evenly over all nodes page by page, and `BIND` places each slab of page cache memory on a single node, " +
+            "taking turns over the nodes. Only has an effect on Linux machines with more than one NUMA node, where libnuma is installed." )
+    public static final Setting<NumaPlacement> pagecache_numa_placement =
+            newBuilder( "unsupported.dbms.memory.pagecache.numa_placement", ofEnum( NumaPlacement.class ), NumaPlacement.DEFAULT ).build();
+
+    @Internal
+    @Description( "The amount of off-heap memory used for keeping pages that are evicted from the page cache zstd compressed, such that they can be " +
+            "faulted back in without reading them from the store files. Pages that do not compress to at most half their size are not kept. " +
+            "This helps when the working set is somewhat larger than the page cache, and the store files compress well. Disabled if zero." )
+    public static final Setting<Long> pagecache_compressed_tier_size =
+            newBuilder( "unsupported.dbms.memory.pagecache.compressed_tier_size", BYTES, 0L ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "The maximum number of pages that a page cache flush writes with a single vectored write." )
+    public static final Setting<Integer> pagecache_flush_max_run_pages =
+            newBuilder( "unsupported.dbms.memory.pagecache.flush.max_run_pages", INT, 4096 ).addConstraint( min( 1 ) ).build();
+
+    @Internal
+    @Description( "The maximum number of clean pages that a page cache flush writes along with the dirty pages around them, " +
+            "to turn writes of nearby dirty pages into a single vectored write." )
+    public static final Setting<Integer> pagecache_flush_max_clean_gap =
+            newBuilder( "unsupported.dbms.memory.pagecache.flush.max_clean_gap", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Use direct I/O for every file mapped by the page cache whose page size is a multiple of the file system block size, " +
+            "and not only for the store files of the aligned record format. This keeps the operating system from caching the same data " +
+            "a second time. Files that cannot use direct I/O use buffered I/O as usual. Only has an effect on Linux." )
+    public static final Setting<Boolean> pagecache_direct_io_all_files =
+            newBuilder( "unsupported.dbms.memory.pagecache.directio.all_files", BOOL, false ).build();
+
+    @Internal
+    @Description( "The number of threads that load pages into the page cache in parallel, during page cache warmup." )
+    public static final Setting<Integer> pagecache_warmup_parallelism =
+            newBuilder( "unsupported.dbms.memory.pagecache.warmup.parallelism", INT, Runtime.getRuntime().availableProcessors() )
+                    .addConstraint( min( 1 ) ).build();
+
+    @Internal
+    @Description( "The maximum number of pages per second that page cache warmup loads into the page cache. " +
+            "Warmup loads pages as fast as it can, if this is zero or negative." )
+    public static final Setting<Integer> pagecache_warmup_iops_limit =
+            newBuilder( "unsupported.dbms.memory.pagecache.warmup.iops_limit", INT, 0 ).build();
+
     @Internal
     public static final Setting<Boolean> log_recover_index_samples = newBuilder( "unsupported.dbms.index.sampling.log_recovered_samples", BOOL, false ).build();
 
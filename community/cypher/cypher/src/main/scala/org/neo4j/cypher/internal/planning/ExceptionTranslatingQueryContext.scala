@@ -175,6 +175,11 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
                              values: Seq[PropertyIndexQuery]): NodeValueIndexCursor =
     translateException(tokenNameLookup, inner.nodeIndexSeek(index, needsValues, indexOrder, values))
 
+  override def nodeIndexMultiSeek(index: IndexReadSession,
+                                  needsValues: Boolean,
+                                  values: Seq[Seq[PropertyIndexQuery.ExactPredicate]]): NodeValueIndexCursor =
+    translateException(tokenNameLookup, inner.nodeIndexMultiSeek(index, needsValues, values))
+
   override def relationshipIndexSeek(index: IndexReadSession,
                                      needsValues: Boolean,
                                      indexOrder: IndexOrder,
@@ -199,6 +199,11 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
                              queries: Seq[PropertyIndexQuery]): NodeValueIndexCursor =
     manyDbHits(inner.nodeIndexSeek(index, needsValues, indexOrder, queries))
 
+  override def nodeIndexMultiSeek(index: IndexReadSession,
+                                  needsValues: Boolean,
+                                  queries: Seq[Seq[PropertyIndexQuery.ExactPredicate]]): NodeValueIndexCursor =
+    manyDbHits(inner.nodeIndexMultiSeek(index, needsValues, queries))
+
   override def nodeIndexScan(index: IndexReadSession,
                              needsValues: Boolean,
                              indexOrder: IndexOrder): NodeValueIndexCursor =
@@ -326,6 +326,20 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
     }
   }
 
+  override def nodeIndexMultiSeek(index: IndexReadSession,
+                                  needsValues: Boolean,
+                                  queries: Seq[Seq[ExactPredicate]]): NodeValueIndexCursor = {
+    val possibleQueries = queries.filterNot(_.exists(p => (p.value() eq Values.NO_VALUE) || (p.value().isInstanceOf[FloatingPointValue] && p.value().asInstanceOf[FloatingPointValue].isNaN)))
+
+    if (possibleQueries.isEmpty) {
+      NodeValueIndexCursor.EMPTY
+    } else {
+      val nodeCursor = allocateAndTraceNodeValueIndexCursor()
+      reads().nodeIndexMultiSeek(index, nodeCursor, IndexQueryConstraints.unordered(needsValues), possibleQueries.map(_.toArray).toArray)
+      nodeCursor
+    }
+  }
+
   override def relationshipIndexSeek(index: IndexReadSession,
                                      needsValues: Boolean,
                                      indexOrder: IndexOrder,
@@ -87,6 +87,9 @@ trait EntityIndexSeeker {
         val indexQueries: Seq[Seq[PropertyIndexQuery]] = computeIndexQueries(state, baseContext)
         if (indexQueries.size == 1) {
           state.query.nodeIndexSeek(index, needsValues, indexOrder, indexQueries.head)
+        } else if (indexOrder == IndexOrderNone && indexQueries.forall(_.forall(_.isInstanceOf[PropertyIndexQuery.ExactPredicate]))) {
+          // unordered exact seeks for several values can be answered by a single pass over the index
+          state.query.nodeIndexMultiSeek(index, needsValues, indexQueries.map(_.map(_.asInstanceOf[PropertyIndexQuery.ExactPredicate])))
         } else {
           orderedCursor(indexOrder, indexQueries.map(query => state.query.nodeIndexSeek(index, needsValues = needsValues || indexOrder != IndexOrderNone, indexOrder, query)).toArray)
         }
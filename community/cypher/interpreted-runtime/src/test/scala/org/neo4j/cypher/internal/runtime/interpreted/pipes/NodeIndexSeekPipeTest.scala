@@ -20,6 +20,8 @@
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
 import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
 import org.mockito.Mockito.when
 import org.mockito.invocation.InvocationOnMock
 import org.neo4j.cypher.internal.expressions.LabelToken
@@ -28,7 +30,9 @@ import org.neo4j.cypher.internal.expressions.PropertyKeyToken
 import org.neo4j.cypher.internal.logical.plans.DoNotGetValue
 import org.neo4j.cypher.internal.logical.plans.IndexOrder
 import org.neo4j.cypher.internal.logical.plans.IndexOrderNone
+import org.neo4j.cypher.internal.logical.plans.IndexOrderAscending
 import org.neo4j.cypher.internal.logical.plans.IndexedProperty
+import org.neo4j.cypher.internal.logical.plans.ManyQueryExpression
 import org.neo4j.cypher.internal.logical.plans.SingleQueryExpression
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
@@ -89,4 +93,46 @@ class NodeIndexSeekPipeTest extends CypherFunSuite {
     result.close()
     monitor.closedResources.collect { case `cursor` => cursor } should have size(1)
   }
+
+  test("unordered seek for many values should use a single multi seek") {
+    val state = QueryStateHelper.emptyWithResourceManager(new ResourceManager(QueryStateHelper.trackClosedMonitor))
+
+    var seekedQueries: Seq[Seq[PropertyIndexQuery.ExactPredicate]] = null
+    when(state.query.nodeIndexMultiSeek(any[IndexReadSession], any[Boolean], any[Seq[Seq[PropertyIndexQuery.ExactPredicate]]])).thenAnswer((invocation: InvocationOnMock) => {
+      seekedQueries = invocation.getArgument[Seq[Seq[PropertyIndexQuery.ExactPredicate]]](2)
+      new StubNodeValueIndexCursor().withNode(0).withNode(1)
+    })
+
+    val pipe = NodeIndexSeekPipe(
+      "n",
+      LabelToken("Awesome", LabelId(0)),
+      Array(IndexedProperty(PropertyKeyToken("prop", PropertyKeyId(0)), DoNotGetValue, NODE_TYPE)),
+      0,
+      ManyQueryExpression(LiteralHelper.literal(Seq(1, 2, 3, 2))),
+      IndexSeek,
+      IndexOrderNone)()
+
+    pipe.createResults(state).toList should have size 2
+    seekedQueries.map(_.map(_.value().asObject())) should contain theSameElementsAs Seq(Seq(1), Seq(2), Seq(3))
+    verify(state.query, never()).nodeIndexSeek(any[IndexReadSession], any[Boolean], any[IndexOrder], any[Seq[PropertyIndexQuery]])
+  }
+
+  test("ordered seek for many values should seek each value") {
+    val state = QueryStateHelper.emptyWithResourceManager(new ResourceManager(QueryStateHelper.trackClosedMonitor))
+
+    when(state.query.nodeIndexSeek(any[IndexReadSession], any[Boolean], any[IndexOrder], any[Seq[PropertyIndexQuery]])).thenAnswer((_: InvocationOnMock) =>
+      new StubNodeValueIndexCursor())
+
+    val pipe = NodeIndexSeekPipe(
+      "n",
+      LabelToken("Awesome", LabelId(0)),
+      Array(IndexedProperty(PropertyKeyToken("prop", PropertyKeyId(0)), DoNotGetValue, NODE_TYPE)),
+      0,
+      ManyQueryExpression(LiteralHelper.literal(Seq(1, 2, 3))),
+      IndexSeek,
+      IndexOrderAscending)()
+
+    pipe.createResults(state).toList shouldBe empty
+    verify(state.query, never()).nodeIndexMultiSeek(any[IndexReadSession], any[Boolean], any[Seq[Seq[PropertyIndexQuery.ExactPredicate]]])
+  }
 }
@@ -152,6 +152,14 @@ trait QueryContext extends TokenContext with DbAccess {
                     indexOrder: IndexOrder,
                     queries: Seq[PropertyIndexQuery]): NodeValueIndexCursor
 
+  /**
+   * Seek the index for all the given exact queries at once, in no particular order. Nodes matching more than one
+   * query are only returned once.
+   */
+  def nodeIndexMultiSeek(index: IndexReadSession,
+                         needsValues: Boolean,
+                         queries: Seq[Seq[PropertyIndexQuery.ExactPredicate]]): NodeValueIndexCursor
+
   def nodeIndexSeekByContains(index: IndexReadSession,
                               needsValues: Boolean,
                               indexOrder: IndexOrder,
@@ -224,6 +224,8 @@ object StaticEvaluation {
 
     override def nodeIndexSeek(index: IndexReadSession, needsValues: Boolean, indexOrder: IndexOrder, queries: Seq[PropertyIndexQuery]): NodeValueIndexCursor = notAvailable()
 
+    override def nodeIndexMultiSeek(index: IndexReadSession, needsValues: Boolean, queries: Seq[Seq[PropertyIndexQuery.ExactPredicate]]): NodeValueIndexCursor = notAvailable()
+
     override def nodeIndexSeekByContains(index: IndexReadSession, needsValues: Boolean, indexOrder: IndexOrder, value: TextValue): NodeValueIndexCursor = notAvailable()
 
     override def nodeIndexSeekByEndsWith(index: IndexReadSession, needsValues: Boolean, indexOrder: IndexOrder, value: TextValue): NodeValueIndexCursor = notAvailable()
@@ -19,6 +19,8 @@
  */
 package org.neo4j.configuration;
 
+import java.time.Duration;
+
 import org.neo4j.annotations.api.PublicApi;
 import org.neo4j.annotations.service.ServiceProvider;
 import org.neo4j.graphdb.config.Setting;
@@ -27,6 +29,7 @@ import org.neo4j.kernel.api.impl.fulltext.analyzer.providers.StandardNoStopWords
 import static org.neo4j.configuration.SettingConstraints.range;
 import static org.neo4j.configuration.SettingImpl.newBuilder;
 import static org.neo4j.configuration.SettingValueParsers.BOOL;
+import static org.neo4j.configuration.SettingValueParsers.DURATION;
 import static org.neo4j.configuration.SettingValueParsers.INT;
 import static org.neo4j.configuration.SettingValueParsers.STRING;
 
@@ -51,4 +54,17 @@ public class FulltextSettings implements SettingsDeclaration
             newBuilder( "dbms.index.fulltext.eventually_consistent_index_update_queue_max_length", INT,  10000 )
                     .addConstraint( range( 1, 50_000_000 ) )
                     .build();
+
+    @Description( "The number of background threads that apply the queued up index updates of the eventually_consistent fulltext indexes. " +
+            "Updates to the same entity are always applied in the order they were committed, by the same thread." )
+    public static final Setting<Integer> eventually_consistent_index_update_workers =
+            newBuilder( "dbms.index.fulltext.eventually_consistent_index_update_workers", INT, 4 )
+                    .addConstraint( range( 1, 256 ) )
+                    .build();
+
+    @Description( "The longest time that the applied updates of an eventually_consistent fulltext index may wait before they become visible to queries. " +
+            "Refreshing an index makes its updates visible, and a latency greater than zero coalesces the refreshes of many transactions into one, " +
+            "which increases the index update throughput. A latency of zero refreshes the index after the updates of every transaction have been applied." )
+    public static final Setting<Duration> eventually_consistent_refresh_latency =
+            newBuilder( "dbms.index.fulltext.eventually_consistent_refresh_latency", DURATION, Duration.ZERO ).build();
 }
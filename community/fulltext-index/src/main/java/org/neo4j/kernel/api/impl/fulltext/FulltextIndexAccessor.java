@@ -59,12 +59,13 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
     @Override
     public IndexUpdater getIndexUpdater( IndexUpdateMode mode )
     {
-        IndexUpdater indexUpdater = new FulltextIndexUpdater( mode.requiresIdempotency(), mode.requiresRefresh() );
         if ( isEventuallyConsistent( index ) )
         {
-            indexUpdater = new EventuallyConsistentIndexUpdater( luceneIndex, indexUpdater, indexUpdateSink );
+            // The sink may refresh the index itself, some time after the updater is closed, to coalesce the refreshes of many updaters
+            boolean refresh = mode.requiresRefresh() && !indexUpdateSink.coalescesRefreshes();
+            return new EventuallyConsistentIndexUpdater( luceneIndex, new FulltextIndexUpdater( mode.requiresIdempotency(), refresh ), indexUpdateSink );
         }
-        return indexUpdater;
+        return new FulltextIndexUpdater( mode.requiresIdempotency(), mode.requiresRefresh() );
     }
 
     @Override
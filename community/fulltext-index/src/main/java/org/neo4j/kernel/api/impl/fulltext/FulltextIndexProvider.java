@@ -83,7 +83,7 @@ import static org.neo4j.kernel.api.impl.fulltext.FulltextIndexSettings.createPro
 import static org.neo4j.kernel.api.impl.fulltext.FulltextIndexSettings.isEventuallyConsistent;
 import static org.neo4j.kernel.api.impl.fulltext.FulltextIndexSettingsKeys.ANALYZER;
 
-public class FulltextIndexProvider extends IndexProvider implements FulltextAdapter
+public class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, FulltextIndexUpdateCounters
 {
     private final FileSystemAbstraction fileSystem;
     private final Config config;
@@ -108,7 +108,9 @@ public class FulltextIndexProvider extends IndexProvider implements FulltextAdap
 
         defaultAnalyzerName = config.get( FulltextSettings.fulltext_default_analyzer );
         defaultEventuallyConsistentSetting = config.get( FulltextSettings.eventually_consistent );
-        indexUpdateSink = new IndexUpdateSink( scheduler, config.get( FulltextSettings.eventually_consistent_index_update_queue_max_length ) );
+        indexUpdateSink = new IndexUpdateSink( scheduler, config.get( FulltextSettings.eventually_consistent_index_update_queue_max_length ),
+                config.get( FulltextSettings.eventually_consistent_index_update_workers ),
+                config.get( FulltextSettings.eventually_consistent_refresh_latency ), log );
         indexStorageFactory = buildIndexStorageFactory( fileSystem, directoryFactory, directoryStructure() );
     }
 
@@ -144,6 +146,18 @@ public class FulltextIndexProvider extends IndexProvider implements FulltextAdap
         indexStorageFactory.close();
     }
 
+    @Override
+    public long pendingUpdates()
+    {
+        return indexUpdateSink.pendingUpdates();
+    }
+
+    @Override
+    public long updateLagMillis()
+    {
+        return indexUpdateSink.updateLagMillis();
+    }
+
     @Override
     public IndexDescriptor completeConfiguration( IndexDescriptor index )
     {
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+/**
+ * Counters of the eventually consistent fulltext index updates, telling how far behind the eventually consistent indexes are.
+ * <p>
+ * The fulltext index provider is available as a database dependency, which is how these are registered as gauges by the metrics extension.
+ */
+public interface FulltextIndexUpdateCounters
+{
+    /**
+     * @return the number of updates that have been enqueued, but not yet applied.
+     */
+    long pendingUpdates();
+
+    /**
+     * @return the time, in milliseconds, that the oldest update that has not yet been applied has been waiting, or {@code 0} if all updates have been
+     * applied.
+     */
+    long updateLagMillis();
+}
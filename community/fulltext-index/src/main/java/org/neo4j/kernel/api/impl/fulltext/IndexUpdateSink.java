@@ -20,13 +20,23 @@
 package org.neo4j.kernel.api.impl.fulltext;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.neo4j.internal.helpers.Exceptions;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.impl.index.DatabaseIndex;
 import org.neo4j.kernel.api.index.IndexReader;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.logging.Log;
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.scheduler.JobScheduler;
@@ -35,21 +45,43 @@ import org.neo4j.util.concurrent.BinaryLatch;
 
 /**
  * A sink for index updates that will eventually be applied.
+ * <p>
+ * The updates are sharded by entity id, and each shard applies its updates in order, on the {@link Group#INDEX_UPDATING} threads.
+ * Updates to the same entity are therefore applied in the order they were enqueued, while updates to different entities are applied in parallel
+ * by the thread safe Lucene index writers. Closing an updater, and waiting for the updates to be applied, are barriers across all the shards.
+ * <p>
+ * Closing an updater refreshes the index, making the updates visible to searches. With a refresh latency configured, the refreshes are instead
+ * coalesced into at most one refresh per index and latency period, which saves reopening the searchers after every transaction under write bursts.
+ * <p>
+ * An update, close or refresh that fails marks its index as failed, rather than holding up the updates queued after it.
  */
-public class IndexUpdateSink
+public class IndexUpdateSink implements FulltextIndexUpdateCounters
 {
     private final JobScheduler scheduler;
+    private final Log log;
     private final Semaphore updateQueueLimit;
+    private final Shard[] shards;
+    private final long refreshLatencyMillis;
+    private final Set<DatabaseIndex<? extends IndexReader>> pendingRefreshes = ConcurrentHashMap.newKeySet();
+    private final AtomicLong pendingUpdates = new AtomicLong();
 
-    IndexUpdateSink( JobScheduler scheduler, int eventuallyConsistentUpdateQueueLimit )
+    IndexUpdateSink( JobScheduler scheduler, int eventuallyConsistentUpdateQueueLimit, int shards, Duration refreshLatency, Log log )
     {
         this.scheduler = scheduler;
-        updateQueueLimit = new Semaphore( eventuallyConsistentUpdateQueueLimit );
+        this.log = log;
+        this.updateQueueLimit = new Semaphore( eventuallyConsistentUpdateQueueLimit );
+        this.shards = new Shard[shards];
+        for ( int i = 0; i < shards; i++ )
+        {
+            this.shards[i] = new Shard();
+        }
+        this.refreshLatencyMillis = refreshLatency.toMillis();
     }
 
     public void enqueueUpdate( DatabaseIndex<? extends IndexReader> index, IndexUpdater indexUpdater, IndexEntryUpdate<?> update )
     {
         updateQueueLimit.acquireUninterruptibly();
+        pendingUpdates.incrementAndGet();
         Runnable eventualUpdate = () ->
         {
             try
@@ -58,10 +90,16 @@ public class IndexUpdateSink
             }
             catch ( IndexEntryConflictException e )
             {
-                markAsFailed( index, e );
+                markAsFailed( index, e.getMessage(), e );
+            }
+            catch ( RuntimeException e )
+            {
+                log.error( "Failed to apply an update to index '" + index.getDescriptor().getName() + "'", e );
+                markAsFailed( index, Exceptions.stringify( e ), e );
             }
             finally
             {
+                pendingUpdates.decrementAndGet();
                 updateQueueLimit.release();
             }
         };
@@ -69,32 +107,42 @@ public class IndexUpdateSink
         try
         {
             var monitoringParams = JobMonitoringParams.systemJob( "Background update of index '" + index.getDescriptor().getName() + "'" );
-            scheduler.schedule( Group.INDEX_UPDATING, monitoringParams, eventualUpdate );
+            shards[(int) Math.floorMod( update.getEntityId(), (long) shards.length )].enqueue( monitoringParams, eventualUpdate );
         }
         catch ( Exception e )
         {
-            updateQueueLimit.release(); // Avoid leaking permits if job scheduling fails.
+            // Avoid leaking permits if job scheduling fails. The shard has not kept the update, so it will never be applied.
+            pendingUpdates.decrementAndGet();
+            updateQueueLimit.release();
             throw e;
         }
     }
 
-    private static void markAsFailed( DatabaseIndex<? extends IndexReader> index, IndexEntryConflictException conflict )
+    private void markAsFailed( DatabaseIndex<? extends IndexReader> index, String failure, Exception cause )
     {
         try
         {
-            index.markAsFailed( conflict.getMessage() );
+            index.markAsFailed( failure );
         }
         catch ( IOException ioe )
         {
-            ioe.addSuppressed( conflict );
-            throw new UncheckedIOException( ioe );
+            ioe.addSuppressed( cause );
+            log.error( "Failed to mark index '" + index.getDescriptor().getName() + "' as failed", ioe );
         }
     }
 
+    /**
+     * @return {@code true} if the indexes are refreshed by this sink, some time after their updaters are closed, rather than by the updaters themselves.
+     */
+    boolean coalescesRefreshes()
+    {
+        return refreshLatencyMillis > 0;
+    }
+
     public void closeUpdater( DatabaseIndex<? extends IndexReader> index, IndexUpdater indexUpdater )
     {
         var monitoringParams = JobMonitoringParams.systemJob( "Closing of an updater for index '" + index.getDescriptor().getName() + "'" );
-        scheduler.schedule( Group.INDEX_UPDATING, monitoringParams, () ->
+        Runnable close = () ->
         {
             try
             {
@@ -102,15 +150,193 @@ public class IndexUpdateSink
             }
             catch ( IndexEntryConflictException e )
             {
-                markAsFailed( index, e );
+                markAsFailed( index, e.getMessage(), e );
+            }
+            catch ( RuntimeException e )
+            {
+                log.error( "Failed to close an updater for index '" + index.getDescriptor().getName() + "'", e );
+                markAsFailed( index, Exceptions.stringify( e ), e );
+            }
+            if ( coalescesRefreshes() )
+            {
+                scheduleRefresh( index );
+            }
+        };
+        // The updater is closed once all its updates have been applied, by the last shard to get to it
+        AtomicInteger remainingShards = new AtomicInteger( shards.length );
+        for ( Shard shard : shards )
+        {
+            shard.enqueue( monitoringParams, () ->
+            {
+                if ( remainingShards.decrementAndGet() == 0 )
+                {
+                    close.run();
+                }
+            } );
+        }
+    }
+
+    private void scheduleRefresh( DatabaseIndex<? extends IndexReader> index )
+    {
+        if ( pendingRefreshes.add( index ) )
+        {
+            var monitoringParams = JobMonitoringParams.systemJob( "Refresh of index '" + index.getDescriptor().getName() + "'" );
+            try
+            {
+                scheduler.schedule( Group.INDEX_UPDATING, monitoringParams, () -> refresh( index ), refreshLatencyMillis, TimeUnit.MILLISECONDS );
+            }
+            catch ( Exception e )
+            {
+                // Let a later close schedule the refresh again, rather than leaving the index looking like it already has one pending
+                pendingRefreshes.remove( index );
+                throw e;
             }
-        } );
+        }
     }
 
+    private void refresh( DatabaseIndex<? extends IndexReader> index )
+    {
+        if ( pendingRefreshes.remove( index ) && index.isOpen() )
+        {
+            try
+            {
+                index.maybeRefreshBlocking();
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                log.error( "Failed to refresh index '" + index.getDescriptor().getName() + "'", e );
+                markAsFailed( index, Exceptions.stringify( e ), e );
+            }
+        }
+    }
+
+    /**
+     * Waits for all the updates enqueued so far to be applied, and for the indexes to be refreshed.
+     */
     public void awaitUpdateApplication()
     {
         BinaryLatch updateLatch = new BinaryLatch();
-        scheduler.schedule( Group.INDEX_UPDATING, JobMonitoringParams.NOT_MONITORED, updateLatch::release );
+        AtomicInteger remainingShards = new AtomicInteger( shards.length );
+        for ( Shard shard : shards )
+        {
+            shard.enqueue( JobMonitoringParams.NOT_MONITORED, () ->
+            {
+                if ( remainingShards.decrementAndGet() == 0 )
+                {
+                    updateLatch.release();
+                }
+            } );
+        }
         updateLatch.await();
+        for ( DatabaseIndex<? extends IndexReader> index : pendingRefreshes )
+        {
+            refresh( index );
+        }
+    }
+
+    @Override
+    public long pendingUpdates()
+    {
+        return pendingUpdates.get();
+    }
+
+    @Override
+    public long updateLagMillis()
+    {
+        long now = System.nanoTime();
+        long lagNanos = 0;
+        for ( Shard shard : shards )
+        {
+            Job oldest = shard.jobs.peek();
+            if ( oldest != null )
+            {
+                lagNanos = Math.max( lagNanos, now - oldest.enqueuedNanos );
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis( lagNanos );
+    }
+
+    /**
+     * The jobs of a shard are run in order, by at most one thread at a time.
+     */
+    private class Shard
+    {
+        private final Queue<Job> jobs = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Queues the given job, and schedules a drain of this shard unless one is already running. If the drain cannot be scheduled, the job is
+         * taken back out of the queue before the exception is rethrown, so that it is never run, and the caller can safely undo its side of it.
+         */
+        void enqueue( JobMonitoringParams monitoringParams, Runnable runnable )
+        {
+            Job job = new Job( runnable );
+            jobs.add( job );
+            if ( draining.compareAndSet( false, true ) )
+            {
+                try
+                {
+                    scheduler.schedule( Group.INDEX_UPDATING, monitoringParams, this::drain );
+                }
+                catch ( Exception e )
+                {
+                    // Holding the draining flag means that no drain can be running, so nothing else can have polled the job yet
+                    jobs.remove( job );
+                    draining.set( false );
+                    throw e;
+                }
+            }
+        }
+
+        private void drain()
+        {
+            try
+            {
+                Job job;
+                while ( (job = jobs.peek()) != null )
+                {
+                    try
+                    {
+                        job.runnable.run();
+                    }
+                    catch ( RuntimeException e )
+                    {
+                        // A failed job must not hold up the jobs after it, which would be the case if the shard stopped here.
+                        // The update and close jobs mark their index as failed themselves, so all that is left to do is to report it.
+                        log.error( "Failed to run a background index update job", e );
+                    }
+                    jobs.poll();
+                }
+            }
+            finally
+            {
+                draining.set( false );
+            }
+            // Jobs enqueued after the last poll, but before the draining flag was cleared, would otherwise be left behind
+            if ( !jobs.isEmpty() && draining.compareAndSet( false, true ) )
+            {
+                try
+                {
+                    scheduler.schedule( Group.INDEX_UPDATING, JobMonitoringParams.NOT_MONITORED, this::drain );
+                }
+                catch ( Exception e )
+                {
+                    // The jobs left behind are picked up by the drain scheduled by the next enqueue
+                    draining.set( false );
+                    log.error( "Failed to schedule a background index update job", e );
+                }
+            }
+        }
+    }
+
+    private static class Job
+    {
+        private final Runnable runnable;
+        private final long enqueuedNanos = System.nanoTime();
+
+        Job( Runnable runnable )
+        {
+            this.runnable = runnable;
+        }
     }
 }
@@ -19,9 +19,12 @@
  */
 package org.neo4j.kernel.api.impl.fulltext;
 
+import java.time.Duration;
+
 import org.neo4j.kernel.api.impl.index.DatabaseIndex;
 import org.neo4j.kernel.api.index.IndexReader;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.logging.NullLog;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 
 /**
@@ -33,7 +36,7 @@ public class NullIndexUpdateSink extends IndexUpdateSink
 
     private NullIndexUpdateSink()
     {
-        super( null, 0 );
+        super( null, 0, 1, Duration.ZERO, NullLog.getInstance() );
     }
 
     @Override
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.SchemaDescriptor;
+import org.neo4j.kernel.api.impl.index.DatabaseIndex;
+import org.neo4j.kernel.api.index.IndexReader;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.values.storable.Values.intValue;
+
+class IndexUpdateSinkTest
+{
+    private static final int SHARDS = 4;
+    private static final SchemaDescriptor SCHEMA = SchemaDescriptor.forLabel( 1, 2 );
+
+    private ThreadPoolJobScheduler scheduler;
+    private DatabaseIndex<? extends IndexReader> index;
+    private Log log;
+
+    @BeforeEach
+    void setUp()
+    {
+        scheduler = new ThreadPoolJobScheduler();
+        IndexDescriptor descriptor = IndexPrototype.forSchema( SCHEMA ).withName( "index" ).materialise( 1 );
+        index = mock( DatabaseIndex.class );
+        when( index.getDescriptor() ).thenReturn( descriptor );
+        when( index.isOpen() ).thenReturn( true );
+        log = mock( Log.class );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        scheduler.close();
+    }
+
+    @Test
+    void mustApplyUpdatesOfTheSameEntityInOrder()
+    {
+        IndexUpdateSink sink = new IndexUpdateSink( scheduler, 100, SHARDS, Duration.ZERO, log );
+        int entities = 10;
+        int updatesPerEntity = 200;
+        List<List<Integer>> applied = new ArrayList<>();
+        for ( int i = 0; i < entities; i++ )
+        {
+            applied.add( new ArrayList<>() );
+        }
+        RecordingUpdater updater = new RecordingUpdater( applied );
+
+        for ( int sequence = 0; sequence < updatesPerEntity; sequence++ )
+        {
+            for ( int entity = 0; entity < entities; entity++ )
+            {
+                sink.enqueueUpdate( index, updater, IndexEntryUpdate.add( entity, SCHEMA, intValue( sequence ) ) );
+            }
+        }
+        sink.awaitUpdateApplication();
+
+        for ( int entity = 0; entity < entities; entity++ )
+        {
+            List<Integer> sequences = applied.get( entity );
+            synchronized ( sequences )
+            {
+                assertThat( sequences ).hasSize( updatesPerEntity ).isSorted();
+            }
+        }
+        assertThat( sink.pendingUpdates() ).isZero();
+        assertThat( sink.updateLagMillis() ).isZero();
+    }
+
+    @Test
+    void mustCloseUpdaterAfterAllItsUpdatesHaveBeenApplied()
+    {
+        IndexUpdateSink sink = new IndexUpdateSink( scheduler, 100, SHARDS, Duration.ZERO, log );
+        int updates = 1000;
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger processedWhenClosed = new AtomicInteger( -1 );
+        IndexUpdater updater = new IndexUpdater()
+        {
+            @Override
+            public void process( IndexEntryUpdate<?> update )
+            {
+                processed.incrementAndGet();
+            }
+
+            @Override
+            public void close()
+            {
+                processedWhenClosed.set( processed.get() );
+            }
+        };
+
+        for ( int i = 0; i < updates; i++ )
+        {
+            sink.enqueueUpdate( index, updater, IndexEntryUpdate.add( i, SCHEMA, intValue( i ) ) );
+        }
+        sink.closeUpdater( index, updater );
+        sink.awaitUpdateApplication();
+
+        assertThat( processedWhenClosed.get() ).isEqualTo( updates );
+    }
+
+    @Test
+    void mustCoalesceRefreshesWhenRefreshLatencyIsConfigured() throws Exception
+    {
+        IndexUpdateSink sink = new IndexUpdateSink( scheduler, 100, SHARDS, Duration.ofHours( 1 ), log );
+        IndexUpdater updater = mock( IndexUpdater.class );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            sink.enqueueUpdate( index, updater, IndexEntryUpdate.add( i, SCHEMA, intValue( i ) ) );
+            sink.closeUpdater( index, updater );
+        }
+        verify( index, never() ).maybeRefreshBlocking();
+
+        // Waiting for the updates to be applied must not wait for the refresh latency, but refresh right away.
+        sink.awaitUpdateApplication();
+        verify( index, times( 1 ) ).maybeRefreshBlocking();
+        verify( updater, times( 10 ) ).process( any() );
+        verify( updater, times( 10 ) ).close();
+    }
+
+    @Test
+    void mustMarkIndexAsFailedAndKeepApplyingLaterUpdatesWhenAnUpdateFails() throws Exception
+    {
+        IndexUpdateSink sink = new IndexUpdateSink( scheduler, 100, SHARDS, Duration.ZERO, log );
+        IndexUpdater updater = mock( IndexUpdater.class );
+        IndexEntryUpdate<?> failingUpdate = IndexEntryUpdate.add( 0, SCHEMA, intValue( 0 ) );
+        doThrow( new IllegalStateException( "Update failed" ) ).when( updater ).process( failingUpdate );
+
+        sink.enqueueUpdate( index, updater, failingUpdate );
+        for ( int i = 1; i <= SHARDS; i++ )
+        {
+            sink.enqueueUpdate( index, updater, IndexEntryUpdate.add( i * SHARDS, SCHEMA, intValue( i ) ) );
+        }
+        sink.awaitUpdateApplication();
+
+        verify( updater, times( SHARDS + 1 ) ).process( any() );
+        verify( index ).markAsFailed( anyString() );
+        verify( log ).error( anyString(), any( IllegalStateException.class ) );
+        assertThat( sink.pendingUpdates() ).isZero();
+    }
+
+    @Test
+    void mustMarkIndexAsFailedWhenCoalescedRefreshFails() throws Exception
+    {
+        IndexUpdateSink sink = new IndexUpdateSink( scheduler, 100, SHARDS, Duration.ofHours( 1 ), log );
+        IndexUpdater updater = mock( IndexUpdater.class );
+        doThrow( new IOException( "Refresh failed" ) ).when( index ).maybeRefreshBlocking();
+
+        sink.enqueueUpdate( index, updater, IndexEntryUpdate.add( 1, SCHEMA, intValue( 1 ) ) );
+        sink.closeUpdater( index, updater );
+        sink.awaitUpdateApplication();
+
+        verify( updater ).close();
+        verify( index ).markAsFailed( anyString() );
+        verify( log ).error( anyString(), any( IOException.class ) );
+    }
+
+    @Test
+    void mustNotApplyNorCountUpdateWhenSchedulingFails() throws Exception
+    {
+        JobScheduler failingScheduler = mock( JobScheduler.class );
+        when( failingScheduler.schedule( any( Group.class ), any( JobMonitoringParams.class ), any( Runnable.class ) ) )
+                .thenThrow( new RejectedExecutionException( "Scheduler is shut down" ) );
+        IndexUpdateSink sink = new IndexUpdateSink( failingScheduler, 1, SHARDS, Duration.ZERO, log );
+        IndexUpdater updater = mock( IndexUpdater.class );
+
+        // With a queue limit of one, a permit leaked by the first failure would block the second update forever.
+        for ( int i = 0; i < 2; i++ )
+        {
+            IndexEntryUpdate<?> update = IndexEntryUpdate.add( i, SCHEMA, intValue( i ) );
+            assertThatThrownBy( () -> sink.enqueueUpdate( index, updater, update ) ).isInstanceOf( RejectedExecutionException.class );
+            assertThat( sink.pendingUpdates() ).isZero();
+            assertThat( sink.updateLagMillis() ).isZero();
+        }
+        verify( updater, never() ).process( any() );
+    }
+
+    private static class RecordingUpdater implements IndexUpdater
+    {
+        private final List<List<Integer>> applied;
+
+        RecordingUpdater( List<List<Integer>> applied )
+        {
+            this.applied = applied;
+        }
+
+        @Override
+        public void process( IndexEntryUpdate<?> update )
+        {
+            List<Integer> sequences = applied.get( (int) update.getEntityId() );
+            synchronized ( sequences )
+            {
+                sequences.add( (Integer) asValueUpdate( update ).values()[0].asObject() );
+            }
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -95,6 +96,9 @@ import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
  * <p>
  * A single writer w/ multiple concurrent readers is supported. Assuming usage adheres to this
  * constraint neither writer nor readers are blocking. Readers are virtually garbage-free.
+ * Alternatively multiple {@link #parallelWriter(CursorContext) parallel writers} can change the tree concurrently,
+ * as long as their changes can be made in place in different leaves. Changes that need structural changes of the tree
+ * are made by one parallel writer at a time.
  * <p>
  * An reader of GB+Tree is a {@link SeekCursor} that returns result as it finds them.
  * As the cursor move over keys/values, returned results are considered "behind" it
@@ -375,6 +379,17 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
      */
     private final TreeNode<KEY,VALUE> bTreeNode;
 
+    /**
+     * Format of the tree nodes, for {@link ParallelWriter parallel writers} to create their own {@link TreeNode} instances from,
+     * since tree nodes keep state while changing a node.
+     */
+    private final TreeNodeSelector.Factory treeNodeFormat;
+
+    /**
+     * Store of keys and values that are too large to be inlined in the tree nodes.
+     */
+    private final OffloadStoreImpl<KEY,VALUE> offloadStore;
+
     /**
      * A free-list of released ids. Acquiring new ids involves first trying out the free-list and then,
      * as a fall-back allocate a new id at the end of the store.
@@ -386,6 +401,17 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
      */
     private final SingleWriter writer;
 
+    /**
+     * Held shared by {@link ParallelWriter parallel writers} while they change a leaf in place, and exclusively while they make
+     * structural changes to the tree.
+     */
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+
+    /**
+     * Latches held by {@link ParallelWriter parallel writers} while they change a leaf in place.
+     */
+    private final TreeNodeLatches latches = new TreeNodeLatches();
+
     /**
      * Tells whether or not there have been made changes (using {@link #writer(CursorContext)}) to this tree
      * since last call to {@link #checkpoint(CursorContext)}. This variable is set when calling {@link #writer(CursorContext)}
@@ -609,7 +635,8 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
                 format = TreeNodeSelector.selectByFormat( meta.getFormatIdentifier(), meta.getFormatVersion() );
             }
             this.freeList = new FreeListIdProvider( pagedFile, rootId );
-            OffloadStoreImpl<KEY,VALUE> offloadStore = buildOffload( layout, freeList, pagedFile, pageSize );
+            this.offloadStore = buildOffload( layout, freeList, pagedFile, pageSize );
+            this.treeNodeFormat = format;
             this.bTreeNode = format.create( pageSize, layout, offloadStore );
             this.writer = new SingleWriter( new InternalTreeLogic<>( freeList, bTreeNode, layout, monitor ) );
 
@@ -1027,6 +1054,61 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
                 exceptionDecorator, readAheadLength, searchLevel, monitor, cursorContext );
     }
 
+    /**
+     * Seeks hits in this tree, given a batch of key ranges, in a single forward pass. Hits of all ranges are iterated over,
+     * in ascending order, using the returned {@link Seeker}. This is cheaper than one {@link #seek(Object, Object, CursorContext) seek} per range
+     * for many ranges, because the seek continues along the leaf chain when the next range starts within the current leaf and
+     * only traverses down from the root when it doesn't.
+     * <p>
+     * The ranges must be sorted and must not overlap, i.e. every range must be forward and must start at or after the end of the previous one.
+     * A range where {@code fromInclusive} equals {@code toExclusive} is an exact match and the next range must then start after it.
+     *
+     * @param fromInclusive lower bounds of the ranges to seek (inclusive).
+     * @param toExclusive higher bounds of the ranges to seek (exclusive), one for each lower bound.
+     * @param cursorContext underlying page cursor context
+     * @return a {@link Seeker} used to iterate over the hits within the specified key ranges.
+     * @throws IOException on error reading from index.
+     * @throws IllegalArgumentException if no ranges are given or if the ranges are not sorted.
+     */
+    @SuppressWarnings( "unchecked" )
+    public Seeker<KEY,VALUE> multiSeek( List<KEY> fromInclusive, List<KEY> toExclusive, CursorContext cursorContext ) throws IOException
+    {
+        Preconditions.checkArgument( !fromInclusive.isEmpty(), "Multi seek needs at least one key range" );
+        Preconditions.checkArgument( fromInclusive.size() == toExclusive.size(), "Got %d lower bounds, but %d higher bounds",
+                fromInclusive.size(), toExclusive.size() );
+        for ( int i = 0; i < fromInclusive.size(); i++ )
+        {
+            int rangeComparison = layout.compare( fromInclusive.get( i ), toExclusive.get( i ) );
+            if ( rangeComparison > 0 )
+            {
+                throw new IllegalArgumentException( "Multi seek only supports forward seeking, but range " + i + " goes from " + fromInclusive.get( i ) +
+                        " to " + toExclusive.get( i ) );
+            }
+            if ( i > 0 )
+            {
+                int previousRangeComparison = layout.compare( toExclusive.get( i - 1 ), fromInclusive.get( i ) );
+                boolean previousIsExactMatch = layout.compare( fromInclusive.get( i - 1 ), toExclusive.get( i - 1 ) ) == 0;
+                if ( previousRangeComparison > 0 || (previousIsExactMatch && previousRangeComparison == 0) )
+                {
+                    throw new IllegalArgumentException( "Key ranges must be sorted and must not overlap, but range " + i + " starting at " +
+                            fromInclusive.get( i ) + " overlaps the previous range ending at " + toExclusive.get( i - 1 ) );
+                }
+            }
+        }
+
+        long generation = this.generation;
+        long stableGeneration = stableGeneration( generation );
+        long unstableGeneration = unstableGeneration( generation );
+
+        PageCursor cursor = pagedFile.io( 0L /*ignored*/, PF_SHARED_READ_LOCK, cursorContext );
+        long rootGeneration = root.goTo( cursor );
+
+        // Returns cursor which is now initiated with the leaf node for the first of the specified ranges
+        return new SeekCursor<>( cursor, bTreeNode, (KEY[]) fromInclusive.toArray(), (KEY[]) toExclusive.toArray(), layout,
+                stableGeneration, unstableGeneration, generationSupplier, rootCatchupSupplier.get(), rootGeneration,
+                exceptionDecorator, DEFAULT_MAX_READ_AHEAD, SeekCursor.NO_MONITOR, cursorContext );
+    }
+
     /**
      * Partitions the provided key range into {@code numberOfPartitions} partitions and instantiates a {@link Seeker} for each.
      * Caller can seek through the partitions in parallel. Caller is responsible for closing the returned {@link Seeker seekers}.
@@ -1406,6 +1488,65 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         return writer;
     }
 
+    /**
+     * Use default value for ratioToKeepInLeftOnSplit
+     * @param cursorContext underlying page cursor context
+     * @see GBPTree#parallelWriter(double, CursorContext)
+     */
+    public Writer<KEY,VALUE> parallelWriter( CursorContext cursorContext ) throws IOException
+    {
+        return parallelWriter( InternalTreeLogic.DEFAULT_SPLIT_RATIO, cursorContext );
+    }
+
+    /**
+     * Returns a {@link Writer} able to modify the index, i.e. insert and remove keys/values, which unlike the {@link #writer(CursorContext)
+     * single writer} can be used at the same time as other parallel writers of this tree. Each parallel writer must only be used by
+     * one thread at a time, and must be closed after usage, typically by using try-with-resource clause.
+     * <p>
+     * Changes that can be made in place in a leaf are made in parallel with changes in other leaves, while changes that need structural
+     * changes of the tree, like splits or new generations of tree nodes, are made by one parallel writer at a time. A {@link ValueMerger}
+     * may be consulted more than once for the same change, if it turns out that the change needs structural changes.
+     * Parallel writers exclude the single writer, as well as {@link #checkpoint(CursorContext) checkpoints}, for as long as they are open.
+     *
+     * @param ratioToKeepInLeftOnSplit Decide how much to keep in left node on split, 0=keep nothing, 0.5=split 50-50, 1=keep everything.
+     * @param cursorContext underlying page cursor context
+     * @return a new parallel {@link Writer} for this index.
+     * @throws IOException on error accessing the index.
+     */
+    public Writer<KEY,VALUE> parallelWriter( double ratioToKeepInLeftOnSplit, CursorContext cursorContext ) throws IOException
+    {
+        assertNotReadOnly( "Open parallel tree writer." );
+        ParallelWriter parallelWriter = new ParallelWriter();
+        parallelWriter.initialize( ratioToKeepInLeftOnSplit, cursorContext );
+        changesSinceLastCheckpoint = true;
+        return parallelWriter;
+    }
+
+    /**
+     * Returns a {@link BulkLoader} able to build this tree, which must be empty, from key/value pairs in sorted order.
+     * The tree is built bottom-up: leaves are filled one after the other and the internal levels above them are built along with them.
+     * Every tree node is written once, in the order the tree nodes are allocated, so building a large tree this way is bound by I/O
+     * rather than by searching the tree for every key. The bulk loader excludes any other writer, the same way the {@link #writer(CursorContext) writer} does.
+     * After usage the returned bulk loader must be closed, typically by using try-with-resource clause.
+     *
+     * @param fillFactor how full to fill the tree nodes, where 1 means as full as possible. Tree nodes which are not completely full
+     * have room for later inserts without splitting.
+     * @param cursorContext underlying page cursor context
+     * @return a {@link BulkLoader} for this tree. The loaded key/value pairs become visible in the tree when the bulk loader is
+     * {@link BulkLoader#close() closed}.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if the tree isn't empty.
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader( double fillFactor, CursorContext cursorContext ) throws IOException
+    {
+        assertNotReadOnly( "Open tree bulk loader." );
+        Preconditions.checkArgument( fillFactor > 0 && fillFactor <= 1, "Fill factor must be in range (0,1], was %f", fillFactor );
+        BottomUpBulkLoader bulkLoader = new BottomUpBulkLoader( fillFactor );
+        bulkLoader.initialize( cursorContext );
+        changesSinceLastCheckpoint = true;
+        return bulkLoader;
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1610,16 +1751,16 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
          * guard so that only one writer ever exist.
          */
         private final AtomicBoolean writerTaken = new AtomicBoolean();
-        private final InternalTreeLogic<KEY,VALUE> treeLogic;
+        final InternalTreeLogic<KEY,VALUE> treeLogic;
         private final StructurePropagation<KEY> structurePropagation;
-        private PageCursor cursor;
-        private CursorContext cursorContext;
+        PageCursor cursor;
+        CursorContext cursorContext;
 
         // Writer can't live past a checkpoint because of the mutex with checkpoint,
         // therefore safe to locally cache these generation fields from the volatile generation in the tree
-        private long stableGeneration;
-        private long unstableGeneration;
-        private double ratioToKeepInLeftOnSplit;
+        long stableGeneration;
+        long unstableGeneration;
+        double ratioToKeepInLeftOnSplit;
 
         SingleWriter( InternalTreeLogic<KEY,VALUE> treeLogic )
         {
@@ -1703,7 +1844,7 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
             internalMerge( key, value, valueMerger, false );
         }
 
-        private void internalMerge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists )
+        void internalMerge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists )
         {
             try
             {
@@ -1795,7 +1936,7 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
             lock.writerAndCleanerUnlock();
         }
 
-        private void closeCursor()
+        void closeCursor()
         {
             if ( cursor != null )
             {
@@ -1805,6 +1946,392 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         }
     }
 
+    /**
+     * A {@link Writer} that can be used at the same time as other parallel writers of the same tree, see {@link #parallelWriter(CursorContext)}.
+     * <p>
+     * Each change is first tried in place in its leaf, while holding the {@link #structureLock} shared and the latch of the leaf.
+     * Since no other writer can change the structure of the tree meanwhile, the path down to the leaf can be followed without latches,
+     * and changes in different leaves are made in parallel. Changes that need structural changes are made over again, the same way
+     * the {@link SingleWriter} makes them, while holding the {@link #structureLock} exclusively.
+     */
+    private class ParallelWriter extends SingleWriter
+    {
+        private boolean closed;
+
+        ParallelWriter()
+        {
+            super( new InternalTreeLogic<>( freeList, treeNodeFormat.create( pageSize, layout, offloadStore ), layout, monitor ) );
+        }
+
+        @Override
+        void initialize( double ratioToKeepInLeftOnSplit, CursorContext cursorContext ) throws IOException
+        {
+            boolean success = false;
+            // Block here until cleaning has completed, if cleaning was required
+            lock.parallelWriterLock();
+            try
+            {
+                assertRecoveryCleanSuccessful();
+                cursor = openRootCursor( PagedFile.PF_SHARED_WRITE_LOCK, cursorContext );
+                this.cursorContext = cursorContext;
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                this.ratioToKeepInLeftOnSplit = ratioToKeepInLeftOnSplit;
+                success = true;
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    closeCursor();
+                    lock.parallelWriterUnlock();
+                }
+            }
+        }
+
+        @Override
+        void internalMerge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists )
+        {
+            InternalTreeLogic.LeafChange change;
+            structureLock.readLock().lock();
+            try
+            {
+                goToRoot();
+                change = treeLogic.insertInLeafOnly( cursor, key, value, valueMerger, createIfNotExists, stableGeneration, unstableGeneration,
+                        latches, cursorContext );
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+            finally
+            {
+                structureLock.readLock().unlock();
+            }
+
+            if ( change == InternalTreeLogic.LeafChange.NEEDS_STRUCTURAL_CHANGE )
+            {
+                structureLock.writeLock().lock();
+                try
+                {
+                    goToRoot();
+                    super.internalMerge( key, value, valueMerger, createIfNotExists );
+                }
+                finally
+                {
+                    structureLock.writeLock().unlock();
+                }
+            }
+            checkOutOfBounds( cursor );
+        }
+
+        @Override
+        public VALUE remove( KEY key )
+        {
+            VALUE result = layout.newValue();
+            InternalTreeLogic.LeafChange change;
+            structureLock.readLock().lock();
+            try
+            {
+                goToRoot();
+                change = treeLogic.removeFromLeafOnly( cursor, key, result, stableGeneration, unstableGeneration, latches, cursorContext );
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+            finally
+            {
+                structureLock.readLock().unlock();
+            }
+
+            if ( change == InternalTreeLogic.LeafChange.NEEDS_STRUCTURAL_CHANGE )
+            {
+                structureLock.writeLock().lock();
+                try
+                {
+                    goToRoot();
+                    return super.remove( key );
+                }
+                finally
+                {
+                    structureLock.writeLock().unlock();
+                }
+            }
+            checkOutOfBounds( cursor );
+            return change == InternalTreeLogic.LeafChange.CHANGED ? result : null;
+        }
+
+        /**
+         * Other parallel writers may have changed the structure of the tree since the last change of this writer,
+         * so every change starts over from the root.
+         */
+        private void goToRoot()
+        {
+            try
+            {
+                root.goTo( cursor );
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
+        }
+
+        @Override
+        public void close()
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close parallel writer of " + GBPTree.this + ", but writer is already closed." );
+            }
+            closed = true;
+            closeCursor();
+            lock.parallelWriterUnlock();
+        }
+    }
+
+    /**
+     * Builds the tree bottom-up, see {@link #bulkLoader(double, CursorContext)}.
+     * <p>
+     * There is one cursor per level of the tree being built, pinned to the rightmost tree node of that level, where level 0 is the leaf level.
+     * When a tree node is full, a new right sibling of it is started, and the first key in the new sibling together with the sibling itself
+     * is added to the level above. The top level always has exactly one tree node, which becomes the new root when closing.
+     */
+    private class BottomUpBulkLoader implements BulkLoader<KEY,VALUE>
+    {
+        private final double fillFactor;
+        private final List<PageCursor> levels = new ArrayList<>();
+        private final KEY previousKey = layout.newKey();
+        private CursorContext cursorContext;
+        private long stableGeneration;
+        private long unstableGeneration;
+        private boolean closed;
+
+        BottomUpBulkLoader( double fillFactor )
+        {
+            this.fillFactor = fillFactor;
+        }
+
+        void initialize( CursorContext cursorContext ) throws IOException
+        {
+            boolean success = false;
+            // Block here until cleaning has completed, if cleaning was required
+            lock.writerAndCleanerLock();
+            try
+            {
+                assertRecoveryCleanSuccessful();
+                this.cursorContext = cursorContext;
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                try ( PageCursor cursor = openRootCursor( PagedFile.PF_SHARED_READ_LOCK, cursorContext ) )
+                {
+                    boolean empty;
+                    do
+                    {
+                        empty = TreeNode.isLeaf( cursor ) && TreeNode.keyCount( cursor ) == 0;
+                    }
+                    while ( cursor.shouldRetry() );
+                    checkOutOfBounds( cursor );
+                    if ( !empty )
+                    {
+                        throw new IllegalStateException( "Can only bulk load into an empty tree, but " + GBPTree.this + " has keys" );
+                    }
+                }
+                success = true;
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    lock.writerAndCleanerUnlock();
+                }
+            }
+        }
+
+        @Override
+        public void add( KEY key, VALUE value )
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to add to bulk loader of " + GBPTree.this + ", but bulk loader is already closed." );
+            }
+            try
+            {
+                bTreeNode.validateKeyValueSize( key, value );
+                if ( levels.isEmpty() )
+                {
+                    newLevel();
+                }
+                else if ( layout.compare( previousKey, key ) >= 0 )
+                {
+                    throw new IllegalArgumentException( "Keys must be added in increasing order, but " + key + " was added after " + previousKey );
+                }
+
+                PageCursor leaf = levels.get( 0 );
+                int keyCount = TreeNode.keyCount( leaf );
+                if ( keyCount > 0 && leafIsFull( leaf, keyCount, key, value ) && (!bTreeNode.compactLeaf( leaf, keyCount ) ||
+                        leafIsFull( leaf, keyCount, key, value )) )
+                {
+                    long leftLeaf = leaf.getCurrentPageId();
+                    long rightLeaf = newRightSibling( 0 );
+                    addToInternalLevel( 1, leftLeaf, key, rightLeaf );
+                    keyCount = 0;
+                }
+                bTreeNode.insertKeyValueAt( leaf, key, value, keyCount, keyCount, stableGeneration, unstableGeneration, cursorContext );
+                TreeNode.setKeyCount( leaf, keyCount + 1 );
+                checkOutOfBounds( leaf );
+                layout.copyKey( key, previousKey );
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+        }
+
+        /**
+         * Adds the splitter {@code key} and the {@code rightChild} to the right of it to the rightmost tree node on the given internal level.
+         * Creates the level, with {@code leftChild} as its first child, if the level doesn't exist yet.
+         */
+        private boolean leafIsFull( PageCursor leaf, int keyCount, KEY key, VALUE value )
+        {
+            return bTreeNode.leafOverflow( leaf, keyCount, key, value ) != TreeNode.Overflow.NO || bTreeNode.leafFillRatio( leaf, keyCount ) >= fillFactor;
+        }
+
+        private void addToInternalLevel( int level, long leftChild, KEY key, long rightChild ) throws IOException
+        {
+            if ( levels.size() == level )
+            {
+                PageCursor cursor = newLevel();
+                bTreeNode.setChildAt( cursor, leftChild, 0, stableGeneration, unstableGeneration );
+            }
+
+            PageCursor cursor = levels.get( level );
+            int keyCount = TreeNode.keyCount( cursor );
+            if ( keyCount > 0 && (bTreeNode.internalOverflow( cursor, keyCount, key ) != TreeNode.Overflow.NO ||
+                    bTreeNode.internalFillRatio( cursor, keyCount ) >= fillFactor) )
+            {
+                // The key goes to the level above, as the splitter between this tree node and its new right sibling
+                long leftNode = cursor.getCurrentPageId();
+                long rightNode = newRightSibling( level );
+                bTreeNode.setChildAt( cursor, rightChild, 0, stableGeneration, unstableGeneration );
+                addToInternalLevel( level + 1, leftNode, key, rightNode );
+            }
+            else
+            {
+                bTreeNode.insertKeyAndRightChildAt( cursor, key, rightChild, keyCount, keyCount, stableGeneration, unstableGeneration, cursorContext );
+                TreeNode.setKeyCount( cursor, keyCount + 1 );
+            }
+            checkOutOfBounds( cursor );
+        }
+
+        private PageCursor newLevel() throws IOException
+        {
+            long id = freeList.acquireNewId( stableGeneration, unstableGeneration, cursorContext );
+            PageCursor cursor = pagedFile.io( id, PagedFile.PF_SHARED_WRITE_LOCK, cursorContext );
+            levels.add( cursor );
+            PageCursorUtil.goTo( cursor, "bulk loaded tree node", id );
+            initializeNode( cursor, levels.size() - 1 );
+            return cursor;
+        }
+
+        /**
+         * Moves the cursor of the given level to a new tree node, which is linked in as the right sibling of the tree node the cursor was at.
+         */
+        private long newRightSibling( int level ) throws IOException
+        {
+            PageCursor cursor = levels.get( level );
+            long leftId = cursor.getCurrentPageId();
+            long rightId = freeList.acquireNewId( stableGeneration, unstableGeneration, cursorContext );
+            TreeNode.setRightSibling( cursor, rightId, stableGeneration, unstableGeneration );
+            checkOutOfBounds( cursor );
+            PageCursorUtil.goTo( cursor, "bulk loaded tree node", rightId );
+            initializeNode( cursor, level );
+            TreeNode.setLeftSibling( cursor, leftId, stableGeneration, unstableGeneration );
+            return rightId;
+        }
+
+        private void initializeNode( PageCursor cursor, int level )
+        {
+            if ( level == 0 )
+            {
+                bTreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+            }
+            else
+            {
+                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close bulk loader of " + GBPTree.this + ", but bulk loader is already closed." );
+            }
+            closed = true;
+            try
+            {
+                if ( !levels.isEmpty() )
+                {
+                    // The empty root is replaced by the top of the loaded tree, and will be reused when no longer part of a stable tree
+                    long oldRootId = root.id();
+                    long newRootId = levels.get( levels.size() - 1 ).getCurrentPageId();
+                    freeList.releaseId( stableGeneration, unstableGeneration, oldRootId, cursorContext );
+                    setRoot( newRootId, unstableGeneration );
+                }
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+            finally
+            {
+                try
+                {
+                    IOUtils.closeAll( levels );
+                }
+                finally
+                {
+                    levels.clear();
+                    lock.writerAndCleanerUnlock();
+                }
+            }
+        }
+    }
+
     /**
      * Total size limit for key and value.
      * This limit includes storage overhead that is specific to key implementation for example entity id or meta data about type.
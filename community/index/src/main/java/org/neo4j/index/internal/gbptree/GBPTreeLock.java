@@ -26,10 +26,18 @@ import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.util.VisibleForTesting;
 
+/**
+ * Lock with three individual parts: an exclusive writer lock, an exclusive cleaner lock and a shared parallel writer lock.
+ * <p>
+ * Any number of parallel writers can hold the parallel writer lock at the same time, as long as neither the writer lock nor the cleaner lock is held.
+ * Taking the writer or cleaner lock first blocks new parallel writers, and then waits for the current parallel writers to unlock.
+ */
 class GBPTreeLock
 {
     private static final long writerLockBit = 0x00000000_00000001L;
     private static final long cleanerLockBit = 0x00000000_00000002L;
+    private static final long parallelWriterUnit = 0x00000000_00000004L;
+    private static final long parallelWriterMask = ~(writerLockBit | cleanerLockBit);
     @SuppressWarnings( "unused" ) // accessed via VarHandle
     private long state;
     private static final VarHandle STATE;
@@ -85,6 +93,35 @@ class GBPTreeLock
         doUnlock( writerLockBit | cleanerLockBit );
     }
 
+    void parallelWriterLock()
+    {
+        long currentState;
+        do
+        {
+            currentState = (long) STATE.getVolatile( this );
+            while ( !canLock( currentState, writerLockBit | cleanerLockBit ) )
+            {
+                sleep();
+                currentState = (long) STATE.getVolatile( this );
+            }
+        }
+        while ( !STATE.weakCompareAndSet( this, currentState, currentState + parallelWriterUnit ) );
+    }
+
+    void parallelWriterUnlock()
+    {
+        long currentState;
+        do
+        {
+            currentState = (long) STATE.getVolatile( this );
+            if ( (currentState & parallelWriterMask) == 0 )
+            {
+                throw new IllegalStateException( "Can not unlock parallel writer lock that is not locked" );
+            }
+        }
+        while ( !STATE.weakCompareAndSet( this, currentState, currentState - parallelWriterUnit ) );
+    }
+
     private void doLock( long targetLockBit )
     {
         long currentState;
@@ -100,6 +137,12 @@ class GBPTreeLock
             }
             newState = currentState | targetLockBit;
         } while ( !STATE.weakCompareAndSet( this, currentState, newState ) );
+
+        // No new parallel writers can lock now, wait for the current ones to unlock
+        while ( ((long) STATE.getVolatile( this ) & parallelWriterMask) != 0 )
+        {
+            sleep();
+        }
     }
 
     private void doUnlock( long targetLockBit )
@@ -94,6 +94,7 @@ class InternalTreeLogic<KEY,VALUE>
     private final KEY newKeyPlaceHolder;
     private final KEY readKey;
     private final VALUE readValue;
+    private final KeyBuffer keyBuffer = new KeyBuffer();
     private final GBPTree.Monitor monitor;
 
     /**
@@ -303,7 +304,7 @@ class InternalTreeLogic<KEY,VALUE>
                 }
                 else
                 {
-                    bTreeNode.keyAt( cursor, level.lower, childPos - 1, INTERNAL, cursorContext );
+                    bTreeNode.keyAt( cursor, level.lower, childPos - 1, INTERNAL, cursorContext, keyBuffer );
                 }
             }
             level.upperIsOpenEnded = childPos >= keyCount &&
@@ -317,7 +318,7 @@ class InternalTreeLogic<KEY,VALUE>
                 }
                 else
                 {
-                    bTreeNode.keyAt( cursor, level.upper, childPos, INTERNAL, cursorContext );
+                    bTreeNode.keyAt( cursor, level.upper, childPos, INTERNAL, cursorContext, keyBuffer );
                 }
             }
 
@@ -400,7 +401,7 @@ class InternalTreeLogic<KEY,VALUE>
 
     private int search( PageCursor cursor, TreeNode.Type type, KEY key, KEY readKey, int keyCount, CursorContext cursorContext )
     {
-        int searchResult = KeySearch.search( cursor, bTreeNode, type, key, readKey, keyCount, cursorContext );
+        int searchResult = KeySearch.search( cursor, bTreeNode, type, key, readKey, keyCount, cursorContext, keyBuffer );
         KeySearch.assertSuccess( searchResult );
         return searchResult;
     }
@@ -775,6 +776,170 @@ class InternalTreeLogic<KEY,VALUE>
         return into;
     }
 
+    /**
+     * Outcome of a change that is only allowed to change a single leaf in place.
+     */
+    enum LeafChange
+    {
+        /**
+         * The leaf was changed.
+         */
+        CHANGED,
+        /**
+         * Nothing needed to be changed, e.g. the key to remove did not exist.
+         */
+        UNCHANGED,
+        /**
+         * The change needs structural changes in the tree, or a new generation of the leaf, and nothing was changed.
+         */
+        NEEDS_STRUCTURAL_CHANGE
+    }
+
+    /**
+     * Like {@link #insert(PageCursor, StructurePropagation, Object, Object, ValueMerger, boolean, long, long, CursorContext)}, but only makes
+     * the change if it can be made in place in the leaf, i.e. without splitting the leaf and without creating a new generation of it.
+     * Underflow in the leaf is left for a later change to take care of, just like when the leaf can not be rebalanced with its siblings.
+     * <p>
+     * Used by parallel writers, which are guaranteed that no other writer changes the structure of the tree concurrently, and which
+     * therefore only need to hold the latch of the leaf from {@code latches} while changing it.
+     * <p>
+     * Note that the {@code valueMerger} may have been consulted even if {@link LeafChange#NEEDS_STRUCTURAL_CHANGE} is returned,
+     * in which case the change is expected to be retried, consulting the {@code valueMerger} again.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree, or at where last change left it.
+     * @param key key to be inserted
+     * @param value value to be associated with key
+     * @param valueMerger {@link ValueMerger} for deciding what to do with existing keys
+     * @param createIfNotExists create this key if it doesn't exist
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @param latches {@link TreeNodeLatches} to latch the leaf with while changing it.
+     * @param cursorContext underlying page cursor context
+     * @return the {@link LeafChange outcome} of the change.
+     * @throws IOException on cursor failure
+     */
+    LeafChange insertInLeafOnly( PageCursor cursor, KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists,
+            long stableGeneration, long unstableGeneration, TreeNodeLatches latches, CursorContext cursorContext ) throws IOException
+    {
+        assert cursorIsAtExpectedLocation( cursor );
+        bTreeNode.validateKeyValueSize( key, value );
+        moveToCorrectLeaf( cursor, key, stableGeneration, unstableGeneration, cursorContext );
+
+        synchronized ( latches.latch( cursor.getCurrentPageId() ) )
+        {
+            if ( TreeNode.generation( cursor ) != unstableGeneration )
+            {
+                return LeafChange.NEEDS_STRUCTURAL_CHANGE;
+            }
+
+            int keyCount = TreeNode.keyCount( cursor );
+            int search = search( cursor, LEAF, key, readKey, keyCount, cursorContext );
+            int pos = positionOf( search );
+            if ( isHit( search ) )
+            {
+                return mergeValueInLeafOnly( cursor, key, value, valueMerger, pos, keyCount, stableGeneration, unstableGeneration, cursorContext );
+            }
+            if ( !createIfNotExists )
+            {
+                return LeafChange.UNCHANGED;
+            }
+            return insertKeyValueInLeafOnly( cursor, key, value, pos, keyCount, stableGeneration, unstableGeneration, cursorContext );
+        }
+    }
+
+    private LeafChange mergeValueInLeafOnly( PageCursor cursor, KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, int pos, int keyCount,
+            long stableGeneration, long unstableGeneration, CursorContext cursorContext ) throws IOException
+    {
+        bTreeNode.valueAt( cursor, readValue, pos, cursorContext );
+        ValueMerger.MergeResult mergeResult = valueMerger.merge( readKey, key, readValue, value );
+        if ( mergeResult == ValueMerger.MergeResult.UNCHANGED )
+        {
+            return LeafChange.UNCHANGED;
+        }
+        if ( mergeResult == ValueMerger.MergeResult.REPLACED || mergeResult == ValueMerger.MergeResult.MERGED )
+        {
+            VALUE mergedValue = mergeResult == ValueMerger.MergeResult.REPLACED ? value : readValue;
+            if ( bTreeNode.setValueAt( cursor, mergedValue, pos ) )
+            {
+                return LeafChange.CHANGED;
+            }
+            // The value changes size. Only replace the whole entry if it would fit even if the old entry was still there,
+            // because once the old entry is removed there is no going back.
+            if ( bTreeNode.leafOverflow( cursor, keyCount, key, mergedValue ) == YES )
+            {
+                return LeafChange.NEEDS_STRUCTURAL_CHANGE;
+            }
+            bTreeNode.removeKeyValueAt( cursor, pos, keyCount, stableGeneration, unstableGeneration, cursorContext );
+            TreeNode.setKeyCount( cursor, keyCount - 1 );
+            return insertKeyValueInLeafOnly( cursor, key, mergedValue, pos, keyCount - 1, stableGeneration, unstableGeneration, cursorContext );
+        }
+        if ( mergeResult == ValueMerger.MergeResult.REMOVED )
+        {
+            bTreeNode.removeKeyValueAt( cursor, pos, keyCount, stableGeneration, unstableGeneration, cursorContext );
+            TreeNode.setKeyCount( cursor, keyCount - 1 );
+            return LeafChange.CHANGED;
+        }
+        throw new UnsupportedOperationException( "Unexpected merge result " + mergeResult );
+    }
+
+    private LeafChange insertKeyValueInLeafOnly( PageCursor cursor, KEY key, VALUE value, int pos, int keyCount, long stableGeneration,
+            long unstableGeneration, CursorContext cursorContext ) throws IOException
+    {
+        Overflow overflow = bTreeNode.leafOverflow( cursor, keyCount, key, value );
+        if ( overflow == YES )
+        {
+            return LeafChange.NEEDS_STRUCTURAL_CHANGE;
+        }
+        if ( overflow == NO_NEED_DEFRAG )
+        {
+            bTreeNode.defragmentLeaf( cursor );
+        }
+        bTreeNode.insertKeyValueAt( cursor, key, value, pos, keyCount, stableGeneration, unstableGeneration, cursorContext );
+        TreeNode.setKeyCount( cursor, keyCount + 1 );
+        return LeafChange.CHANGED;
+    }
+
+    /**
+     * Like {@link #remove(PageCursor, StructurePropagation, Object, Object, long, long, CursorContext)}, but only makes the change if it
+     * can be made in place in the leaf, i.e. without creating a new generation of it. Underflow in the leaf is left for a later change
+     * to take care of, just like when the leaf can not be rebalanced with its siblings.
+     * <p>
+     * Used by parallel writers, see {@link #insertInLeafOnly(PageCursor, Object, Object, ValueMerger, boolean, long, long, TreeNodeLatches,
+     * CursorContext)}.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree, or at where last change left it.
+     * @param key key to be removed
+     * @param into {@code VALUE} instance to write removed value to
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @param latches {@link TreeNodeLatches} to latch the leaf with while changing it.
+     * @param cursorContext underlying page cursor context
+     * @return the {@link LeafChange outcome} of the change, where {@link LeafChange#UNCHANGED} means that the key did not exist.
+     * @throws IOException on cursor failure
+     */
+    LeafChange removeFromLeafOnly( PageCursor cursor, KEY key, VALUE into, long stableGeneration, long unstableGeneration,
+            TreeNodeLatches latches, CursorContext cursorContext ) throws IOException
+    {
+        assert cursorIsAtExpectedLocation( cursor );
+        moveToCorrectLeaf( cursor, key, stableGeneration, unstableGeneration, cursorContext );
+
+        synchronized ( latches.latch( cursor.getCurrentPageId() ) )
+        {
+            int keyCount = TreeNode.keyCount( cursor );
+            int search = search( cursor, LEAF, key, readKey, keyCount, cursorContext );
+            if ( !isHit( search ) )
+            {
+                return LeafChange.UNCHANGED;
+            }
+            if ( TreeNode.generation( cursor ) != unstableGeneration )
+            {
+                return LeafChange.NEEDS_STRUCTURAL_CHANGE;
+            }
+            simplyRemoveFromLeaf( cursor, into, keyCount, positionOf( search ), stableGeneration, unstableGeneration, cursorContext );
+            return LeafChange.CHANGED;
+        }
+    }
+
     private void handleStructureChanges( PageCursor cursor, StructurePropagation<KEY> structurePropagation,
             long stableGeneration, long unstableGeneration, CursorContext cursorContext ) throws IOException
     {
@@ -1010,7 +1175,7 @@ class InternalTreeLogic<KEY,VALUE>
 
             // Create new version of node, save rightmost key in structurePropagation, remove rightmost key and child
             createSuccessorIfNeeded( cursor, structurePropagation, UPDATE_MID_CHILD, stableGeneration, unstableGeneration, cursorContext );
-            bTreeNode.keyAt( cursor, structurePropagation.bubbleKey, keyCount - 1, INTERNAL, cursorContext );
+            bTreeNode.keyAt( cursor, structurePropagation.bubbleKey, keyCount - 1, INTERNAL, cursorContext, keyBuffer );
             simplyRemoveFromInternal( cursor, keyCount, keyCount - 1, false, stableGeneration, unstableGeneration, cursorContext );
 
             return true;
@@ -1189,7 +1354,7 @@ class InternalTreeLogic<KEY,VALUE>
     {
         // Read the right-most key from the right sibling to use when comparing whether or not
         // a common parent covers the keys in right sibling too
-        bTreeNode.keyAt( rightSiblingCursor, structurePropagation.rightKey, rightSiblingKeyCount - 1, LEAF, cursorContext );
+        bTreeNode.keyAt( rightSiblingCursor, structurePropagation.rightKey, rightSiblingKeyCount - 1, LEAF, cursorContext, keyBuffer );
         merge( cursor, keyCount, rightSiblingCursor, rightSiblingKeyCount, stableGeneration, unstableGeneration, cursorContext );
 
         // Propagate change
@@ -1207,7 +1372,7 @@ class InternalTreeLogic<KEY,VALUE>
     {
         // Read the left-most key from the left sibling to use when comparing whether or not
         // a common parent covers the keys in left sibling too
-        bTreeNode.keyAt( leftSiblingCursor, structurePropagation.leftKey, 0, LEAF, cursorContext );
+        bTreeNode.keyAt( leftSiblingCursor, structurePropagation.leftKey, 0, LEAF, cursorContext, keyBuffer );
         merge( leftSiblingCursor, leftSiblingKeyCount, cursor, keyCount, stableGeneration, unstableGeneration, cursorContext );
 
         // Propagate change
@@ -1241,7 +1406,7 @@ class InternalTreeLogic<KEY,VALUE>
         // Propagate change
         structurePropagation.hasLeftKeyReplace = true;
         structurePropagation.keyReplaceStrategy = REPLACE;
-        bTreeNode.keyAt( rightCursor, structurePropagation.leftKey, 0, LEAF, cursorContext );
+        bTreeNode.keyAt( rightCursor, structurePropagation.leftKey, 0, LEAF, cursorContext, keyBuffer );
     }
 
     /**
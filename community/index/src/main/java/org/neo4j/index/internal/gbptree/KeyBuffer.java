@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * Scratch space for tree nodes that need to put the bytes of a key together before the {@link Layout} can read it.
+ * Tree nodes are shared between concurrent readers, so a buffer is owned by whoever reads, like a {@link SeekCursor} or a writer,
+ * and handed to the tree node with each read.
+ */
+class KeyBuffer
+{
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] bytes = EMPTY;
+    private PageCursor cursor;
+
+    /**
+     * @param size the number of bytes the key needs.
+     * @return the bytes of this buffer, with room for at least {@code size} bytes.
+     */
+    byte[] bytes( int size )
+    {
+        if ( bytes.length < size )
+        {
+            bytes = new byte[size];
+            cursor = null;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return a cursor over the bytes of this buffer, at offset zero.
+     */
+    PageCursor cursor()
+    {
+        if ( cursor == null )
+        {
+            cursor = ByteArrayPageCursor.wrap( bytes );
+        }
+        cursor.setOffset( 0 );
+        return cursor;
+    }
+}
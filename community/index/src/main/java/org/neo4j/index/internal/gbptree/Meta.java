@@ -164,9 +164,9 @@ public class Meta
                     layout.identifier(), layout.majorVersion(), layout.minorVersion() ) );
         }
 
+        // Trees created with an older version of the format that the layout selects are still opened using that older version
         Factory formatByLayout = TreeNodeSelector.selectByLayout( layout );
-        if ( formatByLayout.formatIdentifier() != formatIdentifier ||
-             formatByLayout.formatVersion() != formatVersion )
+        if ( formatByLayout.formatIdentifier() != formatIdentifier || !isKnownFormat( formatIdentifier, formatVersion ) )
         {
             throw new MetadataMismatchException( format( "Tried to open using layout not compatible with what index was created with. " +
                     "Created with formatIdentifier:%d,formatVersion:%d. Opened with formatIdentifier:%d,formatVersion%d",
@@ -174,6 +174,19 @@ public class Meta
         }
     }
 
+    private static boolean isKnownFormat( byte formatIdentifier, byte formatVersion )
+    {
+        try
+        {
+            TreeNodeSelector.selectByFormat( formatIdentifier, formatVersion );
+            return true;
+        }
+        catch ( IllegalArgumentException e )
+        {
+            return false;
+        }
+    }
+
     /**
      * Writes meta information to the meta page. Writing meta information also involves {@link Layout} in that
      * it can write layout-specific information to this page too.
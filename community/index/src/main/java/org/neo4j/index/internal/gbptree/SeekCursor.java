@@ -214,19 +214,42 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
     /**
      * Provided when constructing the {@link SeekCursor}, marks the start (inclusive) of the key range to seek.
      * Comparison with {@link #toExclusive} decide if seeking forwards or backwards.
+     * For a multi-range seek this is the start of the range currently being seeked, see {@link #nextRange()}.
      */
-    private final KEY fromInclusive;
+    private KEY fromInclusive;
 
     /**
      * Provided when constructing the {@link SeekCursor}, marks the end (exclusive) of the key range to seek.
      * Comparison with {@link #fromInclusive} decide if seeking forwards or backwards.
+     * For a multi-range seek this is the end of the range currently being seeked, see {@link #nextRange()}.
      */
-    private final KEY toExclusive;
+    private KEY toExclusive;
 
     /**
      * True if seeker is performing an exact match lookup, {@link #toExclusive} will then be treated as inclusive.
      */
-    private final boolean exactMatch;
+    private boolean exactMatch;
+
+    /**
+     * Start (inclusive) of all the key ranges of a multi-range seek, sorted in ascending order, or {@code null} for a single range seek.
+     */
+    private final KEY[] rangesFromInclusive;
+
+    /**
+     * End (exclusive) of all the key ranges of a multi-range seek, or {@code null} for a single range seek.
+     */
+    private final KEY[] rangesToExclusive;
+
+    /**
+     * Index into {@link #rangesFromInclusive} and {@link #rangesToExclusive} of the range currently being seeked.
+     */
+    private int rangeIndex;
+
+    /**
+     * Last key in the current leaf, read when moving over to the next range of a multi-range seek
+     * to decide whether or not the next range starts in the current leaf.
+     */
+    private final KEY lastKeyInNode;
 
     /**
      * {@link Layout} instance used to perform some functions around keys, like copying and comparing.
@@ -238,6 +261,11 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
      */
     private final TreeNode<KEY,VALUE> bTreeNode;
 
+    /**
+     * Buffer for {@link #bTreeNode} to read keys with, owned by this seeker since tree nodes are shared between readers.
+     */
+    private final KeyBuffer keyBuffer = new KeyBuffer();
+
     /**
      * Contains the highest returned key, i.e. from the last call to {@link #next()} returning {@code true}.
      */
@@ -439,16 +467,45 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
      */
     private final GenerationKeeper generationKeeper = new GenerationKeeper();
 
-    @SuppressWarnings( "unchecked" )
     SeekCursor( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, KEY fromInclusive, KEY toExclusive,
             Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration, LongSupplier generationSupplier,
             RootCatchup rootCatchup, long lastFollowedPointerGeneration, Consumer<Throwable> exceptionDecorator, int maxReadAhead, int searchLevel,
             Monitor monitor, CursorContext cursorContext ) throws IOException
+    {
+        this( cursor, bTreeNode, fromInclusive, toExclusive, null, null, layout, stableGeneration, unstableGeneration, generationSupplier,
+                rootCatchup, lastFollowedPointerGeneration, exceptionDecorator, layout.compare( fromInclusive, toExclusive ) == 0 ? 1 : maxReadAhead,
+                searchLevel, monitor, cursorContext );
+    }
+
+    /**
+     * Creates a forward seek over multiple key ranges, returning the hits of all of them in one ascending sequence.
+     * The ranges must be sorted and must not overlap, i.e. {@code fromInclusive[i] <= toExclusive[i] <= fromInclusive[i + 1]}.
+     * After the last hit of one range the seek continues in the current leaf if the next range starts in it,
+     * otherwise it traverses down from the root to the leaf where the next range starts.
+     */
+    SeekCursor( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, KEY[] fromInclusive, KEY[] toExclusive,
+            Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration, LongSupplier generationSupplier,
+            RootCatchup rootCatchup, long lastFollowedPointerGeneration, Consumer<Throwable> exceptionDecorator, int maxReadAhead,
+            Monitor monitor, CursorContext cursorContext ) throws IOException
+    {
+        this( cursor, bTreeNode, fromInclusive[0], toExclusive[0], fromInclusive, toExclusive, layout, stableGeneration, unstableGeneration,
+                generationSupplier, rootCatchup, lastFollowedPointerGeneration, exceptionDecorator,
+                allExactMatches( fromInclusive, toExclusive, layout ) ? 1 : maxReadAhead, LEAF_LEVEL, monitor, cursorContext );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private SeekCursor( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, KEY fromInclusive, KEY toExclusive, KEY[] rangesFromInclusive,
+            KEY[] rangesToExclusive, Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration, LongSupplier generationSupplier,
+            RootCatchup rootCatchup, long lastFollowedPointerGeneration, Consumer<Throwable> exceptionDecorator, int batchSize, int searchLevel,
+            Monitor monitor, CursorContext cursorContext ) throws IOException
     {
         this.cursor = cursor;
         this.cursorContext = cursorContext;
         this.fromInclusive = fromInclusive;
         this.toExclusive = toExclusive;
+        this.rangesFromInclusive = rangesFromInclusive;
+        this.rangesToExclusive = rangesToExclusive;
+        this.lastKeyInNode = rangesFromInclusive != null ? layout.newKey() : null;
         this.layout = layout;
         this.exceptionDecorator = exceptionDecorator;
         this.monitor = monitor;
@@ -459,7 +516,6 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
         this.bTreeNode = bTreeNode;
         this.rootCatchup = rootCatchup;
         this.lastFollowedPointerGeneration = lastFollowedPointerGeneration;
-        int batchSize = exactMatch ? 1 : maxReadAhead;
         this.mutableKeys = (KEY[]) new Object[batchSize];
         this.mutableValues = (VALUE[]) new Object[batchSize];
         this.mutableKeys[0] = layout.newKey();
@@ -659,7 +715,12 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
                     }
                 }
 
-                // We've come too far and so this means the end of the result set
+                // We've come too far and so this means the end of the current range
+                if ( nextRange() )
+                {
+                    continue;
+                }
+                // ... and of the result set
                 close();
                 return false;
             }
@@ -671,6 +732,76 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
         }
     }
 
+    /**
+     * Moves a multi-range seek over to its next range, if there is one. If the next range starts within the current leaf the next
+     * batch read will search for its start in this leaf and continue along the leaf chain from there, exactly as if a concurrent write
+     * had happened. Otherwise the seek traverses down from the root again, to the leaf where the next range starts.
+     *
+     * @return {@code true} if the seek moved over to the next range, otherwise {@code false} if there are no more ranges to seek.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    private boolean nextRange() throws IOException
+    {
+        if ( rangesFromInclusive == null || rangeIndex + 1 >= rangesFromInclusive.length )
+        {
+            return false;
+        }
+
+        rangeIndex++;
+        fromInclusive = rangesFromInclusive[rangeIndex];
+        toExclusive = rangesToExclusive[rangeIndex];
+        exactMatch = layout.compare( fromInclusive, toExclusive ) == 0;
+        first = true;
+        resultOnTrack = false;
+        cachedIndex = 0;
+        cachedLength = 0;
+        if ( nextRangeStartsInCurrentLeaf() )
+        {
+            concurrentWriteHappened = true;
+        }
+        else
+        {
+            prepareToStartFromRoot();
+            traverseDownToCorrectLevel();
+        }
+        return true;
+    }
+
+    /**
+     * Reads the last key of the node the {@link PageCursor} is currently placed at and compares it to the start of the current range.
+     * A wrong answer, due to concurrent changes in the node, is harmless since the following batch read validates the node and will
+     * restart from the root, or move along the leaf chain, as needed.
+     */
+    private boolean nextRangeStartsInCurrentLeaf() throws IOException
+    {
+        boolean hasKeys;
+        do
+        {
+            int currentKeyCount = TreeNode.keyCount( cursor );
+            hasKeys = TreeNode.isLeaf( cursor ) && currentKeyCount > 0 && keyCountIsSane( currentKeyCount );
+            if ( hasKeys )
+            {
+                bTreeNode.keyAt( cursor, lastKeyInNode, currentKeyCount - 1, LEAF, cursorContext, keyBuffer );
+            }
+        }
+        while ( cursor.shouldRetry() );
+        checkOutOfBounds( cursor );
+        cursor.checkAndClearCursorException();
+        return hasKeys && layout.compare( fromInclusive, lastKeyInNode ) <= 0;
+    }
+
+    private static <KEY> boolean allExactMatches( KEY[] fromInclusive, KEY[] toExclusive, Layout<KEY,?> layout )
+    {
+        for ( int i = 0; i < fromInclusive.length; i++ )
+        {
+            if ( layout.compare( fromInclusive[i], toExclusive[i] ) != 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean readAndValidateNextKeyValueBatch() throws IOException
     {
         do
@@ -691,7 +822,7 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
             if ( verifyExpectedFirstAfterGoToNext )
             {
                 pos = seekForward ? 0 : keyCount - 1;
-                bTreeNode.keyAt( cursor, firstKeyInNode, pos, isInternal ? INTERNAL : LEAF, cursorContext );
+                bTreeNode.keyAt( cursor, firstKeyInNode, pos, isInternal ? INTERNAL : LEAF, cursorContext, keyBuffer );
             }
 
             if ( concurrentWriteHappened )
@@ -731,11 +862,11 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
                 }
                 if ( !isInternal )
                 {
-                    bTreeNode.keyValueAt( cursor, mutableKeys[cachedLength], mutableValues[cachedLength], readPos, cursorContext );
+                    bTreeNode.keyValueAt( cursor, mutableKeys[cachedLength], mutableValues[cachedLength], readPos, cursorContext, keyBuffer );
                 }
                 else
                 {
-                    bTreeNode.keyAt( cursor, mutableKeys[cachedLength], readPos, INTERNAL, cursorContext );
+                    bTreeNode.keyAt( cursor, mutableKeys[cachedLength], readPos, INTERNAL, cursorContext, keyBuffer );
                 }
 
                 if ( insideEndRange( exactMatch, cachedLength ) )
@@ -935,7 +1066,7 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
      */
     private int searchKey( KEY key, TreeNode.Type type )
     {
-        return KeySearch.search( cursor, bTreeNode, type, key, mutableKeys[0], keyCount, cursorContext );
+        return KeySearch.search( cursor, bTreeNode, type, key, mutableKeys[0], keyCount, cursorContext, keyBuffer );
     }
 
     private static int positionOf( int searchResult, boolean lookingForChildPosition )
@@ -1071,7 +1202,7 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
                 if ( keyCountIsSane( keyCount ) )
                 {
                     int firstPos = seekForward ? 0 : keyCount - 1;
-                    bTreeNode.keyAt( scout, expectedFirstAfterGoToNext, firstPos, LEAF, cursorContext );
+                    bTreeNode.keyAt( scout, expectedFirstAfterGoToNext, firstPos, LEAF, cursorContext, keyBuffer );
                 }
             }
 
@@ -245,9 +245,27 @@ abstract class TreeNode<KEY,VALUE>
 
     abstract long offloadIdAt( PageCursor cursor, int pos, Type type );
 
-    abstract KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext );
+    /**
+     * Reads the key at the given position, with a {@link KeyBuffer} for this read only.
+     * Readers that read many keys should own a buffer and use {@link #keyAt(PageCursor, Object, int, Type, CursorContext, KeyBuffer)}.
+     */
+    KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext )
+    {
+        return keyAt( cursor, into, pos, type, cursorContext, new KeyBuffer() );
+    }
+
+    abstract KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext, KeyBuffer keyBuffer );
+
+    /**
+     * Reads the key and value at the given position, with a {@link KeyBuffer} for this read only.
+     * Readers that read many keys should own a buffer and use {@link #keyValueAt(PageCursor, Object, Object, int, CursorContext, KeyBuffer)}.
+     */
+    void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext )
+    {
+        keyValueAt( cursor, intoKey, intoValue, pos, cursorContext, new KeyBuffer() );
+    }
 
-    abstract void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext );
+    abstract void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext, KeyBuffer keyBuffer );
 
     abstract void insertKeyAndRightChildAt( PageCursor cursor, KEY key, long child, int pos, int keyCount,
             long stableGeneration, long unstableGeneration, CursorContext cursorContext ) throws IOException;
@@ -355,8 +373,24 @@ abstract class TreeNode<KEY,VALUE>
      */
     abstract void defragmentInternal( PageCursor cursor );
 
+    /**
+     * Rewrite page with leaf node in a more compact form, if the format supports it, to make room for further insert without having to split.
+     * @return true if the leaf was rewritten and may now have room for more entries, otherwise false.
+     */
+    abstract boolean compactLeaf( PageCursor cursor, int keyCount );
+
     abstract boolean leafUnderflow( PageCursor cursor, int keyCount );
 
+    /**
+     * How full a leaf is, as the ratio between the space its keys and values take up and the space available for keys and values in a leaf.
+     */
+    abstract double leafFillRatio( PageCursor cursor, int keyCount );
+
+    /**
+     * How full an internal node is, as the ratio between the space its keys and children take up and the space available for them in an internal node.
+     */
+    abstract double internalFillRatio( PageCursor cursor, int keyCount );
+
     /**
      * How do we best rebalance left and right leaf?
      * Can we move keys from underflowing left to right so that none of them underflow?
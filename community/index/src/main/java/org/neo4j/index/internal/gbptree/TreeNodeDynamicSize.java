@@ -24,9 +24,12 @@ import org.eclipse.collections.api.stack.primitive.MutableIntStack;
 import org.eclipse.collections.impl.stack.mutable.primitive.IntArrayStack;
 
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
 import java.util.Arrays;
 import java.util.StringJoiner;
 
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.CursorException;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.util.VisibleForTesting;
@@ -82,11 +85,26 @@ import static org.neo4j.io.ByteUnit.kibiBytes;
  * ---
  *
  * See {@link DynamicSizeUtil} for more detailed layout for individual offset array entries and key / key_value entries.
+ *
+ * ---
+ *
+ * Key prefix compression, format version {@link #FORMAT_VERSION_KEY_PREFIX}
+ * The header is extended with a key prefix, of at most {@link #MAX_KEY_PREFIX_LENGTH} bytes, that is only used in leaves.
+ * Every inlined key in a leaf has a one byte shared length right after its key value size, telling how many of the first bytes
+ * of the key that are the same as the key prefix. Only the remaining bytes of the key are stored in the entry.
+ * The key prefix is chosen when leaves are split, merged or rebalanced, and keys that are inserted later share as much of it
+ * as they happen to have in common with it.
+ *
+ * LEAF
+ * [ HEADER   86B ]|[KEYPREFIXLENGTH][KEYPREFIX]|[KEY_OFFSETS]##########[KEYS_VALUES]
+ *                  86               87          103
+ * KV = [KEYVALUESIZE][SHAREDLENGTH][KEY SUFFIX][VALUE]
  */
 public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 {
     static final byte FORMAT_IDENTIFIER = 3;
     static final byte FORMAT_VERSION = 0;
+    static final byte FORMAT_VERSION_KEY_PREFIX = 1;
 
     /**
      * This is the fixed key value size cap in 4.0 and it is based on
@@ -100,6 +118,10 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     static final int USE_2B_OFFSET_PAGE_SIZE_LIMIT = (int) kibiBytes( 64 );
     private static final int LEAST_NUMBER_OF_ENTRIES_PER_PAGE = 2;
     private static final int MINIMUM_ENTRY_SIZE_CAP = Long.SIZE;
+    @VisibleForTesting
+    static final int MAX_KEY_PREFIX_LENGTH = 16;
+    private static final int SIZE_KEY_PREFIX_LENGTH = Byte.BYTES;
+    private static final int SIZE_SHARED_LENGTH = Byte.BYTES;
 
     private final DynamicSizeOffsetFormat offsetFormat;
     private final int inlineKeyValueSizeCap;
@@ -114,8 +136,26 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     private final KEY tmpKeyLeft;
     private final KEY tmpKeyRight;
     private final OffloadStore<KEY,VALUE> offloadStore;
+    private final boolean keyPrefixCompression;
+    private final int bytePosKeyPrefixLength;
+    private final int bytePosKeyPrefix;
+    private final int headerLength;
+    // Used by writers, to put together complete keys and to compact leaves
+    private byte[] newKeyBytes;
+    private PageCursor newKeyCursor;
+    private byte[] entryKeyBytes;
+    private byte[] compactBytes;
+    private int[] compactOffsets;
+    private int[] compactKeySizes;
+    private int[] compactValueSizes;
+    private long[] compactOffloadIds;
 
     TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout, OffloadStore<KEY,VALUE> offloadStore )
+    {
+        this( pageSize, layout, offloadStore, false );
+    }
+
+    TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout, OffloadStore<KEY,VALUE> offloadStore, boolean keyPrefixCompression )
     {
         super( pageSize, layout );
 
@@ -125,7 +165,11 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         this.newOffset = new int[maxKeyCount];
 
         this.offloadStore = offloadStore;
-        totalSpace = pageSize - offsetFormat.getHeaderLength();
+        this.keyPrefixCompression = keyPrefixCompression;
+        this.bytePosKeyPrefixLength = offsetFormat.getHeaderLength();
+        this.bytePosKeyPrefix = bytePosKeyPrefixLength + SIZE_KEY_PREFIX_LENGTH;
+        this.headerLength = headerLength( offsetFormat, keyPrefixCompression );
+        totalSpace = pageSize - headerLength;
         halfSpace = totalSpace >> 1;
 
         /*
@@ -187,8 +231,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         inlineKeyValueSizeCap - How large entries can be inlined?
          */
         msbIsOffload = useOffloadStore( pageSize );
-        inlineKeyValueSizeCap = inlineKeyValueSizeCap( pageSize );
-        keyValueSizeCap = keyValueSizeCapFromPageSize( pageSize );
+        inlineKeyValueSizeCap = inlineKeyValueSizeCap( pageSize, keyPrefixCompression );
+        keyValueSizeCap = keyValueSizeCapFromPageSize( pageSize, keyPrefixCompression );
 
         if ( inlineKeyValueSizeCap < MINIMUM_ENTRY_SIZE_CAP )
         {
@@ -200,6 +244,12 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         tmpKeyLeft = layout.newKey();
         tmpKeyRight = layout.newKey();
+        if ( keyPrefixCompression )
+        {
+            newKeyBytes = new byte[inlineKeyValueSizeCap];
+            newKeyCursor = ByteArrayPageCursor.wrap( newKeyBytes );
+            entryKeyBytes = new byte[inlineKeyValueSizeCap];
+        }
     }
 
     private static DynamicSizeOffsetFormat selectOffsetFormat( int pageSize )
@@ -212,20 +262,37 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return pageSize <= USE_OFFLOAD_STORE_PAGE_SIZE_LIMIT;
     }
 
+    /**
+     * @return the key value size cap of trees created with the given page size, i.e. trees with key prefix compression.
+     */
     @VisibleForTesting
     public static int keyValueSizeCapFromPageSize( int pageSize )
+    {
+        return keyValueSizeCapFromPageSize( pageSize, true );
+    }
+
+    private static int keyValueSizeCapFromPageSize( int pageSize, boolean keyPrefixCompression )
     {
         return useOffloadStore( pageSize ) ?
                Math.min( FIXED_MAX_KEY_VALUE_SIZE_CAP, OffloadStoreImpl.keyValueSizeCapFromPageSize( pageSize ) ) :
-               Math.min( FIXED_MAX_KEY_VALUE_SIZE_CAP, inlineKeyValueSizeCap( pageSize ) );
+               Math.min( FIXED_MAX_KEY_VALUE_SIZE_CAP, inlineKeyValueSizeCap( pageSize, keyPrefixCompression ) );
     }
 
+    /**
+     * @return the inline key value size cap of trees created with the given page size, i.e. trees with key prefix compression.
+     */
     @VisibleForTesting
     public static int inlineKeyValueSizeCap( int pageSize )
+    {
+        return inlineKeyValueSizeCap( pageSize, true );
+    }
+
+    private static int inlineKeyValueSizeCap( int pageSize, boolean keyPrefixCompression )
     {
         DynamicSizeOffsetFormat offsetFormat = selectOffsetFormat( pageSize );
-        int totalOverhead = getTotalOverhead( offsetFormat );
-        int capToFitNumberOfEntriesPerPage = (pageSize - offsetFormat.getHeaderLength()) / LEAST_NUMBER_OF_ENTRIES_PER_PAGE - totalOverhead;
+        int totalOverhead = getTotalOverhead( offsetFormat ) + (keyPrefixCompression ? SIZE_SHARED_LENGTH : 0);
+        int headerLength = headerLength( offsetFormat, keyPrefixCompression );
+        int capToFitNumberOfEntriesPerPage = (pageSize - headerLength) / LEAST_NUMBER_OF_ENTRIES_PER_PAGE - totalOverhead;
         return Math.min( FIXED_MAX_KEY_VALUE_SIZE_CAP, capToFitNumberOfEntriesPerPage );
     }
 
@@ -234,11 +301,20 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return offsetFormat.offsetSize() + SIZE_KEY_VALUE_SIZE;
     }
 
+    private static int headerLength( DynamicSizeOffsetFormat offsetFormat, boolean keyPrefixCompression )
+    {
+        return offsetFormat.getHeaderLength() + (keyPrefixCompression ? SIZE_KEY_PREFIX_LENGTH + MAX_KEY_PREFIX_LENGTH : 0);
+    }
+
     @Override
     void writeAdditionalHeader( PageCursor cursor )
     {
         setAllocOffset( cursor, pageSize );
         setDeadSpace( cursor, 0 );
+        if ( keyPrefixCompression )
+        {
+            setKeyPrefixLength( cursor, 0 );
+        }
     }
 
     @Override
@@ -257,7 +333,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     }
 
     @Override
-    KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext )
+    KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext, KeyBuffer keyBuffer )
     {
         placeCursorAtActualKey( cursor, pos, type );
 
@@ -286,13 +362,20 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                 readUnreliableKeyValueSize( cursor, keySize, valueSize, keyValueSize, pos );
                 return into;
             }
-            layout.readKey( cursor, into, keySize );
+            if ( type == LEAF )
+            {
+                readLeafKey( cursor, into, keySize, keyBuffer );
+            }
+            else
+            {
+                layout.readKey( cursor, into, keySize );
+            }
         }
         return into;
     }
 
     @Override
-    void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext )
+    void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext, KeyBuffer keyBuffer )
     {
         placeCursorAtActualKey( cursor, pos, LEAF );
 
@@ -319,7 +402,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                 readUnreliableKeyValueSize( cursor, keySize, valueSize, keyValueSize, pos );
                 return;
             }
-            layout.readKey( cursor, intoKey, keySize );
+            readLeafKey( cursor, intoKey, keySize, keyBuffer );
             layout.readValue( cursor, intoValue, valueSize );
         }
     }
@@ -372,13 +455,28 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int newKeyValueOffset;
         if ( canInline( keySize + valueSize ) )
         {
-            newKeyValueOffset = currentKeyValueOffset - keySize - valueSize - getOverhead( keySize, valueSize, false );
+            if ( keyPrefixCompression )
+            {
+                // Only write the part of the key that is not shared with the key prefix
+                int sharedLength = sharedLength( cursor, key, keySize );
+                int suffixSize = keySize - sharedLength;
+                newKeyValueOffset = currentKeyValueOffset - leafEntrySize( suffixSize, valueSize, false );
+                cursor.setOffset( newKeyValueOffset );
+                putKeyValueSize( cursor, suffixSize, valueSize, false );
+                cursor.putByte( (byte) sharedLength );
+                cursor.putBytes( newKeyBytes, sharedLength, suffixSize );
+                layout.writeValue( cursor, value );
+            }
+            else
+            {
+                newKeyValueOffset = currentKeyValueOffset - keySize - valueSize - getOverhead( keySize, valueSize, false );
 
-            // Write key and value
-            cursor.setOffset( newKeyValueOffset );
-            putKeyValueSize( cursor, keySize, valueSize, false );
-            layout.writeKey( cursor, key );
-            layout.writeValue( cursor, value );
+                // Write key and value
+                cursor.setOffset( newKeyValueOffset );
+                putKeyValueSize( cursor, keySize, valueSize, false );
+                layout.writeKey( cursor, key );
+                layout.writeValue( cursor, value );
+            }
         }
         else
         {
@@ -424,7 +522,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         // Update dead space
         int deadSpace = getDeadSpace( cursor );
-        setDeadSpace( cursor, deadSpace + keySize + valueSize + getOverhead( keySize, valueSize, offload ) );
+        setDeadSpace( cursor, deadSpace + leafEntrySize( keySize, valueSize, offload ) );
 
         // Remove from offset array
         removeSlotAt( cursor, pos, keyCount, keyPosOffsetLeaf( 0 ), bytesKeyOffset() );
@@ -549,7 +647,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                 readUnreliableKeyValueSize( cursor, keySize, valueSize, keyValueSize, pos );
                 return into;
             }
-            progressCursor( cursor, keySize );
+            progressCursor( cursor, sharedLengthSize( false ) + keySize );
             layout.readValue( cursor, into, valueSize );
         }
         return into;
@@ -563,11 +661,12 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         long keyValueSize = readKeyValueSize( cursor, msbIsOffload );
         int keySize = extractKeySize( keyValueSize );
         int oldValueSize = extractValueSize( keyValueSize );
+        boolean offload = extractOffload( keyValueSize );
         int newValueSize = layout.valueSize( value );
         if ( oldValueSize == newValueSize )
         {
             // Fine we can just overwrite
-            progressCursor( cursor, keySize );
+            progressCursor( cursor, sharedLengthSize( offload ) + keySize );
             layout.writeValue( cursor, value );
             return true;
         }
@@ -651,7 +750,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int allocSpace = getAllocSpace( cursor, currentKeyCount, LEAF );
 
         // How much space do we need?
-        int neededSpace = totalSpaceOfKeyValue( newKey, newValue );
+        int neededSpace = totalSpaceOfKeyValue( cursor, newKey, newValue );
 
         // There is your answer!
         return neededSpace <= allocSpace ? Overflow.NO :
@@ -829,13 +928,25 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return availableSpace > halfSpace;
     }
 
+    @Override
+    double leafFillRatio( PageCursor cursor, int keyCount )
+    {
+        return (double) totalActiveSpace( cursor, keyCount, LEAF ) / totalSpace;
+    }
+
+    @Override
+    double internalFillRatio( PageCursor cursor, int keyCount )
+    {
+        return (double) totalActiveSpace( cursor, keyCount, INTERNAL ) / totalSpace;
+    }
+
     @Override
     int canRebalanceLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
     {
         int leftActiveSpace = totalActiveSpace( leftCursor, leftKeyCount, LEAF );
         int rightActiveSpace = totalActiveSpace( rightCursor, rightKeyCount, LEAF );
 
-        if ( leftActiveSpace + rightActiveSpace < totalSpace )
+        if ( mergedActiveSpace( leftCursor, leftKeyCount, rightCursor, rightActiveSpace ) < totalSpace )
         {
             // We can merge
             return -1;
@@ -846,37 +957,56 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             return 0;
         }
 
+        // With key prefix compression a key can take up more space in right than in left, if right has another key prefix
         int prevDelta;
         int currentDelta = Math.abs( leftActiveSpace - rightActiveSpace );
         int keysToMove = 0;
-        int lastChunkSize;
+        int lastChunkSizeInLeft;
+        int lastChunkSizeInRight;
         do
         {
             keysToMove++;
-            lastChunkSize = totalSpaceOfKeyValue( leftCursor, leftKeyCount - keysToMove );
-            leftActiveSpace -= lastChunkSize;
-            rightActiveSpace += lastChunkSize;
+            lastChunkSizeInLeft = totalSpaceOfKeyValue( leftCursor, leftKeyCount - keysToMove );
+            lastChunkSizeInRight = totalSpaceOfKeyValue( leftCursor, leftKeyCount - keysToMove, rightCursor );
+            leftActiveSpace -= lastChunkSizeInLeft;
+            rightActiveSpace += lastChunkSizeInRight;
 
             prevDelta = currentDelta;
             currentDelta = Math.abs( leftActiveSpace - rightActiveSpace );
         }
         while ( currentDelta < prevDelta );
         keysToMove--; // Move back to optimal split
-        leftActiveSpace += lastChunkSize;
-        rightActiveSpace -= lastChunkSize;
+        leftActiveSpace += lastChunkSizeInLeft;
+        rightActiveSpace -= lastChunkSizeInRight;
 
         int halfSpace = this.halfSpace;
-        boolean canRebalance = leftActiveSpace > halfSpace && rightActiveSpace > halfSpace;
+        boolean canRebalance = leftActiveSpace > halfSpace && rightActiveSpace > halfSpace && rightActiveSpace <= totalSpace;
         return canRebalance ? keysToMove : 0;
     }
 
     @Override
     boolean canMergeLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
     {
-        int leftActiveSpace = totalActiveSpace( leftCursor, leftKeyCount, LEAF );
         int rightActiveSpace = totalActiveSpace( rightCursor, rightKeyCount, LEAF );
         int totalSpace = this.totalSpace;
-        return totalSpace >= leftActiveSpace + rightActiveSpace;
+        return totalSpace >= mergedActiveSpace( leftCursor, leftKeyCount, rightCursor, rightActiveSpace );
+    }
+
+    /**
+     * @return the active space of right after all keys and values in left have been copied into it.
+     */
+    private int mergedActiveSpace( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightActiveSpace )
+    {
+        if ( !keyPrefixCompression || sameKeyPrefix( leftCursor, rightCursor ) )
+        {
+            return totalActiveSpace( leftCursor, leftKeyCount, LEAF ) + rightActiveSpace;
+        }
+        int mergedActiveSpace = rightActiveSpace;
+        for ( int pos = 0; pos < leftKeyCount; pos++ )
+        {
+            mergedActiveSpace += totalSpaceOfKeyValue( leftCursor, pos, rightCursor );
+        }
+        return mergedActiveSpace;
     }
 
     @Override
@@ -915,6 +1045,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         int rightKeyCount = keyCountAfterInsert - splitPos;
 
+        // Right gets the same key prefix as left, so that keys and values can be moved as they are
+        copyKeyPrefix( leftCursor, rightCursor );
         if ( insertPos < splitPos )
         {
             //                v---------v       copy
@@ -942,6 +1074,10 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         }
         TreeNode.setKeyCount( leftCursor, splitPos );
         TreeNode.setKeyCount( rightCursor, rightKeyCount );
+
+        // Each of the two leaves now hold a narrower range of keys, which may have a longer prefix in common
+        compactLeaf( leftCursor, splitPos );
+        compactLeaf( rightCursor, rightKeyCount );
     }
 
     @Override
@@ -1037,16 +1173,19 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         // Right keyCount
         setKeyCount( rightCursor, rightKeyCount + numberOfKeysToMove );
+        compactLeaf( rightCursor, rightKeyCount + numberOfKeysToMove );
     }
 
     // NOTE: Does update keyCount
     private void moveKeysAndValues( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toPos, int count )
     {
-        int firstAllocOffset = getAllocOffset( toCursor );
-        int toAllocOffset = firstAllocOffset;
+        boolean raw = !keyPrefixCompression || sameKeyPrefix( fromCursor, toCursor );
+        int toAllocOffset = getAllocOffset( toCursor );
+        int totalMovedBytes = 0;
         for ( int i = 0; i < count; i++, toPos++ )
         {
-            toAllocOffset = moveRawKeyValue( fromCursor, fromPos + i, toCursor, toAllocOffset );
+            totalMovedBytes += totalSpaceOfKeyValue( fromCursor, fromPos + i ) - bytesKeyOffset();
+            toAllocOffset = moveKeyValue( fromCursor, fromPos + i, toCursor, toAllocOffset, raw );
             toCursor.setOffset( keyPosOffsetLeaf( toPos ) );
             offsetFormat.putOffset( toCursor, toAllocOffset );
         }
@@ -1054,7 +1193,6 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         // Update deadSpace
         int deadSpace = getDeadSpace( fromCursor );
-        int totalMovedBytes = firstAllocOffset - toAllocOffset;
         setDeadSpace( fromCursor, deadSpace + totalMovedBytes );
 
         // Key count
@@ -1066,23 +1204,12 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
      * Mark transferred key as dead.
      * @return new alloc offset in 'to'
      */
-    private int moveRawKeyValue( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset )
+    private int moveKeyValue( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset, boolean raw )
     {
-        // What to copy?
-        placeCursorAtActualKey( fromCursor, fromPos, LEAF );
-        int fromKeyOffset = fromCursor.getOffset();
-        long keyValueSize = readKeyValueSize( fromCursor, msbIsOffload );
-        int keySize = extractKeySize( keyValueSize );
-        int valueSize = extractValueSize( keyValueSize );
-        boolean offload = extractOffload( keyValueSize );
-
-        // Copy
-        int toCopy = getOverhead( keySize, valueSize, offload ) + keySize + valueSize;
-        int newRightAllocSpace = toAllocOffset - toCopy;
-        fromCursor.copyTo( fromKeyOffset, toCursor, newRightAllocSpace, toCopy );
+        int newRightAllocSpace = copyKeyValue( fromCursor, fromPos, toCursor, toAllocOffset, raw );
 
         // Put tombstone
-        fromCursor.setOffset( fromKeyOffset );
+        placeCursorAtActualKey( fromCursor, fromPos, LEAF );
         putTombstone( fromCursor );
         return newRightAllocSpace;
     }
@@ -1100,14 +1227,16 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         // KeyCount
         setKeyCount( rightCursor, rightKeyCount + leftKeyCount );
+        compactLeaf( rightCursor, rightKeyCount + leftKeyCount );
     }
 
     private void copyKeysAndValues( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toPos, int count )
     {
+        boolean raw = !keyPrefixCompression || sameKeyPrefix( fromCursor, toCursor );
         int toAllocOffset = getAllocOffset( toCursor );
         for ( int i = 0; i < count; i++, toPos++ )
         {
-            toAllocOffset = copyRawKeyValue( fromCursor, fromPos + i, toCursor, toAllocOffset );
+            toAllocOffset = copyKeyValue( fromCursor, fromPos + i, toCursor, toAllocOffset, raw );
             toCursor.setOffset( keyPosOffsetLeaf( toPos ) );
             offsetFormat.putOffset( toCursor, toAllocOffset );
         }
@@ -1117,9 +1246,11 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     /**
      * Copy key and value from logical position in 'from' tp physical position next to current alloc offset in 'to'.
      * Does NOT mark transferred key as dead.
+     * @param raw whether or not the entry can be copied as it is, i.e. if 'from' and 'to' have the same key prefix.
+     * Otherwise the key is rewritten to share as much as it can with the key prefix of 'to'.
      * @return new alloc offset in 'to'
      */
-    private int copyRawKeyValue( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset )
+    private int copyKeyValue( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset, boolean raw )
     {
         // What to copy?
         placeCursorAtActualKey( fromCursor, fromPos, LEAF );
@@ -1129,10 +1260,29 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int valueSize = extractValueSize( keyValueSize );
         boolean offload = extractOffload( keyValueSize );
 
-        // Copy
-        int toCopy = getOverhead( keySize, valueSize, offload ) + keySize + valueSize;
-        int newRightAllocSpace = toAllocOffset - toCopy;
-        fromCursor.copyTo( fromKeyOffset, toCursor, newRightAllocSpace, toCopy );
+        if ( raw || offload )
+        {
+            // Copy
+            int toCopy = leafEntrySize( keySize, valueSize, offload );
+            int newRightAllocSpace = toAllocOffset - toCopy;
+            fromCursor.copyTo( fromKeyOffset, toCursor, newRightAllocSpace, toCopy );
+            return newRightAllocSpace;
+        }
+
+        // Rewrite against the key prefix of 'to'
+        int fullKeySize = readKeyBytes( fromCursor, keySize, entryKeyBytes );
+        int valueOffset = fromCursor.getOffset();
+        int sharedLength = sharedLength( toCursor, entryKeyBytes, fullKeySize );
+        int suffixSize = fullKeySize - sharedLength;
+        int newRightAllocSpace = toAllocOffset - leafEntrySize( suffixSize, valueSize, false );
+        toCursor.setOffset( newRightAllocSpace );
+        putKeyValueSize( toCursor, suffixSize, valueSize, false );
+        toCursor.putByte( (byte) sharedLength );
+        toCursor.putBytes( entryKeyBytes, sharedLength, suffixSize );
+        if ( valueSize > 0 )
+        {
+            fromCursor.copyTo( valueOffset, toCursor, toCursor.getOffset(), valueSize );
+        }
         return newRightAllocSpace;
     }
 
@@ -1163,7 +1313,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             {
                 aliveKeysOffset.push( currentOffset );
             }
-            currentOffset += keySize + valueSize + getOverhead( keySize, valueSize, offload );
+            currentOffset += leafEntrySize( keySize, valueSize, offload );
         }
     }
 
@@ -1339,7 +1489,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int accumulatedLeftSpace = 0;
         int currentDelta = targetLeftSpace;
         int prevDelta;
-        int spaceOfNewKey = totalSpaceOfKeyValue( newKey, newValue );
+        int spaceOfNewKey = totalSpaceOfKeyValue( cursor, newKey, newValue );
         int totalSpaceIncludingNewKey = totalActiveSpace( cursor, keyCountAfterInsert - 1, LEAF ) + spaceOfNewKey;
         boolean includedNew = false;
         boolean prevPosPossible;
@@ -1391,14 +1541,18 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return totalSpace - deadSpace - allocSpace;
     }
 
-    private int totalSpaceOfKeyValue( KEY key, VALUE value )
+    /**
+     * @return the space the given key and value would take up if inserted into the leaf the cursor is at.
+     */
+    private int totalSpaceOfKeyValue( PageCursor cursor, KEY key, VALUE value )
     {
         int keySize = layout.keySize( key );
         int valueSize = layout.valueSize( value );
         boolean canInline = canInline( keySize + valueSize );
         if ( canInline )
         {
-            return bytesKeyOffset() + getOverhead( keySize, valueSize, false ) + keySize + valueSize;
+            int suffixSize = keyPrefixCompression ? keySize - sharedLength( cursor, key, keySize ) : keySize;
+            return bytesKeyOffset() + leafEntrySize( suffixSize, valueSize, false );
         }
         else
         {
@@ -1427,7 +1581,318 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int keySize = extractKeySize( keyValueSize );
         int valueSize = extractValueSize( keyValueSize );
         boolean offload = extractOffload( keyValueSize );
-        return bytesKeyOffset() + getOverhead( keySize, valueSize, offload ) + keySize + valueSize;
+        return bytesKeyOffset() + leafEntrySize( keySize, valueSize, offload );
+    }
+
+    /**
+     * @return the space the key and value at the given position in one leaf would take up if moved to the leaf at 'targetCursor'.
+     */
+    private int totalSpaceOfKeyValue( PageCursor cursor, int pos, PageCursor targetCursor )
+    {
+        if ( !keyPrefixCompression )
+        {
+            return totalSpaceOfKeyValue( cursor, pos );
+        }
+        placeCursorAtActualKey( cursor, pos, LEAF );
+        long keyValueSize = readKeyValueSize( cursor, msbIsOffload );
+        int keySize = extractKeySize( keyValueSize );
+        int valueSize = extractValueSize( keyValueSize );
+        boolean offload = extractOffload( keyValueSize );
+        if ( offload )
+        {
+            return bytesKeyOffset() + leafEntrySize( keySize, valueSize, true );
+        }
+        int fullKeySize = readKeyBytes( cursor, keySize, entryKeyBytes );
+        int suffixSize = fullKeySize - sharedLength( targetCursor, entryKeyBytes, fullKeySize );
+        return bytesKeyOffset() + leafEntrySize( suffixSize, valueSize, false );
+    }
+
+    /**
+     * @return the size of a key and value entry in a leaf, given its key size as stored in the entry.
+     */
+    private int leafEntrySize( int keySize, int valueSize, boolean offload )
+    {
+        return getOverhead( keySize, valueSize, offload ) + sharedLengthSize( offload ) + keySize + valueSize;
+    }
+
+    /**
+     * @return the size of the shared length of a key and value entry in a leaf, which only inlined keys with key prefix compression have.
+     */
+    private int sharedLengthSize( boolean offload )
+    {
+        return keyPrefixCompression && !offload ? SIZE_SHARED_LENGTH : 0;
+    }
+
+    /**
+     * Read key of an inlined entry in a leaf, with the cursor placed right after the key value size of that entry.
+     * With key prefix compression the shared length and key suffix is read and put together with the key prefix of the leaf
+     * before handing the complete key to the layout, using the given buffer. Cursor is left right after the key.
+     */
+    private void readLeafKey( PageCursor cursor, KEY into, int keySize, KeyBuffer keyBuffer )
+    {
+        if ( !keyPrefixCompression )
+        {
+            layout.readKey( cursor, into, keySize );
+            return;
+        }
+
+        int sharedLength = cursor.getByte() & 0xFF;
+        if ( sharedLength == 0 )
+        {
+            layout.readKey( cursor, into, keySize );
+            return;
+        }
+        int keyPrefixLength = keyPrefixLength( cursor );
+        if ( sharedLength > keyPrefixLength || keyPrefixLength > MAX_KEY_PREFIX_LENGTH )
+        {
+            cursor.setCursorException( format( "Read unreliable shared length %d with key prefix length %d", sharedLength, keyPrefixLength ) );
+            return;
+        }
+
+        int fullKeySize = sharedLength + keySize;
+        byte[] keyBytes = keyBuffer.bytes( fullKeySize );
+        PageCursor keyCursor;
+        try
+        {
+            int suffixOffset = cursor.getOffset();
+            cursor.setOffset( bytePosKeyPrefix );
+            cursor.getBytes( keyBytes, 0, sharedLength );
+            cursor.setOffset( suffixOffset );
+            cursor.getBytes( keyBytes, sharedLength, keySize );
+
+            // Unlike page cursors, the cursor over the buffer throws if the layout reads beyond the key,
+            // which it may do if the bytes we read from the page were inconsistent and the read is about to be retried.
+            keyCursor = keyBuffer.cursor();
+            layout.readKey( keyCursor, into, fullKeySize );
+        }
+        catch ( IndexOutOfBoundsException | BufferUnderflowException e )
+        {
+            cursor.setCursorException( format( "Failed to read key of size %d with shared length %d, cause: %s", keySize, sharedLength, e.getMessage() ) );
+            return;
+        }
+        try
+        {
+            keyCursor.checkAndClearCursorException();
+        }
+        catch ( CursorException e )
+        {
+            cursor.setCursorException( e.getMessage() );
+        }
+    }
+
+    /**
+     * Read the complete key of an inlined entry in a leaf into a byte array, with the cursor placed right after the key value size
+     * of that entry. Cursor is left right after the key.
+     * @return the size of the complete key.
+     */
+    private int readKeyBytes( PageCursor cursor, int keySize, byte[] into )
+    {
+        return readKeyBytes( cursor, keySize, into, 0 );
+    }
+
+    private int readKeyBytes( PageCursor cursor, int keySize, byte[] into, int intoOffset )
+    {
+        int sharedLength = Math.min( cursor.getByte() & 0xFF, MAX_KEY_PREFIX_LENGTH );
+        int suffixOffset = cursor.getOffset();
+        if ( sharedLength > 0 )
+        {
+            cursor.setOffset( bytePosKeyPrefix );
+            cursor.getBytes( into, intoOffset, sharedLength );
+            cursor.setOffset( suffixOffset );
+        }
+        cursor.getBytes( into, intoOffset + sharedLength, keySize );
+        return sharedLength + keySize;
+    }
+
+    /**
+     * Serialize the given key into {@link #newKeyBytes} and compare it with the key prefix of the leaf.
+     * @return number of bytes of the key that can be shared with the key prefix of the leaf.
+     */
+    private int sharedLength( PageCursor cursor, KEY key, int keySize )
+    {
+        newKeyCursor.setOffset( 0 );
+        layout.writeKey( newKeyCursor, key );
+        return sharedLength( cursor, newKeyBytes, keySize );
+    }
+
+    /**
+     * @return number of bytes of the given key that can be shared with the key prefix of the leaf.
+     * At least one byte of every key is always left to be stored in the entry itself.
+     */
+    private int sharedLength( PageCursor cursor, byte[] keyBytes, int keySize )
+    {
+        int maxSharedLength = Math.min( keyPrefixLength( cursor ), keySize - 1 );
+        int sharedLength = 0;
+        while ( sharedLength < maxSharedLength && cursor.getByte( bytePosKeyPrefix + sharedLength ) == keyBytes[sharedLength] )
+        {
+            sharedLength++;
+        }
+        return sharedLength;
+    }
+
+    private int keyPrefixLength( PageCursor cursor )
+    {
+        return cursor.getByte( bytePosKeyPrefixLength ) & 0xFF;
+    }
+
+    private void setKeyPrefixLength( PageCursor cursor, int keyPrefixLength )
+    {
+        cursor.putByte( bytePosKeyPrefixLength, (byte) keyPrefixLength );
+    }
+
+    private void copyKeyPrefix( PageCursor fromCursor, PageCursor toCursor )
+    {
+        fromCursor.copyTo( bytePosKeyPrefixLength, toCursor, bytePosKeyPrefixLength, SIZE_KEY_PREFIX_LENGTH + MAX_KEY_PREFIX_LENGTH );
+    }
+
+    private boolean sameKeyPrefix( PageCursor cursor, PageCursor otherCursor )
+    {
+        int keyPrefixLength = keyPrefixLength( cursor );
+        if ( keyPrefixLength != keyPrefixLength( otherCursor ) )
+        {
+            return false;
+        }
+        for ( int i = 0; i < keyPrefixLength; i++ )
+        {
+            if ( cursor.getByte( bytePosKeyPrefix + i ) != otherCursor.getByte( bytePosKeyPrefix + i ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Choose the longest key prefix shared by all inlined keys in the leaf and rewrite the leaf using that key prefix,
+     * if doing so makes the leaf smaller. Dead space is reclaimed as part of the rewrite.
+     */
+    @Override
+    boolean compactLeaf( PageCursor cursor, int keyCount )
+    {
+        if ( !keyPrefixCompression || keyCount == 0 )
+        {
+            return false;
+        }
+        ensureCompactCapacity( keyCount );
+
+        // Gather all entries, with complete keys, and find their longest common prefix
+        int bytesOffset = 0;
+        int firstInlined = -1;
+        int commonPrefixLength = MAX_KEY_PREFIX_LENGTH;
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            placeCursorAtActualKey( cursor, pos, LEAF );
+            long keyValueSize = readKeyValueSize( cursor, msbIsOffload );
+            int keySize = extractKeySize( keyValueSize );
+            int valueSize = extractValueSize( keyValueSize );
+            if ( extractOffload( keyValueSize ) )
+            {
+                compactOffloadIds[pos] = readOffloadId( cursor );
+                compactKeySizes[pos] = keySize;
+                compactValueSizes[pos] = valueSize;
+                compactOffsets[pos] = -1;
+                continue;
+            }
+
+            ensureCompactBytesCapacity( bytesOffset + MAX_KEY_PREFIX_LENGTH + keySize + valueSize );
+            int fullKeySize = readKeyBytes( cursor, keySize, compactBytes, bytesOffset );
+            cursor.getBytes( compactBytes, bytesOffset + fullKeySize, valueSize );
+            compactOffsets[pos] = bytesOffset;
+            compactKeySizes[pos] = fullKeySize;
+            compactValueSizes[pos] = valueSize;
+
+            commonPrefixLength = Math.min( commonPrefixLength, fullKeySize - 1 );
+            if ( firstInlined == -1 )
+            {
+                firstInlined = pos;
+            }
+            else
+            {
+                int firstOffset = compactOffsets[firstInlined];
+                int i = 0;
+                while ( i < commonPrefixLength && compactBytes[firstOffset + i] == compactBytes[bytesOffset + i] )
+                {
+                    i++;
+                }
+                commonPrefixLength = i;
+            }
+            bytesOffset += fullKeySize + valueSize;
+        }
+        if ( firstInlined == -1 || cursor.checkAndClearBoundsFlag() )
+        {
+            return false;
+        }
+
+        // Only rewrite the leaf if it gets smaller
+        int compactedSpace = keyCount * bytesKeyOffset();
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            boolean offload = compactOffsets[pos] == -1;
+            int keySize = offload ? compactKeySizes[pos] : compactKeySizes[pos] - commonPrefixLength;
+            compactedSpace += leafEntrySize( keySize, compactValueSizes[pos], offload );
+        }
+        if ( compactedSpace >= totalActiveSpace( cursor, keyCount, LEAF ) )
+        {
+            return false;
+        }
+
+        // Rewrite
+        cursor.setOffset( bytePosKeyPrefix );
+        cursor.putBytes( MAX_KEY_PREFIX_LENGTH, (byte) 0 );
+        cursor.setOffset( bytePosKeyPrefix );
+        cursor.putBytes( compactBytes, compactOffsets[firstInlined], commonPrefixLength );
+        setKeyPrefixLength( cursor, commonPrefixLength );
+        int allocOffset = pageSize;
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            int keySize = compactKeySizes[pos];
+            int valueSize = compactValueSizes[pos];
+            if ( compactOffsets[pos] == -1 )
+            {
+                allocOffset -= leafEntrySize( keySize, valueSize, true );
+                cursor.setOffset( allocOffset );
+                putKeyValueSize( cursor, keySize, valueSize, true );
+                DynamicSizeUtil.putOffloadId( cursor, compactOffloadIds[pos] );
+            }
+            else
+            {
+                int suffixSize = keySize - commonPrefixLength;
+                allocOffset -= leafEntrySize( suffixSize, valueSize, false );
+                cursor.setOffset( allocOffset );
+                putKeyValueSize( cursor, suffixSize, valueSize, false );
+                cursor.putByte( (byte) commonPrefixLength );
+                cursor.putBytes( compactBytes, compactOffsets[pos] + commonPrefixLength, suffixSize + valueSize );
+            }
+            cursor.setOffset( keyPosOffsetLeaf( pos ) );
+            offsetFormat.putOffset( cursor, allocOffset );
+        }
+        setAllocOffset( cursor, allocOffset );
+        setDeadSpace( cursor, 0 );
+        zeroPad( cursor, keyPosOffsetLeaf( keyCount ), allocOffset - keyPosOffsetLeaf( keyCount ) );
+        return true;
+    }
+
+    private void ensureCompactCapacity( int keyCount )
+    {
+        if ( compactOffsets == null || compactOffsets.length < keyCount )
+        {
+            compactOffsets = new int[keyCount];
+            compactKeySizes = new int[keyCount];
+            compactValueSizes = new int[keyCount];
+            compactOffloadIds = new long[keyCount];
+        }
+    }
+
+    private void ensureCompactBytesCapacity( int size )
+    {
+        if ( compactBytes == null )
+        {
+            compactBytes = new byte[Math.max( size, pageSize )];
+        }
+        else if ( compactBytes.length < size )
+        {
+            compactBytes = Arrays.copyOf( compactBytes, Math.max( size, compactBytes.length * 2 ) );
+        }
     }
 
     private int totalSpaceOfKeyChild( PageCursor cursor, int pos )
@@ -1472,10 +1937,10 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int keyOffset = offsetFormat.getOffset( cursor );
 
         // Verify offset is reasonable
-        if ( keyOffset >= pageSize || keyOffset < offsetFormat.getHeaderLength() )
+        if ( keyOffset >= pageSize || keyOffset < headerLength )
         {
             cursor.setCursorException( format( "Tried to read key on offset=%d, headerLength=%d, pageSize=%d, pos=%d",
-                    keyOffset, offsetFormat.getHeaderLength(), pageSize, pos ) );
+                    keyOffset, headerLength, pageSize, pos ) );
             return;
         }
 
@@ -1508,13 +1973,13 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
     private int keyPosOffsetLeaf( int pos )
     {
-        return offsetFormat.getHeaderLength() + pos * bytesKeyOffset();
+        return headerLength + pos * bytesKeyOffset();
     }
 
     private int keyPosOffsetInternal( int pos )
     {
         // header + childPointer + pos * (keyPosOffsetSize + childPointer)
-        return offsetFormat.getHeaderLength() + childSize() + pos * keyChildSize();
+        return headerLength + childSize() + pos * keyChildSize();
     }
 
     private int keyChildSize()
@@ -1551,7 +2016,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         // HEADER
         int allocOffset = getAllocOffset( cursor );
         int deadSpace = getDeadSpace( cursor );
-        String additionalHeader = "{" + cursor.getCurrentPageId() + "} [allocOffset=" + allocOffset + " deadSpace=" + deadSpace + "] ";
+        String additionalHeader = "{" + cursor.getCurrentPageId() + "} [allocOffset=" + allocOffset + " deadSpace=" + deadSpace +
+                (keyPrefixCompression ? " keyPrefixLength=" + keyPrefixLength( cursor ) : "") + "] ";
 
         // OFFSET ARRAY
         String offsetArray = readOffsetArray( cursor, stableGeneration, unstableGeneration, type );
@@ -1603,11 +2069,15 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             }
             else
             {
-                layout.readKey( cursor, readKey, keySize );
                 if ( type == LEAF )
                 {
+                    readLeafKey( cursor, readKey, keySize, new KeyBuffer() );
                     layout.readValue( cursor, readValue, valueSize );
                 }
+                else
+                {
+                    layout.readKey( cursor, readKey, keySize );
+                }
                 singleKey.add( Integer.toString( keySize ) );
                 if ( type == LEAF && includeValue )
                 {
@@ -1658,6 +2128,13 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             joiner.add( format( "Overlap between offsetArray and allocSpace, offsetArray=%d, allocOffset=%d", offsetArray, allocOffset ) );
         }
 
+        // Verify key prefix length
+        if ( keyPrefixCompression && keyPrefixLength( cursor ) > MAX_KEY_PREFIX_LENGTH )
+        {
+            hasInconsistency = true;
+            joiner.add( format( "Key prefix length larger than max, keyPrefixLength=%d, max=%d", keyPrefixLength( cursor ), MAX_KEY_PREFIX_LENGTH ) );
+        }
+
         // If keyCount is unreasonable we will likely go out of bounds in those checks
         if ( reasonableKeyCount( keyCount ) )
         {
@@ -1722,7 +2199,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     private int totalActiveSpaceRaw( PageCursor cursor, int keyCount, Type type )
     {
         // Offset array
-        int offsetArrayStart = offsetFormat.getHeaderLength();
+        int offsetArrayStart = headerLength;
         int offsetArrayEnd = keyPosOffset( keyCount, type );
         int offsetArraySize = offsetArrayEnd - offsetArrayStart;
 
@@ -1737,11 +2214,12 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             int valueSize = extractValueSize( keyValueSize );
             boolean offload = extractOffload( keyValueSize );
             boolean tombstone = extractTombstone( keyValueSize );
+            int sharedLengthSize = type == LEAF ? sharedLengthSize( offload ) : 0;
             if ( !tombstone )
             {
-                aliveKeySize += getOverhead( keySize, valueSize, offload ) + keySize + valueSize;
+                aliveKeySize += getOverhead( keySize, valueSize, offload ) + sharedLengthSize + keySize + valueSize;
             }
-            nextKeyOffset = cursor.getOffset() + (offload ? DynamicSizeUtil.SIZE_OFFLOAD_ID : keySize + valueSize);
+            nextKeyOffset = cursor.getOffset() + (offload ? DynamicSizeUtil.SIZE_OFFLOAD_ID : sharedLengthSize + keySize + valueSize);
         }
         return offsetArraySize + aliveKeySize;
     }
@@ -1794,6 +2272,6 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     @VisibleForTesting
     public int getHeaderLength()
     {
-        return offsetFormat.getHeaderLength();
+        return headerLength;
     }
 }
@@ -115,7 +115,7 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     }
 
     @Override
-    KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext )
+    KEY keyAt( PageCursor cursor, KEY into, int pos, Type type, CursorContext cursorContext, KeyBuffer keyBuffer )
     {
         cursor.setOffset( keyOffset( pos ) );
         layout.readKey( cursor, into, FIXED_SIZE_KEY );
@@ -123,9 +123,9 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     }
 
     @Override
-    void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext )
+    void keyValueAt( PageCursor cursor, KEY intoKey, VALUE intoValue, int pos, CursorContext cursorContext, KeyBuffer keyBuffer )
     {
-        keyAt( cursor, intoKey, pos, LEAF, cursorContext );
+        keyAt( cursor, intoKey, pos, LEAF, cursorContext, keyBuffer );
         valueAt( cursor, intoValue, pos, cursorContext );
     }
 
@@ -344,12 +344,30 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     {   // no-op
     }
 
+    @Override
+    boolean compactLeaf( PageCursor cursor, int keyCount )
+    {
+        return false;
+    }
+
     @Override
     boolean leafUnderflow( PageCursor cursor, int keyCount )
     {
         return keyCount < (leafMaxKeyCount() + 1) / 2;
     }
 
+    @Override
+    double leafFillRatio( PageCursor cursor, int keyCount )
+    {
+        return (double) keyCount / leafMaxKeyCount();
+    }
+
+    @Override
+    double internalFillRatio( PageCursor cursor, int keyCount )
+    {
+        return (double) keyCount / internalMaxKeyCount();
+    }
+
     @Override
     int canRebalanceLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
     {
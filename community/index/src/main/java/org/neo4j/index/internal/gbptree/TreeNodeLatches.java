@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+/**
+ * Striped latches for tree nodes, which parallel writers hold while they change a tree node in place.
+ * <p>
+ * A latch covers all tree nodes that hash to the same stripe, so two writers may occasionally wait for each other even though they change
+ * different tree nodes. This keeps the latches garbage-free, and with enough stripes compared to the number of writers it is rare.
+ */
+class TreeNodeLatches
+{
+    private static final int STRIPES = 1 << 10;
+
+    private final Object[] latches = new Object[STRIPES];
+
+    TreeNodeLatches()
+    {
+        for ( int i = 0; i < STRIPES; i++ )
+        {
+            latches[i] = new Object();
+        }
+    }
+
+    /**
+     * @param treeNodeId id of the tree node to get the latch for.
+     * @return the object to synchronize on while changing the given tree node.
+     */
+    Object latch( long treeNodeId )
+    {
+        // Mix the bits of the id, so that ids that are a multiple of some power of two apart do not end up on the same stripe
+        long hash = treeNodeId * 0x9E3779B97F4A7C15L;
+        return latches[(int) (hash >>> 54)];
+    }
+}
@@ -52,9 +52,9 @@ class TreeNodeSelector
     };
 
     /**
-     * Creates {@link TreeNodeDynamicSize} instances.
+     * Creates {@link TreeNodeDynamicSize} instances without key prefix compression, the format of trees created before key prefix compression.
      */
-    private static final Factory DYNAMIC = new Factory()
+    private static final Factory DYNAMIC_NO_KEY_PREFIX = new Factory()
     {
         @Override
         public <KEY,VALUE> TreeNode<KEY,VALUE> create( int pageSize, Layout<KEY,VALUE> layout, OffloadStore<KEY,VALUE> offloadStore )
@@ -75,6 +75,30 @@ class TreeNodeSelector
         }
     };
 
+    /**
+     * Creates {@link TreeNodeDynamicSize} instances with key prefix compression.
+     */
+    private static final Factory DYNAMIC = new Factory()
+    {
+        @Override
+        public <KEY,VALUE> TreeNode<KEY,VALUE> create( int pageSize, Layout<KEY,VALUE> layout, OffloadStore<KEY,VALUE> offloadStore )
+        {
+            return new TreeNodeDynamicSize<>( pageSize, layout, offloadStore, true );
+        }
+
+        @Override
+        public byte formatIdentifier()
+        {
+            return TreeNodeDynamicSize.FORMAT_IDENTIFIER;
+        }
+
+        @Override
+        public byte formatVersion()
+        {
+            return TreeNodeDynamicSize.FORMAT_VERSION_KEY_PREFIX;
+        }
+    };
+
     /**
      * Selects a format based on the given {@link Layout}.
      *
@@ -103,6 +127,10 @@ class TreeNodeSelector
             return FIXED;
         }
         else if ( formatIdentifier == TreeNodeDynamicSize.FORMAT_IDENTIFIER && formatVersion == TreeNodeDynamicSize.FORMAT_VERSION )
+        {
+            return DYNAMIC_NO_KEY_PREFIX;
+        }
+        else if ( formatIdentifier == TreeNodeDynamicSize.FORMAT_IDENTIFIER && formatVersion == TreeNodeDynamicSize.FORMAT_VERSION_KEY_PREFIX )
         {
             return DYNAMIC;
         }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.function.LongUnaryOperator;
+
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.rule.PageCacheConfig;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+
+@EphemeralTestDirectoryExtension
+class GBPTreeBulkLoadTest
+{
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension = new PageCacheSupportExtension( PageCacheConfig.config().withPageSize( 512 ) );
+    @Inject
+    private TestDirectory directory;
+    @Inject
+    private PageCache pageCache;
+
+    @ParameterizedTest
+    @CsvSource( {"true,1", "true,0.5", "false,1", "false,0.7"} )
+    void shouldBulkLoadSortedKeys( boolean fixedSize, double fillFactor ) throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        int keys = 50_000;
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( fillFactor, NULL ) )
+            {
+                for ( long seed = 0; seed < keys; seed++ )
+                {
+                    bulkLoader.add( layout.key( seed * 2 ), layout.value( seed * 2 ) );
+                }
+            }
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+            assertTreeContents( tree, layout, keys, ordinal -> ordinal * 2 );
+
+            // The loaded tree must work like any other tree
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+            {
+                for ( long seed = 0; seed < keys; seed++ )
+                {
+                    writer.put( layout.key( seed * 2 + 1 ), layout.value( seed * 2 + 1 ) );
+                }
+            }
+            tree.checkpoint( NULL );
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+            assertTreeContents( tree, layout, keys * 2, ordinal -> ordinal );
+        }
+
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+            {
+                for ( long seed = 0; seed < keys; seed++ )
+                {
+                    writer.remove( layout.key( seed * 2 + 1 ) );
+                }
+            }
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+            assertTreeContents( tree, layout, keys, ordinal -> ordinal * 2 );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldFillTreeNodesLessWithLowerFillFactor( boolean fixedSize ) throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        long fullTreePages = bulkLoadAndGetNumberOfPages( layout, "full", 1 );
+        long halfFullTreePages = bulkLoadAndGetNumberOfPages( layout, "halfFull", 0.5 );
+        assertThat( halfFullTreePages ).isGreaterThan( fullTreePages * 3 / 2 );
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldLeaveTreeEmptyIfNothingIsAdded( boolean fixedSize ) throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            tree.bulkLoader( 1, NULL ).close();
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+            assertTreeContents( tree, layout, 0, ordinal -> ordinal );
+
+            // The writer is available again
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+            {
+                writer.put( layout.key( 1 ), layout.value( 1 ) );
+            }
+            assertTreeContents( tree, layout, 1, ordinal -> 1 );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldNotAcceptKeysOutOfOrder( boolean fixedSize ) throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build();
+              BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( 1, NULL ) )
+        {
+            bulkLoader.add( layout.key( 10 ), layout.value( 10 ) );
+            assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( layout.key( 10 ), layout.value( 10 ) ) );
+            assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( layout.key( 9 ), layout.value( 9 ) ) );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldNotBulkLoadIntoNonEmptyTree( boolean fixedSize ) throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+            {
+                writer.put( layout.key( 1 ), layout.value( 1 ) );
+            }
+
+            assertThrows( IllegalStateException.class, () -> tree.bulkLoader( 1, NULL ) );
+
+            // The writer is still available
+            tree.writer( NULL ).close();
+        }
+    }
+
+    private long bulkLoadAndGetNumberOfPages( SimpleLongLayout layout, String name, double fillFactor ) throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( name ), layout ).build() )
+        {
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( fillFactor, NULL ) )
+            {
+                for ( long seed = 0; seed < 10_000; seed++ )
+                {
+                    bulkLoader.add( layout.key( seed ), layout.value( seed ) );
+                }
+            }
+            tree.checkpoint( NULL );
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+        }
+        return directory.getFileSystem().getFileSize( directory.file( name ) ) / pageCache.pageSize();
+    }
+
+    private static void assertTreeContents( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout, int expectedKeys,
+            LongUnaryOperator expectedSeed ) throws IOException
+    {
+        try ( Seeker<MutableLong,MutableLong> seeker = tree.seek( layout.key( 0 ), layout.key( Long.MAX_VALUE ), NULL ) )
+        {
+            long ordinal = 0;
+            while ( seeker.next() )
+            {
+                long seed = expectedSeed.applyAsLong( ordinal );
+                assertEquals( seed, layout.keySeed( seeker.key() ) );
+                assertEquals( seed, layout.valueSeed( seeker.value() ) );
+                ordinal++;
+            }
+            assertEquals( expectedKeys, ordinal );
+        }
+    }
+}
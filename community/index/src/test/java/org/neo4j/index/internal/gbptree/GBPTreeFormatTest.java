@@ -57,14 +57,19 @@ public class GBPTreeFormatTest<KEY,VALUE> extends FormatCompatibilityVerifier
     private static final int PAGE_SIZE_4M = (int) ByteUnit.mebiBytes( 4 );
     private static final String CURRENT_FIXED_SIZE_FORMAT_8k_ZIP = "current-format_8k.zip";
     private static final String CURRENT_DYNAMIC_SIZE_FORMAT_8k_ZIP = "current-dynamic-format_8k.zip";
+    private static final String DYNAMIC_SIZE_FORMAT_V0_8k_ZIP = "dynamic-format-v0_8k.zip";
     private static final String CURRENT_FIXED_SIZE_FORMAT_16k_ZIP = "current-format_16k.zip";
     private static final String CURRENT_DYNAMIC_SIZE_FORMAT_16k_ZIP = "current-dynamic-format_16k.zip";
+    private static final String DYNAMIC_SIZE_FORMAT_V0_16k_ZIP = "dynamic-format-v0_16k.zip";
     private static final String CURRENT_FIXED_SIZE_FORMAT_32k_ZIP = "current-format_32k.zip";
     private static final String CURRENT_DYNAMIC_SIZE_FORMAT_32k_ZIP = "current-dynamic-format_32k.zip";
+    private static final String DYNAMIC_SIZE_FORMAT_V0_32k_ZIP = "dynamic-format-v0_32k.zip";
     private static final String CURRENT_FIXED_SIZE_FORMAT_64k_ZIP = "current-format_64k.zip";
     private static final String CURRENT_DYNAMIC_SIZE_FORMAT_64k_ZIP = "current-dynamic-format_64k.zip";
+    private static final String DYNAMIC_SIZE_FORMAT_V0_64k_ZIP = "dynamic-format-v0_64k.zip";
     private static final String CURRENT_FIXED_SIZE_FORMAT_4M_ZIP = "current-format_4M.zip";
     private static final String CURRENT_DYNAMIC_SIZE_FORMAT_4M_ZIP = "current-dynamic-format_4M.zip";
+    private static final String DYNAMIC_SIZE_FORMAT_V0_4M_ZIP = "dynamic-format-v0_4M.zip";
 
     @Parameters( name = "{1}" )
     public static List<Object[]> data()
@@ -73,18 +78,23 @@ public class GBPTreeFormatTest<KEY,VALUE> extends FormatCompatibilityVerifier
                 // 8k
                 new Object[]{longLayout().withFixedSize( true ).build(), CURRENT_FIXED_SIZE_FORMAT_8k_ZIP, PAGE_SIZE_8K},
                 new Object[]{new SimpleByteArrayLayout( 4000, 99 ), CURRENT_DYNAMIC_SIZE_FORMAT_8k_ZIP, PAGE_SIZE_8K},
+                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), DYNAMIC_SIZE_FORMAT_V0_8k_ZIP, PAGE_SIZE_8K},
                 // 16k
                 new Object[]{longLayout().withFixedSize( true ).build(), CURRENT_FIXED_SIZE_FORMAT_16k_ZIP, PAGE_SIZE_16K},
                 new Object[]{new SimpleByteArrayLayout( 4000, 99 ), CURRENT_DYNAMIC_SIZE_FORMAT_16k_ZIP, PAGE_SIZE_16K},
+                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), DYNAMIC_SIZE_FORMAT_V0_16k_ZIP, PAGE_SIZE_16K},
                 // 32k
                 new Object[]{longLayout().withFixedSize( true ).build(), CURRENT_FIXED_SIZE_FORMAT_32k_ZIP, PAGE_SIZE_32K},
                 new Object[]{new SimpleByteArrayLayout( 4000, 99 ), CURRENT_DYNAMIC_SIZE_FORMAT_32k_ZIP, PAGE_SIZE_32K},
+                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), DYNAMIC_SIZE_FORMAT_V0_32k_ZIP, PAGE_SIZE_32K},
                 // 64k
                 new Object[]{longLayout().withFixedSize( true ).build(), CURRENT_FIXED_SIZE_FORMAT_64k_ZIP, PAGE_SIZE_64K},
                 new Object[]{new SimpleByteArrayLayout( 4000, 99 ), CURRENT_DYNAMIC_SIZE_FORMAT_64k_ZIP, PAGE_SIZE_64K},
+                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), DYNAMIC_SIZE_FORMAT_V0_64k_ZIP, PAGE_SIZE_64K},
                 // 4M
                 new Object[]{longLayout().withFixedSize( true ).build(), CURRENT_FIXED_SIZE_FORMAT_4M_ZIP, PAGE_SIZE_4M},
-                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), CURRENT_DYNAMIC_SIZE_FORMAT_4M_ZIP, PAGE_SIZE_4M}
+                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), CURRENT_DYNAMIC_SIZE_FORMAT_4M_ZIP, PAGE_SIZE_4M},
+                new Object[]{new SimpleByteArrayLayout( 4000, 99 ), DYNAMIC_SIZE_FORMAT_V0_4M_ZIP, PAGE_SIZE_4M}
         );
     }
 
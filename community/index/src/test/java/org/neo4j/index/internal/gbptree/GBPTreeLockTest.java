@@ -163,6 +163,57 @@ class GBPTreeLockTest
         assertOnlyOneSucceeds( lock::writerAndCleanerLock, lock::writerAndCleanerLock );
     }
 
+    @Test
+    void test_race_parallelWriterVsParallelWriter() throws Throwable
+    {
+        assertBothSucceeds( lock::parallelWriterLock, lock::parallelWriterLock );
+        lock.parallelWriterUnlock();
+        lock.parallelWriterUnlock();
+        assertThrows( IllegalStateException.class, lock::parallelWriterUnlock );
+    }
+
+    @Test
+    void writerLockMustWaitForParallelWriters() throws Exception
+    {
+        lock.parallelWriterLock();
+        assertBlock( lock::writerLock, lock::parallelWriterUnlock );
+        lock.writerUnlock();
+        assertUU();
+    }
+
+    @Test
+    void cleanerLockMustWaitForParallelWriters() throws Exception
+    {
+        lock.parallelWriterLock();
+        assertBlock( lock::cleanerLock, lock::parallelWriterUnlock );
+        lock.cleanerUnlock();
+        assertUU();
+    }
+
+    @Test
+    void parallelWriterLockMustWaitForWriter() throws Exception
+    {
+        lock.writerLock();
+        Future<Object> future = executor.submit( () ->
+        {
+            lock.parallelWriterLock();
+            return null;
+        } );
+        executor.untilWaitingIn( GBPTreeLock.class.getDeclaredMethod( "parallelWriterLock" ) );
+        lock.writerUnlock();
+        future.get();
+        lock.parallelWriterUnlock();
+        assertUU();
+    }
+
+    @Test
+    void parallelWriterUnlockWithoutLockMustThrow()
+    {
+        assertThrows( IllegalStateException.class, lock::parallelWriterUnlock );
+        lock.writerLock();
+        assertThrows( IllegalStateException.class, lock::parallelWriterUnlock );
+    }
+
     private void assertOnlyOneSucceeds( Runnable lockAction1, Runnable lockAction2 )
     {
         assertUU();
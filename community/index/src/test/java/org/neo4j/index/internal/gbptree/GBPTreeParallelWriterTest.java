@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.function.LongUnaryOperator;
+
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.Race;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.rule.PageCacheConfig;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.test.Race.throwing;
+
+@EphemeralTestDirectoryExtension
+class GBPTreeParallelWriterTest
+{
+    private static final int THREADS = 4;
+
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension = new PageCacheSupportExtension( PageCacheConfig.config().withPageSize( 512 ) );
+    @Inject
+    private TestDirectory directory;
+    @Inject
+    private PageCache pageCache;
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldInsertFromParallelWriters( boolean fixedSize ) throws Throwable
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        int keysPerThread = 5_000;
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            Race race = new Race();
+            race.addContestants( THREADS, thread -> throwing( () ->
+            {
+                try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter( NULL ) )
+                {
+                    // Interleave the keys of the threads, so that they often change the same leaves
+                    for ( int i = 0; i < keysPerThread; i++ )
+                    {
+                        long seed = (long) i * THREADS + thread;
+                        writer.put( layout.key( seed ), layout.value( seed ) );
+                    }
+                }
+            } ), 1 );
+            race.go();
+
+            assertTreeContents( tree, layout, THREADS * keysPerThread, seed -> seed );
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldMergeIntoSameKeysFromParallelWriters( boolean fixedSize ) throws Throwable
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        int keys = 1_000;
+        int rounds = 20;
+        ValueMerger<MutableLong,MutableLong> adder = ( existingKey, newKey, existingValue, newValue ) ->
+        {
+            existingValue.add( newValue.longValue() );
+            return ValueMerger.MergeResult.MERGED;
+        };
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            Race race = new Race();
+            race.addContestants( THREADS, throwing( () ->
+            {
+                try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter( NULL ) )
+                {
+                    for ( int round = 0; round < rounds; round++ )
+                    {
+                        for ( int seed = 0; seed < keys; seed++ )
+                        {
+                            writer.merge( layout.key( seed ), new MutableLong( 1 ), adder );
+                        }
+                    }
+                }
+            } ), 1 );
+            race.go();
+
+            assertTreeContents( tree, layout, keys, seed -> THREADS * rounds );
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldRemoveFromParallelWriters( boolean fixedSize ) throws Throwable
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        int keys = 20_000;
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+            {
+                for ( int seed = 0; seed < keys; seed++ )
+                {
+                    writer.put( layout.key( seed ), layout.value( seed ) );
+                }
+            }
+            // Makes all tree nodes stable, so that the first change of each of them needs a new generation of it
+            tree.checkpoint( NULL );
+
+            Race race = new Race();
+            race.addContestants( THREADS, thread -> throwing( () ->
+            {
+                try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter( NULL ) )
+                {
+                    for ( long seed = thread; seed < keys; seed += THREADS )
+                    {
+                        // Keep every tenth key
+                        if ( seed % 10 != 0 )
+                        {
+                            MutableLong removed = writer.remove( layout.key( seed ) );
+                            assertEquals( seed, layout.valueSeed( removed ) );
+                        }
+                    }
+                    assertNull( writer.remove( layout.key( keys ) ) );
+                }
+            } ), 1 );
+            race.go();
+
+            assertTreeContents( tree, layout, keys / 10, ordinal -> ordinal * 10, seed -> seed );
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldCheckpointChangesOfParallelWriters( boolean fixedSize ) throws Throwable
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        int keysPerThread = 2_000;
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            Race race = new Race();
+            race.addContestants( THREADS, thread -> throwing( () ->
+            {
+                for ( int batch = 0; batch < 10; batch++ )
+                {
+                    try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter( NULL ) )
+                    {
+                        for ( int i = batch * keysPerThread / 10; i < (batch + 1) * keysPerThread / 10; i++ )
+                        {
+                            long seed = (long) i * THREADS + thread;
+                            writer.put( layout.key( seed ), layout.value( seed ) );
+                        }
+                    }
+                }
+            } ), 1 );
+            race.addContestant( throwing( () ->
+            {
+                for ( int i = 0; i < 10; i++ )
+                {
+                    tree.checkpoint( NULL );
+                }
+            } ), 1 );
+            race.go();
+            tree.checkpoint( NULL );
+        }
+
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            assertTreeContents( tree, layout, THREADS * keysPerThread, seed -> seed );
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldNotAllowClosingParallelWriterTwice( boolean fixedSize ) throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            Writer<MutableLong,MutableLong> writer = tree.parallelWriter( NULL );
+            writer.close();
+            assertThrows( IllegalStateException.class, writer::close );
+
+            // The single writer is available again
+            tree.writer( NULL ).close();
+        }
+    }
+
+    private static void assertTreeContents( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout, int expectedKeys,
+            LongUnaryOperator expectedValueSeed ) throws IOException
+    {
+        assertTreeContents( tree, layout, expectedKeys, ordinal -> ordinal, expectedValueSeed );
+    }
+
+    private static void assertTreeContents( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout, int expectedKeys,
+            LongUnaryOperator expectedKeySeed, LongUnaryOperator expectedValueSeed ) throws IOException
+    {
+        try ( Seeker<MutableLong,MutableLong> seeker = tree.seek( layout.key( 0 ), layout.key( Long.MAX_VALUE ), NULL ) )
+        {
+            long ordinal = 0;
+            while ( seeker.next() )
+            {
+                long keySeed = expectedKeySeed.applyAsLong( ordinal );
+                assertEquals( keySeed, layout.keySeed( seeker.key() ) );
+                assertEquals( expectedValueSeed.applyAsLong( keySeed ), layout.valueSeed( seeker.value() ) );
+                ordinal++;
+            }
+            assertEquals( expectedKeys, ordinal );
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+
+/**
+ * Lets a number of {@link GBPTree#parallelWriter(org.neo4j.io.pagecache.context.CursorContext) parallel writers} insert and remove keys that are
+ * spread randomly over the tree, which is the access pattern of most index updates, while readers keep seeking through the whole tree.
+ * Enough keys are written for leaves and internal nodes to be split and merged concurrently.
+ */
+@TestDirectoryExtension
+class GBPTreeParallelWritersIT
+{
+    private static final int WRITERS = 4;
+    private static final int KEYS_PER_WRITER = 50_000;
+
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension = new PageCacheSupportExtension();
+    @Inject
+    private TestDirectory directory;
+    @Inject
+    private PageCache pageCache;
+
+    @Test
+    void concurrentInsertsAndRemovesMustLeaveConsistentTreeAndNeverShowReadersUnorderedKeys() throws Exception
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( true ).build();
+        ExecutorService executor = Executors.newFixedThreadPool( WRITERS + 1 );
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            AtomicBoolean writersDone = new AtomicBoolean();
+            Future<Integer> reader = executor.submit( () ->
+            {
+                int seeks = 0;
+                do
+                {
+                    assertOrderedAndMatching( tree, layout );
+                    seeks++;
+                }
+                while ( !writersDone.get() );
+                return seeks;
+            } );
+            List<Future<?>> writers = new ArrayList<>();
+            for ( int i = 0; i < WRITERS; i++ )
+            {
+                int thread = i;
+                writers.add( executor.submit( () ->
+                {
+                    try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter( NULL ) )
+                    {
+                        for ( int j = 0; j < KEYS_PER_WRITER; j++ )
+                        {
+                            long seed = seed( thread, j );
+                            writer.put( layout.key( seed ), layout.value( seed ) );
+                            if ( j % 2 == 1 )
+                            {
+                                // Remove every other key again, while the neighbouring keys are still being inserted.
+                                long previousSeed = seed( thread, j - 1 );
+                                assertThat( writer.remove( layout.key( previousSeed ) ) ).isNotNull();
+                            }
+                        }
+                    }
+                    return null;
+                } ) );
+            }
+            try
+            {
+                for ( Future<?> writer : writers )
+                {
+                    writer.get();
+                }
+            }
+            finally
+            {
+                writersDone.set( true );
+            }
+            assertThat( reader.get() ).isPositive();
+
+            assertThat( assertOrderedAndMatching( tree, layout ) ).isEqualTo( (long) WRITERS * KEYS_PER_WRITER / 2 );
+            for ( int thread = 0; thread < WRITERS; thread++ )
+            {
+                for ( int j = 0; j < KEYS_PER_WRITER; j++ )
+                {
+                    long seed = seed( thread, j );
+                    try ( Seeker<MutableLong,MutableLong> seeker = tree.seek( layout.key( seed ), layout.key( seed + 1 ), NULL ) )
+                    {
+                        assertThat( seeker.next() ).as( "key %d", seed ).isEqualTo( j % 2 == 1 );
+                    }
+                }
+            }
+            assertThat( tree.consistencyCheck( NULL ) ).isTrue();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Scatters the keys of all writers over the whole key space, without any two writers writing the same key.
+     */
+    private static long seed( int thread, long j )
+    {
+        return Long.reverse( j * WRITERS + thread ) >>> 1;
+    }
+
+    private static long assertOrderedAndMatching( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout ) throws Exception
+    {
+        long count = 0;
+        long previousSeed = -1;
+        try ( Seeker<MutableLong,MutableLong> seeker = tree.seek( layout.key( 0 ), layout.key( Long.MAX_VALUE ), NULL ) )
+        {
+            while ( seeker.next() )
+            {
+                long seed = layout.keySeed( seeker.key() );
+                assertThat( seed ).isGreaterThan( previousSeed );
+                assertThat( layout.valueSeed( seeker.value() ) ).isEqualTo( seed );
+                previousSeed = seed;
+                count++;
+            }
+        }
+        return count;
+    }
+}
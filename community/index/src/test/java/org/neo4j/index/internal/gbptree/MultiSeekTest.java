@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.Race;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectorySupportExtension;
+import org.neo4j.test.rule.PageCacheConfig;
+import org.neo4j.test.rule.RandomRule;
+import org.neo4j.test.rule.TestDirectory;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.test.Race.throwing;
+
+@ExtendWith( {RandomExtension.class, TestDirectorySupportExtension.class} )
+class MultiSeekTest
+{
+    private static final int PAGE_SIZE = 512;
+
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheSupportExtension = new PageCacheSupportExtension( PageCacheConfig.config().withPageSize( PAGE_SIZE ) );
+    @Inject
+    private TestDirectory testDirectory;
+    @Inject
+    private RandomRule random;
+    @Inject
+    private PageCache pageCache;
+    private SimpleLongLayout layout;
+    private Path treeFile;
+
+    @BeforeEach
+    void setup()
+    {
+        layout = SimpleLongLayout.longLayout().build();
+        treeFile = testDirectory.file( "tree" );
+    }
+
+    @Test
+    void shouldFindExactMatchesOfSortedKeys() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = instantiateTree() )
+        {
+            // given every other key
+            int count = 5_000;
+            insertEntries( tree, 0, count, 2 );
+
+            // when seeking a random sorted batch of keys, some of which are not in the tree
+            List<MutableLong> keys = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            for ( long key = random.nextInt( 10 ); key < count * 2 + 10; key += 1 + random.nextInt( 200 ) )
+            {
+                keys.add( layout.key( key ) );
+                if ( key % 2 == 0 && key < count * 2 )
+                {
+                    expected.add( key );
+                }
+            }
+
+            // then
+            try ( Seeker<MutableLong,MutableLong> seeker = tree.multiSeek( keys, keys, NULL ) )
+            {
+                assertThat( keysOf( seeker ) ).isEqualTo( expected );
+            }
+        }
+    }
+
+    @Test
+    void shouldFindHitsOfSortedRanges() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = instantiateTree() )
+        {
+            // given
+            int count = 5_000;
+            insertEntries( tree, 0, count, 1 );
+
+            // when seeking random sorted ranges, some close to each other and some far apart
+            List<MutableLong> from = new ArrayList<>();
+            List<MutableLong> to = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            long start = random.nextInt( 10 );
+            while ( start < count + 10 )
+            {
+                long end = start + 1 + random.nextInt( 20 );
+                from.add( layout.key( start ) );
+                to.add( layout.key( end ) );
+                for ( long key = start; key < Math.min( end, count ); key++ )
+                {
+                    expected.add( key );
+                }
+                start = end + (random.nextBoolean() ? random.nextInt( 3 ) : random.nextInt( 500 ));
+            }
+
+            // then
+            try ( Seeker<MutableLong,MutableLong> seeker = tree.multiSeek( from, to, NULL ) )
+            {
+                assertThat( keysOf( seeker ) ).isEqualTo( expected );
+            }
+        }
+    }
+
+    @Test
+    void shouldFindSameHitsAsSingleSeeks() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = instantiateTree() )
+        {
+            // given
+            TreeSet<Long> keysInTree = new TreeSet<>();
+            for ( int i = 0; i < 2_000; i++ )
+            {
+                keysInTree.add( random.nextLong( 100_000 ) );
+            }
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+            {
+                for ( long key : keysInTree )
+                {
+                    writer.put( layout.key( key ), layout.value( key ) );
+                }
+            }
+
+            // when
+            TreeSet<Long> soughtKeys = new TreeSet<>();
+            for ( int i = 0; i < 500; i++ )
+            {
+                soughtKeys.add( random.nextBoolean() ? random.among( new ArrayList<>( keysInTree ) ) : random.nextLong( 100_000 ) );
+            }
+            List<MutableLong> keys = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            for ( long key : soughtKeys )
+            {
+                keys.add( layout.key( key ) );
+                try ( Seeker<MutableLong,MutableLong> seeker = tree.seek( layout.key( key ), layout.key( key ), NULL ) )
+                {
+                    expected.addAll( keysOf( seeker ) );
+                }
+            }
+
+            // then
+            try ( Seeker<MutableLong,MutableLong> seeker = tree.multiSeek( keys, keys, NULL ) )
+            {
+                assertThat( keysOf( seeker ) ).isEqualTo( expected );
+            }
+        }
+    }
+
+    @Test
+    void shouldFindExactMatchesDuringConcurrentModifications() throws Throwable
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = instantiateTree() )
+        {
+            // given keys 0, 3, 6, 9... which will stay in the tree, while the keys in between come and go
+            int stride = 3;
+            int count = 3_000;
+            insertEntries( tree, 0, count, stride );
+            List<MutableLong> keys = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            for ( long key = 0; key < count * stride; key += stride * (1 + random.nextInt( 5 )) )
+            {
+                keys.add( layout.key( key ) );
+                expected.add( key );
+            }
+
+            for ( int round = 0; round < 4; round++ )
+            {
+                boolean insert = round % 2 == 0;
+                Race race = new Race();
+                race.addContestant( throwing( () ->
+                {
+                    for ( int offset = 1; offset < stride; offset++ )
+                    {
+                        if ( insert )
+                        {
+                            insertEntries( tree, offset, count, stride );
+                        }
+                        else
+                        {
+                            removeEntries( tree, offset, count, stride );
+                        }
+                    }
+                } ) );
+                race.addContestants( 2, throwing( () ->
+                {
+                    for ( int i = 0; i < 5; i++ )
+                    {
+                        // MultiSeek mutates the keys it's given, so give each seek its own copies
+                        try ( Seeker<MutableLong,MutableLong> seeker = tree.multiSeek( copies( keys ), copies( keys ), NULL ) )
+                        {
+                            assertThat( keysOf( seeker ) ).isEqualTo( expected );
+                        }
+                    }
+                } ) );
+                race.go();
+            }
+        }
+    }
+
+    @Test
+    void shouldThrowOnUnsortedOrOverlappingRanges() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = instantiateTree() )
+        {
+            assertThrows( IllegalArgumentException.class, () -> tree.multiSeek( new ArrayList<>(), new ArrayList<>(), NULL ) );
+            assertThrows( IllegalArgumentException.class,
+                    () -> tree.multiSeek( singletonList( layout.key( 10 ) ), singletonList( layout.key( 0 ) ), NULL ) );
+            assertThrows( IllegalArgumentException.class,
+                    () -> tree.multiSeek( asList( layout.key( 5 ), layout.key( 1 ) ), asList( layout.key( 5 ), layout.key( 1 ) ), NULL ) );
+            assertThrows( IllegalArgumentException.class,
+                    () -> tree.multiSeek( asList( layout.key( 5 ), layout.key( 5 ) ), asList( layout.key( 5 ), layout.key( 5 ) ), NULL ) );
+            assertThrows( IllegalArgumentException.class,
+                    () -> tree.multiSeek( asList( layout.key( 0 ), layout.key( 5 ) ), asList( layout.key( 10 ), layout.key( 15 ) ), NULL ) );
+        }
+    }
+
+    private GBPTree<MutableLong,MutableLong> instantiateTree()
+    {
+        return new GBPTreeBuilder<>( pageCache, treeFile, layout ).build();
+    }
+
+    private List<MutableLong> copies( List<MutableLong> keys )
+    {
+        List<MutableLong> copies = new ArrayList<>( keys.size() );
+        for ( MutableLong key : keys )
+        {
+            copies.add( layout.copyKey( key, layout.newKey() ) );
+        }
+        return copies;
+    }
+
+    private static List<Long> keysOf( Seeker<MutableLong,MutableLong> seeker ) throws IOException
+    {
+        List<Long> keys = new ArrayList<>();
+        while ( seeker.next() )
+        {
+            keys.add( seeker.key().longValue() );
+        }
+        return keys;
+    }
+
+    private void insertEntries( GBPTree<MutableLong,MutableLong> tree, int startId, int count, int stride ) throws IOException
+    {
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+        {
+            for ( long i = 0, id = startId; i < count; i++, id += stride )
+            {
+                writer.put( layout.key( id ), layout.value( id ) );
+            }
+        }
+    }
+
+    private void removeEntries( GBPTree<MutableLong,MutableLong> tree, int startId, int count, int stride ) throws IOException
+    {
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer( NULL ) )
+        {
+            for ( long i = 0, id = startId; i < count; i++, id += stride )
+            {
+                writer.remove( layout.key( id ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+
+public class TreeNodeDynamicSizeKeyPrefixTest extends TreeNodeTestBase<RawBytes,RawBytes>
+{
+    private final SimpleByteArrayLayout layout = new SimpleByteArrayLayout( false );
+
+    @Override
+    protected TestLayout<RawBytes,RawBytes> getLayout()
+    {
+        return layout;
+    }
+
+    @Override
+    protected TreeNodeDynamicSize<RawBytes,RawBytes> getNode( int pageSize, Layout<RawBytes,RawBytes> layout,
+            OffloadStore<RawBytes,RawBytes> offloadStore )
+    {
+        return new TreeNodeDynamicSize<>( pageSize, layout, offloadStore, true );
+    }
+
+    @Override
+    void assertAdditionalHeader( PageCursor cursor, TreeNode<RawBytes,RawBytes> node, int pageSize )
+    {
+        // When
+        int currentAllocSpace = ((TreeNodeDynamicSize) node).getAllocOffset( cursor );
+
+        // Then
+        assertEquals( pageSize, currentAllocSpace, "allocSpace point to end of page" );
+    }
+
+    @Test
+    void compactLeafMustShareCommonKeyPrefixAndKeepEntries() throws IOException
+    {
+        // Given
+        TreeNodeDynamicSize<RawBytes,RawBytes> node = (TreeNodeDynamicSize<RawBytes,RawBytes>) this.node;
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        int keyCount = 10;
+        for ( int i = 0; i < keyCount; i++ )
+        {
+            node.insertKeyValueAt( cursor, key( i ), value( i ), i, i, STABLE_GENERATION, UNSTABLE_GENERATION, NULL );
+            TreeNode.setKeyCount( cursor, i + 1 );
+        }
+        int allocOffsetBefore = node.getAllocOffset( cursor );
+
+        // When
+        assertTrue( node.compactLeaf( cursor, keyCount ) );
+
+        // Then
+        int maxSharedLength = TreeNodeDynamicSize.MAX_KEY_PREFIX_LENGTH;
+        assertThat( node.getAllocOffset( cursor ) ).isEqualTo( allocOffsetBefore + keyCount * maxSharedLength );
+        assertEquals( 0, node.getDeadSpace( cursor ) );
+        assertEntries( node, keyCount );
+        assertFalse( node.compactLeaf( cursor, keyCount ) );
+
+        // and when inserting a key sharing the key prefix after compaction
+        node.insertKeyValueAt( cursor, key( keyCount ), value( keyCount ), keyCount, keyCount, STABLE_GENERATION, UNSTABLE_GENERATION, NULL );
+        TreeNode.setKeyCount( cursor, keyCount + 1 );
+
+        // then it is stored without the shared bytes
+        assertEntries( node, keyCount + 1 );
+    }
+
+    @Test
+    void compactLeafMustReclaimDeadSpace() throws IOException
+    {
+        // Given
+        TreeNodeDynamicSize<RawBytes,RawBytes> node = (TreeNodeDynamicSize<RawBytes,RawBytes>) this.node;
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        int keyCount = 10;
+        for ( int i = 0; i < keyCount; i++ )
+        {
+            node.insertKeyValueAt( cursor, key( i ), value( i ), i, i, STABLE_GENERATION, UNSTABLE_GENERATION, NULL );
+            TreeNode.setKeyCount( cursor, i + 1 );
+        }
+        node.removeKeyValueAt( cursor, 0, keyCount, STABLE_GENERATION, UNSTABLE_GENERATION, NULL );
+        keyCount--;
+        TreeNode.setKeyCount( cursor, keyCount );
+        assertThat( node.getDeadSpace( cursor ) ).isGreaterThan( 0 );
+
+        // When
+        assertTrue( node.compactLeaf( cursor, keyCount ) );
+
+        // Then
+        assertEquals( 0, node.getDeadSpace( cursor ) );
+        for ( int i = 0; i < keyCount; i++ )
+        {
+            RawBytes readKey = node.keyAt( cursor, layout.newKey(), i, LEAF, NULL );
+            assertArrayEquals( key( i + 1 ).bytes, readKey.bytes );
+        }
+    }
+
+    private void assertEntries( TreeNodeDynamicSize<RawBytes,RawBytes> node, int keyCount )
+    {
+        for ( int i = 0; i < keyCount; i++ )
+        {
+            RawBytes readKey = node.keyAt( cursor, layout.newKey(), i, LEAF, NULL );
+            RawBytes readValue = node.valueAt( cursor, layout.newValue(), i, NULL );
+            assertArrayEquals( key( i ).bytes, readKey.bytes );
+            assertArrayEquals( value( i ).bytes, readValue.bytes );
+        }
+        assertThat( node.checkMetaConsistency( cursor, keyCount, LEAF, new GBPTreeConsistencyCheckVisitor.Adaptor<>() ) ).isEmpty();
+    }
+
+    /**
+     * Keys that share their first {@link TreeNodeDynamicSize#MAX_KEY_PREFIX_LENGTH} bytes and are unique on the last byte.
+     */
+    private static RawBytes key( int id )
+    {
+        RawBytes key = new RawBytes();
+        key.bytes = new byte[TreeNodeDynamicSize.MAX_KEY_PREFIX_LENGTH + 4];
+        key.bytes[1] = 42;
+        key.bytes[key.bytes.length - 1] = (byte) id;
+        return key;
+    }
+
+    private static RawBytes value( int id )
+    {
+        RawBytes value = new RawBytes();
+        value.bytes = new byte[]{(byte) id, (byte) (id + 1)};
+        return value;
+    }
+}
@@ -139,4 +139,10 @@ public class PhysicalFlushableChecksumChannel extends PhysicalFlushableChannel i
     {
         return (FlushableChecksumChannel) super.put( value, length );
     }
+
+    @Override
+    public FlushableChecksumChannel putAll( ByteBuffer src ) throws IOException
+    {
+        return (FlushableChecksumChannel) super.putAll( src );
+    }
 }
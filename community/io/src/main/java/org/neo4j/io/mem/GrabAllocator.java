@@ -19,20 +19,31 @@
  */
 package org.neo4j.io.mem;
 
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.memory.MemoryTracker;
 
 import java.lang.ref.Cleaner;
 
 import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
 /**
  * This memory allocator is allocating memory in large segments, called "grabs", and the memory returned by the memory
  * manager is page aligned, and plays well with transparent huge pages and other operating system optimisations.
+ * <p>
+ * The allocator can also be asked to explicitly back its grabs with transparent huge pages, and to place its grabs on the NUMA nodes of the machine
+ * according to a {@link NumaPlacement}. Both are only advice to the operating system, and are silently ignored where they are not supported.
  */
 public final class GrabAllocator implements MemoryAllocator
 {
+    /**
+     * The size of the transparent huge pages that grabs are aligned to, when they are backed by huge pages.
+     */
+    static final long HUGE_PAGE_SIZE = mebiBytes( 2 );
+
     private static final Cleaner globalCleaner = globalCleaner();
 
     private final Grabs grabs;
@@ -48,7 +59,22 @@ public final class GrabAllocator implements MemoryAllocator
      */
     GrabAllocator( long expectedMaxMemory, MemoryTracker memoryTracker )
     {
-        this.grabs = new Grabs( expectedMaxMemory, memoryTracker );
+        this( expectedMaxMemory, false, NumaPlacement.DEFAULT, memoryTracker );
+    }
+
+    /**
+     * Create a new GrabAllocator that will allocate the given amount of memory, to pointers that are aligned to the
+     * given alignment size.
+     *
+     * @param expectedMaxMemory The maximum amount of memory that this memory manager is expected to allocate. The
+     * actual amount of memory used can end up greater than this value, if some of it gets wasted on alignment padding.
+     * @param hugePages {@code true} if the grabs should be aligned to, and backed by, transparent huge pages.
+     * @param numaPlacement how the grabs should be placed on the NUMA nodes of the machine.
+     * @param memoryTracker memory usage tracker
+     */
+    GrabAllocator( long expectedMaxMemory, boolean hugePages, NumaPlacement numaPlacement, MemoryTracker memoryTracker )
+    {
+        this.grabs = new Grabs( expectedMaxMemory, hugePages, numaPlacement, NativeAccessProvider.getNativeAccess(), memoryTracker );
         this.cleanable = globalCleaner.register( this, new GrabsDeallocator( grabs ) );
     }
 
@@ -79,23 +105,37 @@ public final class GrabAllocator implements MemoryAllocator
     private static class Grab
     {
         public final Grab next;
+        private final long base;
+        private final long allocatedSize;
         private final long address;
         private final long limit;
         private final MemoryTracker memoryTracker;
         private long nextPointer;
 
         Grab( Grab next, long size, MemoryTracker memoryTracker )
+        {
+            this( next, size, 1, memoryTracker );
+        }
+
+        /**
+         * Allocate a grab of the given size, that starts at the given alignment. The padding needed for the alignment is allocated, but never touched.
+         */
+        Grab( Grab next, long size, long grabAlignment, MemoryTracker memoryTracker )
         {
             this.next = next;
-            this.address = UnsafeUtil.allocateMemory( size, memoryTracker );
+            this.allocatedSize = grabAlignment == 1 ? size : size + grabAlignment;
+            this.base = UnsafeUtil.allocateMemory( allocatedSize, memoryTracker );
+            this.address = nextAligned( base, grabAlignment );
             this.limit = address + size;
             this.memoryTracker = memoryTracker;
             nextPointer = address;
         }
 
-        Grab( Grab next, long address, long limit, long nextPointer, MemoryTracker memoryTracker )
+        Grab( Grab next, long base, long allocatedSize, long address, long limit, long nextPointer, MemoryTracker memoryTracker )
         {
             this.next = next;
+            this.base = base;
+            this.allocatedSize = allocatedSize;
             this.address = address;
             this.limit = limit;
             this.nextPointer = nextPointer;
@@ -125,7 +165,7 @@ public final class GrabAllocator implements MemoryAllocator
 
         void free()
         {
-            UnsafeUtil.free( address, limit - address, memoryTracker );
+            UnsafeUtil.free( base, allocatedSize, memoryTracker );
         }
 
         boolean canAllocate( long bytes, long alignment )
@@ -135,7 +175,7 @@ public final class GrabAllocator implements MemoryAllocator
 
         Grab setNext( Grab grab )
         {
-            return new Grab( grab, address, limit, nextPointer, memoryTracker );
+            return new Grab( grab, base, allocatedSize, address, limit, nextPointer, memoryTracker );
         }
 
         @Override
@@ -154,15 +194,29 @@ public final class GrabAllocator implements MemoryAllocator
          * The amount of memory, in bytes, to grab in each Grab.
          */
         private static final long GRAB_SIZE = getInteger( GrabAllocator.class, "GRAB_SIZE", (int) kibiBytes( 512 ) );
+        /**
+         * The amount of memory, in bytes, to grab in each Grab, when grabs are backed by huge pages. Must be a multiple of the huge page size.
+         * This is also the granularity at which grabs are bound to NUMA nodes.
+         */
+        private static final long HUGE_PAGE_GRAB_SIZE = getInteger( GrabAllocator.class, "HUGE_PAGE_GRAB_SIZE", (int) mebiBytes( 32 ) );
 
+        private final boolean hugePages;
+        private final NumaPlacement numaPlacement;
+        private final NativeAccess nativeAccess;
         private final MemoryTracker memoryTracker;
+        private final long maxGrabSize;
         private long expectedMaxMemory;
         private Grab head;
+        private int grabCount;
 
-        Grabs( long expectedMaxMemory, MemoryTracker memoryTracker )
+        Grabs( long expectedMaxMemory, boolean hugePages, NumaPlacement numaPlacement, NativeAccess nativeAccess, MemoryTracker memoryTracker )
         {
             this.expectedMaxMemory = expectedMaxMemory;
+            this.hugePages = hugePages;
+            this.numaPlacement = numaPlacement;
+            this.nativeAccess = nativeAccess;
             this.memoryTracker = memoryTracker;
+            this.maxGrabSize = hugePages ? HUGE_PAGE_GRAB_SIZE : GRAB_SIZE;
         }
 
         long usedMemory()
@@ -206,19 +260,19 @@ public final class GrabAllocator implements MemoryAllocator
             {
                 throw new IllegalArgumentException( "Invalid alignment: " + alignment + ". Alignment must be positive." );
             }
-            long grabSize = Math.min( GRAB_SIZE, expectedMaxMemory );
+            long grabSize = Math.min( maxGrabSize, expectedMaxMemory );
             long maxAllocationSize = bytes + alignment - 1;
-            if ( maxAllocationSize > GRAB_SIZE )
+            if ( maxAllocationSize > maxGrabSize )
             {
                 // This is a huge allocation. Put it in its own grab and keep any existing grab at the head.
                 grabSize = bytes;
                 Grab nextGrab = head == null ? null : head.next;
-                Grab allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
+                Grab allocationGrab = newGrab( nextGrab, grabSize );
                 if ( !allocationGrab.canAllocate( bytes, alignment ) )
                 {
                     allocationGrab.free();
                     grabSize = maxAllocationSize;
-                    allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
+                    allocationGrab = newGrab( nextGrab, grabSize );
                 }
                 long allocation = allocationGrab.allocate( bytes, alignment );
                 head = head == null ? allocationGrab : head.setNext( allocationGrab );
@@ -231,7 +285,7 @@ public final class GrabAllocator implements MemoryAllocator
                 if ( grabSize < maxAllocationSize )
                 {
                     grabSize = bytes;
-                    Grab grab = new Grab( head, grabSize, memoryTracker );
+                    Grab grab = newGrab( head, grabSize );
                     if ( grab.canAllocate( bytes, alignment ) )
                     {
                         expectedMaxMemory -= grabSize;
@@ -241,11 +295,57 @@ public final class GrabAllocator implements MemoryAllocator
                     grab.free();
                     grabSize = maxAllocationSize;
                 }
-                head = new Grab( head, grabSize, memoryTracker );
+                head = newGrab( head, grabSize );
                 expectedMaxMemory -= grabSize;
             }
             return head.allocate( bytes, alignment );
         }
+
+        private Grab newGrab( Grab next, long size )
+        {
+            if ( !hugePages && numaPlacement == NumaPlacement.DEFAULT )
+            {
+                return new Grab( next, size, memoryTracker );
+            }
+            Grab grab;
+            if ( hugePages )
+            {
+                // Round the grab up to whole huge pages, since any partial huge page at the end could not be backed by a huge page anyway.
+                long hugePageAlignedSize = (size + HUGE_PAGE_SIZE - 1) / HUGE_PAGE_SIZE * HUGE_PAGE_SIZE;
+                grab = new Grab( next, hugePageAlignedSize, HUGE_PAGE_SIZE, memoryTracker );
+            }
+            else
+            {
+                grab = new Grab( next, size, UnsafeUtil.pageSize(), memoryTracker );
+            }
+            place( grab.address, grab.limit - grab.address );
+            return grab;
+        }
+
+        /**
+         * Apply the memory advice to a new grab. This must happen before the memory of the grab is touched, or the operating system will already have
+         * picked the pages for it. Failures are ignored, because the advice is never needed for correctness.
+         */
+        private void place( long address, long size )
+        {
+            if ( hugePages )
+            {
+                nativeAccess.tryAdviseHugePages( address, size );
+            }
+            int numaNodes = nativeAccess.getNumaNodeCount();
+            if ( numaNodes > 1 )
+            {
+                if ( numaPlacement == NumaPlacement.INTERLEAVE )
+                {
+                    nativeAccess.tryInterleaveMemory( address, size );
+                }
+                else if ( numaPlacement == NumaPlacement.BIND )
+                {
+                    nativeAccess.tryBindMemory( address, size, grabCount % numaNodes );
+                }
+            }
+            grabCount++;
+        }
     }
 
     private static Cleaner globalCleaner()
@@ -31,6 +31,18 @@ public interface MemoryAllocator
         return new GrabAllocator( expectedMemory, memoryTracker );
     }
 
+    /**
+     * Create an allocator that gives advice to the operating system about how its memory should be backed and placed.
+     * @param expectedMemory the amount of memory the allocator is expected to allocate.
+     * @param hugePages {@code true} if the memory should be backed by transparent huge pages.
+     * @param numaPlacement how the memory should be placed on the NUMA nodes of the machine.
+     * @param memoryTracker memory usage tracker
+     */
+    static MemoryAllocator createAllocator( long expectedMemory, boolean hugePages, NumaPlacement numaPlacement, MemoryTracker memoryTracker )
+    {
+        return new GrabAllocator( expectedMemory, hugePages, numaPlacement, memoryTracker );
+    }
+
     /**
      * @return The sum, in bytes, of all the memory currently allocating through this allocator.
      */
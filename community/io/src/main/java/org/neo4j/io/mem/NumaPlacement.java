@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+/**
+ * How the memory of a {@link MemoryAllocator} is placed on the NUMA nodes of the machine.
+ * <p>
+ * The placement is applied to each grab of memory before it is touched, and is only advice to the operating system. It has no effect on
+ * machines with a single NUMA node, or where NUMA memory placement is not supported.
+ */
+public enum NumaPlacement
+{
+    /**
+     * Leave the placement to the operating system, which usually puts memory on the node of the thread that first touches it.
+     */
+    DEFAULT,
+    /**
+     * Spread the memory evenly over all NUMA nodes, page by page, such that no single node ends up holding all of the memory, or serving all of
+     * the memory traffic.
+     */
+    INTERLEAVE,
+    /**
+     * Bind each grab of memory to a NUMA node, taking turns over the nodes, such that the grabs end up spread evenly over the nodes while each
+     * grab stays on a single node.
+     */
+    BIND
+}
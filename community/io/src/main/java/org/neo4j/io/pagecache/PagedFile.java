@@ -21,8 +21,11 @@ package org.neo4j.io.pagecache;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.BitSet;
 
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
+import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 
 /**
  * The representation of a file that has been mapped into the associated page cache.
@@ -199,4 +202,98 @@ public interface PagedFile extends AutoCloseable
      * An name of the database the mapped file belongs to.
      */
     String getDatabaseName();
+
+    /**
+     * Get the pages of this file that are currently in memory, as a bitmap where bit {@code n} is set if file page {@code n} is in memory.
+     * <p>
+     * This is only a snapshot, since pages can be loaded and evicted concurrently. It is meant for building profiles of the pages that are in use,
+     * such that they can be loaded again with {@link #loadPages(BitSet, IOController, CursorContext)} after a restart.
+     *
+     * @param context underlying page cursor context.
+     * @return the pages of this file that are currently in memory.
+     * @throws IOException if the file could not be accessed.
+     */
+    default BitSet residentPages( CursorContext context ) throws IOException
+    {
+        BitSet pages = new BitSet();
+        try ( PageCursor cursor = io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT, context ) )
+        {
+            while ( cursor.next() )
+            {
+                long pageId = cursor.getCurrentPageId();
+                if ( pageId != PageCursor.UNBOUND_PAGE_ID )
+                {
+                    pages.set( Math.toIntExact( pageId ) );
+                }
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Load the given pages of this file into memory, unless they are in memory already. Pages beyond the end of the file are ignored.
+     * <p>
+     * Implementations may stop early when the page cache runs out of free pages, rather than evict other pages to make room.
+     *
+     * @param pages the pages to load, as a bitmap where bit {@code n} is set if file page {@code n} should be loaded.
+     * @param ioController the io controller that limits the rate at which pages are loaded, independently of the io controller of this file.
+     * @param context underlying page cursor context.
+     * @return the number of the given pages that are in memory, either because they were loaded or because they were in memory already.
+     * @throws IOException if the pages could not be read.
+     */
+    default long loadPages( BitSet pages, IOController ioController, CursorContext context ) throws IOException
+    {
+        long loaded = 0;
+        try ( PageCursor cursor = io( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, context ) )
+        {
+            for ( int pageId = pages.nextSetBit( 0 ); pageId >= 0; pageId = pages.nextSetBit( pageId + 1 ) )
+            {
+                if ( !cursor.next( pageId ) )
+                {
+                    break; // We are past the end of the file.
+                }
+                loaded++;
+                ioController.maybeLimitIO( 1, () -> {}, MajorFlushEvent.NULL );
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Mark the pages in the given range as read-stable. The caller promises that the pages will not be written to, for as long as they are read-stable.
+     * <p>
+     * Read cursors on read-stable pages do not need to validate their optimistic read locks against concurrent writes, so
+     * {@link PageCursor#shouldRetry()} only returns {@code true} if the page was evicted while it was read, or stopped being read-stable. Attempts to
+     * take write locks on read-stable pages throw {@link IllegalStateException}.
+     * <p>
+     * Implementations that cannot make use of this, ignore it.
+     *
+     * @param startPageId the first page of the range.
+     * @param endPageId the page after the last page of the range.
+     */
+    default void markReadStable( long startPageId, long endPageId )
+    {
+    }
+
+    /**
+     * Make the pages in the given range no longer {@link #markReadStable(long, long) read-stable}, such that they can be written to again.
+     *
+     * @param startPageId the first page of the range.
+     * @param endPageId the page after the last page of the range.
+     */
+    default void clearReadStable( long startPageId, long endPageId )
+    {
+    }
+
+    /**
+     * Get the access statistics of this file, split by the tags of the page cursor tracers of the accessing cursors.
+     * <p>
+     * Implementations that do not keep statistics return empty statistics.
+     *
+     * @return the access statistics of this file.
+     */
+    default PagedFileStatistics statistics()
+    {
+        return new PagedFileStatistics();
+    }
 }
@@ -137,6 +137,10 @@ public class SingleFilePageSwapper implements PageSwapper
         }
         openOptions = Set.copyOf( options );
         channel = createStoreChannel();
+        if ( useDirectIO )
+        {
+            evictFromOSPageCache();
+        }
 
         this.filePageSize = filePageSize;
         this.onEviction = onEviction;
@@ -169,6 +173,41 @@ public class SingleFilePageSwapper implements PageSwapper
         return storeChannel;
     }
 
+    /**
+     * Direct IO bypasses the OS page cache, so whatever the OS still has cached of the file from earlier buffered IO would only take up memory
+     * until the OS gets around to reclaiming it.
+     */
+    private void evictFromOSPageCache()
+    {
+        NativeAccess nativeAccess = NativeAccessProvider.getNativeAccess();
+        int fileDescriptor = channel.getFileDescriptor();
+        if ( nativeAccess.isAvailable() && fileDescriptor != INVALID_FILE_DESCRIPTOR )
+        {
+            nativeAccess.tryEvictFromCache( fileDescriptor );
+        }
+    }
+
+    /**
+     * @return {@code true} if the pages of the given file can be swapped with direct IO, which is only possible on Linux, and when the file page size
+     * is a multiple of the block size of the file system that the file is on.
+     */
+    static boolean canUseDirectIO( FileSystemAbstraction fs, Path file, int filePageSize )
+    {
+        if ( !IS_OS_LINUX )
+        {
+            return false;
+        }
+        try
+        {
+            long blockSize = fs.getBlockSize( file );
+            return blockSize > 0 && filePageSize % blockSize == 0;
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
     private void validateDirectIOPossibility( Path file, int filePageSize ) throws IOException
     {
         if ( !IS_OS_LINUX )
@@ -38,10 +38,22 @@ import org.neo4j.io.pagecache.impl.muninn.SwapperSet;
 public class SingleFilePageSwapperFactory implements PageSwapperFactory
 {
     private final FileSystemAbstraction fs;
+    private final boolean directIO;
 
     public SingleFilePageSwapperFactory( FileSystemAbstraction fs )
+    {
+        this( fs, false );
+    }
+
+    /**
+     * @param directIO {@code true} if every file should be swapped with direct IO, bypassing the OS page cache, whenever the platform and the page
+     * size of the file allows it, and not only the files that are mapped with {@link org.neo4j.io.pagecache.PageCacheOpenOptions#DIRECT}.
+     * Files that cannot be swapped with direct IO use buffered IO as usual.
+     */
+    public SingleFilePageSwapperFactory( FileSystemAbstraction fs, boolean directIO )
     {
         this.fs = fs;
+        this.directIO = directIO;
     }
 
     @Override
@@ -52,6 +64,7 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory
         {
             throw new NoSuchFileException( file.toString(), null, "Cannot map non-existing file" );
         }
-        return new SingleFilePageSwapper( file, fs, filePageSize, onEviction, useDirectIO, preallocateStoreFiles, ioController, swappers );
+        boolean swapWithDirectIO = useDirectIO || (directIO && SingleFilePageSwapper.canUseDirectIO( fs, file, filePageSize ));
+        return new SingleFilePageSwapper( file, fs, filePageSize, onEviction, swapWithDirectIO, preallocateStoreFiles, ioController, swappers );
     }
 }
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import com.github.luben.zstd.Zstd;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.util.function.Predicate;
+
+import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * A second tier of the page cache, that keeps recently evicted pages zstd compressed in off-heap memory.
+ * <p>
+ * Clean copies of pages are compressed into the tier when they are evicted from the page cache, and a page fault checks the tier before it reads the
+ * page from its {@link org.neo4j.io.pagecache.PageSwapper}. A page that is faulted back in is removed from the tier, so the tier never holds a page that
+ * is also in the page cache, and therefore never holds a copy that is older than the file. Pages that do not compress to at most half their size are not
+ * kept, since they would take up too much of the tier to be worth it. When the tier is full, the pages that were evicted the longest time ago are dropped.
+ * <p>
+ * Pages are identified by their swapper id and file page id. All the pages of a swapper id must be {@link #invalidate(int) invalidated} before the swapper
+ * id is reused for another file.
+ * <p>
+ * The tier is split into a number of stripes, each with its own lock and its own share of the memory budget, to keep the contention between evictions
+ * and page faults low.
+ */
+final class CompressedPageTier implements AutoCloseable
+{
+    private static final int STRIPES = 64;
+    private static final int COMPRESSION_LEVEL = 1;
+    // Swapper ids are at most 21 bits, see SwapperSet.
+    private static final int SWAPPER_ID_BITS = 21;
+    private static final long SWAPPER_ID_MASK = (1L << SWAPPER_ID_BITS) - 1;
+
+    private final int cachePageSize;
+    private final int maxCompressedSize;
+    private final PageCacheTracer tracer;
+    private final MemoryTracker memoryTracker;
+    private final Stripe[] stripes;
+
+    /**
+     * @param maxMemory the total number of bytes of compressed pages the tier may hold.
+     * @param cachePageSize the size of the pages of the page cache.
+     */
+    CompressedPageTier( long maxMemory, int cachePageSize, PageCacheTracer tracer, MemoryTracker memoryTracker )
+    {
+        this.cachePageSize = cachePageSize;
+        this.maxCompressedSize = cachePageSize / 2;
+        this.tracer = tracer;
+        this.memoryTracker = memoryTracker;
+        this.stripes = new Stripe[STRIPES];
+        long stripeMaxMemory = Math.max( maxMemory / STRIPES, maxCompressedSize );
+        int scratchSize = Math.toIntExact( Zstd.compressBound( cachePageSize ) );
+        for ( int i = 0; i < STRIPES; i++ )
+        {
+            stripes[i] = new Stripe( stripeMaxMemory, scratchSize );
+        }
+    }
+
+    /**
+     * Compress and keep the contents of the given clean page, that is about to be evicted from the page cache.
+     * Must be called while the page is exclusively locked and still bound to the file page, such that no one can fault the file page in concurrently.
+     *
+     * @param address the address of the page memory.
+     */
+    void store( int swapperId, long filePageId, long address )
+    {
+        long key = key( swapperId, filePageId );
+        stripe( key ).store( key, address );
+    }
+
+    /**
+     * Decompress the given file page into the given page, and remove it from the tier, if the tier has it.
+     * Must be called while the page being faulted into is exclusively locked, and bound to the file page.
+     *
+     * @param address the address of the page memory to decompress into.
+     * @return {@code true} if the page was in the tier and has been decompressed into the given page, otherwise {@code false}.
+     */
+    boolean load( int swapperId, long filePageId, long address )
+    {
+        long key = key( swapperId, filePageId );
+        Entry entry = stripe( key ).remove( key );
+        if ( entry == null )
+        {
+            return false;
+        }
+        try
+        {
+            long size = Zstd.decompressUnsafe( address, cachePageSize, entry.address, entry.size );
+            if ( Zstd.isError( size ) || size != cachePageSize )
+            {
+                // Should not happen, but the page can still be read from the file.
+                return false;
+            }
+            tracer.compressedTierHits( 1 );
+            return true;
+        }
+        finally
+        {
+            UnsafeUtil.free( entry.address, entry.size, memoryTracker );
+        }
+    }
+
+    /**
+     * Remove the given consecutive file pages from the tier, because they are faulted in from the file.
+     */
+    void invalidate( int swapperId, long startFilePageId, int length )
+    {
+        for ( int i = 0; i < length; i++ )
+        {
+            long key = key( swapperId, startFilePageId + i );
+            Entry entry = stripe( key ).remove( key );
+            if ( entry != null )
+            {
+                UnsafeUtil.free( entry.address, entry.size, memoryTracker );
+            }
+        }
+    }
+
+    /**
+     * Remove all the pages of the given swapper id from the tier.
+     */
+    void invalidate( int swapperId )
+    {
+        for ( Stripe stripe : stripes )
+        {
+            stripe.removeIf( entry -> swapperId( entry.key ) == swapperId );
+        }
+    }
+
+    /**
+     * Remove all the pages of the given swapper ids from the tier.
+     */
+    void invalidate( IntSet swapperIds )
+    {
+        for ( Stripe stripe : stripes )
+        {
+            stripe.removeIf( entry -> swapperIds.contains( swapperId( entry.key ) ) );
+        }
+    }
+
+    /**
+     * @return the number of pages currently in the tier.
+     */
+    long pageCount()
+    {
+        long count = 0;
+        for ( Stripe stripe : stripes )
+        {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void close()
+    {
+        for ( Stripe stripe : stripes )
+        {
+            stripe.close();
+        }
+    }
+
+    private static long key( int swapperId, long filePageId )
+    {
+        return (filePageId << SWAPPER_ID_BITS) | swapperId;
+    }
+
+    private static int swapperId( long key )
+    {
+        return (int) (key & SWAPPER_ID_MASK);
+    }
+
+    private Stripe stripe( long key )
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 58)];
+    }
+
+    /**
+     * A part of the tier, that keeps its entries in a map and in a doubly linked list in the order they were stored, oldest first.
+     */
+    private final class Stripe
+    {
+        private final long maxMemory;
+        private final int scratchSize;
+        private final MutableLongObjectMap<Entry> entries = new LongObjectHashMap<>();
+        private Entry oldest;
+        private Entry newest;
+        private long usedMemory;
+        private long scratchAddress;
+        private boolean closed;
+
+        Stripe( long maxMemory, int scratchSize )
+        {
+            this.maxMemory = maxMemory;
+            this.scratchSize = scratchSize;
+        }
+
+        synchronized void store( long key, long pageAddress )
+        {
+            if ( closed )
+            {
+                return;
+            }
+            if ( scratchAddress == 0 )
+            {
+                scratchAddress = UnsafeUtil.allocateMemory( scratchSize, memoryTracker );
+            }
+            long size = Zstd.compressUnsafe( scratchAddress, scratchSize, pageAddress, cachePageSize, COMPRESSION_LEVEL );
+            if ( Zstd.isError( size ) || size > maxCompressedSize )
+            {
+                return;
+            }
+            while ( usedMemory + size > maxMemory && oldest != null )
+            {
+                free( unlink( oldest ) );
+                tracer.compressedTierEvictions( 1 );
+            }
+            long address = UnsafeUtil.allocateMemory( size, memoryTracker );
+            UnsafeUtil.copyMemory( scratchAddress, address, size );
+            Entry previous = entries.get( key );
+            if ( previous != null )
+            {
+                free( unlink( previous ) );
+            }
+            link( new Entry( key, address, size ) );
+        }
+
+        synchronized Entry remove( long key )
+        {
+            Entry entry = entries.get( key );
+            return entry == null ? null : unlink( entry );
+        }
+
+        synchronized void removeIf( Predicate<Entry> predicate )
+        {
+            Entry entry = oldest;
+            while ( entry != null )
+            {
+                Entry next = entry.newer;
+                if ( predicate.test( entry ) )
+                {
+                    free( unlink( entry ) );
+                }
+                entry = next;
+            }
+        }
+
+        synchronized int size()
+        {
+            return entries.size();
+        }
+
+        synchronized void close()
+        {
+            closed = true;
+            removeIf( entry -> true );
+            if ( scratchAddress != 0 )
+            {
+                UnsafeUtil.free( scratchAddress, scratchSize, memoryTracker );
+                scratchAddress = 0;
+            }
+        }
+
+        private void link( Entry entry )
+        {
+            entries.put( entry.key, entry );
+            usedMemory += entry.size;
+            entry.older = newest;
+            if ( newest != null )
+            {
+                newest.newer = entry;
+            }
+            else
+            {
+                oldest = entry;
+            }
+            newest = entry;
+        }
+
+        private Entry unlink( Entry entry )
+        {
+            entries.remove( entry.key );
+            usedMemory -= entry.size;
+            if ( entry.older != null )
+            {
+                entry.older.newer = entry.newer;
+            }
+            else
+            {
+                oldest = entry.newer;
+            }
+            if ( entry.newer != null )
+            {
+                entry.newer.older = entry.older;
+            }
+            else
+            {
+                newest = entry.older;
+            }
+            entry.older = null;
+            entry.newer = null;
+            return entry;
+        }
+
+        private void free( Entry entry )
+        {
+            UnsafeUtil.free( entry.address, entry.size, memoryTracker );
+        }
+    }
+
+    private static final class Entry
+    {
+        private final long key;
+        private final long address;
+        private final long size;
+        private Entry older;
+        private Entry newer;
+
+        Entry( long key, long address, long size )
+        {
+            this.key = key;
+            this.address = address;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+/**
+ * The policy used by the {@link MuninnPageCache} for picking which pages to evict.
+ * <p>
+ * Both policies are built on the per-page usage counter in the {@link PageList}. A page with a usage counter of at most one is said to be
+ * <em>probationary</em>, and a page with a higher usage counter is said to be <em>protected</em>.
+ */
+public enum EvictionPolicy
+{
+    /**
+     * The classic clock sweep. Every pin increments the usage counter of the page, and the sweeping clock arm decrements the usage counter of every
+     * page it passes, evicting pages whose counter drops to zero.
+     */
+    CLOCK,
+    /**
+     * A segmented variant of the clock sweep, that is resistant to sequential scans.
+     * <p>
+     * Pins from cursors that are sequentially scanning a file (opened with {@link org.neo4j.io.pagecache.PagedFile#PF_READ_AHEAD}, and the pre-fetcher
+     * that follows them) never move a page out of probation. The clock arm only evicts probationary pages, and leaves protected pages alone, unless it
+     * has passed over a whole lap of the cache without finding any probationary page. Only then will it start aging the protected pages.
+     * This way, a full store scan cannot flush out the pages that are used by the rest of the workload.
+     */
+    SCAN_RESISTANT
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.scheduler.JobHandle;
+
+/**
+ * Detects streams of page faults in a {@link MuninnPagedFile}, that move forwards, backwards, or with a fixed stride through the file.
+ * <p>
+ * Cursors that scan a file with {@link org.neo4j.io.pagecache.PagedFile#PF_READ_AHEAD} get their own {@link PreFetcher}, but a lot of access is sequential
+ * without being a scan by a single cursor. Leaf chains of GBPTrees, and chains of dynamic records, are walked by many short-lived cursors, that each
+ * only touch a few pages. The page faults of all the cursors of the file are therefore fed into a small table of streams. A page fault continues a
+ * stream if it is on the page that the stream is expected to fault on next. Once a stream has been confirmed, a window of pages ahead of it is
+ * handed out to be pre-fetched in the background, and the stream will expect its next fault right after that window.
+ * <p>
+ * The size of the window is derived from the observed page fault latency of the stream, and from how much time the stream spends on each page in
+ * between its faults, such that the pre-fetched pages last long enough to hide the latency of pre-fetching the next window. The window also grows
+ * geometrically for as long as the stream keeps consuming its windows.
+ * <p>
+ * A window counts as pre-fetch hits when the stream continues past it, and as pre-fetch waste if the stream is abandoned and replaced by another
+ * stream in the table before that happens.
+ * <p>
+ * Every file has its own fault streams, and page faults never wait for them: a page fault that finds the streams of its file busy with another page
+ * fault is simply not recorded. The windows that are in flight are tracked, so that their pre-fetching can be cancelled when the file is unmapped.
+ */
+final class FaultStreams
+{
+    /**
+     * The largest distance between two page faults that will be considered a strided stream.
+     */
+    static final int MAX_STRIDE = 16;
+    static final int MIN_WINDOW = 4;
+    static final int MAX_WINDOW = 256;
+    /**
+     * The number of times a stride must be repeated before we start pre-fetching for the stream.
+     */
+    private static final int CONFIRMATIONS = 2;
+    private static final int STREAMS = 8;
+
+    private final PageCacheTracer tracer;
+    private final Stream[] streams;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Window> inFlight = new HashSet<>();
+    private long useCounter;
+    private boolean closed;
+
+    FaultStreams( PageCacheTracer tracer )
+    {
+        this.tracer = tracer;
+        this.streams = new Stream[STREAMS];
+        for ( int i = 0; i < STREAMS; i++ )
+        {
+            streams[i] = new Stream();
+        }
+    }
+
+    /**
+     * Record that the given file page was faulted in by a cursor.
+     *
+     * @param filePageId the file page that was faulted in.
+     * @param faultLatencyNanos the time it took to fault in the page.
+     * @param nowNanos the current time.
+     * @return the window of pages that should be pre-fetched for the stream the page fault belonged to, or {@code null} if nothing should be pre-fetched.
+     * The window must be handed back with {@link #windowDone(Window)} when the pre-fetching has completed.
+     */
+    Window pageFaulted( long filePageId, long faultLatencyNanos, long nowNanos )
+    {
+        if ( !lock.tryLock() )
+        {
+            // Another page fault of this file is being recorded. Missing a page fault only makes the streams slightly less accurate,
+            // which is much cheaper than making page faults contend with each other.
+            return null;
+        }
+        try
+        {
+            return closed ? null : recordPageFault( filePageId, faultLatencyNanos, nowNanos );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private Window recordPageFault( long filePageId, long faultLatencyNanos, long nowNanos )
+    {
+        useCounter++;
+        Stream leastRecentlyUsed = streams[0];
+        for ( Stream stream : streams )
+        {
+            if ( stream.stride != 0 && filePageId == stream.expectedPageId )
+            {
+                return continueStream( stream, filePageId, faultLatencyNanos, nowNanos );
+            }
+            if ( stream.stride == 0 && stream.used != 0 )
+            {
+                long stride = filePageId - stream.lastFaultPageId;
+                if ( stride != 0 && Math.abs( stride ) <= MAX_STRIDE )
+                {
+                    stream.stride = stride;
+                    stream.confirmations = 1;
+                    observe( stream, filePageId, faultLatencyNanos, nowNanos );
+                    return null;
+                }
+            }
+            if ( stream.used < leastRecentlyUsed.used )
+            {
+                leastRecentlyUsed = stream;
+            }
+        }
+        startStream( leastRecentlyUsed, filePageId, faultLatencyNanos, nowNanos );
+        return null;
+    }
+
+    private Window continueStream( Stream stream, long filePageId, long faultLatencyNanos, long nowNanos )
+    {
+        if ( stream.window > 0 )
+        {
+            tracer.preFetchHits( stream.window );
+        }
+        stream.confirmations++;
+        observe( stream, filePageId, faultLatencyNanos, nowNanos );
+        if ( stream.confirmations < CONFIRMATIONS || stream.inFlight )
+        {
+            stream.window = 0;
+            return null;
+        }
+        int window = Math.max( windowSize( stream ), Math.min( stream.window * 2, MAX_WINDOW ) );
+        stream.window = window;
+        stream.inFlight = true;
+        stream.expectedPageId = filePageId + stream.stride * (window + 1);
+        Window inFlightWindow = new Window( stream, stream.generation, filePageId + stream.stride, stream.stride, window );
+        inFlight.add( inFlightWindow );
+        return inFlightWindow;
+    }
+
+    private void startStream( Stream stream, long filePageId, long faultLatencyNanos, long nowNanos )
+    {
+        if ( stream.window > 0 )
+        {
+            tracer.preFetchWaste( stream.window );
+        }
+        stream.stride = 0;
+        stream.confirmations = 0;
+        stream.window = 0;
+        stream.faultLatencyNanos = 0;
+        stream.pageIntervalNanos = 0;
+        // An abandoned stream might still have a window in flight. We let it complete, but the new stream can start its own window right away.
+        stream.inFlight = false;
+        stream.generation++;
+        observe( stream, filePageId, faultLatencyNanos, nowNanos );
+    }
+
+    private void observe( Stream stream, long filePageId, long faultLatencyNanos, long nowNanos )
+    {
+        if ( stream.stride != 0 )
+        {
+            // Time spent per page of the stream, since its last page fault. Pre-fetched pages in between are counted as well.
+            long pages = Math.max( 1, Math.abs( (filePageId - stream.lastFaultPageId) / stream.stride ) );
+            long pageIntervalNanos = Math.max( 0, nowNanos - stream.lastFaultNanos - faultLatencyNanos ) / pages;
+            stream.pageIntervalNanos = smooth( stream.pageIntervalNanos, pageIntervalNanos );
+        }
+        stream.faultLatencyNanos = smooth( stream.faultLatencyNanos, faultLatencyNanos );
+        stream.lastFaultPageId = filePageId;
+        stream.lastFaultNanos = nowNanos;
+        stream.expectedPageId = filePageId + stream.stride;
+        stream.used = useCounter;
+    }
+
+    private static long smooth( long average, long sample )
+    {
+        return average == 0 ? sample : (average * 3 + sample) / 4;
+    }
+
+    /**
+     * The window is big enough that the stream will not run out of pre-fetched pages, before a page fault worth of latency has passed, with some margin.
+     */
+    private static int windowSize( Stream stream )
+    {
+        long pagesPerFault = stream.faultLatencyNanos / Math.max( 1, stream.pageIntervalNanos );
+        return (int) Math.max( MIN_WINDOW, Math.min( MAX_WINDOW, pagesPerFault * 2 ) );
+    }
+
+    /**
+     * Associate the job that pre-fetches the given window with it, so that the job can be cancelled if the file is unmapped.
+     */
+    void windowStarted( Window window, JobHandle<?> job )
+    {
+        lock.lock();
+        try
+        {
+            if ( !closed )
+            {
+                window.job = job;
+                return;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        job.cancel();
+    }
+
+    void windowDone( Window window )
+    {
+        lock.lock();
+        try
+        {
+            inFlight.remove( window );
+            if ( window.stream.generation == window.generation )
+            {
+                window.stream.inFlight = false;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the file has been unmapped, and nothing more should be pre-fetched for it.
+     */
+    boolean isClosed()
+    {
+        lock.lock();
+        try
+        {
+            return closed;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop recording page faults, and cancel the pre-fetching of all windows that are still in flight.
+     * Jobs that have already started will notice that the file is no longer mapped, and stop on their own.
+     */
+    void close()
+    {
+        List<JobHandle<?>> jobs = new ArrayList<>();
+        lock.lock();
+        try
+        {
+            closed = true;
+            for ( Window window : inFlight )
+            {
+                if ( window.job != null )
+                {
+                    jobs.add( window.job );
+                }
+            }
+            inFlight.clear();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        for ( JobHandle<?> job : jobs )
+        {
+            job.cancel();
+        }
+    }
+
+    private static final class Stream
+    {
+        private long lastFaultPageId;
+        private long lastFaultNanos;
+        private long expectedPageId;
+        private long stride;
+        private int confirmations;
+        private long faultLatencyNanos;
+        private long pageIntervalNanos;
+        private int window;
+        private boolean inFlight;
+        private long generation;
+        private long used;
+    }
+
+    /**
+     * A range of pages to pre-fetch for a stream: {@code pages} pages starting at {@code startPageId}, and {@code stride} pages apart.
+     */
+    static final class Window
+    {
+        private final Stream stream;
+        private final long generation;
+        final long startPageId;
+        final long stride;
+        final int pages;
+        private JobHandle<?> job;
+
+        private Window( Stream stream, long generation, long startPageId, long stride, int pages )
+        {
+            this.stream = stream;
+            this.generation = generation;
+            this.startPageId = startPageId;
+            this.stride = stride;
+            this.pages = pages;
+        }
+    }
+}
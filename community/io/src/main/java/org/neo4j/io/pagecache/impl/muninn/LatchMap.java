@@ -109,6 +109,26 @@ final class LatchMap
         return null;
     }
 
+    /**
+     * If there is currently no latch installed for the given (or any colliding) identifier, then one will be created, installed and returned,
+     * just like with {@link #takeOrAwaitLatch(long)}.
+     *
+     * Otherwise, {@code null} is returned right away, without waiting for the installed latch to be released.
+     */
+    Latch tryTakeLatch( long identifier )
+    {
+        int index = index( identifier );
+        if ( getLatch( index ) == null )
+        {
+            Latch latch = new Latch( this, index );
+            if ( tryInsertLatch( index, latch ) )
+            {
+                return latch;
+            }
+        }
+        return null;
+    }
+
     private int index( long identifier )
     {
         return (int) (identifier & faultLockMask);
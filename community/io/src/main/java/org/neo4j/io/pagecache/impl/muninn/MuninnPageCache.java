@@ -37,6 +37,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
+import jdk.jfr.FlightRecorder;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.mem.MemoryAllocator;
@@ -135,6 +136,9 @@ public class MuninnPageCache implements PageCache
     private static final int cooperativeEvictionLiveLockThreshold = getInteger(
             MuninnPageCache.class, "cooperativeEvictionLiveLockThreshold", 100 );
 
+    // Emit periodic flight recorder events with the access statistics of every mapped file, when such a recording is running.
+    private static final boolean fileStatisticsEvents = flag( MuninnPageCache.class, "fileStatisticsEvents", true );
+
     // This is a pre-allocated constant, so we can throw it without allocating any objects:
     @SuppressWarnings( "ThrowableInstanceNeverThrown" )
     private static final IOException oomException = new IOException(
@@ -168,6 +172,11 @@ public class MuninnPageCache implements PageCache
     private final int faultLockStriping;
     private final boolean preallocateStoreFiles;
     private final boolean enableEvictionThread;
+    final EvictionPolicy evictionPolicy;
+    final boolean streamPreFetching;
+    final CompressedPageTier compressedPageTier;
+    final int maxFlushRunPages;
+    final int maxFlushCleanGap;
     final PageList pages;
     // All PageCursors are initialised with their pointers pointing to the victim page. This way, we don't have to throw
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
@@ -201,8 +210,14 @@ public class MuninnPageCache implements PageCache
     // Flag for when page cache is closed - writes guarded by synchronized(this), reads can be unsynchronized
     private volatile boolean closed;
 
+    // The number of pages the clock arm of the eviction thread has passed over, since it last evicted a page.
+    // Only accessed by the background eviction thread.
+    private int evictorSweptPages;
+
     // Only used by ensureThreadsInitialised while holding the monitor lock on this MuninnPageCache instance.
     private boolean threadsInitialised;
+    // Registered with the flight recorder, when the threads are initialised.
+    private Runnable fileStatisticsEventsHook;
 
     // 'true' (the default) if we should print any exceptions we get when unmapping a file.
     private boolean printExceptionsOnClose;
@@ -241,10 +256,16 @@ public class MuninnPageCache implements PageCache
         private final int faultLockStriping;
         private final boolean enableEvictionThread;
         private final boolean preallocateStoreFiles;
+        private final EvictionPolicy evictionPolicy;
+        private final boolean streamPreFetching;
+        private final long compressedTierSize;
+        private final int maxFlushRunPages;
+        private final int maxFlushCleanGap;
 
         private Configuration( MemoryAllocator memoryAllocator, SystemNanoClock clock, MemoryTracker memoryTracker, PageCacheTracer pageCacheTracer,
                 int pageSize, IOBufferFactory bufferFactory, int faultLockStriping,
-                boolean enableEvictionThread, boolean preallocateStoreFiles )
+                boolean enableEvictionThread, boolean preallocateStoreFiles, EvictionPolicy evictionPolicy, boolean streamPreFetching,
+                long compressedTierSize, int maxFlushRunPages, int maxFlushCleanGap )
         {
             this.memoryAllocator = memoryAllocator;
             this.clock = clock;
@@ -255,6 +276,11 @@ public class MuninnPageCache implements PageCache
             this.faultLockStriping = faultLockStriping;
             this.enableEvictionThread = enableEvictionThread;
             this.preallocateStoreFiles = preallocateStoreFiles;
+            this.evictionPolicy = evictionPolicy;
+            this.streamPreFetching = streamPreFetching;
+            this.compressedTierSize = compressedTierSize;
+            this.maxFlushRunPages = maxFlushRunPages;
+            this.maxFlushCleanGap = maxFlushCleanGap;
         }
 
         /**
@@ -263,7 +289,8 @@ public class MuninnPageCache implements PageCache
         public Configuration memoryAllocator( MemoryAllocator memoryAllocator )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -272,7 +299,8 @@ public class MuninnPageCache implements PageCache
         public Configuration clock( SystemNanoClock clock )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -281,7 +309,8 @@ public class MuninnPageCache implements PageCache
         public Configuration memoryTracker( MemoryTracker memoryTracker )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -290,7 +319,8 @@ public class MuninnPageCache implements PageCache
         public Configuration pageCacheTracer( PageCacheTracer pageCacheTracer )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -299,7 +329,8 @@ public class MuninnPageCache implements PageCache
         public Configuration pageSize( int pageSize )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -308,7 +339,8 @@ public class MuninnPageCache implements PageCache
         public Configuration bufferFactory( IOBufferFactory bufferFactory )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -317,7 +349,8 @@ public class MuninnPageCache implements PageCache
         public Configuration faultLockStriping( int faultLockStriping )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -326,7 +359,8 @@ public class MuninnPageCache implements PageCache
         public Configuration disableEvictionThread()
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, false, preallocateStoreFiles );
+                    faultLockStriping, false, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
         }
 
         /**
@@ -335,7 +369,67 @@ public class MuninnPageCache implements PageCache
         public Configuration preallocateStoreFiles( boolean preallocateStoreFiles )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
+        }
+
+        /**
+         * @param evictionPolicy the policy used for picking which pages to evict.
+         */
+        public Configuration evictionPolicy( EvictionPolicy evictionPolicy )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, requireNonNull( evictionPolicy ), streamPreFetching,
+                    compressedTierSize, maxFlushRunPages, maxFlushCleanGap );
+        }
+
+        /**
+         * Configure pre-fetching for streams of page faults, that move forwards, backwards or with a fixed stride through a file, across cursors.
+         * @see FaultStreams
+         */
+        public Configuration streamPreFetching( boolean streamPreFetching )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
+        }
+
+        /**
+         * Configure the number of bytes of memory for keeping evicted pages compressed, such that they can be faulted back in without reading from the file.
+         * The compressed tier is disabled if this is zero.
+         * @see CompressedPageTier
+         */
+        public Configuration compressedTierSize( long compressedTierSize )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
+        }
+
+        /**
+         * Configure the maximum number of consecutive pages that are written with a single vectored write, when a file is flushed.
+         * Runs of dirty pages are also cut at the boundaries of the translation table chunks of the file.
+         */
+        public Configuration maxFlushRunPages( int maxFlushRunPages )
+        {
+            if ( maxFlushRunPages < 1 )
+            {
+                throw new IllegalArgumentException( "Max flush run pages must be positive, but was " + maxFlushRunPages );
+            }
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, maxFlushCleanGap );
+        }
+
+        /**
+         * Configure the number of clean pages in between two dirty pages, that are written along with the dirty pages when a file is flushed, such that
+         * the dirty pages can be combined into a single larger write. The clean pages must be in memory. No clean pages are written if this is zero.
+         */
+        public Configuration maxFlushCleanGap( int maxFlushCleanGap )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, evictionPolicy, streamPreFetching, compressedTierSize,
+                    maxFlushRunPages, Math.max( 0, maxFlushCleanGap ) );
         }
     }
 
@@ -355,7 +449,8 @@ public class MuninnPageCache implements PageCache
     public static Configuration config( MemoryAllocator memoryAllocator )
     {
         return new Configuration( memoryAllocator, Clocks.nanoClock(), EmptyMemoryTracker.INSTANCE, PageCacheTracer.NULL,
-                PAGE_SIZE, DISABLED_BUFFER_FACTORY, LatchMap.faultLockStriping, true, true );
+                PAGE_SIZE, DISABLED_BUFFER_FACTORY, LatchMap.faultLockStriping, true, true, EvictionPolicy.CLOCK, false, 0,
+                Integer.MAX_VALUE, 0 );
     }
 
     /**
@@ -379,12 +474,20 @@ public class MuninnPageCache implements PageCache
         this.printExceptionsOnClose = true;
         this.bufferFactory = configuration.bufferFactory;
         this.victimPage = VictimPageReference.getVictimPage( cachePageSize, configuration.memoryTracker );
-        this.pages = new PageList( maxPages, cachePageSize, configuration.memoryAllocator, new SwapperSet(), victimPage, UnsafeUtil.pageSize() );
+        this.compressedPageTier = configuration.compressedTierSize > 0
+                                  ? new CompressedPageTier( configuration.compressedTierSize, cachePageSize, pageCacheTracer, configuration.memoryTracker )
+                                  : null;
+        this.pages = new PageList( maxPages, cachePageSize, configuration.memoryAllocator, new SwapperSet(), victimPage, UnsafeUtil.pageSize(),
+                compressedPageTier );
         this.scheduler = jobScheduler;
         this.clock = configuration.clock;
         this.faultLockStriping = configuration.faultLockStriping;
         this.enableEvictionThread = configuration.enableEvictionThread;
         this.preallocateStoreFiles = configuration.preallocateStoreFiles;
+        this.evictionPolicy = configuration.evictionPolicy;
+        this.streamPreFetching = configuration.streamPreFetching;
+        this.maxFlushRunPages = configuration.maxFlushRunPages;
+        this.maxFlushCleanGap = configuration.maxFlushCleanGap;
         setFreelistHead( new AtomicInteger() );
 
         // Expose the total number of pages
@@ -597,6 +700,11 @@ public class MuninnPageCache implements PageCache
                 var monitoringParams = systemJob( "Eviction of pages from the page cache" );
                 scheduler.schedule( Group.PAGE_CACHE_EVICTION, monitoringParams, new EvictionTask( this ) );
             }
+            if ( fileStatisticsEvents && FlightRecorder.isAvailable() )
+            {
+                fileStatisticsEventsHook = this::emitFileStatisticsEvents;
+                FlightRecorder.addPeriodicEvent( PagedFileStatisticsEvent.class, fileStatisticsEventsHook );
+            }
         }
         catch ( Exception e )
         {
@@ -635,6 +743,7 @@ public class MuninnPageCache implements PageCache
                         prev.next = current.next;
                     }
                     pageCacheTracer.unmappedFile( file.swapperId, file );
+                    file.cancelStreamPreFetching();
                     flushAndCloseWithoutFail( file );
                     break;
                 }
@@ -766,6 +875,25 @@ public class MuninnPageCache implements PageCache
 
         interrupt( evictionThread );
         evictionThread = null;
+        if ( fileStatisticsEventsHook != null )
+        {
+            FlightRecorder.removePeriodicEvent( fileStatisticsEventsHook );
+            fileStatisticsEventsHook = null;
+        }
+        if ( compressedPageTier != null )
+        {
+            compressedPageTier.close();
+        }
+    }
+
+    private void emitFileStatisticsEvents()
+    {
+        FileMapping current = mappedFiles;
+        while ( current != null )
+        {
+            PagedFileStatisticsEvent.emit( current.pagedFile );
+            current = current.next;
+        }
     }
 
     private static void interrupt( Thread thread )
@@ -839,6 +967,30 @@ public class MuninnPageCache implements PageCache
         // to check and see if it is the shutdownSignal instance. If that's the
         // case, then the page cache has been shut down, and we should throw an
         // exception from our page fault routine.
+        for (;;)
+        {
+            long pageRef = tryGrabFreeAndExclusivelyLockedPage( faultEvent );
+            if ( pageRef != 0 )
+            {
+                return pageRef;
+            }
+            unparkEvictor();
+            pageRef = cooperativelyEvict( faultEvent );
+            if ( pageRef != 0 )
+            {
+                return pageRef;
+            }
+        }
+    }
+
+    /**
+     * Grab a free page from the freelist, without doing any eviction if the freelist is empty.
+     *
+     * @param faultEvent The trace event for the current page fault.
+     * @return the grabbed page, or zero if the freelist was empty.
+     */
+    long tryGrabFreeAndExclusivelyLockedPage( PageFaultEvent faultEvent ) throws IOException
+    {
         Object current;
         for (;;)
         {
@@ -846,12 +998,7 @@ public class MuninnPageCache implements PageCache
             current = getFreelistHead();
             if ( current == null )
             {
-                unparkEvictor();
-                long pageRef = cooperativelyEvict( faultEvent );
-                if ( pageRef != 0 )
-                {
-                    return pageRef;
-                }
+                return 0;
             }
             else if ( current instanceof AtomicInteger )
             {
@@ -907,37 +1054,79 @@ public class MuninnPageCache implements PageCache
         int iterations = 0;
         int pageCount = pages.getPageCount();
         int clockArm = ThreadLocalRandom.current().nextInt( pageCount );
+        int sweptPages = 0;
+        long demotions = 0;
         boolean evicted = false;
         long pageRef;
-        do
+        try
         {
-            assertHealthy();
-            if ( getFreelistHead() != null )
+            do
             {
-                return 0;
-            }
+                assertHealthy();
+                if ( getFreelistHead() != null )
+                {
+                    return 0;
+                }
 
-            if ( clockArm == pageCount )
-            {
-                if ( iterations == cooperativeEvictionLiveLockThreshold )
+                if ( clockArm == pageCount )
                 {
-                    throw cooperativeEvictionLiveLock();
+                    if ( iterations == cooperativeEvictionLiveLockThreshold )
+                    {
+                        throw cooperativeEvictionLiveLock();
+                    }
+                    iterations++;
+                    clockArm = 0;
                 }
-                iterations++;
-                clockArm = 0;
-            }
 
-            pageRef = pages.deref( clockArm );
-            if ( PageList.isLoaded( pageRef ) && PageList.decrementUsage( pageRef ) )
-            {
-                evicted = pages.tryEvict( pageRef, faultEvent );
+                pageRef = pages.deref( clockArm );
+                if ( PageList.isLoaded( pageRef ) )
+                {
+                    if ( PageList.isProtected( pageRef ) )
+                    {
+                        if ( shouldAgeProtectedPages( sweptPages ) )
+                        {
+                            PageList.decrementUsage( pageRef );
+                            demotions++;
+                        }
+                    }
+                    else if ( PageList.decrementUsage( pageRef ) )
+                    {
+                        evicted = pages.tryEvict( pageRef, faultEvent );
+                    }
+                }
+                clockArm++;
+                sweptPages++;
             }
-            clockArm++;
+            while ( !evicted );
+        }
+        finally
+        {
+            reportDemotions( demotions );
         }
-        while ( !evicted );
         return pageRef;
     }
 
+    /**
+     * Decide if a clock arm should decrement the usage stamp of the protected page it is currently looking at.
+     * The {@link EvictionPolicy#CLOCK} policy always ages pages, while the {@link EvictionPolicy#SCAN_RESISTANT} policy only does so, when the clock arm
+     * has passed over a whole lap of pages without finding any probationary page to evict.
+     *
+     * @param sweptPages the number of pages the clock arm has passed over since it last evicted a page.
+     * @return {@code true} if the usage stamp of the protected page should be decremented.
+     */
+    private boolean shouldAgeProtectedPages( int sweptPages )
+    {
+        return evictionPolicy == EvictionPolicy.CLOCK || sweptPages >= pages.getPageCount();
+    }
+
+    private void reportDemotions( long demotions )
+    {
+        if ( demotions > 0 )
+        {
+            pageCacheTracer.demotions( demotions );
+        }
+    }
+
     private static CacheLiveLockException cooperativeEvictionLiveLock()
     {
         return new CacheLiveLockException(
@@ -1062,6 +1251,7 @@ public class MuninnPageCache implements PageCache
 
     int evictPages( int pageCountToEvict, int clockArm, EvictionRunEvent evictionRunEvent )
     {
+        long demotions = 0;
         while ( pageCountToEvict > 0 && !closed )
         {
             if ( clockArm == pages.getPageCount() )
@@ -1072,11 +1262,20 @@ public class MuninnPageCache implements PageCache
             if ( closed )
             {
                 // The page cache has been shut down.
+                reportDemotions( demotions );
                 return 0;
             }
 
             long pageRef = pages.deref( clockArm );
-            if ( PageList.isLoaded( pageRef ) && PageList.decrementUsage( pageRef ) )
+            if ( PageList.isLoaded( pageRef ) && PageList.isProtected( pageRef ) )
+            {
+                if ( shouldAgeProtectedPages( evictorSweptPages ) )
+                {
+                    PageList.decrementUsage( pageRef );
+                    demotions++;
+                }
+            }
+            else if ( PageList.isLoaded( pageRef ) && PageList.decrementUsage( pageRef ) )
             {
                 try
                 {
@@ -1085,6 +1284,7 @@ public class MuninnPageCache implements PageCache
                     {
                         clearEvictorException();
                         addFreePageToFreelist( pageRef, evictionRunEvent );
+                        evictorSweptPages = 0;
                     }
                 }
                 catch ( IOException e )
@@ -1103,8 +1303,13 @@ public class MuninnPageCache implements PageCache
             }
 
             clockArm++;
+            if ( evictorSweptPages < Integer.MAX_VALUE )
+            {
+                evictorSweptPages++;
+            }
         }
 
+        reportDemotions( demotions );
         return clockArm;
     }
 
@@ -1169,6 +1374,11 @@ public class MuninnPageCache implements PageCache
             {
                 throw new UncheckedIOException( e );
             }
+            if ( compressedPageTier != null )
+            {
+                // Compressed pages of the freed swapper ids must not be found by the files that will reuse those ids.
+                compressedPageTier.invalidate( swapperIds );
+            }
         } );
     }
 
@@ -1180,4 +1390,12 @@ public class MuninnPageCache implements PageCache
         var monitoringParams = systemJob( pagedFile.databaseName, "Pre-fetching of file '" + fileName + "'" );
         cursor.preFetcher = scheduler.schedule( Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, preFetcher );
     }
+
+    void startStreamPreFetching( MuninnPagedFile pagedFile, FaultStreams.Window window )
+    {
+        var fileName = pagedFile.swapper.path().getFileName();
+        var monitoringParams = systemJob( pagedFile.databaseName, "Pre-fetching of fault stream in file '" + fileName + "'" );
+        JobHandle<?> job = scheduler.schedule( Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, () -> pagedFile.preFetch( window ) );
+        pagedFile.faultStreams.windowStarted( window, job );
+    }
 }
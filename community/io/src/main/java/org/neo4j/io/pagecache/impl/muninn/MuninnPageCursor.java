@@ -34,6 +34,7 @@ import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.VersionContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
 import org.neo4j.io.pagecache.tracing.PinEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
@@ -43,6 +44,7 @@ import org.neo4j.util.VisibleForTesting;
 
 import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
 import static org.neo4j.util.FeatureToggles.flag;
@@ -75,6 +77,17 @@ public abstract class MuninnPageCursor extends PageCursor
     protected boolean eagerFlush;
     protected boolean noFault;
     protected boolean noGrow;
+    // True if pins from this cursor should keep pages in probation, see EvictionPolicy#SCAN_RESISTANT.
+    private boolean probationaryPins;
+    // True if the page faults of this cursor should be fed to the fault streams of the paged file.
+    private boolean trackFaultStreams;
+    // The statistics of the file this cursor was last initialised for, and the counters of our tag in them. The counts are accumulated locally,
+    // and added to the counters when the cursor is closed.
+    private PagedFileStatistics fileStatistics;
+    private PagedFileStatistics.TagStatistics tagStatistics;
+    private long statisticsPins;
+    private long statisticsHits;
+    private long statisticsFaults;
     @SuppressWarnings( "unused" ) // accessed via VarHandle.
     private long currentPageId;
     private static final VarHandle CURRENT_PAGE_ID;
@@ -127,6 +140,14 @@ public abstract class MuninnPageCursor extends PageCursor
         this.eagerFlush = isFlagRaised( pf_flags, PF_EAGER_FLUSH );
         this.noFault = isFlagRaised( pf_flags, PF_NO_FAULT );
         this.noGrow = noFault || isFlagRaised( pf_flags, PagedFile.PF_NO_GROW );
+        this.probationaryPins = pagedFile.pageCache.evictionPolicy == EvictionPolicy.SCAN_RESISTANT && isFlagRaised( pf_flags, PF_READ_AHEAD );
+        // Scanning cursors get their own pre-fetcher.
+        this.trackFaultStreams = pagedFile.faultStreams != null && !isFlagRaised( pf_flags, PF_READ_AHEAD );
+        if ( fileStatistics != pagedFile.statistics )
+        {
+            fileStatistics = pagedFile.statistics;
+            tagStatistics = fileStatistics.tag( tracer.getTag() );
+        }
     }
 
     private static boolean isFlagRaised( int flagSet, int flag )
@@ -221,6 +242,7 @@ public abstract class MuninnPageCursor extends PageCursor
         while ( cursor != null && cursor.pagedFile != null )
         {
             cursor.unpinCurrentPage();
+            cursor.reportStatistics();
             // We null out the pagedFile field to allow it and its (potentially big) translation table to be garbage
             // collected when the file is unmapped, since the cursors can stick around in thread local caches, etc.
             cursor.pagedFile = null;
@@ -235,6 +257,17 @@ public abstract class MuninnPageCursor extends PageCursor
         }
     }
 
+    private void reportStatistics()
+    {
+        if ( statisticsPins != 0 || statisticsFaults != 0 )
+        {
+            tagStatistics.add( statisticsPins, statisticsHits, statisticsFaults );
+            statisticsPins = 0;
+            statisticsHits = 0;
+            statisticsFaults = 0;
+        }
+    }
+
     private void closeLinkedCursorIfAny()
     {
         if ( linkedCursor != null )
@@ -309,6 +342,7 @@ public abstract class MuninnPageCursor extends PageCursor
      */
     protected void pin( long filePageId ) throws IOException
     {
+        statisticsPins++;
         int chunkId = MuninnPagedFile.computeChunkId( filePageId );
         // The chunkOffset is the addressing offset into the chunk array object for the relevant array slot. Using
         // this, we can access the array slot with Unsafe.
@@ -341,6 +375,7 @@ public abstract class MuninnPageCursor extends PageCursor
                 {
                     pinCursorToPage( pageRef, filePageId, swapper );
                     pinEvent.hit();
+                    statisticsHits++;
                     return;
                 }
                 if ( locked )
@@ -377,8 +412,15 @@ public abstract class MuninnPageCursor extends PageCursor
             if ( (int) MuninnPagedFile.TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex ) == UNMAPPED_TTE )
             {
                 // Sweet, we didn't race with any other fault on this translation table entry.
+                long faultStartNanos = trackFaultStreams ? System.nanoTime() : 0;
                 long pageRef = pageFault( filePageId, swapper, chunkIndex, chunk, latch );
+                statisticsFaults++;
                 pinCursorToPage( pageRef, filePageId, swapper );
+                if ( trackFaultStreams )
+                {
+                    long nowNanos = System.nanoTime();
+                    pagedFile.pageFaulted( filePageId, nowNanos - faultStartNanos, nowNanos );
+                }
                 return true;
             }
             // Oops, looks like we raced with another page fault on this file page.
@@ -464,11 +506,167 @@ public abstract class MuninnPageCursor extends PageCursor
         pinEvent.done();
     }
 
+    /**
+     * Fault in a batch of consecutive file pages, starting from the given file page id, without pinning any of them to this cursor.
+     * <p>
+     * Pages that are already mapped, or that are concurrently being faulted in by other threads, are skipped over. Every other page gets a page fault
+     * latch and a free page, and each contiguous run of such pages is then read in with a single vectored read. Any thread that tries to pin one of
+     * these pages in the meantime will park on its latch until the read has completed. Only pages that are immediately available on the freelist are
+     * used, so this method never waits for eviction, but instead stops early if the freelist runs dry.
+     *
+     * @param startFilePageId the file page id of the first page in the batch.
+     * @param count the maximum number of file pages to cover.
+     * @return the number of file pages, counting from the start page, that are now either in memory, or being faulted in by other threads.
+     * @throws IOException if the pages could not be read.
+     */
+    final int faultAhead( long startFilePageId, int count ) throws IOException
+    {
+        long lastPageId = assertPagedFileStillMappedAndGetIdOfLastPage();
+        long endFilePageId = Math.min( startFilePageId + count, lastPageId + 1 );
+        long[] pageRefs = new long[count];
+        LatchMap.Latch[] latches = new LatchMap.Latch[count];
+        long runStartFilePageId = startFilePageId;
+        int runLength = 0;
+        long filePageId = startFilePageId;
+        try
+        {
+            for ( ; filePageId < endFilePageId; filePageId++ )
+            {
+                int chunkId = MuninnPagedFile.computeChunkId( filePageId );
+                int chunkIndex = MuninnPagedFile.computeChunkIndex( filePageId );
+                int[][] tt = pagedFile.translationTable;
+                if ( tt.length <= chunkId )
+                {
+                    tt = pagedFile.expandCapacity( chunkId );
+                }
+                int[] chunk = tt[chunkId];
+                LatchMap.Latch latch = null;
+                if ( (int) MuninnPagedFile.TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex ) == UNMAPPED_TTE )
+                {
+                    latch = pagedFile.pageFaultLatches.tryTakeLatch( filePageId );
+                    if ( latch != null && (int) MuninnPagedFile.TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex ) != UNMAPPED_TTE )
+                    {
+                        // We raced with another page fault on this file page.
+                        latch.release();
+                        latch = null;
+                    }
+                }
+                if ( latch == null )
+                {
+                    // The page is either in memory already, or someone else is faulting it in. Either way, our current run ends here.
+                    // The run is reset before it's faulted, so that the finally clause doesn't unlock and release it a second time if this fails.
+                    int length = runLength;
+                    runLength = 0;
+                    faultRun( runStartFilePageId, pageRefs, latches, length );
+                    continue;
+                }
+                long pageRef;
+                try
+                {
+                    pageRef = pagedFile.tryGrabFreeAndExclusivelyLockedPage( PageFaultEvent.NULL );
+                }
+                catch ( Throwable throwable )
+                {
+                    latch.release();
+                    throw throwable;
+                }
+                if ( pageRef == 0 )
+                {
+                    latch.release();
+                    break;
+                }
+                if ( runLength == 0 )
+                {
+                    runStartFilePageId = filePageId;
+                }
+                pageRefs[runLength] = pageRef;
+                latches[runLength] = latch;
+                runLength++;
+            }
+        }
+        finally
+        {
+            // The pages and latches we have collected so far must be faulted in and released, no matter what.
+            faultRun( runStartFilePageId, pageRefs, latches, runLength );
+        }
+        return (int) (filePageId - startFilePageId);
+    }
+
+    private void faultRun( long startFilePageId, long[] pageRefs, LatchMap.Latch[] latches, int length ) throws IOException
+    {
+        if ( length == 0 )
+        {
+            return;
+        }
+        long bytesRead = 0;
+        Throwable failure = null;
+        try
+        {
+            // Check if we're racing with unmapping, before we read anything, just like a regular page fault does.
+            assertPagedFileStillMappedAndGetIdOfLastPage();
+            for ( int i = 0; i < length; i++ )
+            {
+                pagedFile.initBuffer( pageRefs[i] );
+            }
+            bytesRead = pagedFile.fault( pageRefs, length, pagedFile.filePageSize, swapper, pagedFile.swapperId, startFilePageId );
+        }
+        catch ( Throwable throwable )
+        {
+            failure = throwable;
+            throw throwable;
+        }
+        finally
+        {
+            for ( int i = 0; i < length; i++ )
+            {
+                long filePageId = startFilePageId + i;
+                long pageRef = pageRefs[i];
+                PinEvent faultPinEvent = tracer.beginPin( false, filePageId, swapper );
+                PageFaultEvent faultEvent = faultPinEvent.beginPageFault( filePageId, swapperId );
+                if ( failure == null )
+                {
+                    int pageId = pagedFile.toId( pageRef );
+                    faultEvent.addBytesRead( Math.min( pagedFile.filePageSize, Math.max( 0, bytesRead - (long) i * pagedFile.filePageSize ) ) );
+                    faultEvent.setCachePageId( pageId );
+                    int[] chunk = pagedFile.translationTable[MuninnPagedFile.computeChunkId( filePageId )];
+                    MuninnPagedFile.TRANSLATION_TABLE_ARRAY.setVolatile( chunk, MuninnPagedFile.computeChunkIndex( filePageId ), pageId );
+                    // The page is not pinned by anyone yet, so we give it a usage stamp that will keep it around long enough for it to be pinned.
+                    incrementUsage( pageRef );
+                    faultEvent.done();
+                    statisticsFaults++;
+                }
+                else
+                {
+                    faultEvent.fail( failure );
+                }
+                // Make sure to unlock the page, so it can either be pinned, or if the fault failed, so the eviction thread can pick up our trash.
+                PageList.unlockExclusive( pageRef );
+                faultPinEvent.done();
+                latches[i].release();
+            }
+        }
+    }
+
     long assertPagedFileStillMappedAndGetIdOfLastPage() throws FileIsNotMappedException
     {
         return pagedFile.getLastPageId();
     }
 
+    /**
+     * Update the usage stamp of the given page, as part of pinning it to this cursor.
+     */
+    final void incrementUsage( long pageRef )
+    {
+        if ( probationaryPins )
+        {
+            PageList.incrementProbationaryUsage( pageRef );
+        }
+        else
+        {
+            PageList.incrementUsage( pageRef );
+        }
+    }
+
     protected abstract void unpinCurrentPage();
 
     protected abstract void convertPageFaultLock( long pageRef );
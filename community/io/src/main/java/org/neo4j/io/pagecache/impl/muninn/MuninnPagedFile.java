@@ -25,6 +25,8 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.pagecache.IOController;
@@ -37,6 +39,7 @@ import org.neo4j.io.pagecache.buffer.IOBufferFactory;
 import org.neo4j.io.pagecache.buffer.NativeIOBuffer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 import org.neo4j.io.pagecache.tracing.FlushEvent;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
@@ -50,6 +53,7 @@ import static org.neo4j.util.FeatureToggles.getInteger;
 final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 {
     static final int UNMAPPED_TTE = -1;
+    private static final String TRACER_STREAM_PRE_FETCHER_TAG = "Stream pre-fetcher";
     private static final boolean mergePagesOnFlush = flag( MuninnPagedFile.class, "mergePagesOnFlush", true );
     private static final int maxChunkGrowth = getInteger( MuninnPagedFile.class, "maxChunkGrowth", 16 ); // One chunk is 32 MiB, by default.
     private static final int translationTableChunkSizePower = getInteger( MuninnPagedFile.class, "translationTableChunkSizePower", 12 );
@@ -76,7 +80,10 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     final PageSwapper swapper;
     final int swapperId;
     private final CursorFactory cursorFactory;
+    // Null if stream pre-fetching is disabled.
+    final FaultStreams faultStreams;
     final String databaseName;
+    final PagedFileStatistics statistics = new PagedFileStatistics();
     private final IOController ioController;
 
     private volatile boolean deleteOnClose;
@@ -89,6 +96,17 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     private volatile long highestEvictedTransactionId;
     private static final VarHandle HIGHEST_EVICTED_TRANSACTION_ID;
 
+    // The read-stable pages of this file, as a bitmap indexed by file page id, or null if there are none. Copy-on-write, with the writes guarded by
+    // synchronized(readStableLock).
+    private volatile long[] readStablePages;
+    private final Object readStableLock = new Object();
+    // Incremented when a read-stable page is evicted, or pages stop being read-stable. Read cursors that skip the validation of their read locks on
+    // read-stable pages, only do so for as long as this epoch is unchanged.
+    @SuppressWarnings( "unused" ) // accessed with VarHandle
+    private volatile long readStableEpoch;
+    private static final VarHandle READ_STABLE_EPOCH;
+    private static final long MAX_READ_STABLE_PAGE_ID = ((long) Integer.MAX_VALUE) << 6;
+
     /**
      * The header state includes both the reference count of the PagedFile – 15 bits – and the ID of the last page in
      * the file – 48 bits, plus an empty file marker bit. Because our pages are usually 2^13 bytes, this means that we
@@ -114,6 +132,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             MethodHandles.Lookup l = MethodHandles.lookup();
             HEADER_STATE = l.findVarHandle( MuninnPagedFile.class, "headerState", long.class );
             HIGHEST_EVICTED_TRANSACTION_ID = l.findVarHandle( MuninnPagedFile.class, "highestEvictedTransactionId", long.class );
+            READ_STABLE_EPOCH = l.findVarHandle( MuninnPagedFile.class, "readStableEpoch", long.class );
             TRANSLATION_TABLE_ARRAY = MethodHandles.arrayElementVarHandle( int[].class );
         }
         catch ( ReflectiveOperationException e )
@@ -147,6 +166,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         this.filePageSize = filePageSize;
         this.cursorFactory = new CursorFactory( this );
         this.pageCacheTracer = pageCacheTracer;
+        this.faultStreams = pageCache.streamPreFetching ? new FaultStreams( pageCacheTracer ) : null;
         this.pageFaultLatches = new LatchMap( faultLockStriping );
         this.bufferFactory = pageCache.getBufferFactory();
         this.databaseName = requireNonNull( databaseName );
@@ -221,6 +241,121 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return cursor;
     }
 
+    /**
+     * Notify the fault streams of this file about a page fault, and start pre-fetching for the stream of the fault, if it is time to do so.
+     * Only called if stream pre-fetching is enabled.
+     */
+    void pageFaulted( long filePageId, long faultLatencyNanos, long nowNanos )
+    {
+        FaultStreams.Window window = faultStreams.pageFaulted( filePageId, faultLatencyNanos, nowNanos );
+        if ( window != null )
+        {
+            pageCache.startStreamPreFetching( this, window );
+        }
+    }
+
+    /**
+     * Pre-fetch the pages of the given fault stream window. Called from a pre-fetcher thread.
+     */
+    void preFetch( FaultStreams.Window window )
+    {
+        if ( faultStreams.isClosed() )
+        {
+            // The file is being unmapped. The window has been forgotten about already, so there's nothing to hand back.
+            return;
+        }
+        try ( var cursorTracer = pageCacheTracer.createPageCursorTracer( TRACER_STREAM_PRE_FETCHER_TAG );
+                MuninnPageCursor cursor = cursorFactory.takeReadCursor( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, new CursorContext( cursorTracer ) ) )
+        {
+            if ( window.stride == 1 )
+            {
+                cursor.faultAhead( window.startPageId, window.pages );
+            }
+            else if ( window.stride == -1 )
+            {
+                long fromPageId = Math.max( 0, window.startPageId - window.pages + 1 );
+                cursor.faultAhead( fromPageId, (int) (window.startPageId - fromPageId + 1) );
+            }
+            else
+            {
+                long filePageId = window.startPageId;
+                for ( int i = 0; i < window.pages && filePageId >= 0; i++, filePageId += window.stride )
+                {
+                    if ( cursor.faultAhead( filePageId, 1 ) == 0 )
+                    {
+                        break; // No more free pages, or we reached the end of the file.
+                    }
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            // Pre-fetching is only an optimisation, and the file might have been unmapped in the meantime. Any cursor that actually needs the pages will
+            // fault them in and get to see the exception, if there is a real problem.
+        }
+        finally
+        {
+            faultStreams.windowDone( window );
+        }
+    }
+
+    /**
+     * Walk the translation table, instead of pinning every page of the file with a {@link PagedFile#PF_NO_FAULT} cursor.
+     */
+    @Override
+    public BitSet residentPages( CursorContext context ) throws IOException
+    {
+        getLastPageId(); // Check that the file is still mapped.
+        int[][] tt = this.translationTable;
+        BitSet pages = new BitSet();
+        for ( int chunkId = 0; chunkId < tt.length; chunkId++ )
+        {
+            int[] chunk = tt[chunkId];
+            for ( int chunkIndex = 0; chunkIndex < chunk.length; chunkIndex++ )
+            {
+                if ( (int) TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex ) != UNMAPPED_TTE )
+                {
+                    pages.set( Math.toIntExact( ((long) chunkId << translationTableChunkSizePower) + chunkIndex ) );
+                }
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Load runs of consecutive pages with vectored reads, in the same way as the {@link PreFetcher}. Pages are only loaded into free pages, so loading
+     * stops when the page cache runs out of free pages.
+     */
+    @Override
+    public long loadPages( BitSet pages, IOController ioController, CursorContext context ) throws IOException
+    {
+        long loaded = 0;
+        try ( MuninnPageCursor cursor = cursorFactory.takeReadCursor( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, context ) )
+        {
+            long lastPageId = getLastPageId();
+            int runStart = pages.nextSetBit( 0 );
+            while ( runStart >= 0 && runStart <= lastPageId )
+            {
+                int runEnd = pages.nextClearBit( runStart );
+                long filePageId = runStart;
+                while ( filePageId < runEnd )
+                {
+                    int batchSize = (int) Math.min( runEnd - filePageId, PreFetcher.FAULT_BATCH_SIZE );
+                    int covered = cursor.faultAhead( filePageId, batchSize );
+                    if ( covered == 0 )
+                    {
+                        return loaded; // No more free pages, or we reached the end of the file.
+                    }
+                    filePageId += covered;
+                    loaded += covered;
+                    ioController.maybeLimitIO( covered, this, MajorFlushEvent.NULL );
+                }
+                runStart = pages.nextSetBit( runEnd );
+            }
+        }
+        return loaded;
+    }
+
     private static IllegalArgumentException wrongLocksArgument( int lockFlags )
     {
         if ( lockFlags == 0 )
@@ -264,6 +399,17 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         pageCache.unmap( this );
     }
 
+    /**
+     * Cancel any pre-fetching of fault stream windows that has not started yet. Called when the file is being unmapped.
+     */
+    void cancelStreamPreFetching()
+    {
+        if ( faultStreams != null )
+        {
+            faultStreams.close();
+        }
+    }
+
     void closeSwapper() throws IOException
     {
         // We don't set closeStackTrace in close(), because the reference count may keep the file open.
@@ -284,6 +430,11 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             // We cannot reuse those swapper ids until there are no more pages using them.
             pageCache.vacuum( getSwappers() );
         }
+        if ( pageCache.compressedPageTier != null )
+        {
+            // Release the memory of the compressed pages of this file right away. The vacuum makes sure none are left when the swapper id is reused.
+            pageCache.compressedPageTier.invalidate( swapperId );
+        }
         long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         int[][] tt = this.translationTable;
         for ( int[] chunk : tt )
@@ -406,6 +557,11 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         int[][] tt = this.translationTable;
         boolean useTemporaryBuffer = ioBuffer.isEnabled();
+        int maxRunPages = Math.min( pageCache.maxFlushRunPages, translationTableChunkSize );
+        int maxCleanGap = useTemporaryBuffer ? 0 : Math.min( pageCache.maxFlushCleanGap, maxRunPages - 2 );
+        // Clean pages that we have locked since the last dirty page of the run. They are only written if the run continues with another dirty page.
+        long[] gapPages = maxCleanGap > 0 ? new long[maxCleanGap] : null;
+        long[] gapFlushStamps = maxCleanGap > 0 && !forClosing ? new long[maxCleanGap] : null;
 
         flushes.startFlush( tt );
 
@@ -416,10 +572,8 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             long flushPerChunk = 0;
             long buffersPerChunk = 0;
             long mergesPerChunk = 0;
-            // TODO Look into if we can tolerate flushing a few clean pages if it means we can use larger vectors.
-            // TODO The clean pages in question must still be loaded, though. Otherwise we'll end up writing
-            // TODO garbage to the file.
             int pagesGrabbed = 0;
+            int gapPagesGrabbed = 0;
             long nextSequentialAddress = -1;
             int numberOfBuffers = 0;
             int lastBufferIndex = -1;
@@ -448,8 +602,10 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                     if ( pageId != UNMAPPED_TTE )
                     {
                         long pageRef = deref( pageId );
+                        // A clean page can bridge the gap to the next dirty page, if there is room for both in the run.
+                        boolean gapCandidate = pagesGrabbed > 0 && gapPagesGrabbed < maxCleanGap && pagesGrabbed + gapPagesGrabbed + 2 <= maxRunPages;
                         long stamp = tryOptimisticReadLock( pageRef );
-                        if ( (!isModified( pageRef ) && !fillingDirtyBuffer) && validateReadLock( pageRef, stamp ) )
+                        if ( (!isModified( pageRef ) && !fillingDirtyBuffer && !gapCandidate) && validateReadLock( pageRef, stamp ) )
                         {
                             notModifiedPages++;
                             break; // not modified, continue with the chunk
@@ -460,26 +616,36 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                         {
                             continue; // retry lock
                         }
-                        if ( isBoundTo( pageRef, swapperId, filePageId ) && (isModified( pageRef ) || fillingDirtyBuffer) )
+                        if ( isBoundTo( pageRef, swapperId, filePageId ) && (isModified( pageRef ) || fillingDirtyBuffer || gapCandidate) )
                         {
-                            // we should try to merge pages into buffer even if they are not modified only when we using intermediate temporary buffer
-                            fillingDirtyBuffer = useTemporaryBuffer;
-                            // The page is still bound to the expected file and file page id after we locked it,
-                            // so we didn't race with eviction and faulting, and the page is dirty.
-                            // So we add it to our IO vector.
-                            pages[pagesGrabbed] = pageRef;
-                            if ( !forClosing )
+                            if ( gapCandidate && !isModified( pageRef ) )
                             {
-                                flushStamps[pagesGrabbed] = flushStamp;
+                                gapPages[gapPagesGrabbed] = pageRef;
+                                if ( !forClosing )
+                                {
+                                    gapFlushStamps[gapPagesGrabbed] = flushStamp;
+                                }
+                                gapPagesGrabbed++;
+                                notModifiedPages++;
+                                continue chunkLoop; // go to next page
                             }
-                            pagesGrabbed++;
-                            long address = getAddress( pageRef );
+                            // we should try to merge pages into buffer even if they are not modified only when we using intermediate temporary buffer
+                            fillingDirtyBuffer = useTemporaryBuffer;
                             if ( useTemporaryBuffer )
                             {
+                                // The page is still bound to the expected file and file page id after we locked it,
+                                // so we didn't race with eviction and faulting, and the page is dirty.
+                                // So we add it to our IO vector.
+                                pages[pagesGrabbed] = pageRef;
+                                if ( !forClosing )
+                                {
+                                    flushStamps[pagesGrabbed] = flushStamp;
+                                }
+                                pagesGrabbed++;
                                 // in case we use temp buffer to combine pages address and buffer lengths are located in corresponding arrays and have
                                 // index 0.
                                 // Reset of accumulated effective length of temp buffer happens after intermediate vectored flush if any
-                                UnsafeUtil.copyMemory( address, bufferAddresses[0] + bufferLengths[0], filePageSize );
+                                UnsafeUtil.copyMemory( getAddress( pageRef ), bufferAddresses[0] + bufferLengths[0], filePageSize );
                                 bufferLengths[0] += filePageSize;
                                 numberOfBuffers = 1;
                                 if ( !ioBuffer.hasMoreCapacity( bufferLengths[0], filePageSize ) )
@@ -493,23 +659,44 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                             }
                             else
                             {
-                                if ( mergePagesOnFlush && nextSequentialAddress == address )
+                                // The page is still bound to the expected file and file page id after we locked it,
+                                // so we didn't race with eviction and faulting, and the page is dirty.
+                                // So we add it, and the clean pages in the gap before it, to our IO vector.
+                                for ( int g = 0; g <= gapPagesGrabbed; g++ )
                                 {
-                                    // do not add new address, only bump length of previous buffer
-                                    bufferLengths[lastBufferIndex] += filePageSize;
-                                    mergedPages++;
-                                    mergesPerChunk++;
+                                    boolean gapPage = g < gapPagesGrabbed;
+                                    long runPageRef = gapPage ? gapPages[g] : pageRef;
+                                    pages[pagesGrabbed] = runPageRef;
+                                    if ( !forClosing )
+                                    {
+                                        flushStamps[pagesGrabbed] = gapPage ? gapFlushStamps[g] : flushStamp;
+                                    }
+                                    pagesGrabbed++;
+                                    long address = getAddress( runPageRef );
+                                    if ( mergePagesOnFlush && nextSequentialAddress == address )
+                                    {
+                                        // do not add new address, only bump length of previous buffer
+                                        bufferLengths[lastBufferIndex] += filePageSize;
+                                        mergedPages++;
+                                        mergesPerChunk++;
+                                    }
+                                    else
+                                    {
+                                        // add new address
+                                        bufferAddresses[numberOfBuffers] = address;
+                                        lastBufferIndex = numberOfBuffers;
+                                        bufferLengths[numberOfBuffers] = filePageSize;
+                                        numberOfBuffers++;
+                                        buffersPerChunk++;
+                                    }
+                                    nextSequentialAddress = address + filePageSize;
                                 }
-                                else
+                                notModifiedPages -= gapPagesGrabbed;
+                                gapPagesGrabbed = 0;
+                                if ( pagesGrabbed >= maxRunPages )
                                 {
-                                    // add new address
-                                    bufferAddresses[numberOfBuffers] = address;
-                                    lastBufferIndex = numberOfBuffers;
-                                    bufferLengths[numberOfBuffers] = filePageSize;
-                                    numberOfBuffers++;
-                                    buffersPerChunk++;
+                                    break; // continue to flush
                                 }
-                                nextSequentialAddress = address + filePageSize;
                                 continue chunkLoop; // go to next page
                             }
                         }
@@ -534,6 +721,8 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                 }
                 if ( pagesGrabbed > 0 )
                 {
+                    releaseGapPages( gapPages, gapFlushStamps, gapPagesGrabbed, forClosing );
+                    gapPagesGrabbed = 0;
                     vectoredFlush( pages, bufferAddresses, flushStamps, bufferLengths, numberOfBuffers, pagesGrabbed, mergedPages, flushes, forClosing );
                     limiter.maybeLimitIO( numberOfBuffers, this, flushes );
                     pagesGrabbed = 0;
@@ -548,6 +737,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             }
             if ( pagesGrabbed > 0 )
             {
+                releaseGapPages( gapPages, gapFlushStamps, gapPagesGrabbed, forClosing );
                 vectoredFlush( pages, bufferAddresses, flushStamps, bufferLengths, numberOfBuffers, pagesGrabbed, mergedPages, flushes, forClosing );
                 limiter.maybeLimitIO( numberOfBuffers, this, flushes );
                 flushPerChunk++;
@@ -558,6 +748,24 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         swapper.force();
     }
 
+    /**
+     * Unlock the clean pages at the end of a run, that were grabbed in the hope that the run would continue with another dirty page.
+     */
+    private static void releaseGapPages( long[] gapPages, long[] gapFlushStamps, int gapPagesGrabbed, boolean forClosing )
+    {
+        for ( int i = 0; i < gapPagesGrabbed; i++ )
+        {
+            if ( forClosing )
+            {
+                unlockExclusive( gapPages[i] );
+            }
+            else
+            {
+                unlockFlush( gapPages[i], gapFlushStamps[i], false );
+            }
+        }
+    }
+
     private void vectoredFlush(
             long[] pages, long[] bufferAddresses, long[] flushStamps, int[] bufferLengths, int numberOfBuffers, int pagesToFlush, int pagesMerged,
             MajorFlushEvent flushEvent, boolean forClosing ) throws IOException
@@ -573,6 +781,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             long bytesWritten = swapper.write( startFilePageId, bufferAddresses, bufferLengths, numberOfBuffers, pagesToFlush );
 
             // Update the flush event
+            statistics.flushed( pagesToFlush, bytesWritten );
             flush.addBytesWritten( bytesWritten );
             flush.addPagesFlushed( pagesToFlush );
             flush.addPagesMerged( pagesMerged );
@@ -624,6 +833,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             try
             {
                 long bytesWritten = swapper.write( filePageId, address );
+                statistics.flushed( 1, bytesWritten );
                 flush.addBytesWritten( bytesWritten );
                 flush.addPagesFlushed( 1 );
                 flush.done();
@@ -778,6 +988,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return databaseName;
     }
 
+    @Override
+    public PagedFileStatistics statistics()
+    {
+        return statistics;
+    }
+
     /**
      * Grab a free page for the purpose of page faulting. Possibly blocking if
      * none are immediately available.
@@ -788,6 +1004,16 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return pageCache.grabFreeAndExclusivelyLockedPage( faultEvent );
     }
 
+    /**
+     * Grab a free page for the purpose of page faulting, if one is immediately available on the freelist.
+     * @param faultEvent The trace event for the current page fault.
+     * @return the grabbed page, or zero if no free page was available.
+     */
+    long tryGrabFreeAndExclusivelyLockedPage( PageFaultEvent faultEvent ) throws IOException
+    {
+        return pageCache.tryGrabFreeAndExclusivelyLockedPage( faultEvent );
+    }
+
     /**
      * Remove the mapping of the given filePageId from the translation table, and return the evicted page object.
      * @param filePageId The id of the file page to evict.
@@ -802,6 +1028,82 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         long pageRef = deref( mappedPageId );
         setHighestEvictedTransactionId( getAndResetLastModifiedTransactionId( pageRef ) );
         TRANSLATION_TABLE_ARRAY.setVolatile( chunk, chunkIndex, UNMAPPED_TTE );
+        statistics.evicted();
+        if ( isReadStable( filePageId ) )
+        {
+            // The page is still exclusively locked, so its memory cannot be reused before readers can observe the new epoch.
+            READ_STABLE_EPOCH.getAndAdd( this, 1L );
+        }
+    }
+
+    @Override
+    public void markReadStable( long startPageId, long endPageId )
+    {
+        updateReadStablePages( startPageId, endPageId, true );
+    }
+
+    @Override
+    public void clearReadStable( long startPageId, long endPageId )
+    {
+        updateReadStablePages( startPageId, endPageId, false );
+    }
+
+    private void updateReadStablePages( long startPageId, long endPageId, boolean readStable )
+    {
+        if ( startPageId < 0 || endPageId < startPageId || endPageId > MAX_READ_STABLE_PAGE_ID )
+        {
+            throw new IllegalArgumentException( "Invalid page range [" + startPageId + ", " + endPageId + ")." );
+        }
+        synchronized ( readStableLock )
+        {
+            long[] current = readStablePages;
+            int words = (int) ((endPageId + Long.SIZE - 1) >>> 6);
+            long[] pages;
+            if ( current == null )
+            {
+                if ( !readStable )
+                {
+                    return;
+                }
+                pages = new long[words];
+            }
+            else
+            {
+                pages = Arrays.copyOf( current, readStable ? Math.max( current.length, words ) : current.length );
+            }
+            long end = Math.min( endPageId, (long) pages.length << 6 );
+            for ( long pageId = startPageId; pageId < end; pageId++ )
+            {
+                int word = (int) (pageId >>> 6);
+                long bit = 1L << pageId;
+                pages[word] = readStable ? pages[word] | bit : pages[word] & ~bit;
+            }
+            readStablePages = pages;
+            if ( !readStable )
+            {
+                // Readers that are on the pages we just cleared must go back to validating their read locks, before anyone can write to the pages.
+                READ_STABLE_EPOCH.getAndAdd( this, 1L );
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the given page has been {@link #markReadStable(long, long) marked as read-stable}.
+     */
+    boolean isReadStable( long filePageId )
+    {
+        long[] pages = readStablePages;
+        if ( pages == null )
+        {
+            return false;
+        }
+        long word = filePageId >>> 6;
+        return word < pages.length && (pages[(int) word] & (1L << filePageId)) != 0;
+    }
+
+    long readStableEpoch()
+    {
+        return (long) READ_STABLE_EPOCH.getVolatile( this );
     }
 
     private void setHighestEvictedTransactionId( long modifiedTransactionId )
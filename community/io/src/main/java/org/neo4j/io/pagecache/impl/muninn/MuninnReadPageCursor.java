@@ -20,6 +20,7 @@
 package org.neo4j.io.pagecache.impl.muninn;
 
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
 
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -27,6 +28,9 @@ import org.neo4j.io.pagecache.context.CursorContext;
 final class MuninnReadPageCursor extends MuninnPageCursor
 {
     private long lockStamp;
+    // True if the pinned page is read-stable, in which case we don't validate our read lock for as long as the read-stable epoch is unchanged.
+    private boolean readStable;
+    private long readStableEpoch;
 
     MuninnReadPageCursor( long victimPage, CursorContext cursorContext )
     {
@@ -41,6 +45,7 @@ final class MuninnReadPageCursor extends MuninnPageCursor
             pinEvent.done();
         }
         lockStamp = 0; // make sure not to accidentally keep a lock state around
+        readStable = false;
         clearPageCursorState();
     }
 
@@ -79,7 +84,29 @@ final class MuninnReadPageCursor extends MuninnPageCursor
     protected void pinCursorToPage( long pageRef, long filePageId, PageSwapper swapper )
     {
         reset( pageRef );
-        PageList.incrementUsage( pageRef );
+        incrementUsage( pageRef );
+        readStable = pagedFile.isReadStable( filePageId ) && startReadStableRead( pageRef );
+    }
+
+    /**
+     * Take note of the read-stable epoch of the file, so we can tell if the page is evicted or stops being read-stable while we read it.
+     * The epoch is only usable if our read lock is still valid after we looked at it, since the page could otherwise have been evicted before that.
+     */
+    private boolean startReadStableRead( long pageRef )
+    {
+        readStableEpoch = pagedFile.readStableEpoch();
+        return PageList.validateReadLock( pageRef, lockStamp );
+    }
+
+    private boolean isStillReadStable()
+    {
+        if ( !readStable )
+        {
+            return false;
+        }
+        // Order our reads of the page before our read of the epoch, just like a validation of the read lock would.
+        VarHandle.acquireFence();
+        return readStableEpoch == pagedFile.readStableEpoch();
     }
 
     @Override
@@ -95,7 +122,7 @@ final class MuninnReadPageCursor extends MuninnPageCursor
         do
         {
             long pageRef = cursor.pinnedPageRef;
-            if ( pageRef != 0 && !PageList.validateReadLock( pageRef, cursor.lockStamp ) )
+            if ( pageRef != 0 && !cursor.isStillReadStable() && !PageList.validateReadLock( pageRef, cursor.lockStamp ) )
             {
                 startRetryLinkedChain();
                 return true;
@@ -147,6 +174,10 @@ final class MuninnReadPageCursor extends MuninnPageCursor
             // Then try pin again.
             pin( loadPlainCurrentPageId() );
         }
+        else
+        {
+            readStable = pagedFile.isReadStable( loadPlainCurrentPageId() ) && startReadStableRead( pageRef );
+        }
     }
 
     @Override
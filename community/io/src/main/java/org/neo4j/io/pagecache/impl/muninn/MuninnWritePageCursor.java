@@ -80,6 +80,11 @@ final class MuninnWritePageCursor extends MuninnPageCursor
             storeCurrentPageId( UNBOUND_PAGE_ID );
             return false;
         }
+        if ( pagedFile.isReadStable( nextPageId ) )
+        {
+            storeCurrentPageId( UNBOUND_PAGE_ID );
+            throw new IllegalStateException( "Cannot write to page " + nextPageId + " of " + pagedFile.path() + ", because it is read-stable." );
+        }
         if ( nextPageId > lastPageId )
         {
             if ( noGrow )
@@ -124,7 +129,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor
         // after the reset() call, which means that if we throw, the cursor will
         // be closed and the page lock will be released.
         assertPagedFileStillMappedAndGetIdOfLastPage();
-        PageList.incrementUsage( pageRef );
+        incrementUsage( pageRef );
         PageList.setLastModifiedTxId( pageRef, versionContext.committingTransactionId() );
     }
 
@@ -59,6 +59,7 @@ class PageList implements PageReferenceTranslator
 
     private static final int UNBOUND_LAST_MODIFIED_TX_ID = -1;
     private static final long MAX_USAGE_COUNT = 4;
+    private static final long MAX_PROBATIONARY_USAGE_COUNT = 1;
     private static final int SHIFT_FILE_PAGE_ID = 24;
     private static final int SHIFT_SWAPPER_ID = 3;
     private static final int SHIFT_PARTIAL_FILE_PAGE_ID = SHIFT_FILE_PAGE_ID - SHIFT_SWAPPER_ID;
@@ -86,9 +87,20 @@ class PageList implements PageReferenceTranslator
     private final long victimPageAddress;
     private final long baseAddress;
     private final long bufferAlignment;
+    private final CompressedPageTier compressedPageTier;
 
     PageList( int pageCount, int cachePageSize, MemoryAllocator memoryAllocator, SwapperSet swappers,
               long victimPageAddress, long bufferAlignment )
+    {
+        this( pageCount, cachePageSize, memoryAllocator, swappers, victimPageAddress, bufferAlignment, null );
+    }
+
+    /**
+     * @param compressedPageTier the tier that evicted pages are compressed into, and that page faults are served from when possible,
+     * or {@code null} if the page cache has no compressed tier.
+     */
+    PageList( int pageCount, int cachePageSize, MemoryAllocator memoryAllocator, SwapperSet swappers,
+              long victimPageAddress, long bufferAlignment, CompressedPageTier compressedPageTier )
     {
         this.pageCount = pageCount;
         this.cachePageSize = cachePageSize;
@@ -98,6 +110,7 @@ class PageList implements PageReferenceTranslator
         long bytes = ((long) pageCount) * META_DATA_BYTES_PER_PAGE;
         this.baseAddress = memoryAllocator.allocateAligned( bytes, Long.BYTES );
         this.bufferAlignment = bufferAlignment;
+        this.compressedPageTier = compressedPageTier;
         clearMemory( baseAddress, pageCount );
     }
 
@@ -118,6 +131,7 @@ class PageList implements PageReferenceTranslator
         this.victimPageAddress = pageList.victimPageAddress;
         this.baseAddress = pageList.baseAddress;
         this.bufferAlignment = pageList.bufferAlignment;
+        this.compressedPageTier = pageList.compressedPageTier;
     }
 
     private static void clearMemory( long baseAddress, long pageCount )
@@ -308,12 +322,28 @@ class PageList implements PageReferenceTranslator
      * Increment the usage stamp to at most 4.
      **/
     static void incrementUsage( long pageRef )
+    {
+        incrementUsage( pageRef, MAX_USAGE_COUNT );
+    }
+
+    /**
+     * Increment the usage stamp to at most 1, such that the page is not moved out of probation.
+     * Pages that already have a higher usage stamp are left as they are.
+     *
+     * @see EvictionPolicy#SCAN_RESISTANT
+     **/
+    static void incrementProbationaryUsage( long pageRef )
+    {
+        incrementUsage( pageRef, MAX_PROBATIONARY_USAGE_COUNT );
+    }
+
+    private static void incrementUsage( long pageRef, long maxUsage )
     {
         // This is intentionally left benignly racy for performance.
         long address = offPageBinding( pageRef );
         long value = UnsafeUtil.getLongVolatile( address );
         long usage = value & MASK_USAGE_COUNT;
-        if ( usage < MAX_USAGE_COUNT ) // avoid cache sloshing by not doing a write if counter is already maxed out
+        if ( usage < maxUsage ) // avoid cache sloshing by not doing a write if counter is already maxed out
         {
             long update = value + 1;
             // Use compareAndSwapLong to only actually store the updated count if nothing else changed
@@ -340,7 +370,16 @@ class PageList implements PageReferenceTranslator
             // See `incrementUsage` about why we use `compareAndSwapLong`.
             UnsafeUtil.compareAndSwapLong( null, address, value, update );
         }
-        return usage <= 1;
+        return usage <= MAX_PROBATIONARY_USAGE_COUNT;
+    }
+
+    /**
+     * @return {@code true} if the usage stamp of the page is high enough that the page is no longer in probation.
+     * @see EvictionPolicy
+     **/
+    static boolean isProtected( long pageRef )
+    {
+        return (UnsafeUtil.getLongVolatile( offPageBinding( pageRef ) ) & MASK_USAGE_COUNT) > MAX_PROBATIONARY_USAGE_COUNT;
     }
 
     static long getFilePageId( long pageRef )
@@ -409,6 +448,53 @@ class PageList implements PageReferenceTranslator
 
     void fault( long pageRef, PageSwapper swapper, int swapperId, long filePageId, PageFaultEvent event )
             throws IOException
+    {
+        beginFault( pageRef, swapper, swapperId, filePageId );
+        long address = getAddress( pageRef );
+        if ( compressedPageTier == null || !compressedPageTier.load( swapperId, filePageId, address ) )
+        {
+            long bytesRead = swapper.read( filePageId, address );
+            event.addBytesRead( bytesRead );
+        }
+        completeFault( pageRef, swapperId );
+    }
+
+    /**
+     * Fault the given consecutive file pages into the given cache pages, with a single vectored read.
+     * All of the cache pages must be exclusively locked and free, just like for {@link #fault(long, PageSwapper, int, long, PageFaultEvent)}.
+     *
+     * @param pageRefs the cache pages to fault into, in file page order.
+     * @param length the number of cache pages in the batch.
+     * @param filePageSize the number of bytes to read into each cache page.
+     * @param swapper the swapper to read the file pages from.
+     * @param swapperId the id of the given swapper.
+     * @param startFilePageId the file page id of the first page in the batch.
+     * @return the number of bytes read from the file.
+     */
+    long fault( long[] pageRefs, int length, int filePageSize, PageSwapper swapper, int swapperId, long startFilePageId ) throws IOException
+    {
+        long[] bufferAddresses = new long[length];
+        int[] bufferLengths = new int[length];
+        for ( int i = 0; i < length; i++ )
+        {
+            beginFault( pageRefs[i], swapper, swapperId, startFilePageId + i );
+            bufferAddresses[i] = getAddress( pageRefs[i] );
+            bufferLengths[i] = filePageSize;
+        }
+        if ( compressedPageTier != null )
+        {
+            // One large read is cheaper than splitting the run around the pages that are in the compressed tier, so we drop those instead.
+            compressedPageTier.invalidate( swapperId, startFilePageId, length );
+        }
+        long bytesRead = swapper.read( startFilePageId, bufferAddresses, bufferLengths, length );
+        for ( int i = 0; i < length; i++ )
+        {
+            completeFault( pageRefs[i], swapperId );
+        }
+        return bytesRead;
+    }
+
+    private void beginFault( long pageRef, PageSwapper swapper, int swapperId, long filePageId )
     {
         if ( swapper == null )
         {
@@ -429,8 +515,10 @@ class PageList implements PageReferenceTranslator
         // the file page, so any subsequent thread that finds the page in their
         // translation table will re-do the page fault.
         setFilePageId( pageRef, filePageId ); // Page now considered isLoaded()
-        long bytesRead = swapper.read( filePageId, getAddress( pageRef ) );
-        event.addBytesRead( bytesRead );
+    }
+
+    private static void completeFault( long pageRef, int swapperId )
+    {
         setSwapperId( pageRef, swapperId ); // Page now considered isBoundTo( swapper, filePageId )
     }
 
@@ -488,6 +576,11 @@ class PageList implements PageReferenceTranslator
                 {
                     flushModifiedPage( pageRef, evictionEvent, filePageId, swapper, this );
                 }
+                if ( compressedPageTier != null )
+                {
+                    // The page is clean, and still bound, so no one can fault it back in before it is in the compressed tier.
+                    compressedPageTier.store( swapperId, filePageId, getAddress( pageRef ) );
+                }
                 swapper.evicted( filePageId );
             }
         }
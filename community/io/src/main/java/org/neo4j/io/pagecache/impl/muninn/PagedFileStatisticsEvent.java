@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
+
+/**
+ * A periodic flight recorder event with the access statistics of a mapped file, as kept by {@link PagedFileStatistics}. One event is emitted for the
+ * file as a whole, with no tag, and one for every tag that has accessed the file. The counts are totals since the file was mapped.
+ */
+@Name( "org.neo4j.PagedFileStatistics" )
+@Label( "Paged File Statistics" )
+@Category( {"Neo4j", "Page Cache"} )
+@Description( "Access statistics of a file mapped by the page cache, for the file as a whole and per cursor tracer tag" )
+@Period( "10 s" )
+@StackTrace( false )
+final class PagedFileStatisticsEvent extends Event
+{
+    @Label( "File" )
+    String file;
+
+    @Label( "Database" )
+    String database;
+
+    @Label( "Tag" )
+    String tag;
+
+    @Label( "Pins" )
+    long pins;
+
+    @Label( "Hits" )
+    long hits;
+
+    @Label( "Faults" )
+    long faults;
+
+    @Label( "Evictions" )
+    long evictions;
+
+    @Label( "Flushes" )
+    long flushes;
+
+    @Label( "Bytes Written" )
+    @DataAmount
+    long bytesWritten;
+
+    static void emit( MuninnPagedFile pagedFile )
+    {
+        PagedFileStatistics statistics = pagedFile.statistics;
+        PagedFileStatisticsEvent fileEvent = new PagedFileStatisticsEvent();
+        fileEvent.file = pagedFile.path().toString();
+        fileEvent.database = pagedFile.databaseName;
+        fileEvent.pins = statistics.pins();
+        fileEvent.hits = statistics.hits();
+        fileEvent.faults = statistics.faults();
+        fileEvent.evictions = statistics.evictions();
+        fileEvent.flushes = statistics.flushes();
+        fileEvent.bytesWritten = statistics.bytesWritten();
+        fileEvent.commit();
+
+        for ( PagedFileStatistics.TagStatistics tagStatistics : statistics.tags() )
+        {
+            PagedFileStatisticsEvent tagEvent = new PagedFileStatisticsEvent();
+            tagEvent.file = fileEvent.file;
+            tagEvent.database = fileEvent.database;
+            tagEvent.tag = tagStatistics.tag();
+            tagEvent.pins = tagStatistics.pins();
+            tagEvent.hits = tagStatistics.hits();
+            tagEvent.faults = tagStatistics.faults();
+            tagEvent.commit();
+        }
+    }
+}
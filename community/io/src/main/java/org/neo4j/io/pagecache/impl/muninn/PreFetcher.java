@@ -25,13 +25,14 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
-import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.scheduler.CancelListener;
 import org.neo4j.time.SystemNanoClock;
+import org.neo4j.util.FeatureToggles;
 
 import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 
 /**
@@ -48,10 +49,28 @@ import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
  * The pre-fetcher is adaptive because the number of pages the pre-fetcher will move ahead of the scanning cursor, and the length of time the pre-fetcher
  * will wait in between checking on the progress of the scanner, are dynamically computed and updated based on how fast the scanner appears to be.
  * The pre-fetcher also automatically figures out if the scanner is scanning the file in a forward or backwards direction.
+ *
+ * The pre-fetch range also grows whenever the scanner catches up with the pages that have already been pre-fetched, since that means that the page fault
+ * latency is not being hidden from the scanner. When the scanner is closed, the pre-fetched pages that it moved past are reported as pre-fetch hits,
+ * and the ones in front of it as pre-fetch waste.
+ *
+ * The pages are faulted in batches, with one vectored read for each run of consecutive pages that are not yet in memory, whenever there are enough free
+ * pages available. The scanning cursor does not wait for the whole batch; if it catches up, it parks on the page fault latch of the page it wants,
+ * until the batch that contains that page has been read in.
  */
 class PreFetcher implements Runnable, CancelListener
 {
     private static final String TRACER_PRE_FETCHER_TAG = "Pre-fetcher";
+    /**
+     * The maximum number of pages the pre-fetcher will fault in with a single vectored read. Capped by the page fault latch striping, such that the
+     * pages of a batch never share page fault latches.
+     */
+    static final int FAULT_BATCH_SIZE =
+            Math.max( 1, Math.min( FeatureToggles.getInteger( PreFetcher.class, "faultBatchSize", 32 ), LatchMap.faultLockStriping ) );
+    /**
+     * The longest pre-fetch range, in pages, that the pre-fetcher will keep ahead of the cursor.
+     */
+    private static final long MAX_JUMP = FeatureToggles.getInteger( PreFetcher.class, "maxJump", 4096 );
     private final MuninnPageCursor observedCursor;
     private final CursorFactory cursorFactory;
     private final PageCacheTracer tracer;
@@ -123,54 +142,82 @@ class PreFetcher implements Runnable, CancelListener
         // The initial value don't matter so much. Just same as offset, so we initially fetch one page.
         long jump = offset;
 
+        // The frontier is the far end of the range that has been pre-fetched so far; exclusive when pre-fetching forwards, and inclusive when
+        // pre-fetching backwards. Pages between the observed cursor and the frontier are not pre-fetched again.
+        long frontier = forward ? 0 : Long.MAX_VALUE;
+        long lastObservedPageId = secondPageId;
+
+        // The pre-fetch cursor is opened directly from the cursor factory, so the read-ahead flag does not start another pre-fetcher.
+        // It only makes our pins count as sequential access, as far as the eviction policy is concerned.
         try ( var tracer = this.tracer.createPageCursorTracer( TRACER_PRE_FETCHER_TAG );
-                PageCursor prefetchCursor = cursorFactory.takeReadCursor( 0, PF_SHARED_READ_LOCK, new CursorContext( tracer ) ) )
+                MuninnPageCursor prefetchCursor = cursorFactory.takeReadCursor( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, new CursorContext( tracer ) ) )
         {
-            currentPageId = getCurrentObservedPageId();
-            while ( currentPageId != UNBOUND_PAGE_ID )
+            try
             {
-                cp = currentPageId + offset;
-                if ( forward )
-                {
-                    fromPage = cp;
-                    toPage = cp + jump;
-                }
-                else
-                {
-                    fromPage = Math.max( 0, cp + jump );
-                    toPage = cp;
-                }
-                while ( fromPage < toPage )
+                currentPageId = getCurrentObservedPageId();
+                while ( currentPageId != UNBOUND_PAGE_ID )
                 {
-                    if ( !prefetchCursor.next( fromPage ) || cancelled )
+                    lastObservedPageId = currentPageId;
+                    cp = currentPageId + offset;
+                    if ( forward )
                     {
-                        return; // Reached the end of the file. Or got cancelled.
+                        fromPage = Math.max( cp, frontier );
+                        toPage = cp + jump;
+                        frontier = Math.max( frontier, toPage );
+                    }
+                    else
+                    {
+                        fromPage = Math.max( 0, cp + jump );
+                        toPage = Math.min( cp, frontier );
+                        frontier = Math.min( frontier, fromPage );
+                    }
+                    while ( fromPage < toPage )
+                    {
+                        if ( cancelled )
+                        {
+                            return; // Got cancelled.
+                        }
+                        int batchSize = (int) Math.min( toPage - fromPage, FAULT_BATCH_SIZE );
+                        int covered = prefetchCursor.faultAhead( fromPage, batchSize );
+                        if ( covered == 0 )
+                        {
+                            // There were no free pages to batch into, so fall back to a regular page fault, that can cooperatively evict.
+                            if ( !prefetchCursor.next( fromPage ) )
+                            {
+                                return; // Reached the end of the file.
+                            }
+                            covered = 1;
+                        }
+                        fromPage += covered;
                     }
-                    fromPage++;
-                }
 
-                // Phase 3.5: After each prefetch round, we wait for the cursor to move again.
-                // If it just stops somewhere for more than a second, then we quit.
-                nextPageId = getCurrentObservedPageId();
-                if ( nextPageId == currentPageId )
-                {
-                    setDeadline( 10, TimeUnit.SECONDS );
-                    while ( nextPageId == currentPageId )
+                    // Phase 3.5: After each prefetch round, we wait for the cursor to move again.
+                    // If it just stops somewhere for more than a second, then we quit.
+                    nextPageId = getCurrentObservedPageId();
+                    if ( nextPageId == currentPageId )
                     {
-                        pause();
-                        if ( pastDeadline() )
+                        setDeadline( 10, TimeUnit.SECONDS );
+                        while ( nextPageId == currentPageId )
                         {
-                            return; // The cursor hasn't made any progress for a whole second. Leave it alone.
+                            pause();
+                            if ( pastDeadline() )
+                            {
+                                return; // The cursor hasn't made any progress for a whole second. Leave it alone.
+                            }
+                            nextPageId = getCurrentObservedPageId();
                         }
-                        nextPageId = getCurrentObservedPageId();
+                        madeProgress();
                     }
-                    madeProgress();
-                }
-                if ( nextPageId != UNBOUND_PAGE_ID )
-                {
-                    jump = (nextPageId - currentPageId) * 2;
+                    if ( nextPageId != UNBOUND_PAGE_ID )
+                    {
+                        jump = nextJump( jump, nextPageId - currentPageId, forward ? nextPageId + 1 >= frontier : nextPageId <= frontier );
+                    }
+                    currentPageId = nextPageId;
                 }
-                currentPageId = nextPageId;
+            }
+            finally
+            {
+                reportPreFetchEffectiveness( tracer.faults(), forward ? frontier - lastObservedPageId - 1 : lastObservedPageId - frontier );
             }
         }
         catch ( IOException e )
@@ -179,6 +226,31 @@ class PreFetcher implements Runnable, CancelListener
         }
     }
 
+    /**
+     * The pre-fetch range is normally twice as long as the distance the cursor moved since the last round. However, if the cursor has caught up with
+     * all of the pages we have pre-fetched, then we are not hiding the page fault latency, and we double the pre-fetch range instead, up to a limit.
+     */
+    private static long nextJump( long jump, long progress, boolean caughtUp )
+    {
+        long nextJump = progress * 2;
+        if ( caughtUp && Math.abs( jump * 2 ) > Math.abs( nextJump ) && Long.signum( jump ) == Long.signum( progress ) )
+        {
+            nextJump = jump * 2;
+        }
+        return Math.max( -MAX_JUMP, Math.min( MAX_JUMP, nextJump ) );
+    }
+
+    /**
+     * Pages we pre-fetched between the last observed position of the cursor, and the frontier of our pre-fetching, were never used by the cursor.
+     * This is only approximate, since the cursor might have moved further than what we observed, before it was closed.
+     */
+    private void reportPreFetchEffectiveness( long preFetchedPages, long unusedRange )
+    {
+        long waste = Math.max( 0, Math.min( preFetchedPages, unusedRange ) );
+        tracer.preFetchHits( preFetchedPages - waste );
+        tracer.preFetchWaste( waste );
+    }
+
     private void setDeadline( long timeout, TimeUnit unit )
     {
         startTime = clock.nanos();
@@ -85,6 +85,37 @@ public interface PageCacheCounters
      */
     long evictionExceptions();
 
+    /**
+     * @return The number of times the eviction clock has decremented the usage counter of a frequently used page thus far.
+     */
+    long demotions();
+
+    /**
+     * @return The number of pre-fetched pages that were used by the access pattern they were pre-fetched for thus far.
+     */
+    long preFetchHits();
+
+    /**
+     * @return The number of pre-fetched pages that were not used by the access pattern they were pre-fetched for thus far.
+     */
+    long preFetchWaste();
+
+    /**
+     * @return The number of page faults that were served from the compressed tier of the page cache thus far.
+     */
+    long compressedTierHits();
+
+    /**
+     * @return The number of compressed pages that were dropped from the compressed tier of the page cache, without being faulted back in, thus far.
+     */
+    long compressedTierEvictions();
+
+    /**
+     * @return The number of vectored writes done by flushes thus far, bucketed by the number of pages they wrote. The bucket at index {@code i} counts
+     * the writes of at least {@code 2^i}, and less than {@code 2^(i+1)} pages.
+     */
+    long[] flushRunLengthHistogram();
+
     /**
      * @return The cache hit ratio observed thus far.
      */
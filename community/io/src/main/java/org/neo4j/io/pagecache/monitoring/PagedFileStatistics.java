@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * Counters for the accesses to a single {@link PagedFile}, split by the tag of the page cursor tracer of the accessing cursors.
+ * <p>
+ * The counters are {@link LongAdder striped}, and cursors accumulate their counts locally and only add them to the counters of their tag when they are
+ * closed, so keeping these statistics adds next to nothing to the cost of pinning pages. Evictions and flushes are not caused by the cursors of the file
+ * itself, so they are counted for the file as a whole.
+ */
+public final class PagedFileStatistics
+{
+    private static final String UNTAGGED = "";
+
+    private final ConcurrentHashMap<String,TagStatistics> tags = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Get the counters for the given tag, creating them if this is the first access to the file with that tag.
+     *
+     * @param tag the tag of the page cursor tracer of the accessing cursor, or {@code null} if it has none.
+     * @return the counters of the tag.
+     */
+    public TagStatistics tag( String tag )
+    {
+        String key = tag == null ? UNTAGGED : tag;
+        TagStatistics statistics = tags.get( key );
+        return statistics != null ? statistics : tags.computeIfAbsent( key, TagStatistics::new );
+    }
+
+    /**
+     * @return a snapshot of the tags that have accessed the file thus far.
+     */
+    public List<TagStatistics> tags()
+    {
+        return new ArrayList<>( tags.values() );
+    }
+
+    public void evicted()
+    {
+        evictions.increment();
+    }
+
+    public void flushed( long pages, long bytes )
+    {
+        flushes.add( pages );
+        bytesWritten.add( bytes );
+    }
+
+    /**
+     * @return the number of pins of pages of the file thus far, for all tags.
+     */
+    public long pins()
+    {
+        return tags.values().stream().mapToLong( TagStatistics::pins ).sum();
+    }
+
+    /**
+     * @return the number of pins of pages of the file that were already in memory thus far, for all tags.
+     */
+    public long hits()
+    {
+        return tags.values().stream().mapToLong( TagStatistics::hits ).sum();
+    }
+
+    /**
+     * @return the number of page faults of pages of the file thus far, for all tags.
+     */
+    public long faults()
+    {
+        return tags.values().stream().mapToLong( TagStatistics::faults ).sum();
+    }
+
+    /**
+     * @return the number of pages of the file that were evicted thus far.
+     */
+    public long evictions()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of pages of the file that were written by flushes thus far. Pages written by eviction are not included.
+     */
+    public long flushes()
+    {
+        return flushes.sum();
+    }
+
+    /**
+     * @return the number of bytes that flushes wrote to the file thus far.
+     */
+    public long bytesWritten()
+    {
+        return bytesWritten.sum();
+    }
+
+    public static final class TagStatistics
+    {
+        private final String tag;
+        private final LongAdder pins = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder faults = new LongAdder();
+
+        private TagStatistics( String tag )
+        {
+            this.tag = tag;
+        }
+
+        public void add( long pins, long hits, long faults )
+        {
+            this.pins.add( pins );
+            this.hits.add( hits );
+            this.faults.add( faults );
+        }
+
+        public String tag()
+        {
+            return tag;
+        }
+
+        public long pins()
+        {
+            return pins.sum();
+        }
+
+        public long hits()
+        {
+            return hits.sum();
+        }
+
+        public long faults()
+        {
+            return faults.sum();
+        }
+    }
+}
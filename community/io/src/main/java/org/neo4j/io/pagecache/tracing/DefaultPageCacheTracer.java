@@ -46,11 +46,22 @@ public class DefaultPageCacheTracer implements PageCacheTracer
     protected final LongAdder filesMapped = new LongAdder();
     protected final LongAdder filesUnmapped = new LongAdder();
     protected final LongAdder evictionExceptions = new LongAdder();
+    protected final LongAdder demotions = new LongAdder();
+    protected final LongAdder preFetchHits = new LongAdder();
+    protected final LongAdder preFetchWaste = new LongAdder();
+    protected final LongAdder compressedTierHits = new LongAdder();
+    protected final LongAdder compressedTierEvictions = new LongAdder();
+    protected final LongAdder[] flushRunLengths = newHistogram();
     protected final LongAdder iopqPerformed = new LongAdder();
     protected final LongAdder ioLimitedTimes = new LongAdder();
     protected final LongAdder ioLimitedMillis = new LongAdder();
     protected final AtomicLong maxPages = new AtomicLong();
 
+    /**
+     * The number of buckets in the {@link #flushRunLengthHistogram()}. The last bucket also counts all the runs that are longer than it.
+     */
+    public static final int FLUSH_RUN_LENGTH_BUCKETS = 16;
+
     private final FlushEvent flushEvent = new FlushEvent()
     {
         @Override
@@ -141,6 +152,7 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         public FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush,
                 int mergedPages )
         {
+            flushRunLengths[runLengthBucket( pagesToFlush )].increment();
             return flushEvent;
         }
 
@@ -295,6 +307,47 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         return evictionExceptions.sum();
     }
 
+    @Override
+    public long demotions()
+    {
+        return demotions.sum();
+    }
+
+    @Override
+    public long preFetchHits()
+    {
+        return preFetchHits.sum();
+    }
+
+    @Override
+    public long preFetchWaste()
+    {
+        return preFetchWaste.sum();
+    }
+
+    @Override
+    public long compressedTierHits()
+    {
+        return compressedTierHits.sum();
+    }
+
+    @Override
+    public long compressedTierEvictions()
+    {
+        return compressedTierEvictions.sum();
+    }
+
+    @Override
+    public long[] flushRunLengthHistogram()
+    {
+        long[] histogram = new long[flushRunLengths.length];
+        for ( int i = 0; i < histogram.length; i++ )
+        {
+            histogram[i] = flushRunLengths[i].sum();
+        }
+        return histogram;
+    }
+
     @Override
     public double hitRatio()
     {
@@ -385,6 +438,36 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         this.evictionExceptions.add( evictionExceptions );
     }
 
+    @Override
+    public void demotions( long demotions )
+    {
+        this.demotions.add( demotions );
+    }
+
+    @Override
+    public void preFetchHits( long preFetchHits )
+    {
+        this.preFetchHits.add( preFetchHits );
+    }
+
+    @Override
+    public void preFetchWaste( long preFetchWaste )
+    {
+        this.preFetchWaste.add( preFetchWaste );
+    }
+
+    @Override
+    public void compressedTierHits( long compressedTierHits )
+    {
+        this.compressedTierHits.add( compressedTierHits );
+    }
+
+    @Override
+    public void compressedTierEvictions( long compressedTierEvictions )
+    {
+        this.compressedTierEvictions.add( compressedTierEvictions );
+    }
+
     @Override
     public void bytesWritten( long bytesWritten )
     {
@@ -408,4 +491,20 @@ public class DefaultPageCacheTracer implements PageCacheTracer
     {
         this.maxPages.set( maxPages );
     }
+
+    private static LongAdder[] newHistogram()
+    {
+        LongAdder[] histogram = new LongAdder[FLUSH_RUN_LENGTH_BUCKETS];
+        for ( int i = 0; i < histogram.length; i++ )
+        {
+            histogram[i] = new LongAdder();
+        }
+        return histogram;
+    }
+
+    private static int runLengthBucket( int pages )
+    {
+        int bucket = 31 - Integer.numberOfLeadingZeros( Math.max( 1, pages ) );
+        return Math.min( bucket, FLUSH_RUN_LENGTH_BUCKETS - 1 );
+    }
 }
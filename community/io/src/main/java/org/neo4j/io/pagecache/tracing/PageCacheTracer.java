@@ -148,6 +148,42 @@ public interface PageCacheTracer extends PageCacheCounters
             return 0;
         }
 
+        @Override
+        public long demotions()
+        {
+            return 0;
+        }
+
+        @Override
+        public long preFetchHits()
+        {
+            return 0;
+        }
+
+        @Override
+        public long preFetchWaste()
+        {
+            return 0;
+        }
+
+        @Override
+        public long compressedTierHits()
+        {
+            return 0;
+        }
+
+        @Override
+        public long compressedTierEvictions()
+        {
+            return 0;
+        }
+
+        @Override
+        public long[] flushRunLengthHistogram()
+        {
+            return new long[0];
+        }
+
         @Override
         public double hitRatio()
         {
@@ -213,6 +249,31 @@ public interface PageCacheTracer extends PageCacheCounters
         {
         }
 
+        @Override
+        public void demotions( long demotions )
+        {
+        }
+
+        @Override
+        public void preFetchHits( long preFetchHits )
+        {
+        }
+
+        @Override
+        public void preFetchWaste( long preFetchWaste )
+        {
+        }
+
+        @Override
+        public void compressedTierHits( long compressedTierHits )
+        {
+        }
+
+        @Override
+        public void compressedTierEvictions( long compressedTierEvictions )
+        {
+        }
+
         @Override
         public void bytesWritten( long bytesWritten )
         {
@@ -334,6 +395,36 @@ public interface PageCacheTracer extends PageCacheCounters
      */
     void evictionExceptions( long evictionExceptions );
 
+    /**
+     * Report number of usage counter decrements of frequently used pages, done by the eviction clock
+     * @param demotions number of demotions
+     */
+    void demotions( long demotions );
+
+    /**
+     * Report number of pre-fetched pages that were used by the access pattern they were pre-fetched for
+     * @param preFetchHits number of used pre-fetched pages
+     */
+    void preFetchHits( long preFetchHits );
+
+    /**
+     * Report number of pre-fetched pages that were not used by the access pattern they were pre-fetched for
+     * @param preFetchWaste number of unused pre-fetched pages
+     */
+    void preFetchWaste( long preFetchWaste );
+
+    /**
+     * Report number of page faults that were served from the compressed tier
+     * @param compressedTierHits number of page faults served from the compressed tier
+     */
+    void compressedTierHits( long compressedTierHits );
+
+    /**
+     * Report number of compressed pages that were dropped from the compressed tier without being faulted back in
+     * @param compressedTierEvictions number of dropped compressed pages
+     */
+    void compressedTierEvictions( long compressedTierEvictions );
+
     /**
      * Report number of bytes written
      * @param bytesWritten number of written bytes
@@ -218,6 +218,51 @@ class MemoryAllocatorTest
         UnsafeUtil.getLong( address + ONE_PAGE - Long.BYTES ); // End of allocation.
     }
 
+    @Test
+    void hugePageBackedGrabsMustBeAlignedToHugePages()
+    {
+        MemoryAllocator mman = createAllocator( MebiByte.toBytes( 8 ), true, NumaPlacement.DEFAULT );
+        long address = mman.allocateAligned( 8, 1 );
+        assertThat( address % GrabAllocator.HUGE_PAGE_SIZE ).isEqualTo( 0L );
+
+        // A huge allocation gets its own grab, which must also be aligned.
+        long largeBlock = mman.allocateAligned( MebiByte.toBytes( 64 ), 1 );
+        assertThat( largeBlock % GrabAllocator.HUGE_PAGE_SIZE ).isEqualTo( 0L );
+        UnsafeUtil.putLong( largeBlock, 1 );
+        UnsafeUtil.putLong( largeBlock + MebiByte.toBytes( 64 ) - Long.BYTES, 1 );
+    }
+
+    @Test
+    void hugePageBackedAllocatorMustTrackAndFreeAllMemory()
+    {
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        MemoryAllocator mman = MemoryAllocator.createAllocator( MebiByte.toBytes( 8 ), true, NumaPlacement.DEFAULT, memoryTracker );
+        mman.allocateAligned( PageCache.PAGE_SIZE, PageCache.PAGE_SIZE );
+        assertThat( memoryTracker.usedNativeMemory() ).isGreaterThanOrEqualTo( PageCache.PAGE_SIZE );
+
+        mman.close();
+        assertEquals( 0, memoryTracker.usedNativeMemory() );
+    }
+
+    @Test
+    void allMemoryAllocatedWithNumaPlacementMustBeAccessible()
+    {
+        for ( NumaPlacement numaPlacement : NumaPlacement.values() )
+        {
+            for ( boolean hugePages : new boolean[]{false, true} )
+            {
+                MemoryAllocator mman = createAllocator( MebiByte.toBytes( 4 ), hugePages, numaPlacement );
+                for ( int i = 0; i < 1024; i++ )
+                {
+                    long address = mman.allocateAligned( PageCache.PAGE_SIZE, UnsafeUtil.pageSize() );
+                    assertThat( address % UnsafeUtil.pageSize() ).isEqualTo( 0L );
+                    UnsafeUtil.putLong( address, i );
+                    UnsafeUtil.putLong( address + PageCache.PAGE_SIZE - Long.BYTES, i );
+                }
+            }
+        }
+    }
+
     private void closeAllocator()
     {
         if ( allocator != null )
@@ -233,4 +278,11 @@ class MemoryAllocatorTest
         allocator = MemoryAllocator.createAllocator( expectedMaxMemory, new LocalMemoryTracker() );
         return allocator;
     }
+
+    private MemoryAllocator createAllocator( long expectedMaxMemory, boolean hugePages, NumaPlacement numaPlacement )
+    {
+        closeAllocator();
+        allocator = MemoryAllocator.createAllocator( expectedMaxMemory, hugePages, numaPlacement, new LocalMemoryTracker() );
+        return allocator;
+    }
 }
@@ -63,6 +63,18 @@ public interface Read
     void nodeIndexSeek( IndexReadSession index, NodeValueIndexCursor cursor, IndexQueryConstraints constraints, PropertyIndexQuery... query )
             throws KernelException;
 
+    /**
+     * Seek all nodes matching any one of the provided exact index queries in an index, e.g. for a property being one of many values.
+     * Indexes that support it serve all the queries in one pass through the index, which is cheaper than one {@link #nodeIndexSeek seek} per query.
+     * @param index {@link IndexReadSession} referencing index to query. This must be an index of nodes.
+     * @param cursor the cursor to use for consuming the results, which come in no particular order.
+     * @param constraints The requested constraints on the query result, such as whether the index should fetch property values together with node ids.
+     * The constraints must not require any order.
+     * @param queries Combinations of {@link PropertyIndexQuery.ExactPredicate exact predicates}, each one with a predicate for every property of the index.
+     */
+    void nodeIndexMultiSeek( IndexReadSession index, NodeValueIndexCursor cursor, IndexQueryConstraints constraints,
+            PropertyIndexQuery.ExactPredicate[][] queries ) throws KernelException;
+
     /**
      * Seek all relationships matching the provided index query in an index.
      * @param index {@link IndexReadSession} referencing index to query. This must be an index of relationships.
@@ -126,6 +138,29 @@ public interface Read
     void nodeLabelScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints, TokenPredicate query )
             throws KernelException;
 
+    /**
+     * Scan all nodes in a token index that have all of the given labels. The intersection is computed inside the index.
+     * @param session {@link TokenReadSession} token read session to query.
+     * @param cursor the cursor to use for consuming the results.
+     * @param constraints The requested constraints on the query result, such as the {@link IndexOrder}.
+     *                    The constraints must be satisfiable given the capabilities of the index.
+     * @param queries the labels the nodes must all have, at least one.
+     */
+    void nodeLabelIntersectionScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints, TokenPredicate... queries )
+            throws KernelException;
+
+    /**
+     * Scan all nodes in a token index that have any of the given labels. The union is computed inside the index,
+     * so every matching node is returned once.
+     * @param session {@link TokenReadSession} token read session to query.
+     * @param cursor the cursor to use for consuming the results.
+     * @param constraints The requested constraints on the query result, such as the {@link IndexOrder}.
+     *                    The constraints must be satisfiable given the capabilities of the index.
+     * @param queries the labels the nodes must have at least one of, at least one.
+     */
+    void nodeLabelUnionScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints, TokenPredicate... queries )
+            throws KernelException;
+
     /**
      * Return all nodes in the graph.
      *
@@ -39,6 +39,7 @@ public class BridgingIndexProgressor implements IndexProgressor.EntityValueClien
     // of progressors and each progressor has many results each
     private final Queue<IndexProgressor> progressors = new ConcurrentLinkedQueue<>();
     private IndexProgressor current;
+    private IndexDescriptor descriptor;
 
     public BridgingIndexProgressor( EntityValueClient client, int[] keys )
     {
@@ -88,9 +89,18 @@ public class BridgingIndexProgressor implements IndexProgressor.EntityValueClien
                             boolean indexIncludesTransactionState )
     {
         assertKeysAlign( descriptor.schema().getPropertyIds() );
+        this.descriptor = descriptor;
         progressors.add( progressor );
     }
 
+    /**
+     * @return the descriptor of the index the chained progressors progress through, or {@code null} if no progressor has been chained yet.
+     */
+    public IndexDescriptor descriptor()
+    {
+        return descriptor;
+    }
+
     private void assertKeysAlign( int[] keys )
     {
         for ( int i = 0; i < this.keys.length; i++ )
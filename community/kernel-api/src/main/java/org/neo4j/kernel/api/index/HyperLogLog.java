@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import org.neo4j.hashing.HashFunction;
+import org.neo4j.values.storable.Value;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct 64-bit hashes added to it, using a fixed amount of memory.
+ * With {@value #REGISTERS} registers the standard error of the estimate is around 3%.
+ * <p>
+ * Index samplers that see every value of an index can build a sketch of them, to be handed over with the {@link IndexSample}.
+ * The values added to the index afterwards are then added to the same sketch, hashed the same way with {@link #hash(Value...)}.
+ * <p>
+ * Not thread safe, callers are expected to synchronize.
+ */
+public final class HyperLogLog
+{
+    private static final HashFunction HASH_FUNCTION = HashFunction.incrementalXXH64();
+    private static final int PRECISION = 10;
+    static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * @param hash a well mixed 64-bit hash of the value to add.
+     */
+    public void add( long hash )
+    {
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        // Force a one bit at the end so that the rank never exceeds the number of remaining bits
+        byte rank = (byte) (Long.numberOfLeadingZeros( (hash << PRECISION) | (1L << (PRECISION - 1)) ) + 1);
+        if ( registers[register] < rank )
+        {
+            registers[register] = rank;
+        }
+    }
+
+    public long estimate()
+    {
+        double sum = 0;
+        int zeroRegisters = 0;
+        for ( byte rank : registers )
+        {
+            sum += 1.0 / (1L << rank);
+            if ( rank == 0 )
+            {
+                zeroRegisters++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if ( estimate <= 2.5 * REGISTERS && zeroRegisters > 0 )
+        {
+            // Linear counting is more accurate for small cardinalities
+            estimate = REGISTERS * Math.log( (double) REGISTERS / zeroRegisters );
+        }
+        return Math.round( estimate );
+    }
+
+    /**
+     * @param values the values of one index entry.
+     * @return a well mixed 64-bit hash of the values, to {@link #add(long) add} to a sketch.
+     */
+    public static long hash( Value... values )
+    {
+        // Same seed as Value#hashCode64, so that single values hash the same either way
+        long hash = HASH_FUNCTION.initialise( 1 );
+        for ( Value value : values )
+        {
+            hash = value.updateHash( HASH_FUNCTION, hash );
+        }
+        return HASH_FUNCTION.finalise( hash );
+    }
+}
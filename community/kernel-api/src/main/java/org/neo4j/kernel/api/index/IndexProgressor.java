@@ -24,6 +24,7 @@ import org.eclipse.collections.api.set.primitive.LongSet;
 
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.QueryContext;
 import org.neo4j.internal.kernel.api.TokenSet;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
@@ -90,6 +91,23 @@ public interface IndexProgressor extends AutoCloseable
         void initialize( IndexDescriptor descriptor, IndexProgressor progressor,
                          PropertyIndexQuery[] query, IndexQueryConstraints constraints, boolean indexIncludesTransactionState );
 
+        /**
+         * Setup the client for progressing through the entities matching any one of several exact queries, using the supplied progressor.
+         * The values feed in accept map to the propertyIds of the queries, which all have the same propertyIds. Called by index implementation
+         * serving {@link ValueIndexReader#multiQuery(QueryContext, EntityValueClient, IndexQueryConstraints, PropertyIndexQuery.ExactPredicate[][])}.
+         * @param descriptor The descriptor
+         * @param progressor The progressor, delivering the entities of all the queries in no particular order
+         * @param queries The queries of this progression, at least one
+         * @param constraints Constraints on the produced results, like whether the index should fetch property values together with entity ids.
+         * @param indexIncludesTransactionState {@code true} if the index takes transaction state into account, see
+         * {@link #initialize(IndexDescriptor, IndexProgressor, PropertyIndexQuery[], IndexQueryConstraints, boolean)}.
+         */
+        default void initializeMultiQuery( IndexDescriptor descriptor, IndexProgressor progressor, PropertyIndexQuery.ExactPredicate[][] queries,
+                IndexQueryConstraints constraints, boolean indexIncludesTransactionState )
+        {
+            throw new UnsupportedOperationException( getClass().getSimpleName() + " does not support multi queries" );
+        }
+
         /**
          * Accept the entity id and values of a candidate index entry. Return true if the entry is
          * accepted, false otherwise.
@@ -129,6 +147,19 @@ public interface IndexProgressor extends AutoCloseable
          */
         void initialize( IndexProgressor progressor, int token, LongIterator added, LongSet removed );
 
+        /**
+         * Setup the client for progressing using the supplied progressor, for a query of entities that have all, or any, of several tokens.
+         * The progressor only feeds acceptEntity with entities that match, as far as the index knows. Called by index implementation.
+         * @param progressor The progressor
+         * @param tokens The token ids to query
+         * @param allTokens {@code true} if the entities must have all of the tokens, {@code false} if any of them is enough.
+         * @param order Required order the index should return entity ids in.
+         */
+        default void initialize( IndexProgressor progressor, int[] tokens, boolean allTokens, IndexOrder order )
+        {
+            throw new UnsupportedOperationException( getClass().getSimpleName() + " does not support queries for several tokens" );
+        }
+
         /**
          * Accept the entity id and (some) tokens of a candidate index entry. Return true if the entry
          * is accepted, false otherwise.
@@ -27,6 +27,7 @@ public final class IndexSample
     private final long uniqueValues;
     private final long sampleSize;
     private final long updates;
+    private final HyperLogLog valuesSketch;
 
     public IndexSample()
     {
@@ -39,11 +40,25 @@ public final class IndexSample
     }
 
     public IndexSample( long indexSize, long uniqueValues, long sampleSize, long updates )
+    {
+        this( indexSize, uniqueValues, sampleSize, updates, null );
+    }
+
+    /**
+     * @param valuesSketch a sketch of all the values in the index, or {@code null} if the sampler didn't see all of them.
+     */
+    public IndexSample( long indexSize, long uniqueValues, long sampleSize, HyperLogLog valuesSketch )
+    {
+        this( indexSize, uniqueValues, sampleSize, 0, valuesSketch );
+    }
+
+    private IndexSample( long indexSize, long uniqueValues, long sampleSize, long updates, HyperLogLog valuesSketch )
     {
         this.indexSize = indexSize;
         this.uniqueValues = uniqueValues;
         this.sampleSize = sampleSize;
         this.updates = updates;
+        this.valuesSketch = valuesSketch;
     }
 
     public long indexSize()
@@ -66,6 +81,16 @@ public final class IndexSample
         return updates;
     }
 
+    /**
+     * The sketch is not part of the equality of samples, it only lets the distinct values of the index be estimated as it changes.
+     *
+     * @return a {@link HyperLogLog} sketch of all the values in the index, or {@code null} if there is none.
+     */
+    public HyperLogLog valuesSketch()
+    {
+        return valuesSketch;
+    }
+
     @Override
     public boolean equals( Object o )
     {
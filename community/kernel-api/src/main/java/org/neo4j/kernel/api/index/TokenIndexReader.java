@@ -50,6 +50,19 @@ public interface TokenIndexReader extends IndexReader
     void query( IndexProgressor.EntityTokenClient client,
                 IndexQueryConstraints constraints, TokenPredicate query, EntityRange range, CursorContext cursorContext );
 
+    /**
+     * Queries the entities that have all, or any, of several tokens and coordinates with the supplied {@link IndexProgressor.EntityTokenClient}
+     * to return the results. The tokens are combined inside the index, so entities that do not match are never handed to the client.
+     *
+     * @param client       a handle for the token reader to propagate the queried results.
+     * @param constraints  represents all constraints for this query like ordering, limit etc.
+     * @param queries      the predicates to identify the tokens being queried
+     * @param allTokens    {@code true} to query the entities that have all of the tokens, {@code false} for the entities that have any of them
+     * @param cursorContext underlying page cursor context
+     */
+    void query( IndexProgressor.EntityTokenClient client, IndexQueryConstraints constraints, TokenPredicate[] queries, boolean allTokens,
+                CursorContext cursorContext );
+
     TokenScan entityTokenScan( int tokenId, CursorContext cursorContext );
 
     TokenIndexReader EMPTY = new TokenIndexReader()
@@ -66,6 +79,12 @@ public interface TokenIndexReader extends IndexReader
 
         }
 
+        @Override
+        public void query( IndexProgressor.EntityTokenClient client, IndexQueryConstraints constraints, TokenPredicate[] queries, boolean allTokens,
+                           CursorContext cursorContext )
+        {
+        }
+
         @Override
         public TokenScan entityTokenScan( int tokenId, CursorContext cursorContext )
         {
@@ -20,12 +20,17 @@
 
 package org.neo4j.kernel.api.index;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.kernel.api.QueryContext;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
+import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueTuple;
 
 public interface ValueIndexReader extends IndexReader
 {
@@ -49,6 +54,54 @@ public interface ValueIndexReader extends IndexReader
     void query( QueryContext context, IndexProgressor.EntityValueClient client, IndexQueryConstraints constraints,
                 PropertyIndexQuery... query ) throws IndexNotApplicableKernelException;
 
+    /**
+     * Queries the index for entities matching any one of the given combinations of exact predicates, e.g. for a property being one of
+     * many values. The client is initialized once, through
+     * {@link IndexProgressor.EntityValueClient#initializeMultiQuery(IndexDescriptor, IndexProgressor, PropertyIndexQuery.ExactPredicate[][],
+     * IndexQueryConstraints, boolean) initializeMultiQuery}, with a progressor delivering the entities of all the queries in no particular order.
+     * <p>
+     * This default implementation serves the queries one by one, skipping repeated ones. Implementations which can serve many queries in one pass through the index override it.
+     *
+     * @param client the client which will control the progression though query results.
+     * @param constraints constraints upon the query result, which must be unordered.
+     * @param queries the queries to serve, at least one, each one with an exact predicate for every property of the index.
+     */
+    default void multiQuery( QueryContext context, IndexProgressor.EntityValueClient client, IndexQueryConstraints constraints,
+            PropertyIndexQuery.ExactPredicate[][] queries ) throws IndexNotApplicableKernelException
+    {
+        BridgingIndexProgressor multiProgressor = new BridgingIndexProgressor( client, propertyKeyIds( queries[0] ) );
+        Set<ValueTuple> seenValues = new HashSet<>();
+        for ( PropertyIndexQuery.ExactPredicate[] query : queries )
+        {
+            // Entities of a repeated query would otherwise be delivered once per repetition
+            if ( seenValues.add( values( query ) ) )
+            {
+                query( context, multiProgressor, constraints, query );
+            }
+        }
+        client.initializeMultiQuery( multiProgressor.descriptor(), multiProgressor, queries, constraints, false );
+    }
+
+    private static ValueTuple values( PropertyIndexQuery.ExactPredicate[] query )
+    {
+        Value[] values = new Value[query.length];
+        for ( int i = 0; i < query.length; i++ )
+        {
+            values[i] = query[i].value();
+        }
+        return ValueTuple.of( values );
+    }
+
+    private static int[] propertyKeyIds( PropertyIndexQuery[] query )
+    {
+        int[] propertyKeyIds = new int[query.length];
+        for ( int i = 0; i < query.length; i++ )
+        {
+            propertyKeyIds[i] = query[i].propertyKeyId();
+        }
+        return propertyKeyIds;
+    }
+
     ValueIndexReader EMPTY = new ValueIndexReader()
     {
         // Used for checking index correctness
@@ -71,6 +124,13 @@ public interface ValueIndexReader extends IndexReader
             // do nothing
         }
 
+        @Override
+        public void multiQuery( QueryContext context, IndexProgressor.EntityValueClient client, IndexQueryConstraints constraints,
+                PropertyIndexQuery.ExactPredicate[][] queries )
+        {
+            // do nothing
+        }
+
         @Override
         public void close()
         {
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.neo4j.hashing.HashFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest
+{
+    @ParameterizedTest
+    @ValueSource( ints = {0, 1, 10, 1_000, 10_000, 1_000_000} )
+    void shouldEstimateNumberOfDistinctHashes( int distinct )
+    {
+        // given
+        HashFunction hashFunction = HashFunction.incrementalXXH64();
+        HyperLogLog sketch = new HyperLogLog();
+
+        // when adding every hash twice
+        for ( int round = 0; round < 2; round++ )
+        {
+            for ( long i = 0; i < distinct; i++ )
+            {
+                sketch.add( hashFunction.hashSingleValue( i ) );
+            }
+        }
+
+        // then
+        assertThat( (double) sketch.estimate() ).isCloseTo( distinct, within( Math.max( 1, distinct * 0.1 ) ) );
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.internal.kernel.api.IndexQueryConstraints;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.QueryContext;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.SchemaDescriptor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.values.storable.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unordered;
+import static org.neo4j.internal.kernel.api.PropertyIndexQuery.exact;
+
+class ValueIndexReaderTest
+{
+    private static final IndexDescriptor INDEX = IndexPrototype.forSchema( SchemaDescriptor.forLabel( 1, 2 ) ).withName( "a" ).materialise( 0 );
+
+    @Test
+    void defaultMultiQueryShouldServeEachQuery() throws Exception
+    {
+        // Given
+        NumberIndexReader reader = new NumberIndexReader();
+        CollectingClient client = new CollectingClient();
+
+        // When
+        reader.multiQuery( null, client, unordered( false ), queries( 1, 2, 3 ) );
+
+        // Then
+        assertThat( client.entities() ).containsExactly( 1L, 2L, 3L );
+        assertThat( reader.queries ).hasSize( 3 );
+    }
+
+    @Test
+    void defaultMultiQueryShouldServeRepeatedQueryOnce() throws Exception
+    {
+        // Given
+        NumberIndexReader reader = new NumberIndexReader();
+        CollectingClient client = new CollectingClient();
+
+        // When
+        reader.multiQuery( null, client, unordered( false ), queries( 1, 2, 1, 2.0 ) );
+
+        // Then
+        assertThat( client.entities() ).containsExactly( 1L, 2L );
+        assertThat( reader.queries ).hasSize( 2 );
+    }
+
+    private static PropertyIndexQuery.ExactPredicate[][] queries( Object... values )
+    {
+        PropertyIndexQuery.ExactPredicate[][] queries = new PropertyIndexQuery.ExactPredicate[values.length][];
+        for ( int i = 0; i < values.length; i++ )
+        {
+            queries[i] = new PropertyIndexQuery.ExactPredicate[]{exact( 2, values[i] )};
+        }
+        return queries;
+    }
+
+    /**
+     * Index which holds one entity per numeric value, with the value as its id.
+     */
+    private static class NumberIndexReader implements ValueIndexReader
+    {
+        private final List<PropertyIndexQuery[]> queries = new ArrayList<>();
+
+        @Override
+        public void query( QueryContext context, IndexProgressor.EntityValueClient client, IndexQueryConstraints constraints,
+                PropertyIndexQuery... query )
+        {
+            queries.add( query );
+            long entity = ((Number) ((PropertyIndexQuery.ExactPredicate) query[0]).value().asObject()).longValue();
+            client.initialize( INDEX, new IndexProgressor()
+            {
+                private boolean done;
+
+                @Override
+                public boolean next()
+                {
+                    if ( done )
+                    {
+                        return false;
+                    }
+                    done = true;
+                    return client.acceptEntity( entity, Float.NaN );
+                }
+
+                @Override
+                public void close()
+                {
+                }
+            }, query, constraints, false );
+        }
+
+        @Override
+        public long countIndexedEntities( long entityId, CursorContext cursorContext, int[] propertyKeyIds, Value... propertyValues )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IndexSampler createSampler()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    private static class CollectingClient implements IndexProgressor.EntityValueClient
+    {
+        private final List<Long> entities = new ArrayList<>();
+        private IndexProgressor progressor;
+
+        @Override
+        public void initialize( IndexDescriptor descriptor, IndexProgressor progressor, PropertyIndexQuery[] query, IndexQueryConstraints constraints,
+                boolean indexIncludesTransactionState )
+        {
+            throw new UnsupportedOperationException( "Multi query should initialize the client once, as a multi query" );
+        }
+
+        @Override
+        public void initializeMultiQuery( IndexDescriptor descriptor, IndexProgressor progressor, PropertyIndexQuery.ExactPredicate[][] queries,
+                IndexQueryConstraints constraints, boolean indexIncludesTransactionState )
+        {
+            this.progressor = progressor;
+        }
+
+        @Override
+        public boolean acceptEntity( long reference, float score, Value... values )
+        {
+            entities.add( reference );
+            return true;
+        }
+
+        @Override
+        public boolean needsValues()
+        {
+            return false;
+        }
+
+        List<Long> entities()
+        {
+            while ( progressor.next() )
+            {
+                // the entities are collected by acceptEntity
+            }
+            progressor.close();
+            return entities;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -36,6 +37,7 @@ import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.buffer.IOBufferFactory;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 
 import static java.util.Objects.requireNonNull;
 
@@ -197,6 +199,36 @@ public class DatabasePageCache implements PageCache
             return delegate.getDatabaseName();
         }
 
+        @Override
+        public BitSet residentPages( CursorContext context ) throws IOException
+        {
+            return delegate.residentPages( context );
+        }
+
+        @Override
+        public long loadPages( BitSet pages, IOController ioController, CursorContext context ) throws IOException
+        {
+            return delegate.loadPages( pages, ioController, context );
+        }
+
+        @Override
+        public PagedFileStatistics statistics()
+        {
+            return delegate.statistics();
+        }
+
+        @Override
+        public void markReadStable( long startPageId, long endPageId )
+        {
+            delegate.markReadStable( startPageId, endPageId );
+        }
+
+        @Override
+        public void clearReadStable( long startPageId, long endPageId )
+        {
+            delegate.clearReadStable( startPageId, endPageId );
+        }
+
         @Override
         public boolean equals( Object o )
         {
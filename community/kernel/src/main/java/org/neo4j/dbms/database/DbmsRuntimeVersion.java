@@ -38,9 +38,14 @@ public enum DbmsRuntimeVersion implements ComponentVersion
     /**
      * Dense node locking changes
      */
-    V4_3_D4( 4, DBMS_RUNTIME_COMPONENT, Neo4jVersions.VERSION_43D4, KernelVersion.V4_3_D4 );
+    V4_3_D4( 4, DBMS_RUNTIME_COMPONENT, Neo4jVersions.VERSION_43D4, KernelVersion.V4_3_D4 ),
 
-    public static final DbmsRuntimeVersion LATEST_DBMS_RUNTIME_COMPONENT_VERSION = V4_3_D4;
+    /**
+     * Compressed transaction log commands
+     */
+    V4_3_D5( 5, DBMS_RUNTIME_COMPONENT, Neo4jVersions.VERSION_43D5, KernelVersion.V4_3_D5 );
+
+    public static final DbmsRuntimeVersion LATEST_DBMS_RUNTIME_COMPONENT_VERSION = V4_3_D5;
 
     DbmsRuntimeVersion( int version, String componentName, String description, KernelVersion kernelVersion )
     {
@@ -84,6 +84,8 @@ import org.neo4j.kernel.impl.api.ExternalIdReuseConditionProvider;
 import org.neo4j.kernel.impl.api.KernelImpl;
 import org.neo4j.kernel.impl.api.KernelTransactions;
 import org.neo4j.kernel.impl.api.LeaseService;
+import org.neo4j.kernel.impl.api.NotifyingTransactionCommitProcess;
+import org.neo4j.kernel.impl.api.TransactionCommitNotifier;
 import org.neo4j.kernel.impl.api.TransactionCommitProcess;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.api.index.IndexProviderMap;
@@ -102,6 +104,7 @@ import org.neo4j.kernel.impl.factory.KernelTransactionFactory;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.pagecache.IOControllerService;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
+import org.neo4j.kernel.impl.pagecache.PageCacheWarmer;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.impl.query.TransactionExecutionMonitor;
@@ -498,6 +501,9 @@ public class Database extends LifecycleAdapter
 
             this.checkpointerLifecycle = new CheckpointerLifecycle( transactionLogModule.checkPointer(), databaseHealth, ioController );
 
+            // Warm up the page cache after everything else has mapped its files, but before the database becomes available
+            life.add( new PageCacheWarmer( fs, databasePageCache, scheduler, databaseLayout, databaseConfig, readOnlyDatabaseChecker, clock, pageCacheTracer,
+                    internalLogProvider.getLog( PageCacheWarmer.class ), databaseMonitors.newMonitor( PageCacheWarmer.Monitor.class ) ) );
             life.add( onStart( this::registerUpgradeListener ) );
             life.add( databaseHealth );
             life.add( databaseAvailabilityGuard );
@@ -564,6 +570,7 @@ public class Database extends LifecycleAdapter
                 .withMemoryTracker( otherDatabaseMemoryTracker )
                 .withMonitors( databaseMonitors )
                 .withClock( clock )
+                .withJobScheduler( scheduler )
                 .withCommandReaderFactory( storageEngineFactory.commandReaderFactory() )
                 .build();
     }
@@ -759,7 +766,10 @@ public class Database extends LifecycleAdapter
     {
         AtomicReference<CpuClock> cpuClockRef = setupCpuClockAtomicReference();
 
-        TransactionCommitProcess transactionCommitProcess = commitProcessFactory.create( appender, storageEngine, namedDatabaseId, readOnlyDatabaseChecker );
+        TransactionCommitNotifier commitNotifier = new TransactionCommitNotifier();
+        TransactionCommitProcess transactionCommitProcess = new NotifyingTransactionCommitProcess(
+                commitProcessFactory.create( appender, storageEngine, namedDatabaseId, readOnlyDatabaseChecker ), commitNotifier );
+        databaseDependencies.satisfyDependency( commitNotifier );
 
         /*
          * This is used by explicit indexes and constraint indexes whenever a transaction is to be spawned
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notifies {@link Listener listeners} as soon as transactions have been committed by a {@link TransactionCommitProcess},
+ * i.e. appended to the transaction log, applied to the store and closed. There is one notifier per database.
+ * <p>
+ * Listeners are called on the committing thread, after the transactions have been closed, so they must be quick and must not throw.
+ * Typically they only wake up a thread of their own, which then reads the transactions, see
+ * {@link org.neo4j.kernel.impl.transaction.log.TransactionLogTailer}.
+ */
+public class TransactionCommitNotifier
+{
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener( Listener listener )
+    {
+        listeners.add( listener );
+    }
+
+    public void removeListener( Listener listener )
+    {
+        listeners.remove( listener );
+    }
+
+    void transactionsClosed( long lastTransactionId )
+    {
+        for ( Listener listener : listeners )
+        {
+            listener.transactionsClosed( lastTransactionId );
+        }
+    }
+
+    public interface Listener
+    {
+        /**
+         * Called after a batch of transactions have been closed. Transactions committed concurrently may close out of order,
+         * so transactions before {@code lastTransactionId} are not necessarily closed yet.
+         *
+         * @param lastTransactionId id of the last transaction in the batch.
+         */
+        void transactionsClosed( long lastTransactionId );
+    }
+}
@@ -127,7 +127,7 @@ class IndexProxyCreator
         }
         else
         {
-            return new ValueIndexProxyStrategy( descriptor, indexStatisticsStore, tokenNameLookup );
+            return new ValueIndexProxyStrategy( descriptor, indexStatisticsStore, tokenNameLookup, samplingConfig.incrementalSampling() );
         }
     }
 
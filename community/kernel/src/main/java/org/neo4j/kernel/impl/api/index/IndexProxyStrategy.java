@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.api.index;
 
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsDelta;
 
 /**
  * Representation of an index used by indexing services in this package.
@@ -39,6 +40,14 @@ interface IndexProxyStrategy
 
     void incrementUpdateStatisticsForIndex( long delta );
 
+    /**
+     * @return whether or not the statistics of this index are kept up to date from its updates,
+     * using {@link #incrementStatisticsForIndex(IndexStatisticsDelta)} rather than {@link #incrementUpdateStatisticsForIndex(long)}.
+     */
+    boolean incrementalStatistics();
+
+    void incrementStatisticsForIndex( IndexStatisticsDelta delta );
+
     void replaceStatisticsForIndex( IndexSample sample );
 
     void changeIndexDescriptor( IndexDescriptor descriptor );
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.index;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsDelta;
 
 /**
  * Method {@link #changeIndexDescriptor} allows changing the descriptor.
@@ -60,6 +61,18 @@ class TokenIndexProxyStrategy implements IndexProxyStrategy
 
     }
 
+    @Override
+    public boolean incrementalStatistics()
+    {
+        return false;
+    }
+
+    @Override
+    public void incrementStatisticsForIndex( IndexStatisticsDelta delta )
+    {
+
+    }
+
     @Override
     public void replaceStatisticsForIndex( IndexSample sample )
     {
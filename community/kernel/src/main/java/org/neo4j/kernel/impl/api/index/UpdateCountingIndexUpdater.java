@@ -21,18 +21,21 @@ package org.neo4j.kernel.impl.api.index;
 
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsDelta;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 
 public class UpdateCountingIndexUpdater implements IndexUpdater
 {
     private final IndexProxyStrategy indexProxyStrategy;
     private final IndexUpdater delegate;
+    private final IndexStatisticsDelta statisticsDelta;
     private long updates;
 
     public UpdateCountingIndexUpdater( IndexProxyStrategy indexProxyStrategy, IndexUpdater delegate )
     {
         this.indexProxyStrategy = indexProxyStrategy;
         this.delegate = delegate;
+        this.statisticsDelta = indexProxyStrategy.incrementalStatistics() ? new IndexStatisticsDelta() : null;
     }
 
     @Override
@@ -40,12 +43,23 @@ public class UpdateCountingIndexUpdater implements IndexUpdater
     {
         delegate.process( update );
         updates++;
+        if ( statisticsDelta != null )
+        {
+            statisticsDelta.include( update );
+        }
     }
 
     @Override
     public void close() throws IndexEntryConflictException
     {
         delegate.close();
-        indexProxyStrategy.incrementUpdateStatisticsForIndex( updates );
+        if ( statisticsDelta != null )
+        {
+            indexProxyStrategy.incrementStatisticsForIndex( statisticsDelta );
+        }
+        else
+        {
+            indexProxyStrategy.incrementUpdateStatisticsForIndex( updates );
+        }
     }
 }
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.index;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsDelta;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 
 class ValueIndexProxyStrategy implements IndexProxyStrategy
@@ -29,11 +30,19 @@ class ValueIndexProxyStrategy implements IndexProxyStrategy
     private final IndexDescriptor indexDescriptor;
     private final IndexStatisticsStore statisticsStore;
     private final String indexUserDescription;
+    private final boolean incrementalStatistics;
 
     ValueIndexProxyStrategy( IndexDescriptor indexDescriptor, IndexStatisticsStore statisticsStore, TokenNameLookup tokenNameLookup )
+    {
+        this( indexDescriptor, statisticsStore, tokenNameLookup, false );
+    }
+
+    ValueIndexProxyStrategy( IndexDescriptor indexDescriptor, IndexStatisticsStore statisticsStore, TokenNameLookup tokenNameLookup,
+            boolean incrementalStatistics )
     {
         this.indexDescriptor = indexDescriptor;
         this.statisticsStore = statisticsStore;
+        this.incrementalStatistics = incrementalStatistics;
         indexUserDescription = indexDescriptor.userDescription( tokenNameLookup );
     }
 
@@ -55,6 +64,18 @@ class ValueIndexProxyStrategy implements IndexProxyStrategy
         statisticsStore.incrementIndexUpdates( indexDescriptor.getId(), delta );
     }
 
+    @Override
+    public boolean incrementalStatistics()
+    {
+        return incrementalStatistics;
+    }
+
+    @Override
+    public void incrementStatisticsForIndex( IndexStatisticsDelta delta )
+    {
+        statisticsStore.incrementIndexStatistics( indexDescriptor.getId(), delta );
+    }
+
     @Override
     public void replaceStatisticsForIndex( IndexSample sample )
     {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.stats;
+
+import org.eclipse.collections.api.list.primitive.LongList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import org.neo4j.kernel.api.index.HyperLogLog;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
+
+/**
+ * The effect of a batch of index updates on the statistics of an index, as applied by
+ * {@link IndexStatisticsStore#incrementIndexStatistics(long, IndexStatisticsDelta)}.
+ * It keeps track of the number of added and removed entries and of hashes of the added values, so that the statistics can
+ * be kept up to date from the update stream instead of only by sampling the index.
+ * <p>
+ * Not thread safe, a delta is meant to be filled by a single updater.
+ */
+public final class IndexStatisticsDelta
+{
+    private final MutableLongList addedValueHashes = new LongArrayList();
+    private long updates;
+    private long removedEntries;
+
+    public void include( IndexEntryUpdate<?> update )
+    {
+        updates++;
+        ValueIndexEntryUpdate<?> valueUpdate = (ValueIndexEntryUpdate<?>) update;
+        switch ( update.updateMode() )
+        {
+        case ADDED:
+            addedValueHashes.add( HyperLogLog.hash( valueUpdate.values() ) );
+            break;
+        case CHANGED:
+            removedEntries++;
+            addedValueHashes.add( HyperLogLog.hash( valueUpdate.values() ) );
+            break;
+        case REMOVED:
+            removedEntries++;
+            break;
+        default:
+            throw new IllegalArgumentException( "Unknown update mode " + update.updateMode() );
+        }
+    }
+
+    public long updates()
+    {
+        return updates;
+    }
+
+    long addedEntries()
+    {
+        return addedValueHashes.size();
+    }
+
+    long removedEntries()
+    {
+        return removedEntries;
+    }
+
+    LongList addedValueHashes()
+    {
+        return addedValueHashes;
+    }
+}
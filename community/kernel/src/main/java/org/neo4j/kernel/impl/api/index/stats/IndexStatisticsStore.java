@@ -40,6 +40,7 @@ import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.HyperLogLog;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
@@ -73,6 +74,9 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
     // Let IndexStatisticsValue be immutable in this map so that checkpoint doesn't have to coordinate with concurrent writers
     // It's assumed that the data in this map will be so small that everything can just be in it always.
     private final ConcurrentHashMap<Long,ImmutableIndexStatistics> cache = new ConcurrentHashMap<>();
+    // Sketches of the values of each index that was last sampled by a sampler that sees all values, see incrementIndexStatistics.
+    // These are only kept in memory, after a restart the statistics are only kept up to date the regular way until the next such sample.
+    private final ConcurrentHashMap<Long,IncrementalStatistics> incrementalStatistics = new ConcurrentHashMap<>();
 
     public IndexStatisticsStore( PageCache pageCache, Path path, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
             DatabaseReadOnlyChecker readOnlyChecker, String databaseName, PageCacheTracer pageCacheTracer )
@@ -120,12 +124,27 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
 
     public void replaceStats( long indexId, IndexSample sample )
     {
-        cache.put( indexId, new ImmutableIndexStatistics( sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize() ) );
+        cache.compute( indexId, ( id, existing ) ->
+        {
+            if ( sample.valuesSketch() != null )
+            {
+                incrementalStatistics.put( id, new IncrementalStatistics( sample.valuesSketch() ) );
+            }
+            else
+            {
+                incrementalStatistics.remove( id );
+            }
+            return new ImmutableIndexStatistics( sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize() );
+        } );
     }
 
     public void removeIndex( long indexId )
     {
-        cache.remove( indexId );
+        cache.compute( indexId, ( id, existing ) ->
+        {
+            incrementalStatistics.remove( id );
+            return null;
+        } );
     }
 
     public void incrementIndexUpdates( long indexId, long delta )
@@ -134,6 +153,28 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
                 new ImmutableIndexStatistics( existing.sampleUniqueValues, existing.sampleSize, existing.updatesCount + delta, existing.indexSize ) );
     }
 
+    /**
+     * Applies a batch of updates to the statistics of an index, keeping the index size up to date without sampling the index.
+     * <p>
+     * If the index was last sampled with a {@link IndexSample#valuesSketch() sketch} of all its values, the number of distinct values
+     * is kept up to date as well, see {@link IncrementalStatistics}. Only removed entries are then counted as updates, since those are what
+     * makes the estimate drift. A full sample is thereby still triggered by workloads that remove or change a lot of entries, but no longer
+     * by indexes that just grow. Otherwise the sampled distinct values are kept, and every update counts, just like with regular sampling.
+     */
+    public void incrementIndexStatistics( long indexId, IndexStatisticsDelta delta )
+    {
+        cache.computeIfPresent( indexId, ( id, existing ) ->
+        {
+            IncrementalStatistics statistics = incrementalStatistics.get( id );
+            if ( statistics != null )
+            {
+                return statistics.apply( existing, delta );
+            }
+            long indexSize = Math.max( 0, existing.indexSize + delta.addedEntries() - delta.removedEntries() );
+            return new ImmutableIndexStatistics( existing.sampleUniqueValues, existing.sampleSize, existing.updatesCount + delta.updates(), indexSize );
+        } );
+    }
+
     @Override
     public void visit( IndexStatisticsVisitor visitor, CursorContext cursorContext )
     {
@@ -231,6 +272,31 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
         }
     }
 
+    /**
+     * Estimates the number of distinct values in an index with a {@link HyperLogLog} sketch of all the values it had when it was sampled,
+     * to which all values added since are added as well. Values that are added again, whether they were already in the index or added
+     * earlier, are thereby not counted twice, regardless of how many distinct values the index has. A sketch cannot forget the values
+     * of removed entries, but there can never be more distinct values than entries, which keeps the estimate of a unique index exact
+     * as entries are removed. Indexes with lots of removed values are resampled, see {@link #incrementIndexStatistics}.
+     */
+    private static class IncrementalStatistics
+    {
+        private final HyperLogLog values;
+
+        IncrementalStatistics( HyperLogLog sampledValues )
+        {
+            this.values = sampledValues;
+        }
+
+        ImmutableIndexStatistics apply( ImmutableIndexStatistics existing, IndexStatisticsDelta delta )
+        {
+            delta.addedValueHashes().forEach( values::add );
+            long indexSize = Math.max( 0, existing.indexSize + delta.addedEntries() - delta.removedEntries() );
+            long distinctValues = Math.min( Math.max( values.estimate(), indexSize > 0 ? 1 : 0 ), indexSize );
+            return new ImmutableIndexStatistics( distinctValues, indexSize, existing.updatesCount + delta.removedEntries(), indexSize );
+        }
+    }
+
     private static class ImmutableIndexStatistics
     {
         private final long sampleUniqueValues;
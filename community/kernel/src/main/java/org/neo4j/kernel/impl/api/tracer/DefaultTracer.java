@@ -45,6 +45,7 @@ public class DefaultTracer implements DatabaseTracer
     private final AtomicLong appendedBytes = new AtomicLong();
 
     private final CountingLogRotateEvent countingLogRotateEvent = new CountingLogRotateEvent();
+    private final CountingLogForceEvent countingLogForceEvent = new CountingLogForceEvent();
     private final LogFileCreateEvent logFileCreateEvent = () -> appendedBytes.addAndGet( CURRENT_FORMAT_LOG_HEADER_SIZE );
     private final CountingLogCheckPointEvent logCheckPointEvent = new CountingLogCheckPointEvent( this::appendLogBytes, countingLogRotateEvent );
     private final LogAppendEvent logAppendEvent = new DefaultLogAppendEvent();
@@ -86,6 +87,30 @@ public class DefaultTracer implements DatabaseTracer
         return countingLogRotateEvent.lastLogRotationTimeMillis();
     }
 
+    @Override
+    public long numberOfLogForces()
+    {
+        return countingLogForceEvent.numberOfLogForces();
+    }
+
+    @Override
+    public long logForcedAppends()
+    {
+        return countingLogForceEvent.logForcedAppends();
+    }
+
+    @Override
+    public long logForceAccumulatedTotalTimeMicros()
+    {
+        return countingLogForceEvent.logForceAccumulatedTotalTimeMicros();
+    }
+
+    @Override
+    public long lastLogForceTimeMicros()
+    {
+        return countingLogForceEvent.lastLogForceTimeMicros();
+    }
+
     @Override
     public long numberOfCheckPoints()
     {
@@ -125,6 +150,12 @@ public class DefaultTracer implements DatabaseTracer
         return logFileCreateEvent;
     }
 
+    @Override
+    public LogForceEvent beginLogForce()
+    {
+        return countingLogForceEvent;
+    }
+
     private class DefaultTransactionEvent implements TransactionEvent
     {
 
@@ -220,7 +251,7 @@ public class DefaultTracer implements DatabaseTracer
         @Override
         public LogForceEvent beginLogForce()
         {
-            return LogForceEvent.NULL;
+            return countingLogForceEvent;
         }
     }
 }
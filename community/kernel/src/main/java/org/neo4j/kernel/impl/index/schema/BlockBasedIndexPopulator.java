@@ -35,6 +35,8 @@ import java.util.stream.Collectors;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.BulkLoader;
+import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.internal.helpers.Exceptions;
@@ -403,7 +405,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
         }
 
         // Merge the (sorted) scan updates from all the different threads in pairs until only one stream remain,
-        // and direct that stream towards the tree writer (which itself is only single threaded)
+        // and bulk load the tree bottom-up from that stream
         try ( var readBuffers = new CompositeBuffer();
               var singleBlockScopedBuffer = allocator.allocate( (int) kibiBytes( 8 ), memoryTracker ) )
         {
@@ -425,11 +427,12 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
             Comparator<KEY> samplingComparator = descriptor.isUnique() ? null : layout::compareValue;
             try ( var merger = new PartMerger<>( populationWorkScheduler, parts, layout, samplingComparator, cancellation, PartMerger.DEFAULT_BATCH_SIZE );
                   var allEntries = merger.startMerge();
-                  var writer = tree.writer( 1, cursorContext ) )
+                  var bulkLoader = tree.bulkLoader( 1, cursorContext ) )
             {
+                KEY previousKey = null;
                 while ( allEntries.next() && !cancellation.cancelled() )
                 {
-                    writeToTree( writer, recordingConflictDetector, allEntries.key(), allEntries.value() );
+                    previousKey = bulkLoadToTree( bulkLoader, recordingConflictDetector, previousKey, allEntries.key(), allEntries.value() );
                     numberOfAppliedScanUpdates.incrementAndGet();
                 }
                 return descriptor.isUnique() ? null : allEntries.buildIndexSample();
@@ -599,6 +602,33 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
         return builder.build();
     }
 
+    /**
+     * Add key and value to the {@link GBPTree#bulkLoader(double, CursorContext) bulk loaded} tree and record duplicates if any.
+     * The keys come sorted by value and entity id, which means that conflicting keys of a unique index come right after each other.
+     * A key which is exactly the same as the previous key is only added once.
+     *
+     * @return the previous key for the next call, i.e. a copy of the given key.
+     */
+    private KEY bulkLoadToTree( BulkLoader<KEY,VALUE> bulkLoader, RecordingConflictDetector<KEY,VALUE> recordingConflictDetector, KEY previousKey,
+            KEY key, VALUE value )
+    {
+        key.setCompareId( true );
+        if ( previousKey == null )
+        {
+            previousKey = layout.newKey();
+        }
+        else if ( layout.compare( previousKey, key ) == 0 )
+        {
+            return previousKey;
+        }
+        else if ( descriptor.isUnique() && layout.compareValue( previousKey, key ) == 0 )
+        {
+            recordingConflictDetector.reportConflict( previousKey, key );
+        }
+        bulkLoader.add( key, value );
+        return layout.copyKey( key, previousKey );
+    }
+
     /**
      * Write key and value to tree and record duplicates if any.
      */
@@ -718,6 +748,14 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
             }
         }
 
+        /**
+         * Reports a conflict between two keys that never met in a {@link #merge(NativeIndexKey, NativeIndexKey, NativeIndexValue, NativeIndexValue) merge}.
+         */
+        void reportConflict( KEY existingKey, KEY addedKey )
+        {
+            doReportConflict( existingKey.getEntityId(), addedKey.getEntityId(), addedKey );
+        }
+
         IndexKeyStorage.KeyEntryCursor<KEY> allConflicts() throws IOException
         {
             allConflictingKeys.doneAdding();
@@ -72,6 +72,34 @@ public class DefaultTokenIndexReader implements TokenIndexReader
         }
     }
 
+    @Override
+    public void query( IndexProgressor.EntityTokenClient client, IndexQueryConstraints constraints, TokenPredicate[] queries, boolean allTokens,
+            CursorContext cursorContext )
+    {
+        final IndexOrder order = constraints.order();
+        final boolean descending = order == IndexOrder.DESCENDING;
+        int[] tokenIds = new int[queries.length];
+        for ( int i = 0; i < queries.length; i++ )
+        {
+            tokenIds[i] = queries[i].tokenId();
+        }
+        long fromRange = rangeOf( descending ? EntityRange.FULL.toExclusive : EntityRange.FULL.fromInclusive );
+        long toRange = rangeOf( descending ? EntityRange.FULL.fromInclusive : EntityRange.FULL.toExclusive );
+        Seeker<TokenScanKey,TokenScanValue> seeker;
+        try
+        {
+            seeker = new MultiTokenScanSeeker( tokenIds, fromRange,
+                    ( tokenId, from ) -> index.seek( new TokenScanKey( tokenId, from ), new TokenScanKey( tokenId, toRange ), cursorContext ),
+                    allTokens, descending );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        IndexProgressor progressor = new TokenScanValueIndexProgressor( seeker, client, order, EntityRange.FULL );
+        client.initialize( progressor, tokenIds, allTokens, order );
+    }
+
     @Override
     public TokenScan entityTokenScan( int tokenId, CursorContext cursorContext )
     {
@@ -25,11 +25,13 @@ import java.io.UncheckedIOException;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.HyperLogLog;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link #sample(CursorContext)}.
+ * Since it sees every value, the sample also gets a {@link HyperLogLog sketch} of the distinct values in the index.
  *
  * @param <KEY> type of keys in tree.
  * @param <VALUE> type of values in tree.
@@ -60,6 +62,7 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>, VALUE exten
         {
             long sampledValues = 0;
             long uniqueValues = 0;
+            HyperLogLog valuesSketch = new HyperLogLog();
 
             // Get the first one so that prev gets initialized
             if ( seek.next() )
@@ -67,6 +70,7 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>, VALUE exten
                 prev = layout.copyKey( seek.key(), prev );
                 sampledValues++;
                 uniqueValues++;
+                valuesSketch.add( HyperLogLog.hash( prev.asValues() ) );
 
                 // Then do the rest
                 while ( seek.next() )
@@ -75,12 +79,13 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>, VALUE exten
                     {
                         uniqueValues++;
                         layout.copyKey( seek.key(), prev );
+                        valuesSketch.add( HyperLogLog.hash( prev.asValues() ) );
                     }
                     // else this is a duplicate of the previous one
                     sampledValues++;
                 }
             }
-            return new IndexSample( sampledValues, uniqueValues, sampledValues );
+            return new IndexSample( sampledValues, uniqueValues, sampledValues, valuesSketch );
         }
         catch ( IOException e )
         {
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.io.IOUtils;
+
+/**
+ * {@link Seeker} over the {@link TokenScanValue bit sets} of several tokens that combines the bit sets of each range into one.
+ * <p>
+ * An intersection only returns the ranges where every token has a bit set, and the bits that every token has set.
+ * A union returns every range where any token has a bit set, and the bits that any token has set.
+ * This way the entities that have all, or any, of the tokens are found 64 at a time inside the index.
+ * <p>
+ * This works on the token index format as it is, where every range covers {@link TokenScanValue#RANGE_SIZE} entities with one uncompressed bit set.
+ * It does not make the index any smaller. An intersection steps a token that lags a little behind the others through its next ranges,
+ * but a token that lags further behind than {@link #RESEEK_DISTANCE} ranges is sought again from the range it needs to catch up with,
+ * so the ranges in between are jumped over rather than read.
+ * <p>
+ * The seekers of the tokens all seek in the same direction.
+ */
+class MultiTokenScanSeeker implements Seeker<TokenScanKey,TokenScanValue>
+{
+    /**
+     * Number of ranges a lagging seeker must be behind for an intersection to seek it again, rather than stepping it forward.
+     * Seeking again goes down the tree from the root, which costs about as much as stepping through a handful of ranges in a leaf.
+     */
+    static final int RESEEK_DISTANCE = 16;
+
+    private final int[] tokenIds;
+    private final SeekerFactory seekerFactory;
+    private final Seeker<TokenScanKey,TokenScanValue>[] seekers;
+    private final boolean intersection;
+    private final boolean descending;
+    private final boolean[] hasEntry;
+    private final TokenScanKey key = new TokenScanKey();
+    private final TokenScanValue value = new TokenScanValue();
+    private boolean initialized;
+
+    /**
+     * Opens a seeker for a token.
+     */
+    @FunctionalInterface
+    interface SeekerFactory
+    {
+        /**
+         * @param tokenId the token to seek the ranges of.
+         * @param fromRange the range to start seeking from, inclusive, in the direction of the seek.
+         * @return a seeker over the ranges of the token from {@code fromRange} to the end of the seek.
+         */
+        Seeker<TokenScanKey,TokenScanValue> seek( int tokenId, long fromRange ) throws IOException;
+    }
+
+    /**
+     * @param tokenIds the tokens to combine. The keys this seeker returns have the first of them as token id.
+     * @param fromRange the range to start seeking from, inclusive.
+     * @param seekerFactory opens the seekers of the tokens, up front and again when an intersection skips ahead.
+     * @param intersection {@code true} for an intersection of the tokens, {@code false} for a union.
+     * @param descending whether or not the seekers seek from higher to lower ranges.
+     */
+    @SuppressWarnings( "unchecked" )
+    MultiTokenScanSeeker( int[] tokenIds, long fromRange, SeekerFactory seekerFactory, boolean intersection, boolean descending ) throws IOException
+    {
+        this.tokenIds = tokenIds;
+        this.seekerFactory = seekerFactory;
+        this.seekers = new Seeker[tokenIds.length];
+        this.intersection = intersection;
+        this.descending = descending;
+        this.hasEntry = new boolean[tokenIds.length];
+        try
+        {
+            for ( int i = 0; i < tokenIds.length; i++ )
+            {
+                seekers[i] = seekerFactory.seek( tokenIds[i], fromRange );
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            IOUtils.closeAllSilently( seekers );
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean next() throws IOException
+    {
+        if ( !initialized )
+        {
+            for ( int i = 0; i < seekers.length; i++ )
+            {
+                hasEntry[i] = seekers[i].next();
+            }
+            initialized = true;
+        }
+        return intersection ? nextIntersection() : nextUnion();
+    }
+
+    private boolean nextIntersection() throws IOException
+    {
+        while ( true )
+        {
+            // The range to look at next is the one furthest ahead, since every token must have it
+            long target = 0;
+            for ( int i = 0; i < seekers.length; i++ )
+            {
+                if ( !hasEntry[i] )
+                {
+                    return false;
+                }
+                long range = seekers[i].key().idRange;
+                if ( i == 0 || isBefore( target, range ) )
+                {
+                    target = range;
+                }
+            }
+
+            // Move the seekers that are behind up to that range
+            boolean aligned = true;
+            for ( int i = 0; i < seekers.length; i++ )
+            {
+                if ( !skipTo( i, target ) )
+                {
+                    return false;
+                }
+                aligned &= seekers[i].key().idRange == target;
+            }
+            if ( !aligned )
+            {
+                continue;
+            }
+
+            long bits = -1L;
+            for ( int i = 0; i < seekers.length; i++ )
+            {
+                bits &= seekers[i].value().bits;
+                hasEntry[i] = seekers[i].next();
+            }
+            if ( bits != 0 )
+            {
+                return setCurrent( target, bits );
+            }
+        }
+    }
+
+    /**
+     * Moves seeker {@code i} to the first of its ranges at or after {@code target}.
+     *
+     * @return {@code false} if the seeker ran out of ranges before reaching {@code target}, otherwise {@code true}.
+     */
+    private boolean skipTo( int i, long target ) throws IOException
+    {
+        long range = seekers[i].key().idRange;
+        if ( !isBefore( range, target ) )
+        {
+            return true;
+        }
+        if ( Math.abs( target - range ) > RESEEK_DISTANCE )
+        {
+            Seeker<TokenScanKey,TokenScanValue> seeker = seekerFactory.seek( tokenIds[i], target );
+            seekers[i].close();
+            seekers[i] = seeker;
+            hasEntry[i] = seeker.next();
+            return hasEntry[i];
+        }
+        do
+        {
+            if ( !seekers[i].next() )
+            {
+                hasEntry[i] = false;
+                return false;
+            }
+        }
+        while ( isBefore( seekers[i].key().idRange, target ) );
+        return true;
+    }
+
+    private boolean nextUnion() throws IOException
+    {
+        // The range to look at next is the one closest behind, since any token can have it
+        boolean found = false;
+        long target = 0;
+        for ( int i = 0; i < seekers.length; i++ )
+        {
+            if ( hasEntry[i] )
+            {
+                long range = seekers[i].key().idRange;
+                if ( !found || isBefore( range, target ) )
+                {
+                    target = range;
+                    found = true;
+                }
+            }
+        }
+        if ( !found )
+        {
+            return false;
+        }
+
+        long bits = 0;
+        for ( int i = 0; i < seekers.length; i++ )
+        {
+            if ( hasEntry[i] && seekers[i].key().idRange == target )
+            {
+                bits |= seekers[i].value().bits;
+                hasEntry[i] = seekers[i].next();
+            }
+        }
+        return setCurrent( target, bits );
+    }
+
+    private boolean setCurrent( long idRange, long bits )
+    {
+        key.set( tokenIds[0], idRange );
+        value.bits = bits;
+        return true;
+    }
+
+    /**
+     * @return whether or not {@code range} comes before {@code other} in the direction of this seek.
+     */
+    private boolean isBefore( long range, long other )
+    {
+        return descending ? range > other : range < other;
+    }
+
+    @Override
+    public TokenScanKey key()
+    {
+        return key;
+    }
+
+    @Override
+    public TokenScanValue value()
+    {
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        IOUtils.closeAll( seekers );
+    }
+}
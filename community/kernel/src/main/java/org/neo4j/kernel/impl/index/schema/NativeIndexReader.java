@@ -19,14 +19,19 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import org.apache.commons.lang3.tuple.Pair;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.kernel.api.QueryContext;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
@@ -132,6 +137,62 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         startSeekForInitializedRange( cursor, treeKeyFrom, treeKeyTo, predicates, constraints, needFilter, context.cursorContext() );
     }
 
+    /**
+     * Serves all the queries with one {@link GBPTree#multiSeek(List, List, CursorContext) multi seek} through the tree, with the key ranges of the
+     * queries sorted, instead of one seek from the root per query. Falls back to one seek per query if any of them needs filtering.
+     */
+    @Override
+    public void multiQuery( QueryContext context, IndexProgressor.EntityValueClient client, IndexQueryConstraints constraints,
+            PropertyIndexQuery.ExactPredicate[][] queries ) throws IndexNotApplicableKernelException
+    {
+        List<Pair<KEY,KEY>> ranges = new ArrayList<>( queries.length );
+        for ( PropertyIndexQuery.ExactPredicate[] query : queries )
+        {
+            validateQuery( constraints, query );
+
+            KEY treeKeyFrom = layout.newKey();
+            KEY treeKeyTo = layout.newKey();
+            initializeFromToKeys( treeKeyFrom, treeKeyTo );
+            if ( initializeRangeForQuery( treeKeyFrom, treeKeyTo, query ) )
+            {
+                ValueIndexReader.super.multiQuery( context, client, constraints, queries );
+                return;
+            }
+            if ( !isEmptyRange( treeKeyFrom, treeKeyTo ) )
+            {
+                ranges.add( Pair.of( treeKeyFrom, treeKeyTo ) );
+            }
+        }
+
+        // Equal values, like 1 and 1.0, end up as equal key ranges and are sought once
+        ranges.sort( ( a, b ) -> layout.compare( a.getLeft(), b.getLeft() ) );
+        List<KEY> treeKeysFrom = new ArrayList<>( ranges.size() );
+        List<KEY> treeKeysTo = new ArrayList<>( ranges.size() );
+        for ( Pair<KEY,KEY> range : ranges )
+        {
+            if ( treeKeysFrom.isEmpty() || layout.compare( treeKeysFrom.get( treeKeysFrom.size() - 1 ), range.getLeft() ) != 0 )
+            {
+                treeKeysFrom.add( range.getLeft() );
+                treeKeysTo.add( range.getRight() );
+            }
+        }
+
+        if ( treeKeysFrom.isEmpty() )
+        {
+            client.initializeMultiQuery( descriptor, IndexProgressor.EMPTY, queries, constraints, false );
+            return;
+        }
+        try
+        {
+            Seeker<KEY,VALUE> seeker = tree.multiSeek( treeKeysFrom, treeKeysTo, context.cursorContext() );
+            client.initializeMultiQuery( descriptor, new NativeHitIndexProgressor<>( seeker, client ), queries, constraints, false );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     void initializeFromToKeys( KEY treeKeyFrom, KEY treeKeyTo )
     {
         treeKeyFrom.initialize( Long.MIN_VALUE );
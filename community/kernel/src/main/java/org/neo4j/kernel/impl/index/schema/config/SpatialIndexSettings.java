@@ -25,6 +25,8 @@ import org.neo4j.configuration.Internal;
 import org.neo4j.configuration.SettingsDeclaration;
 import org.neo4j.graphdb.config.Setting;
 
+import static org.neo4j.configuration.SettingConstraints.min;
+import static org.neo4j.configuration.SettingConstraints.range;
 import static org.neo4j.configuration.SettingImpl.newBuilder;
 import static org.neo4j.configuration.SettingValueParsers.DOUBLE;
 import static org.neo4j.configuration.SettingValueParsers.INT;
@@ -73,4 +75,20 @@ public class SpatialIndexSettings implements SettingsDeclaration
     @Internal
     public static final Setting<Double> space_filling_curve_bottom_threshold =
             newBuilder( "unsupported.dbms.index.spatial.curve.bottom_threshold", DOUBLE, 0.0 ).build();
+
+    @Description( "When searching the spatial index we need to convert a 2D range in the quad tree into a set of 1D ranges on the " +
+            "underlying 1D space filling curve index. Tiles at the maximum depth that only partially overlap the search area give false " +
+            "positives, which have to be filtered out. This setting allows the algorithm to search up to this many levels deeper, but only " +
+            "for tiles where the fraction of the tile outside of the search area is more than `max_false_positive_fraction`. " +
+            "This adapts the depth to the shape of the search area, reducing false positives along its edges without multiplying the number " +
+            "of 1D ranges across the whole search area. Setting this value to zero turns off this feature." )
+    @Internal
+    public static final Setting<Integer> space_filling_curve_adaptive_levels =
+            newBuilder( "unsupported.dbms.index.spatial.curve.adaptive_levels", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Description( "The fraction of a tile outside of the search area above which the spatial index search keeps splitting the tile, " +
+            "when `adaptive_levels` is enabled." )
+    @Internal
+    public static final Setting<Double> space_filling_curve_max_false_positive_fraction =
+            newBuilder( "unsupported.dbms.index.spatial.curve.max_false_positive_fraction", DOUBLE, 0.25 ).addConstraint( range( 0.0, 1.0 ) ).build();
 }
@@ -21,7 +21,10 @@ package org.neo4j.kernel.impl.newapi;
 
 import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import org.neo4j.internal.kernel.api.KernelReadTracer;
@@ -71,30 +74,18 @@ abstract class DefaultEntityTokenIndexCursor<SELF extends DefaultEntityTokenInde
     abstract boolean allowedToSeeAllEntitiesWithToken( AccessMode accessMode, int token );
     abstract boolean allowedToSeeEntity( AccessMode accessMode, long entityReference, TokenSet tokens );
 
+    /**
+     * @return the given entities that, as seen by this transaction, exist and have all, or any, of the given tokens.
+     */
+    abstract LongSet withTokensInTxState( LongSet entities, int[] tokens, boolean allTokens );
+
     @Override
     public void initialize( IndexProgressor progressor, int token, IndexOrder order )
     {
         initialize( progressor );
         if ( read.hasTxStateWithChanges() )
         {
-            LongSet frozenAdded = createAddedInTxState( read.txState(), token );
-            switch ( order )
-            {
-            case NONE:
-                useMergeSort = false;
-                added = frozenAdded.longIterator();
-                break;
-            case ASCENDING:
-            case DESCENDING:
-                useMergeSort = true;
-                sortedMergeJoin.initialize( order );
-                long[] addedSortedArray = frozenAdded.toSortedArray();
-                added = DESCENDING == order ? reverseIterator( addedSortedArray ) : iterator( addedSortedArray );
-                break;
-            default:
-                throw new IllegalArgumentException( "Unsupported index order:" + order );
-            }
-            removed = createDeletedInTxState( read.txState(), token );
+            initializeTxState( createAddedInTxState( read.txState(), token ), createDeletedInTxState( read.txState(), token ), order );
         }
         else
         {
@@ -108,6 +99,59 @@ abstract class DefaultEntityTokenIndexCursor<SELF extends DefaultEntityTokenInde
         initSecurity( token );
     }
 
+    @Override
+    public void initialize( IndexProgressor progressor, int[] tokens, boolean allTokens, IndexOrder order )
+    {
+        initialize( progressor );
+        if ( read.hasTxStateWithChanges() )
+        {
+            // Entities that got or lost any of the tokens in this transaction are left out of the index results
+            // and are instead checked against the transaction state.
+            TransactionState txState = read.txState();
+            MutableLongSet changed = new LongHashSet();
+            for ( int token : tokens )
+            {
+                changed.addAll( createAddedInTxState( txState, token ) );
+                changed.addAll( createDeletedInTxState( txState, token ) );
+            }
+            initializeTxState( withTokensInTxState( changed, tokens, allTokens ), changed, order );
+        }
+        else
+        {
+            useMergeSort = false;
+        }
+
+        if ( tracer != null )
+        {
+            for ( int token : tokens )
+            {
+                traceScan( tracer, token );
+            }
+        }
+        initSecurity( tokens, allTokens );
+    }
+
+    private void initializeTxState( LongSet frozenAdded, LongSet removed, IndexOrder order )
+    {
+        switch ( order )
+        {
+        case NONE:
+            useMergeSort = false;
+            added = frozenAdded.longIterator();
+            break;
+        case ASCENDING:
+        case DESCENDING:
+            useMergeSort = true;
+            sortedMergeJoin.initialize( order );
+            long[] addedSortedArray = frozenAdded.toSortedArray();
+            added = DESCENDING == order ? reverseIterator( addedSortedArray ) : iterator( addedSortedArray );
+            break;
+        default:
+            throw new IllegalArgumentException( "Unsupported index order:" + order );
+        }
+        this.removed = removed;
+    }
+
     @Override
     public void initialize( IndexProgressor progressor, int token, LongIterator added, LongSet removed )
     {
@@ -140,6 +184,18 @@ abstract class DefaultEntityTokenIndexCursor<SELF extends DefaultEntityTokenInde
         shortcutSecurity = allowedToSeeAllEntitiesWithToken( accessMode, token );
     }
 
+    private void initSecurity( int[] tokens, boolean allTokens )
+    {
+        if ( accessMode == null )
+        {
+            accessMode = read.ktx.securityContext().mode();
+        }
+        // Entities that have all the tokens can all be seen if that is true for any one of the tokens,
+        // while entities that have any of the tokens can all be seen only if that is true for every token.
+        shortcutSecurity = allTokens ? Arrays.stream( tokens ).anyMatch( token -> allowedToSeeAllEntitiesWithToken( accessMode, token ) )
+                                     : Arrays.stream( tokens ).allMatch( token -> allowedToSeeAllEntitiesWithToken( accessMode, token ) );
+    }
+
     boolean allowed( long reference, TokenSet tokens )
     {
         if ( shortcutSecurity )
@@ -20,9 +20,12 @@
 package org.neo4j.kernel.impl.newapi;
 
 import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
 import org.eclipse.collections.api.set.primitive.ImmutableLongSet;
 import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.api.tuple.primitive.LongObjectPair;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.eclipse.collections.impl.factory.primitive.LongSets;
 import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
 import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
@@ -31,8 +34,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.neo4j.collection.trackable.HeapTrackingArrayList;
 import org.neo4j.graphdb.Resource;
@@ -194,6 +199,34 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         }
     }
 
+    @Override
+    public final void initializeMultiQuery( IndexDescriptor descriptor,
+            IndexProgressor progressor,
+            PropertyIndexQuery.ExactPredicate[][] queries,
+            IndexQueryConstraints constraints,
+            boolean indexIncludesTransactionState )
+    {
+        assert queries != null && queries.length > 0;
+        super.initialize( progressor );
+        this.indexOrder = IndexOrder.NONE;
+        this.needsValues = constraints.needsValues();
+        sortedMergeJoin.initialize( indexOrder );
+
+        this.query = queries[0];
+
+        if ( tracer != null )
+        {
+            tracer.onIndexSeek( );
+        }
+
+        shortcutSecurity = setupSecurity( descriptor );
+
+        if ( !indexIncludesTransactionState && read.hasTxStateWithChanges() )
+        {
+            multiSeekQuery( descriptor, queries );
+        }
+    }
+
     /**
      * If we require order, we can only do the merge sort if we also get values.
      * This implicitly relies on the fact that if we can get order, we can also get values.
@@ -606,6 +639,56 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         }
     }
 
+    private void multiSeekQuery( IndexDescriptor descriptor, PropertyIndexQuery.ExactPredicate[][] queries )
+    {
+        TransactionState txState = read.txState();
+
+        // An entity has at most one entry in the index, so the changes for distinct values don't overlap
+        Set<ValueTuple> distinctValues = new HashSet<>();
+        MutableLongSet removedFromIndex = LongSets.mutable.empty();
+        if ( needsValues )
+        {
+            List<EntityWithPropertyValues> allAdded = new ArrayList<>();
+            for ( PropertyIndexQuery.ExactPredicate[] query : queries )
+            {
+                ValueTuple values = exactValues( query );
+                if ( distinctValues.add( values ) )
+                {
+                    AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForSeek( txState, descriptor, values );
+                    changes.getAdded().forEach( allAdded::add );
+                    removedFromIndex.addAll( changes.getRemoved() );
+                }
+            }
+            addedWithValues = allAdded.iterator();
+        }
+        else
+        {
+            MutableLongList allAdded = LongLists.mutable.empty();
+            for ( PropertyIndexQuery.ExactPredicate[] query : queries )
+            {
+                ValueTuple values = exactValues( query );
+                if ( distinctValues.add( values ) )
+                {
+                    AddedAndRemoved changes = indexUpdatesForSeek( txState, descriptor, values );
+                    allAdded.addAll( changes.getAdded() );
+                    removedFromIndex.addAll( changes.getRemoved() );
+                }
+            }
+            added = allAdded.longIterator();
+        }
+        removed = removed( txState, removedFromIndex );
+    }
+
+    private static ValueTuple exactValues( PropertyIndexQuery.ExactPredicate[] query )
+    {
+        Value[] values = new Value[query.length];
+        for ( int i = 0; i < query.length; i++ )
+        {
+            values[i] = query[i].value();
+        }
+        return ValueTuple.of( values );
+    }
+
     final long entityReference()
     {
         return entity;
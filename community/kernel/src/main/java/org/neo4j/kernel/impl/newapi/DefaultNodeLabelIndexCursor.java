@@ -20,6 +20,8 @@
 package org.neo4j.kernel.impl.newapi;
 
 import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
 import org.neo4j.internal.kernel.api.KernelReadTracer;
 import org.neo4j.internal.kernel.api.NodeCursor;
@@ -52,6 +54,39 @@ class DefaultNodeLabelIndexCursor extends DefaultEntityTokenIndexCursor<DefaultN
         return mergeToSet( txState.addedAndRemovedNodes().getRemoved(), txState.nodesWithLabelChanged( token ).getRemoved() );
     }
 
+    @Override
+    LongSet withTokensInTxState( LongSet nodes, int[] labels, boolean allLabels )
+    {
+        MutableLongSet matching = new LongHashSet();
+        readEntity( read ->
+        {
+            try ( FullAccessNodeCursor node = read.cursors.allocateFullAccessNodeCursor( read.ktx.cursorContext() ) )
+            {
+                nodes.forEach( nodeReference ->
+                {
+                    read.singleNode( nodeReference, node );
+                    if ( node.next() && hasLabels( node, labels, allLabels ) )
+                    {
+                        matching.add( nodeReference );
+                    }
+                } );
+            }
+        } );
+        return matching;
+    }
+
+    private static boolean hasLabels( NodeCursor node, int[] labels, boolean allLabels )
+    {
+        for ( int label : labels )
+        {
+            if ( node.hasLabel( label ) != allLabels )
+            {
+                return !allLabels;
+            }
+        }
+        return allLabels;
+    }
+
     @Override
     void traceScan( KernelReadTracer tracer, int token )
     {
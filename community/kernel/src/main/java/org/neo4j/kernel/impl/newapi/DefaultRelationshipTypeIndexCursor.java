@@ -20,6 +20,8 @@
 package org.neo4j.kernel.impl.newapi;
 
 import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
 import org.neo4j.internal.kernel.api.KernelReadTracer;
 import org.neo4j.internal.kernel.api.NodeCursor;
@@ -52,6 +54,39 @@ public class DefaultRelationshipTypeIndexCursor extends DefaultEntityTokenIndexC
         return txState.addedAndRemovedRelationships().getRemoved().freeze();
     }
 
+    @Override
+    LongSet withTokensInTxState( LongSet relationships, int[] types, boolean allTypes )
+    {
+        MutableLongSet matching = new LongHashSet();
+        readEntity( read ->
+        {
+            try ( RelationshipScanCursor relationship = read.cursors.allocateFullAccessRelationshipScanCursor( read.ktx.cursorContext() ) )
+            {
+                relationships.forEach( relationshipReference ->
+                {
+                    read.singleRelationship( relationshipReference, relationship );
+                    if ( relationship.next() && hasType( relationship.type(), types, allTypes ) )
+                    {
+                        matching.add( relationshipReference );
+                    }
+                } );
+            }
+        } );
+        return matching;
+    }
+
+    private static boolean hasType( int type, int[] types, boolean allTypes )
+    {
+        for ( int candidate : types )
+        {
+            if ( (candidate == type) != allTypes )
+            {
+                return !allTypes;
+            }
+        }
+        return allTypes;
+    }
+
     @Override
     void traceScan( KernelReadTracer tracer, int token )
     {
@@ -48,6 +48,7 @@ import org.neo4j.internal.schema.SchemaDescriptorSupplier;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.AssertOpen;
 import org.neo4j.kernel.api.exceptions.schema.IndexBrokenKernelException;
+import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.kernel.api.txstate.TxStateHolder;
@@ -102,6 +103,34 @@ abstract class Read implements TxStateHolder,
         indexSession.reader.query( this, client, constraints, query );
     }
 
+    @Override
+    public final void nodeIndexMultiSeek( IndexReadSession index, NodeValueIndexCursor cursor, IndexQueryConstraints constraints,
+            PropertyIndexQuery.ExactPredicate[][] queries ) throws IndexNotApplicableKernelException
+    {
+        ktx.assertOpen();
+        DefaultIndexReadSession indexSession = (DefaultIndexReadSession) index;
+
+        if ( indexSession.reference.schema().entityType() != EntityType.NODE )
+        {
+            throw new IndexNotApplicableKernelException( "Node index seek can only be performed on node indexes: " +
+                                                         index.reference().userDescription( ktx.tokenRead() ) );
+        }
+        if ( constraints.isOrdered() )
+        {
+            throw new IndexNotApplicableKernelException( "Node index multi seek does not support ordered results: " +
+                                                         index.reference().userDescription( ktx.tokenRead() ) );
+        }
+
+        EntityIndexSeekClient client = (EntityIndexSeekClient) cursor;
+        client.setRead( this );
+        if ( queries.length == 0 )
+        {
+            client.initialize( indexSession.reference, IndexProgressor.EMPTY, new PropertyIndexQuery[0], constraints, false );
+            return;
+        }
+        indexSession.reader.multiQuery( this, client, constraints, queries );
+    }
+
     @Override
     public final void relationshipIndexSeek( IndexReadSession index, RelationshipValueIndexCursor cursor, IndexQueryConstraints constraints,
             PropertyIndexQuery... query ) throws IndexNotApplicableKernelException
@@ -251,6 +280,42 @@ abstract class Read implements TxStateHolder,
         tokenSession.reader.query( indexCursor, constraints, query, ktx.cursorContext() );
     }
 
+    @Override
+    public final void nodeLabelIntersectionScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints,
+            TokenPredicate... queries ) throws KernelException
+    {
+        nodeLabelScan( session, cursor, constraints, queries, true );
+    }
+
+    @Override
+    public final void nodeLabelUnionScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints,
+            TokenPredicate... queries ) throws KernelException
+    {
+        nodeLabelScan( session, cursor, constraints, queries, false );
+    }
+
+    private void nodeLabelScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints, TokenPredicate[] queries,
+            boolean allLabels ) throws KernelException
+    {
+        ktx.assertOpen();
+
+        if ( session.reference().schema().entityType() != EntityType.NODE )
+        {
+            throw new IndexNotApplicableKernelException( "Node label index scan can not be performed on index " +
+                                                         session.reference().userDescription( ktx.tokenRead() ) );
+        }
+        if ( queries.length == 0 )
+        {
+            throw new IllegalArgumentException( "At least one label is required for a node label scan" );
+        }
+
+        var tokenSession = (DefaultTokenReadSession) session;
+
+        DefaultNodeLabelIndexCursor indexCursor = (DefaultNodeLabelIndexCursor) cursor;
+        indexCursor.setRead( this );
+        tokenSession.reader.query( indexCursor, constraints, queries, allLabels, ktx.cursorContext() );
+    }
+
     @Override
     public final void allNodesScan( NodeCursor cursor )
     {
@@ -23,8 +23,11 @@ import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.configuration.pagecache.ConfigurableIOBufferFactory;
 import org.neo4j.io.ByteUnit;
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.mem.NumaPlacement;
 import org.neo4j.io.os.OsBeanUtil;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageSwapperFactory;
@@ -38,6 +41,14 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.SystemNanoClock;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_compressed_tier_size;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_direct_io_all_files;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_eviction_policy;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_flush_max_clean_gap;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_flush_max_run_pages;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_huge_pages;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_numa_placement;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_stream_prefetching;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.configuration.GraphDatabaseSettings.preallocate_store_files;
 import static org.neo4j.configuration.SettingValueParsers.BYTES;
@@ -82,7 +93,7 @@ public class ConfiguringPageCacheFactory
     {
         if ( pageCache == null )
         {
-            this.swapperFactory = createAndConfigureSwapperFactory( fs );
+            this.swapperFactory = createAndConfigureSwapperFactory( fs, config );
             this.pageCache = createPageCache();
         }
         return pageCache;
@@ -99,6 +110,11 @@ public class ConfiguringPageCacheFactory
                 .memoryTracker( memoryTracker )
                 .bufferFactory( bufferFactory )
                 .preallocateStoreFiles( config.get( preallocate_store_files ) )
+                .evictionPolicy( config.get( pagecache_eviction_policy ) )
+                .streamPreFetching( config.get( pagecache_stream_prefetching ) )
+                .compressedTierSize( config.get( pagecache_compressed_tier_size ) )
+                .maxFlushRunPages( config.get( pagecache_flush_max_run_pages ) )
+                .maxFlushCleanGap( config.get( pagecache_flush_max_clean_gap ) )
                 .clock( clock )
                 .pageCacheTracer( pageCacheTracer );
         return new MuninnPageCache( swapperFactory, scheduler, configuration );
@@ -106,7 +122,24 @@ public class ConfiguringPageCacheFactory
 
     private MemoryAllocator buildMemoryAllocator( long pageCacheMaxMemory, MemoryTracker memoryTracker )
     {
-        return createAllocator( pageCacheMaxMemory, memoryTracker );
+        boolean hugePages = config.get( pagecache_huge_pages );
+        NumaPlacement numaPlacement = config.get( pagecache_numa_placement );
+        if ( !hugePages && numaPlacement == NumaPlacement.DEFAULT )
+        {
+            return createAllocator( pageCacheMaxMemory, memoryTracker );
+        }
+        NativeAccess nativeAccess = NativeAccessProvider.getNativeAccess();
+        if ( !nativeAccess.isAvailable() )
+        {
+            log.warn( "The " + pagecache_huge_pages.name() + " and " + pagecache_numa_placement.name() + " settings have no effect, " +
+                    "because native access is not available. " + nativeAccess.describe() );
+        }
+        else if ( numaPlacement != NumaPlacement.DEFAULT && nativeAccess.getNumaNodeCount() <= 1 )
+        {
+            log.info( "The " + pagecache_numa_placement.name() + " setting has no effect, because NUMA memory placement is not available, " +
+                    "or the machine only has a single NUMA node." );
+        }
+        return createAllocator( pageCacheMaxMemory, hugePages, numaPlacement, memoryTracker );
     }
 
     private long getPageCacheMaxMemory( Config config )
@@ -184,8 +217,8 @@ public class ConfiguringPageCacheFactory
         log.info( msg );
     }
 
-    private static PageSwapperFactory createAndConfigureSwapperFactory( FileSystemAbstraction fs )
+    private static PageSwapperFactory createAndConfigureSwapperFactory( FileSystemAbstraction fs, Config config )
     {
-        return new SingleFilePageSwapperFactory( fs );
+        return new SingleFilePageSwapperFactory( fs, config.get( pagecache_direct_io_all_files ) );
     }
 }
@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.helpers.DatabaseReadOnlyChecker;
+import org.neo4j.io.fs.FileHandle;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.SystemNanoClock;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toList;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmup_iops_limit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmup_parallelism;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_enabled;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_profiling_interval;
+
+/**
+ * Keeps profiles of the pages of the database files that are in the page cache, and loads those pages back into the page cache when the database starts.
+ * <p>
+ * A profile is a compressed bitmap of the pages of a file that are in memory. Profiles are written at regular intervals by a background job, to the
+ * {@link DatabaseLayout#pageCacheProfilesDirectory() profiles directory} of the database. When the database starts, the profiled pages of the mapped
+ * files are loaded by a number of parallel workers, before the database becomes available. Every worker loads whole files in file order, such that
+ * runs of consecutive pages can be read with large sequential reads, and the rate at which pages are loaded is limited by an {@link IOController}.
+ * <p>
+ * If preloading is enabled, all pages of the files matching the allowlist are loaded instead of the profiled pages.
+ */
+public class PageCacheWarmer extends LifecycleAdapter
+{
+    static final String PROFILE_SUFFIX = ".cacheprof";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int PROFILE_FORMAT_VERSION = 1;
+    private static final String PAGE_CACHE_WARMUP_TAG = "pageCacheWarmup";
+    private static final String PAGE_CACHE_PROFILE_TAG = "pageCacheProfile";
+
+    private final FileSystemAbstraction fs;
+    private final PageCache pageCache;
+    private final JobScheduler scheduler;
+    private final Path databaseDirectory;
+    private final Path profilesDirectory;
+    private final Config config;
+    private final DatabaseReadOnlyChecker readOnlyChecker;
+    private final SystemNanoClock clock;
+    private final PageCacheTracer pageCacheTracer;
+    private final Log log;
+    private final Monitor monitor;
+    private JobHandle<?> profileJob;
+    private boolean stopped;
+
+    public PageCacheWarmer( FileSystemAbstraction fs, PageCache pageCache, JobScheduler scheduler, DatabaseLayout databaseLayout, Config config,
+            DatabaseReadOnlyChecker readOnlyChecker, SystemNanoClock clock, PageCacheTracer pageCacheTracer, Log log, Monitor monitor )
+    {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.scheduler = scheduler;
+        this.databaseDirectory = databaseLayout.databaseDirectory();
+        this.profilesDirectory = databaseLayout.pageCacheProfilesDirectory();
+        this.config = config;
+        this.readOnlyChecker = readOnlyChecker;
+        this.clock = clock;
+        this.pageCacheTracer = pageCacheTracer;
+        this.log = log;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void start() throws Exception
+    {
+        if ( !config.get( pagecache_warmup_enabled ) )
+        {
+            return;
+        }
+        synchronized ( this )
+        {
+            stopped = false;
+        }
+        try
+        {
+            warmUp();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            log.warn( "Page cache warmup was interrupted.", e );
+        }
+        catch ( Exception e )
+        {
+            // Warmup is only an optimisation, so it must never prevent the database from starting.
+            log.warn( "Page cache warmup failed.", e );
+        }
+        long intervalMillis = config.get( pagecache_warmup_profiling_interval ).toMillis();
+        profileJob = scheduler.scheduleRecurring( Group.FILE_IO_HELPER, this::profileInBackground, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS );
+    }
+
+    @Override
+    public void stop()
+    {
+        // Wait for any ongoing profiling to finish, so that it does not race with the unmapping of the files.
+        synchronized ( this )
+        {
+            stopped = true;
+        }
+        if ( profileJob != null )
+        {
+            profileJob.cancel();
+            profileJob = null;
+        }
+    }
+
+    /**
+     * Load the profiled pages of all the mapped database files into the page cache.
+     *
+     * @return the number of pages that were loaded, or were already in the page cache.
+     */
+    long warmUp() throws IOException, InterruptedException, ExecutionException
+    {
+        List<WarmupFile> files = filesToWarmUp();
+        if ( files.isEmpty() )
+        {
+            return 0;
+        }
+        long startNanos = clock.nanos();
+        long totalPages = files.stream().mapToLong( file -> file.pages.cardinality() ).sum();
+        int parallelism = Math.min( config.get( pagecache_warmup_parallelism ), files.size() );
+        int iopsLimit = config.get( pagecache_warmup_iops_limit );
+        IOController ioController = iopsLimit > 0 ? new RateLimitedIOController( iopsLimit, clock ) : IOController.DISABLED;
+        log.info( "Page cache warmup started. Loading %d pages of %d files, using %d threads.", totalPages, files.size(), parallelism );
+        monitor.warmupStarted( files.size(), totalPages );
+
+        WarmupProgress progress = new WarmupProgress( files.size(), totalPages );
+        Queue<WarmupFile> queue = new ConcurrentLinkedQueue<>( files );
+        List<JobHandle<?>> workers = new ArrayList<>( parallelism );
+        for ( int i = 0; i < parallelism; i++ )
+        {
+            workers.add( scheduler.schedule( Group.FILE_IO_HELPER, () -> loadFiles( queue, ioController, progress ) ) );
+        }
+        for ( JobHandle<?> worker : workers )
+        {
+            worker.waitTermination();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis( clock.nanos() - startNanos );
+        long loadedPages = progress.loadedPages();
+        log.info( "Page cache warmup completed. %d pages loaded in %d ms.", loadedPages, elapsedMillis );
+        monitor.warmupCompleted( loadedPages, elapsedMillis );
+        return loadedPages;
+    }
+
+    private List<WarmupFile> filesToWarmUp() throws IOException
+    {
+        boolean preload = config.get( pagecache_warmup_prefetch );
+        Pattern allowlist = Pattern.compile( config.get( pagecache_warmup_prefetch_allowlist ) );
+        List<WarmupFile> files = new ArrayList<>();
+        for ( PagedFile pagedFile : databaseFiles() )
+        {
+            try
+            {
+                BitSet pages = preload ? allPages( pagedFile, allowlist ) : readProfile( pagedFile );
+                if ( pages != null && !pages.isEmpty() )
+                {
+                    files.add( new WarmupFile( pagedFile, pages ) );
+                }
+            }
+            catch ( IOException e )
+            {
+                log.warn( "Page cache warmup will skip " + pagedFile.path() + ", because its profile could not be read.", e );
+            }
+        }
+        return files;
+    }
+
+    private BitSet allPages( PagedFile pagedFile, Pattern allowlist ) throws IOException
+    {
+        if ( !allowlist.matcher( pagedFile.path().getFileName().toString() ).matches() )
+        {
+            return null;
+        }
+        BitSet pages = new BitSet();
+        pages.set( 0, Math.toIntExact( pagedFile.getLastPageId() + 1 ) );
+        return pages;
+    }
+
+    private void loadFiles( Queue<WarmupFile> queue, IOController ioController, WarmupProgress progress )
+    {
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( PAGE_CACHE_WARMUP_TAG ) ) )
+        {
+            WarmupFile file;
+            while ( (file = queue.poll()) != null )
+            {
+                long loaded = 0;
+                try
+                {
+                    loaded = file.pagedFile.loadPages( file.pages, ioController, cursorContext );
+                }
+                catch ( IOException e )
+                {
+                    // The file might have been unmapped in the meantime. Warmup is only an optimisation, so we just move on.
+                    log.debug( "Page cache warmup failed to load the pages of " + file.pagedFile.path(), e );
+                }
+                catch ( RuntimeException e )
+                {
+                    // Same as above, but this is not expected, so we make some noise about it. The other files can still be warmed up.
+                    log.warn( "Page cache warmup failed to load the pages of " + file.pagedFile.path(), e );
+                }
+                progress.fileCompleted( loaded );
+            }
+        }
+    }
+
+    private void profileInBackground()
+    {
+        try
+        {
+            profile();
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            log.warn( "Failed to write page cache profiles to " + profilesDirectory, e );
+        }
+    }
+
+    /**
+     * Write a profile of the pages in the page cache, for each of the mapped database files, and delete the profiles of files that are no longer mapped.
+     * Profiles are not written while the database is read only.
+     *
+     * @return the number of pages in the page cache, of all the profiled files.
+     */
+    synchronized long profile() throws IOException
+    {
+        if ( stopped || readOnlyChecker.isReadOnly() )
+        {
+            return 0;
+        }
+        long startNanos = clock.nanos();
+        long residentPages = 0;
+        Set<Path> profiles = new HashSet<>();
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( PAGE_CACHE_PROFILE_TAG ) ) )
+        {
+            for ( PagedFile pagedFile : databaseFiles() )
+            {
+                BitSet pages;
+                try
+                {
+                    pages = pagedFile.residentPages( cursorContext );
+                }
+                catch ( IOException e )
+                {
+                    continue; // The file has been unmapped since we listed it.
+                }
+                Path profile = profileFile( pagedFile );
+                writeProfile( profile, pages );
+                profiles.add( profile );
+                residentPages += pages.cardinality();
+            }
+        }
+        deleteProfilesExcept( profiles );
+        monitor.profileCompleted( residentPages, TimeUnit.NANOSECONDS.toMillis( clock.nanos() - startNanos ) );
+        return residentPages;
+    }
+
+    private List<PagedFile> databaseFiles() throws IOException
+    {
+        List<PagedFile> files = new ArrayList<>();
+        for ( PagedFile pagedFile : pageCache.listExistingMappings() )
+        {
+            if ( pagedFile.path().startsWith( databaseDirectory ) && !pagedFile.path().startsWith( profilesDirectory ) )
+            {
+                files.add( pagedFile );
+            }
+        }
+        return files;
+    }
+
+    private Path profileFile( PagedFile pagedFile )
+    {
+        Path relativePath = databaseDirectory.relativize( pagedFile.path() );
+        return profilesDirectory.resolve( relativePath ).resolveSibling( relativePath.getFileName() + PROFILE_SUFFIX );
+    }
+
+    private BitSet readProfile( PagedFile pagedFile ) throws IOException
+    {
+        Path profile = profileFile( pagedFile );
+        if ( !fs.fileExists( profile ) )
+        {
+            return null;
+        }
+        try ( DataInputStream in = new DataInputStream( new GZIPInputStream( fs.openAsInputStream( profile ) ) ) )
+        {
+            int version = in.readInt();
+            if ( version != PROFILE_FORMAT_VERSION )
+            {
+                throw new IOException( "Unknown page cache profile format version " + version + " in " + profile );
+            }
+            byte[] bitmap = new byte[in.readInt()];
+            in.readFully( bitmap );
+            return BitSet.valueOf( bitmap );
+        }
+    }
+
+    private void writeProfile( Path profile, BitSet pages ) throws IOException
+    {
+        Path tmpProfile = profile.resolveSibling( profile.getFileName() + TMP_SUFFIX );
+        fs.mkdirs( profile.getParent() );
+        try ( DataOutputStream out = new DataOutputStream( new GZIPOutputStream( fs.openAsOutputStream( tmpProfile, false ) ) ) )
+        {
+            byte[] bitmap = pages.toByteArray();
+            out.writeInt( PROFILE_FORMAT_VERSION );
+            out.writeInt( bitmap.length );
+            out.write( bitmap );
+        }
+        fs.renameFile( tmpProfile, profile, ATOMIC_MOVE, REPLACE_EXISTING );
+    }
+
+    private void deleteProfilesExcept( Set<Path> profiles ) throws IOException
+    {
+        List<FileHandle> staleProfiles;
+        try ( Stream<FileHandle> files = fs.streamFilesRecursive( profilesDirectory ) )
+        {
+            staleProfiles = files.filter( handle -> !profiles.contains( handle.getPath() ) ).collect( toList() );
+        }
+        catch ( NoSuchFileException e )
+        {
+            return;
+        }
+        for ( FileHandle staleProfile : staleProfiles )
+        {
+            staleProfile.delete();
+        }
+    }
+
+    private static class WarmupFile
+    {
+        private final PagedFile pagedFile;
+        private final BitSet pages;
+
+        WarmupFile( PagedFile pagedFile, BitSet pages )
+        {
+            this.pagedFile = pagedFile;
+            this.pages = pages;
+        }
+    }
+
+    /**
+     * Keeps track of the files and pages that have been loaded by the warmup workers, and reports every ten percent of progress.
+     */
+    private class WarmupProgress
+    {
+        private final int totalFiles;
+        private final long totalPages;
+        private int completedFiles;
+        private long loadedPages;
+        private int reportedPercent;
+
+        WarmupProgress( int totalFiles, long totalPages )
+        {
+            this.totalFiles = totalFiles;
+            this.totalPages = totalPages;
+        }
+
+        synchronized void fileCompleted( long pages )
+        {
+            completedFiles++;
+            loadedPages += pages;
+            int percent = (int) (100 * loadedPages / Math.max( 1, totalPages ));
+            if ( percent / 10 > reportedPercent / 10 && completedFiles < totalFiles )
+            {
+                reportedPercent = percent;
+                log.info( "Page cache warmup %d%% complete. %d of %d files, %d of %d pages loaded.",
+                        percent, completedFiles, totalFiles, loadedPages, totalPages );
+            }
+            monitor.warmupProgress( completedFiles, loadedPages );
+        }
+
+        synchronized long loadedPages()
+        {
+            return loadedPages;
+        }
+    }
+
+    public interface Monitor
+    {
+        void warmupStarted( int files, long pages );
+
+        void warmupProgress( int completedFiles, long loadedPages );
+
+        void warmupCompleted( long loadedPages, long elapsedMillis );
+
+        void profileCompleted( long residentPages, long elapsedMillis );
+    }
+
+    public static class MonitorAdapter implements Monitor
+    {
+        @Override
+        public void warmupStarted( int files, long pages )
+        {   // Do nothing
+        }
+
+        @Override
+        public void warmupProgress( int completedFiles, long loadedPages )
+        {   // Do nothing
+        }
+
+        @Override
+        public void warmupCompleted( long loadedPages, long elapsedMillis )
+        {   // Do nothing
+        }
+
+        @Override
+        public void profileCompleted( long residentPages, long elapsedMillis )
+        {   // Do nothing
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.io.Flushable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * An {@link IOController} that limits the rate of IO to a fixed number of IOs per second, shared by all the threads that use it.
+ * <p>
+ * Every IO has a cost in time, and the controller keeps track of the point in time where all the IOs reported so far will have been paid for.
+ * Callers of {@link #maybeLimitIO(int, Flushable, MajorFlushEvent)} are paused until that point in time, which smooths the IO out over time. Unused
+ * budget is only saved up for a short while, to allow for small bursts without letting an idle period turn into a long burst.
+ */
+class RateLimitedIOController implements IOController
+{
+    private static final long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos( 100 );
+
+    private final SystemNanoClock clock;
+    private final long nanosPerIO;
+    private long paidUntilNanos;
+
+    RateLimitedIOController( int iosPerSecond, SystemNanoClock clock )
+    {
+        if ( iosPerSecond <= 0 )
+        {
+            throw new IllegalArgumentException( "The IO limit must be positive, but was " + iosPerSecond );
+        }
+        this.clock = clock;
+        this.nanosPerIO = Math.max( 1, TimeUnit.SECONDS.toNanos( 1 ) / iosPerSecond );
+        this.paidUntilNanos = clock.nanos();
+    }
+
+    @Override
+    public void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
+    {
+        long pauseNanos = account( recentlyCompletedIOs );
+        if ( pauseNanos > 0 )
+        {
+            LockSupport.parkNanos( pauseNanos );
+        }
+    }
+
+    @Override
+    public void reportIO( int completedIOs )
+    {
+        account( completedIOs );
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    /**
+     * @return the time, in nanoseconds, the caller should pause for the IOs to be paid for.
+     */
+    private synchronized long account( int completedIOs )
+    {
+        long now = clock.nanos();
+        paidUntilNanos = Math.max( paidUntilNanos, now - MAX_BURST_NANOS ) + completedIOs * nanosPerIO;
+        return paidUntilNanos - now;
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import java.io.Flushable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.neo4j.io.fs.FlushableChecksumChannel;
 import org.neo4j.io.fs.PhysicalFlushableChecksumChannel;
@@ -117,6 +118,12 @@ public class PositionAwarePhysicalFlushableChecksumChannel implements FlushableP
         return channel.put( value, length );
     }
 
+    @Override
+    public FlushableChecksumChannel putAll( ByteBuffer src ) throws IOException
+    {
+        return channel.putAll( src );
+    }
+
     @Override
     public void close() throws IOException
     {
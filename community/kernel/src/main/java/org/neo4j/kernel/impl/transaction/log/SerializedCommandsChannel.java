@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.neo4j.io.fs.WritableChecksumChannel;
+import org.neo4j.io.memory.ByteBuffers;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * An in-memory, off-heap channel that the commands of a transaction are serialized into before the transaction is appended to the log.
+ * The serialized commands are then copied into the log channel in one go by the {@link TransactionLogWriter}. The buffer grows as needed.
+ * The serialized commands can also be {@link #compress(int) compressed}, in which case the compressed bytes are what ends up in the log.
+ * <p>
+ * Checksums are not supported by this channel, since the checksum of a transaction also covers its start and commit entries, which can only be written
+ * once the transaction has its place in the log. The log channel computes the checksum over the copied bytes instead.
+ * <p>
+ * The buffer never grows past its max capacity. Commands that don't fit are discarded, leaving the channel {@link #overflowed() overflowed}, and the
+ * transaction is then instead serialized straight into the log channel when it is appended.
+ */
+public final class SerializedCommandsChannel implements WritableChecksumChannel, AutoCloseable
+{
+    private final MemoryTracker memoryTracker;
+    private final int maxCapacity;
+    private ByteBuffer buffer;
+    private ByteBuffer compressed;
+    private boolean isCompressed;
+    private boolean overflowed;
+
+    SerializedCommandsChannel( int initialCapacity, int maxCapacity, MemoryTracker memoryTracker )
+    {
+        this.memoryTracker = memoryTracker;
+        this.maxCapacity = Math.max( initialCapacity, maxCapacity );
+        this.buffer = ByteBuffers.allocateDirect( initialCapacity, memoryTracker );
+    }
+
+    /**
+     * @return a read-only view of the bytes serialized into this channel so far. The view is only valid until this channel is cleared or written to.
+     */
+    public ByteBuffer serialized()
+    {
+        return buffer.asReadOnlyBuffer().flip();
+    }
+
+    public int size()
+    {
+        return buffer.position();
+    }
+
+    /**
+     * @return whether or not the commands serialized into this channel exceeded its max capacity, in which case they have not been kept.
+     */
+    boolean overflowed()
+    {
+        return overflowed;
+    }
+
+    /**
+     * Compress the commands serialized so far with zstd. Nothing is changed if the compressed commands would not be smaller.
+     *
+     * @param level zstd compression level.
+     * @return whether or not the commands were compressed.
+     */
+    boolean compress( int level ) throws IOException
+    {
+        int size = buffer.position();
+        int bound = Math.toIntExact( Zstd.compressBound( size ) );
+        if ( compressed == null || compressed.capacity() < bound )
+        {
+            releaseCompressedBuffer();
+            compressed = ByteBuffers.allocateDirect( bound, memoryTracker );
+        }
+        long compressedSize = Zstd.compressDirectByteBuffer( compressed, 0, bound, buffer, 0, size, level );
+        if ( Zstd.isError( compressedSize ) )
+        {
+            throw new IOException( "Unable to compress commands: " + Zstd.getErrorName( compressedSize ) );
+        }
+        isCompressed = compressedSize < size;
+        compressed.clear().limit( (int) compressedSize );
+        return isCompressed;
+    }
+
+    boolean isCompressed()
+    {
+        return isCompressed;
+    }
+
+    /**
+     * @return a read-only view of the compressed commands, only available if the commands have been {@link #compress(int) compressed}.
+     */
+    ByteBuffer compressed()
+    {
+        assert isCompressed;
+        return compressed.asReadOnlyBuffer();
+    }
+
+    int capacity()
+    {
+        return buffer.capacity() + (compressed == null ? 0 : compressed.capacity());
+    }
+
+    void clear()
+    {
+        buffer.clear();
+        isCompressed = false;
+        overflowed = false;
+    }
+
+    @Override
+    public void close()
+    {
+        if ( buffer != null )
+        {
+            ByteBuffers.releaseBuffer( buffer, memoryTracker );
+            buffer = null;
+        }
+        releaseCompressedBuffer();
+    }
+
+    private void releaseCompressedBuffer()
+    {
+        if ( compressed != null )
+        {
+            ByteBuffers.releaseBuffer( compressed, memoryTracker );
+            compressed = null;
+        }
+    }
+
+    @Override
+    public SerializedCommandsChannel put( byte value )
+    {
+        if ( ensureSpace( Byte.BYTES ) )
+        {
+            buffer.put( value );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel putShort( short value )
+    {
+        if ( ensureSpace( Short.BYTES ) )
+        {
+            buffer.putShort( value );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel putInt( int value )
+    {
+        if ( ensureSpace( Integer.BYTES ) )
+        {
+            buffer.putInt( value );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel putLong( long value )
+    {
+        if ( ensureSpace( Long.BYTES ) )
+        {
+            buffer.putLong( value );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel putFloat( float value )
+    {
+        if ( ensureSpace( Float.BYTES ) )
+        {
+            buffer.putFloat( value );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel putDouble( double value )
+    {
+        if ( ensureSpace( Double.BYTES ) )
+        {
+            buffer.putDouble( value );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel put( byte[] value, int length )
+    {
+        if ( ensureSpace( length ) )
+        {
+            buffer.put( value, 0, length );
+        }
+        return this;
+    }
+
+    @Override
+    public SerializedCommandsChannel putAll( ByteBuffer src )
+    {
+        if ( ensureSpace( src.remaining() ) )
+        {
+            buffer.put( src );
+        }
+        return this;
+    }
+
+    @Override
+    public void beginChecksum()
+    {
+        throw new UnsupportedOperationException( "Checksums are calculated by the log channel the serialized commands are appended to" );
+    }
+
+    @Override
+    public int putChecksum()
+    {
+        throw new UnsupportedOperationException( "Checksums are calculated by the log channel the serialized commands are appended to" );
+    }
+
+    /**
+     * Grows the buffer if needed, to make room for the given number of bytes.
+     *
+     * @return {@code true} if the bytes can be put in the buffer, or {@code false} if this channel has overflowed and the bytes are to be discarded.
+     */
+    private boolean ensureSpace( int spaceInBytes )
+    {
+        if ( overflowed )
+        {
+            return false;
+        }
+        if ( buffer.remaining() < spaceInBytes )
+        {
+            long requiredCapacity = (long) buffer.position() + spaceInBytes;
+            if ( requiredCapacity > maxCapacity )
+            {
+                overflowed = true;
+                buffer.clear();
+                return false;
+            }
+            int newCapacity = (int) Math.min( maxCapacity, Math.max( requiredCapacity, (long) buffer.capacity() << 1 ) );
+            ByteBuffer grown = ByteBuffers.allocateDirect( newCapacity, memoryTracker );
+            grown.put( buffer.flip() );
+            ByteBuffers.releaseBuffer( buffer, memoryTracker );
+            buffer = grown;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.neo4j.internal.helpers.collection.Visitor;
+import org.neo4j.kernel.impl.api.TransactionCommitNotifier;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.storageengine.api.TransactionIdStore;
+
+/**
+ * Tails the transaction log from a given transaction id and onwards, for a single consuming thread.
+ * <p>
+ * {@link #poll(Visitor)} reads the transactions that have been closed since the previous call from the {@link LogicalTransactionStore}.
+ * Only closed transactions are read, so a partly written transaction at the end of the log is never seen.
+ * {@link #awaitTransactions(long, TimeUnit)} parks the consuming thread until the next transaction is closed. The tailer listens to the
+ * {@link TransactionCommitNotifier}, which unparks it straight from the committing thread.
+ * <p>
+ * Every poll continues reading from the log position where the previous poll ended, and crosses into later log versions through the
+ * {@link LogVersionBridge} of the log file. The end of a log file can be preallocated space, which the bridge cannot see past,
+ * so when the transaction isn't found at that position it's looked up by its id instead.
+ */
+public class TransactionLogTailer implements TransactionCommitNotifier.Listener, AutoCloseable
+{
+    private final LogicalTransactionStore transactionStore;
+    private final TransactionIdStore transactionIdStore;
+    private final TransactionCommitNotifier notifier;
+    private long nextTransactionId;
+    private LogPosition position;
+    private volatile Thread waiter;
+
+    /**
+     * @param fromTransactionId id of the first transaction to read.
+     */
+    public TransactionLogTailer( LogicalTransactionStore transactionStore, TransactionIdStore transactionIdStore, TransactionCommitNotifier notifier,
+            long fromTransactionId )
+    {
+        this.transactionStore = transactionStore;
+        this.transactionIdStore = transactionIdStore;
+        this.notifier = notifier;
+        this.nextTransactionId = fromTransactionId;
+        notifier.addListener( this );
+    }
+
+    /**
+     * @return id of the transaction that the next {@link #poll(Visitor)} starts from.
+     */
+    public long nextTransactionId()
+    {
+        return nextTransactionId;
+    }
+
+    /**
+     * Hands the transactions closed since the previous poll to the {@code visitor}, in transaction id order.
+     *
+     * @param visitor receives the transactions. Returning {@code true} stops the poll after that transaction.
+     * @return the number of transactions visited.
+     * @throws NoSuchTransactionException if the next transaction is no longer in the log, e.g. because the log has been pruned.
+     * @throws IOException on error reading the log.
+     */
+    public int poll( Visitor<CommittedTransactionRepresentation,IOException> visitor ) throws IOException
+    {
+        long lastClosedTransactionId = transactionIdStore.getLastClosedTransactionId();
+        if ( nextTransactionId > lastClosedTransactionId )
+        {
+            return 0;
+        }
+
+        int count = 0;
+        boolean lookedUpById = position == null;
+        TransactionCursor cursor = lookedUpById ? transactionStore.getTransactions( nextTransactionId ) : transactionStore.getTransactions( position );
+        try
+        {
+            while ( nextTransactionId <= lastClosedTransactionId )
+            {
+                if ( !cursor.next() || cursor.get().getCommitEntry().getTxId() != nextTransactionId )
+                {
+                    if ( lookedUpById )
+                    {
+                        throw new NoSuchTransactionException( nextTransactionId, "Transaction is closed, but couldn't be read from the log" );
+                    }
+                    // Left off at the end of a log file that has been rotated since, look the transaction up instead
+                    TransactionCursor cursorById = transactionStore.getTransactions( nextTransactionId );
+                    cursor.close();
+                    cursor = cursorById;
+                    lookedUpById = true;
+                    continue;
+                }
+
+                CommittedTransactionRepresentation transaction = cursor.get();
+                nextTransactionId++;
+                position = cursor.position();
+                lookedUpById = false;
+                count++;
+                if ( visitor.visit( transaction ) )
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            cursor.close();
+        }
+        return count;
+    }
+
+    /**
+     * Waits for the transaction that the next {@link #poll(Visitor)} starts from to be closed.
+     *
+     * @return {@code true} if the next transaction is closed, or {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread was interrupted.
+     */
+    public boolean awaitTransactions( long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos( timeout );
+        waiter = Thread.currentThread();
+        try
+        {
+            while ( nextTransactionId > transactionIdStore.getLastClosedTransactionId() )
+            {
+                long remaining = deadline - System.nanoTime();
+                if ( remaining <= 0 )
+                {
+                    return false;
+                }
+                LockSupport.parkNanos( this, remaining );
+                if ( Thread.interrupted() )
+                {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        }
+        finally
+        {
+            waiter = null;
+        }
+    }
+
+    @Override
+    public void transactionsClosed( long lastTransactionId )
+    {
+        Thread thread = waiter;
+        if ( thread != null && lastTransactionId >= nextTransactionId )
+        {
+            LockSupport.unpark( thread );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        notifier.removeListener( this );
+    }
+}
@@ -20,21 +20,132 @@
 package org.neo4j.kernel.impl.transaction.log;
 
 import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.neo4j.io.ByteUnit;
+import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.database.LogEntryWriterFactory;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.VisibleForTesting;
 
+import static org.neo4j.kernel.KernelVersion.VERSION_IN_WHICH_COMPRESSED_COMMANDS_ARE_INTRODUCED;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryParserSetV4_3_D5.MAX_UNCOMPRESSED_COMMANDS_LENGTH;
+
 public class TransactionLogWriter
 {
+    static final int SERIALIZED_COMMANDS_INITIAL_CAPACITY = (int) ByteUnit.kibiBytes( 32 );
+    static final int SERIALIZED_COMMANDS_MAX_POOLED_CAPACITY = (int) ByteUnit.mebiBytes( 1 );
+    /**
+     * Transactions with more commands than this are not serialized ahead of the append, but straight into the log channel, like by
+     * {@link #append(TransactionRepresentation, long, int)}. This caps the off-heap memory used for serializing each committing transaction.
+     */
+    static final int SERIALIZED_COMMANDS_MAX_CAPACITY = (int) ByteUnit.mebiBytes( 64 );
+    /**
+     * Commands smaller than this are not worth compressing.
+     */
+    static final int MIN_COMPRESSED_COMMANDS_SIZE = 256;
+
     private final FlushablePositionAwareChecksumChannel channel;
     private final LogEntryWriterFactory logEntryWriterFactory;
+    private final MemoryTracker memoryTracker;
+    private final int compressionLevel;
+    private final int serializedCommandsMaxCapacity;
+    private final Queue<SerializedCommandsChannel> serializedCommandsPool = new ConcurrentLinkedQueue<>();
+    private volatile boolean serializationBuffersReleased;
 
     public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory )
+    {
+        this( channel, logEntryWriterFactory, EmptyMemoryTracker.INSTANCE, 0 );
+    }
+
+    /**
+     * @param compressionLevel zstd compression level for the commands of the transactions serialized by
+     * {@link #serializeCommands(TransactionRepresentation)}, or {@code 0} to not compress them.
+     */
+    public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory, MemoryTracker memoryTracker,
+            int compressionLevel )
+    {
+        this( channel, logEntryWriterFactory, memoryTracker, compressionLevel, SERIALIZED_COMMANDS_MAX_CAPACITY );
+    }
+
+    @VisibleForTesting
+    TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory, MemoryTracker memoryTracker,
+            int compressionLevel, int serializedCommandsMaxCapacity )
     {
         this.channel = channel;
         this.logEntryWriterFactory = logEntryWriterFactory;
+        this.memoryTracker = memoryTracker;
+        this.compressionLevel = compressionLevel;
+        this.serializedCommandsMaxCapacity = serializedCommandsMaxCapacity;
+    }
+
+    /**
+     * Serialize the commands of a transaction into an off-heap buffer, without touching the log. This is meant to be done by the committing thread
+     * before it enters the critical section of appending to the log, so that the append only has to copy the serialized bytes.
+     * The commands are also compressed here, if this writer compresses commands.
+     * Commands larger than {@link #SERIALIZED_COMMANDS_MAX_CAPACITY} are not kept, and are instead serialized into the log, uncompressed, by the append.
+     * The returned channel must be handed back with {@link #release(SerializedCommandsChannel)} once the transaction has been appended.
+     *
+     * @return the serialized commands of the transaction.
+     */
+    public SerializedCommandsChannel serializeCommands( TransactionRepresentation transaction ) throws IOException
+    {
+        SerializedCommandsChannel commands = serializedCommandsPool.poll();
+        if ( commands == null )
+        {
+            commands = new SerializedCommandsChannel( SERIALIZED_COMMANDS_INITIAL_CAPACITY, serializedCommandsMaxCapacity, memoryTracker );
+        }
+        try
+        {
+            KernelVersion version = transaction.version();
+            logEntryWriterFactory.createEntryWriter( commands, version ).serialize( transaction );
+            if ( compressionLevel > 0 && shouldCompress( commands ) && version != null && version.isAtLeast( VERSION_IN_WHICH_COMPRESSED_COMMANDS_ARE_INTRODUCED ) )
+            {
+                commands.compress( compressionLevel );
+            }
+            return commands;
+        }
+        catch ( Throwable t )
+        {
+            release( commands );
+            throw t;
+        }
+    }
+
+    private static boolean shouldCompress( SerializedCommandsChannel commands )
+    {
+        return !commands.overflowed() && commands.size() >= MIN_COMPRESSED_COMMANDS_SIZE && commands.size() <= MAX_UNCOMPRESSED_COMMANDS_LENGTH;
+    }
+
+    /**
+     * Hand back serialized commands to be reused for serializing other transactions. Buffers that have grown large are freed instead.
+     */
+    public void release( SerializedCommandsChannel commands )
+    {
+        if ( serializationBuffersReleased || commands.capacity() > SERIALIZED_COMMANDS_MAX_POOLED_CAPACITY )
+        {
+            commands.close();
+            return;
+        }
+        commands.clear();
+        serializedCommandsPool.offer( commands );
+    }
+
+    /**
+     * Free the buffers pooled for serializing commands. Serialized commands released after this are freed rather than pooled.
+     */
+    public void releaseSerializationBuffers()
+    {
+        serializationBuffersReleased = true;
+        SerializedCommandsChannel commands;
+        while ( (commands = serializedCommandsPool.poll()) != null )
+        {
+            commands.close();
+        }
     }
 
     /**
@@ -53,6 +164,36 @@ public class TransactionLogWriter
         return writer.writeCommitEntry( transactionId, transaction.getTimeCommitted() );
     }
 
+    /**
+     * Append a transaction, whose commands have already been serialized by {@link #serializeCommands(TransactionRepresentation)}, to the transaction
+     * log file. Unless the commands were compressed, the log ends up with the same bytes as from {@link #append(TransactionRepresentation, long, int)}.
+     * Commands that {@link SerializedCommandsChannel#overflowed() overflowed} the serialization buffer are serialized into the log channel right here.
+     * @return checksum of the transaction
+     */
+    public int append( TransactionRepresentation transaction, long transactionId, int previousChecksum, SerializedCommandsChannel commands )
+            throws IOException
+    {
+        var writer = logEntryWriterFactory.createEntryWriter( channel, transaction.version() );
+        writer.writeStartEntry( transaction.getTimeStarted(), transaction.getLatestCommittedTxWhenStarted(), previousChecksum, transaction.additionalHeader() );
+
+        // Copy all the already serialized commands to the log channel
+        if ( commands.overflowed() )
+        {
+            writer.serialize( transaction );
+        }
+        else if ( commands.isCompressed() )
+        {
+            writer.writeCompressedCommands( commands.size(), commands.compressed() );
+        }
+        else
+        {
+            channel.putAll( commands.serialized() );
+        }
+
+        // Write commit record
+        return writer.writeCommitEntry( transactionId, transaction.getTimeCommitted() );
+    }
+
     @VisibleForTesting
     public void legacyCheckPoint( LogPosition logPosition ) throws IOException
     {
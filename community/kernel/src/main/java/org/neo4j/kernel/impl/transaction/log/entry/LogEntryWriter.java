@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.log.entry;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 
 import org.neo4j.internal.helpers.collection.Visitor;
@@ -32,6 +33,7 @@ import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.storageengine.api.StorageCommand;
 
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMMAND;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMPRESSED_COMMANDS;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.LEGACY_CHECK_POINT;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.TX_COMMIT;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.TX_START;
@@ -110,6 +112,20 @@ public class LogEntryWriter<T extends WritableChecksumChannel>
         serializer.visit( command );
     }
 
+    /**
+     * Write a block of command entries that have already been serialized and compressed as a whole.
+     *
+     * @param uncompressedLength the length of the serialized command entries before they were compressed.
+     * @param compressedCommands the compressed command entries.
+     */
+    public void writeCompressedCommands( int uncompressedLength, ByteBuffer compressedCommands ) throws IOException
+    {
+        writeLogEntryHeader( COMPRESSED_COMMANDS, channel );
+        channel.putInt( uncompressedLength )
+                .putInt( compressedCommands.remaining() )
+                .putAll( compressedCommands );
+    }
+
     public void writeLegacyCheckPointEntry( LogPosition logPosition ) throws IOException
     {
         channel.beginChecksum();
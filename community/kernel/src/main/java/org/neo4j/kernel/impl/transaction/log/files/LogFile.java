@@ -96,6 +96,15 @@ public interface LogFile extends RotatableFile
 
     Path getLogFileForVersion( long version );
 
+    /**
+     * Hands the file of a pruned log version over to be reused as the file of a later log version, instead of deleting it.
+     * The file is deleted if enough pruned files are already waiting to be reused.
+     *
+     * @param version the pruned log version.
+     * @throws IOException on I/O error.
+     */
+    void recycleLogFile( long version ) throws IOException;
+
     Path getHighestLogFile();
 
     long getHighestLogVersion();
@@ -48,6 +48,7 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.monitoring.Monitors;
 import org.neo4j.monitoring.PanicEventGenerator;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
 import org.neo4j.storageengine.api.KernelVersionRepository;
 import org.neo4j.storageengine.api.LogVersionRepository;
@@ -103,6 +104,7 @@ public class LogFilesBuilder
     private StoreId storeId;
     private NativeAccess nativeAccess;
     private KernelVersionRepository kernelVersionRepository;
+    private JobScheduler jobScheduler;
 
     private LogFilesBuilder()
     {
@@ -258,6 +260,12 @@ public class LogFilesBuilder
         return this;
     }
 
+    public LogFilesBuilder withJobScheduler( JobScheduler jobScheduler )
+    {
+        this.jobScheduler = jobScheduler;
+        return this;
+    }
+
     public LogFilesBuilder withCommandReaderFactory( CommandReaderFactory commandReaderFactory )
     {
         this.commandReaderFactory = commandReaderFactory;
@@ -330,7 +338,20 @@ public class LogFilesBuilder
         return new TransactionLogFilesContext( rotationThreshold, tryPreallocateTransactionLogs, logEntryReader, lastCommittedIdSupplier,
                 committingTransactionIdSupplier, lastClosedTransactionPositionSupplier, logVersionRepositorySupplier,
                 fileSystem, logProvider, databaseTracers, storeIdSupplier, nativeAccess, memoryTracker, monitors, config.get( fail_on_corrupted_log_files ),
-                health, kernelVersionRepository, clock, config );
+                health, kernelVersionRepository, clock, config, getJobScheduler() );
+    }
+
+    private JobScheduler getJobScheduler()
+    {
+        if ( jobScheduler != null )
+        {
+            return jobScheduler;
+        }
+        if ( dependencies != null && dependencies.containsDependency( JobScheduler.class ) )
+        {
+            return dependencies.resolveDependency( JobScheduler.class );
+        }
+        return null;
     }
 
     private Clock getClock()
@@ -26,6 +26,10 @@ class ThreadLink
     final Thread thread;
     volatile ThreadLink next;
     volatile boolean done;
+    /**
+     * Set on the most recent link of a batch forced by the dedicated log flusher, whose thread then gets to check for log rotation.
+     */
+    volatile boolean checkRotation;
 
     ThreadLink( Thread thread )
     {
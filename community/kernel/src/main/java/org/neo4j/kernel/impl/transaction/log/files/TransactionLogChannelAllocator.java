@@ -22,8 +22,14 @@ package org.neo4j.kernel.impl.transaction.log.files;
 import java.io.IOException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.LongSupplier;
 
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+
+import org.neo4j.io.fs.DelegatingStoreChannel;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.memory.HeapScopedBuffer;
@@ -34,19 +40,28 @@ import org.neo4j.kernel.impl.transaction.log.entry.LogHeaderWriter;
 import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
 import org.neo4j.kernel.impl.transaction.tracing.LogFileCreateEvent;
 
+import static java.lang.Math.min;
 import static java.lang.String.format;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_file_recycling_max_files;
+import static org.neo4j.io.ByteUnit.kibiBytes;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_FORMAT_LOG_HEADER_SIZE;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_LOG_FORMAT_VERSION;
 
 public class TransactionLogChannelAllocator
 {
+    private static final int RECYCLED_FILE_ZEROING_BUFFER_SIZE = (int) kibiBytes( 256 );
+
     private final TransactionLogFilesContext logFilesContext;
     private final FileSystemAbstraction fileSystem;
     private final TransactionLogFilesHelper fileHelper;
     private final LogHeaderCache logHeaderCache;
     private final ChannelNativeAccessor nativeChannelAccessor;
     private final DatabaseTracer databaseTracer;
+    private final int maxRecycledFiles;
+    private final Queue<Path> recycledFiles = new ConcurrentLinkedQueue<>();
+    private final MutableLongIntMap openReaders = new LongIntHashMap();
+    private boolean leftoverRecycledFilesDeleted;
 
     public TransactionLogChannelAllocator( TransactionLogFilesContext logFilesContext, TransactionLogFilesHelper fileHelper, LogHeaderCache logHeaderCache,
             ChannelNativeAccessor nativeChannelAccessor )
@@ -57,6 +72,7 @@ public class TransactionLogChannelAllocator
         this.fileHelper = fileHelper;
         this.logHeaderCache = logHeaderCache;
         this.nativeChannelAccessor = nativeChannelAccessor;
+        this.maxRecycledFiles = logFilesContext.getConfig().get( transaction_log_file_recycling_max_files );
     }
 
     public PhysicalLogVersionedStoreChannel createLogChannel( long version, LongSupplier lastCommittedTransactionId ) throws IOException
@@ -102,7 +118,7 @@ public class TransactionLogChannelAllocator
         StoreChannel rawChannel = null;
         try
         {
-            rawChannel = fileSystem.read( fileToOpen );
+            rawChannel = openReaderChannel( version, fileToOpen );
             try ( var scopedBuffer = new HeapScopedBuffer( CURRENT_FORMAT_LOG_HEADER_SIZE, logFilesContext.getMemoryTracker() ) )
             {
                 var buffer = scopedBuffer.getBuffer();
@@ -144,10 +160,98 @@ public class TransactionLogChannelAllocator
         }
     }
 
+    /**
+     * Keeps the file of the given, pruned, log version around to be reused as the file of a later log version, instead of deleting it.
+     * The file is zeroed out here, so that reusing it only means renaming it and writing a new header. If enough files are already waiting
+     * to be reused, or if the file is open by a reader, the file is deleted instead. A reader keeps seeing the contents of a deleted file
+     * until it closes it, but would see a recycled file being zeroed out and reused. Log files are pruned by one thread at a time.
+     *
+     * @param version the pruned log version.
+     * @throws IOException on I/O error.
+     */
+    public void recycleLogFile( long version ) throws IOException
+    {
+        if ( !leftoverRecycledFilesDeleted )
+        {
+            deleteLeftoverRecycledFiles();
+            leftoverRecycledFilesDeleted = true;
+        }
+
+        Path file = fileHelper.getLogFileForVersion( version );
+        Path recycledFile = fileHelper.getRecycledLogFileForVersion( version );
+        synchronized ( openReaders )
+        {
+            if ( recycledFiles.size() >= maxRecycledFiles || openReaders.get( version ) > 0 )
+            {
+                fileSystem.deleteFile( file );
+                return;
+            }
+
+            // The file is moved out of the way before it is zeroed, so that it can not be mistaken for a log file should we crash while zeroing it.
+            // Readers that open the log version from now on fail to find it, same as when it is deleted.
+            fileSystem.renameFile( file, recycledFile );
+        }
+        try ( StoreChannel storeChannel = fileSystem.write( recycledFile );
+              var scopedBuffer = new HeapScopedBuffer( RECYCLED_FILE_ZEROING_BUFFER_SIZE, logFilesContext.getMemoryTracker() ) )
+        {
+            var zeroes = scopedBuffer.getBuffer();
+            long size = storeChannel.size();
+            for ( long position = 0; position < size; position += zeroes.limit() )
+            {
+                zeroes.clear().limit( (int) min( zeroes.capacity(), size - position ) );
+                storeChannel.writeAll( zeroes, position );
+            }
+            storeChannel.force( false );
+        }
+        recycledFiles.offer( recycledFile );
+    }
+
+    private StoreChannel openReaderChannel( long version, Path file ) throws IOException
+    {
+        synchronized ( openReaders )
+        {
+            StoreChannel channel = fileSystem.read( file );
+            openReaders.addToValue( version, 1 );
+            return new ReaderStoreChannel( channel, version );
+        }
+    }
+
+    private void closeReaderChannel( long version )
+    {
+        synchronized ( openReaders )
+        {
+            if ( openReaders.addToValue( version, -1 ) <= 0 )
+            {
+                openReaders.remove( version );
+            }
+        }
+    }
+
+    /**
+     * Recycled files left behind by a previous run may not have been completely zeroed out, so they are deleted rather than reused.
+     */
+    private void deleteLeftoverRecycledFiles() throws IOException
+    {
+        for ( Path recycledFile : fileHelper.getRecycledFiles() )
+        {
+            fileSystem.deleteFile( recycledFile );
+        }
+    }
+
     private AllocatedFile allocateFile( long version ) throws IOException
     {
         Path file = fileHelper.getLogFileForVersion( version );
         boolean fileExist = fileSystem.fileExists( file );
+        if ( !fileExist )
+        {
+            Path recycledFile = recycledFiles.poll();
+            if ( recycledFile != null )
+            {
+                // A recycled file is zeroed out, so it looks like a preallocated file that the header is about to be written to
+                fileSystem.renameFile( recycledFile, file );
+                fileExist = true;
+            }
+        }
         StoreChannel storeChannel = fileSystem.write( file );
         if ( fileExist )
         {
@@ -160,6 +264,38 @@ public class TransactionLogChannelAllocator
         return new AllocatedFile( file, storeChannel );
     }
 
+    /**
+     * Keeps track of the log versions that have open readers, so that their files are not recycled from under them.
+     */
+    private class ReaderStoreChannel extends DelegatingStoreChannel<StoreChannel>
+    {
+        private final long version;
+        private boolean closed;
+
+        ReaderStoreChannel( StoreChannel delegate, long version )
+        {
+            super( delegate );
+            this.version = version;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                super.close();
+            }
+            finally
+            {
+                if ( !closed )
+                {
+                    closed = true;
+                    closeReaderChannel( version );
+                }
+            }
+        }
+    }
+
     private static class AllocatedFile
     {
         private final Path path;
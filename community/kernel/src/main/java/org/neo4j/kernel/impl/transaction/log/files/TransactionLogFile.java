@@ -25,7 +25,9 @@ import java.io.UncheckedIOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -33,6 +35,7 @@ import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.LongSupplier;
 
+import org.neo4j.configuration.Config;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.DelegatingStoreChannel;
@@ -57,16 +60,25 @@ import org.neo4j.kernel.impl.transaction.log.entry.LogEntry;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
 import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
 import org.neo4j.kernel.impl.transaction.log.rotation.monitor.LogRotationMonitor;
+import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
 import org.neo4j.kernel.impl.transaction.tracing.LogForceEvent;
 import org.neo4j.kernel.impl.transaction.tracing.LogForceEvents;
 import org.neo4j.kernel.impl.transaction.tracing.LogForceWaitEvent;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.LogVersionRepository;
 
 import static java.lang.Math.min;
 import static java.lang.Runtime.getRuntime;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_log_flusher;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_log_flusher_max_batch_window;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_compression;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_compression_level;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 
 /**
@@ -86,8 +98,13 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     private final TransactionLogFileInformation logFileInformation;
     private final TransactionLogChannelAllocator channelAllocator;
     private final DatabaseHealth databaseHealth;
+    private final String name;
+    private final boolean useDedicatedFlusher;
+    private final long flusherMaxBatchWindowNanos;
+    private final int commandsCompressionLevel;
 
     private volatile PhysicalLogVersionedStoreChannel channel;
+    private volatile LogFlusher flusher;
     private PositionAwarePhysicalFlushableChecksumChannel writer;
     private LogVersionRepository logVersionRepository;
     private final LogHeaderCache logHeaderCache;
@@ -108,6 +125,11 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         this.readerLogVersionBridge = new ReaderLogVersionBridge( this );
         this.pageCacheTracer = context.getDatabaseTracers().getPageCacheTracer();
         this.memoryTracker = context.getMemoryTracker();
+        this.name = name;
+        Config config = context.getConfig();
+        this.useDedicatedFlusher = config.get( dedicated_transaction_log_flusher );
+        this.flusherMaxBatchWindowNanos = config.get( dedicated_transaction_log_flusher_max_batch_window ).toNanos();
+        this.commandsCompressionLevel = config.get( transaction_log_compression ) ? config.get( transaction_log_compression_level ) : 0;
     }
 
     @Override
@@ -127,7 +149,14 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         seekChannelPosition( currentLogVersion );
 
         writer = new PositionAwarePhysicalFlushableChecksumChannel( channel, new NativeScopedBuffer( calculateLogBufferSize(), memoryTracker ) );
-        transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getKernelVersionProvider() ) );
+        transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getKernelVersionProvider() ), memoryTracker,
+                commandsCompressionLevel );
+        JobScheduler jobScheduler = context.getJobScheduler();
+        if ( useDedicatedFlusher && jobScheduler != null )
+        {
+            flusher = new LogFlusher( context.getDatabaseTracers().getDatabaseTracer() );
+            flusher.start( jobScheduler );
+        }
     }
 
     // In order to be able to write into a logfile after life.stop during shutdown sequence
@@ -136,7 +165,18 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     @Override
     public void shutdown() throws IOException
     {
+        LogFlusher flusher = this.flusher;
+        if ( flusher != null )
+        {
+            // Committing transactions force the log themselves once the flusher has stopped
+            this.flusher = null;
+            flusher.stop();
+        }
         IOUtils.closeAll( writer );
+        if ( transactionLogWriter != null )
+        {
+            transactionLogWriter.releaseSerializationBuffers();
+        }
     }
 
     @Override
@@ -253,6 +293,12 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         return fileHelper.getLogFileForVersion( version );
     }
 
+    @Override
+    public void recycleLogFile( long version ) throws IOException
+    {
+        channelAllocator.recycleLogFile( version );
+    }
+
     @Override
     public Path getHighestLogFile()
     {
@@ -377,9 +423,14 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
 
     /**
      * Called by the appender that just appended a transaction to the log.
+     * <p>
+     * With a dedicated log flusher the log is forced by the flusher thread, and the appender only waits for its append to be forced.
+     * Appends of the next batch then go into the log buffer while the current batch is being forced. Otherwise one of the waiting appenders
+     * forces the log on behalf of the others.
      *
      * @param logForceEvents A trace event for the given log append operation.
-     * @return {@code true} if we got lucky and were the ones forcing the log.
+     * @return {@code true} if we got lucky and were the ones forcing the log, or, with a dedicated log flusher, the most recent append of
+     * the forced batch. Either way, one appender of each batch gets to check for log rotation.
      */
     @Override
     public boolean forceAfterAppend( LogForceEvents logForceEvents ) throws IOException
@@ -388,6 +439,30 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         // This is okay, however, because unparkAll() spins when it sees a null next pointer.
         ThreadLink threadLink = new ThreadLink( Thread.currentThread() );
         threadLink.next = threadLinkHead.getAndSet( threadLink );
+
+        LogFlusher flusher = this.flusher;
+        if ( flusher != null )
+        {
+            flusher.forceRequested();
+            try ( LogForceWaitEvent logForceWaitEvent = logForceEvents.beginLogForceWait() )
+            {
+                while ( !threadLink.done && flusher.isRunning() )
+                {
+                    waitForLogForce();
+                }
+            }
+            if ( threadLink.done )
+            {
+                databaseHealth.assertHealthy( IOException.class );
+                return threadLink.checkRotation;
+            }
+            // The flusher stopped before getting to our append, so force it ourselves
+        }
+        return forceOrWaitForLogForce( threadLink, logForceEvents );
+    }
+
+    private boolean forceOrWaitForLogForce( ThreadLink threadLink, LogForceEvents logForceEvents ) throws IOException
+    {
         boolean attemptedForce = false;
 
         try ( LogForceWaitEvent logForceWaitEvent = logForceEvents.beginLogForceWait() )
@@ -606,9 +681,15 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     private void forceLog( LogForceEvents logForceEvents ) throws IOException
     {
         ThreadLink links = threadLinkHead.getAndSet( ThreadLink.END );
+        if ( links != ThreadLink.END )
+        {
+            links.checkRotation = true;
+        }
         try ( LogForceEvent logForceEvent = logForceEvents.beginLogForce() )
         {
+            long startNanos = System.nanoTime();
             force();
+            logForceEvent.forceCompleted( countLinks( links ), System.nanoTime() - startNanos );
         }
         catch ( final Throwable panic )
         {
@@ -621,6 +702,24 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         }
     }
 
+    private static int countLinks( ThreadLink links )
+    {
+        int count = 0;
+        while ( links != ThreadLink.END )
+        {
+            count++;
+            ThreadLink tmp;
+            do
+            {
+                // Spin because of the race:y update when consing.
+                tmp = links.next;
+            }
+            while ( tmp == null );
+            links = tmp;
+        }
+        return count;
+    }
+
     private static void unparkAll( ThreadLink links )
     {
         do
@@ -672,6 +771,165 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         }
     }
 
+    /**
+     * Forces the log on behalf of committing transactions, which then only wait for their appends to be forced and never force the log themselves.
+     * While the flusher forces one batch the next batch is appended to the log buffer, so appending and forcing overlap.
+     * <p>
+     * Before forcing, the flusher may wait a little for more appends to batch up. It waits only while fewer appends than in recent batches have asked
+     * for a force, and never longer than the configured window or recent forces took. A single committing client therefore doesn't wait at all, while
+     * many concurrent clients get their appends forced in batches about as big as the number of clients.
+     * <p>
+     * The flusher stops once the database has panicked, after which committing transactions force the log themselves, and fail on the panic.
+     */
+    private class LogFlusher implements Runnable
+    {
+        private static final double SMOOTHING = 0.2;
+
+        private final LogForceEvents logForceEvents;
+        private final AtomicInteger pendingForces = new AtomicInteger();
+        private volatile Thread thread;
+        private JobHandle<?> jobHandle;
+        private volatile boolean running = true;
+        private volatile boolean idle;
+        private double expectedBatchSize = 1;
+        private double expectedForceNanos;
+
+        LogFlusher( DatabaseTracer databaseTracer )
+        {
+            this.logForceEvents = new LogForceEvents()
+            {
+                @Override
+                public LogForceWaitEvent beginLogForceWait()
+                {
+                    return LogForceWaitEvent.NULL;
+                }
+
+                @Override
+                public LogForceEvent beginLogForce()
+                {
+                    return databaseTracer.beginLogForce();
+                }
+            };
+        }
+
+        void start( JobScheduler jobScheduler )
+        {
+            var monitoringParams = JobMonitoringParams.systemJob( "Forcing of transaction log '" + name + "'" );
+            jobHandle = jobScheduler.schedule( Group.TRANSACTION_LOG_FLUSHER, monitoringParams, this );
+        }
+
+        void stop() throws IOException
+        {
+            running = false;
+            unpark();
+            try
+            {
+                jobHandle.waitTermination();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch ( ExecutionException e )
+            {
+                throw new IOException( "Transaction log flusher failed", e.getCause() );
+            }
+        }
+
+        private void unpark()
+        {
+            Thread thread = this.thread;
+            if ( thread != null )
+            {
+                LockSupport.unpark( thread );
+            }
+        }
+
+        boolean isRunning()
+        {
+            return running;
+        }
+
+        void forceRequested()
+        {
+            pendingForces.incrementAndGet();
+            if ( idle )
+            {
+                unpark();
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            thread = Thread.currentThread();
+            while ( running )
+            {
+                if ( !databaseHealth.isHealthy() )
+                {
+                    // Forcing the log fails after a panic, so leave it to the committing transactions to fail on the panic when forcing it themselves
+                    running = false;
+                    return;
+                }
+                if ( threadLinkHead.get() == ThreadLink.END )
+                {
+                    idle = true;
+                    // Check again after announcing that we're idle, or a request made in between would not unpark us
+                    if ( threadLinkHead.get() == ThreadLink.END && running )
+                    {
+                        LockSupport.parkNanos( this, TimeUnit.MILLISECONDS.toNanos( 100 ) );
+                    }
+                    idle = false;
+                    continue;
+                }
+                awaitBatch();
+                flush();
+            }
+            // Force whatever got appended before we stopped, committing transactions force the log themselves from now on
+            if ( threadLinkHead.get() != ThreadLink.END && databaseHealth.isHealthy() )
+            {
+                flush();
+            }
+        }
+
+        private void awaitBatch()
+        {
+            long windowNanos = Math.min( flusherMaxBatchWindowNanos, (long) expectedForceNanos );
+            if ( windowNanos <= 0 )
+            {
+                return;
+            }
+            long deadline = System.nanoTime() + windowNanos;
+            while ( pendingForces.get() < expectedBatchSize && System.nanoTime() < deadline && running )
+            {
+                LockSupport.parkNanos( this, TimeUnit.MICROSECONDS.toNanos( 10 ) );
+            }
+        }
+
+        private void flush()
+        {
+            int batchSize = pendingForces.getAndSet( 0 );
+            long startNanos = System.nanoTime();
+            forceLock.lock();
+            try
+            {
+                forceLog( logForceEvents );
+            }
+            catch ( Throwable e )
+            {
+                // The database has been marked as panicked by forceLog, which the waiting transactions will notice once unparked.
+                // Stop right away, so that the ones not yet in a batch don't wait for a flusher that won't force the log again.
+                running = false;
+            }
+            finally
+            {
+                forceLock.unlock();
+            }
+            expectedBatchSize += SMOOTHING * (Math.max( 1, batchSize ) - expectedBatchSize);
+            expectedForceNanos += SMOOTHING * ((System.nanoTime() - startNanos) - expectedForceNanos);
+        }
+    }
+
     private static class UncloseableChannel extends DelegatingStoreChannel<LogVersionedStoreChannel> implements LogVersionedStoreChannel
     {
         UncloseableChannel( LogVersionedStoreChannel channel )
@@ -35,6 +35,7 @@ import org.neo4j.time.SystemNanoClock;
 
 import static org.apache.commons.lang3.ArrayUtils.isNotEmpty;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.checkpoint_logical_log_keep_threshold;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_file_recycling;
 import static org.neo4j.configuration.GraphDatabaseSettings.keep_logical_logs;
 
 /**
@@ -50,6 +51,7 @@ public class LogPruningImpl implements LogPruning
     private final SystemNanoClock clock;
     private final LogProvider logProvider;
     private final int checkpointFilesToKeep;
+    private final boolean recycleLogFiles;
     private volatile LogPruneStrategy pruneStrategy;
 
     public LogPruningImpl( FileSystemAbstraction fs,
@@ -67,6 +69,7 @@ public class LogPruningImpl implements LogPruning
         this.clock = clock;
         this.pruneStrategy = strategyFactory.strategyFromConfigValue( fs, logFiles, logProvider, clock, config.get( keep_logical_logs ) );
         this.checkpointFilesToKeep = config.get( checkpoint_logical_log_keep_threshold );
+        this.recycleLogFiles = config.get( transaction_log_file_recycling );
 
         // Register listener for updates
         config.addListener( keep_logical_logs, ( prev, update ) -> updateConfiguration( update ) );
@@ -88,7 +91,7 @@ public class LogPruningImpl implements LogPruning
         {
             try
             {
-                CountingDeleter deleter = new CountingDeleter( logFiles, fs );
+                CountingDeleter deleter = new CountingDeleter( logFiles, fs, recycleLogFiles );
                 LogPruneStrategy strategy = this.pruneStrategy;
                 strategy.findLogVersionsToDelete( upToVersion ).forEachOrdered( deleter );
                 log.info( deleter.describeResult( strategy ) );
@@ -139,13 +142,15 @@ public class LogPruningImpl implements LogPruning
         private static final int NO_VERSION = -1;
         private final LogFiles logFiles;
         private final FileSystemAbstraction fs;
+        private final boolean recycleLogFiles;
         private long fromVersion;
         private long toVersion;
 
-        private CountingDeleter( LogFiles logFiles, FileSystemAbstraction fs )
+        private CountingDeleter( LogFiles logFiles, FileSystemAbstraction fs, boolean recycleLogFiles )
         {
             this.logFiles = logFiles;
             this.fs = fs;
+            this.recycleLogFiles = recycleLogFiles;
             fromVersion = NO_VERSION;
             toVersion = NO_VERSION;
         }
@@ -155,10 +160,16 @@ public class LogPruningImpl implements LogPruning
         {
             fromVersion = fromVersion == NO_VERSION ? version : Math.min( fromVersion, version );
             toVersion = toVersion == NO_VERSION ? version : Math.max( toVersion, version );
-            Path logFile = logFiles.getLogFile().getLogFileForVersion( version );
             try
             {
-                fs.deleteFile( logFile );
+                if ( recycleLogFiles )
+                {
+                    logFiles.getLogFile().recycleLogFile( version );
+                }
+                else
+                {
+                    fs.deleteFile( logFiles.getLogFile().getLogFileForVersion( version ) );
+                }
             }
             catch ( IOException e )
             {
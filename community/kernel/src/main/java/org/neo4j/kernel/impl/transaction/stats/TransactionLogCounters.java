@@ -44,4 +44,28 @@ public interface TransactionLogCounters
      * @return last log rotation time in milliseconds
      */
     long lastLogRotationTimeMillis();
+
+    /**
+     * Total number of transaction log forces
+     * @return number of forces
+     */
+    long numberOfLogForces();
+
+    /**
+     * Total number of appends made durable by transaction log forces. Divided by {@link #numberOfLogForces()} this is the average batch size.
+     * @return number of appends made durable by forces
+     */
+    long logForcedAppends();
+
+    /**
+     * Accumulated log force time in microseconds
+     * @return accumulated log force time in microseconds
+     */
+    long logForceAccumulatedTotalTimeMicros();
+
+    /**
+     * Last log force time in microseconds
+     * @return last log force time in microseconds
+     */
+    long lastLogForceTimeMicros();
 }
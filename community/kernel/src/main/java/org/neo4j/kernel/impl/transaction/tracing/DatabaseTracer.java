@@ -84,7 +84,43 @@ public interface DatabaseTracer extends TransactionTracer, CheckPointTracer
         {
             return 0;
         }
+
+        @Override
+        public long numberOfLogForces()
+        {
+            return 0;
+        }
+
+        @Override
+        public long logForcedAppends()
+        {
+            return 0;
+        }
+
+        @Override
+        public long logForceAccumulatedTotalTimeMicros()
+        {
+            return 0;
+        }
+
+        @Override
+        public long lastLogForceTimeMicros()
+        {
+            return 0;
+        }
+
+        @Override
+        public LogForceEvent beginLogForce()
+        {
+            return LogForceEvent.NULL;
+        }
     };
 
     LogFileCreateEvent createLogFile();
+
+    /**
+     * Begin a force of the transaction log file which isn't made by a committing transaction, but by the dedicated log flusher on behalf of
+     * committing transactions.
+     */
+    LogForceEvent beginLogForce();
 }
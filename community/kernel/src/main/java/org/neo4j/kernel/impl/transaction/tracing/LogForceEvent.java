@@ -30,6 +30,16 @@ public interface LogForceEvent extends AutoCloseable
     {
     };
 
+    /**
+     * A force of the transaction log file completed successfully.
+     *
+     * @param batchSize the number of appends made durable by this force.
+     * @param forceTimeNanos the time, in nanoseconds, it took to force the log.
+     */
+    default void forceCompleted( int batchSize, long forceTimeNanos )
+    {
+    }
+
     /**
      * Marks the end of the force call on the transaction log file.
      */
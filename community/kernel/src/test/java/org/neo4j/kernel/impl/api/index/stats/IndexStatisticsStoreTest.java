@@ -27,9 +27,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.io.IOException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntFunction;
 
 import org.neo4j.index.internal.gbptree.TreeFileNotFoundException;
 import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -37,14 +39,18 @@ import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.exceptions.ReadOnlyDbException;
+import org.neo4j.kernel.api.index.HyperLogLog;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.test.Race;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
 import org.neo4j.test.rule.RandomRule;
 import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -72,6 +78,8 @@ class IndexStatisticsStoreTest
     @Inject
     private RandomRule randomRule;
 
+    private static final SchemaDescriptor SCHEMA = SchemaDescriptor.forLabel( 1, 1 );
+
     private IndexStatisticsStore store;
     private final PageCacheTracer pageCacheTracer = PageCacheTracer.NULL;
 
@@ -186,6 +194,136 @@ class IndexStatisticsStoreTest
                 initialSample.updates() + addedUpdates ), store.indexSample( indexId ) );
     }
 
+    @Test
+    void shouldKeepStatisticsOfUniqueIndexUpToDateIncrementally()
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 1000, 1000, 1000, sketchOf( 0, 1000, i -> Values.intValue( i ) ) ) );
+
+        // when
+        IndexStatisticsDelta delta = new IndexStatisticsDelta();
+        for ( int i = 1000; i < 1500; i++ )
+        {
+            delta.include( IndexEntryUpdate.add( i, SCHEMA, Values.intValue( i ) ) );
+        }
+        for ( int i = 0; i < 300; i++ )
+        {
+            delta.include( IndexEntryUpdate.remove( i, SCHEMA, Values.intValue( i ) ) );
+        }
+        store.incrementIndexStatistics( indexId, delta );
+
+        // then there can't be more distinct values than entries, even though the sketch doesn't know about the removed values
+        IndexSample sample = store.indexSample( indexId );
+        assertEquals( 1200, sample.indexSize() );
+        assertEquals( 1200, sample.sampleSize() );
+        assertEquals( 1200, sample.uniqueValues() );
+        assertEquals( 300, sample.updates() );
+    }
+
+    @Test
+    void shouldNotCountRepeatedValuesAsDistinctWhenIncrementingStatistics()
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 1000, 10, 1000, sketchOf( 0, 10, i -> Values.stringValue( "value" + i ) ) ) );
+
+        // when
+        for ( int batch = 0; batch < 10; batch++ )
+        {
+            IndexStatisticsDelta delta = new IndexStatisticsDelta();
+            for ( int i = 0; i < 100; i++ )
+            {
+                long entityId = 1000 + batch * 100 + i;
+                delta.include( IndexEntryUpdate.add( entityId, SCHEMA, Values.stringValue( "value" + entityId % 10 ) ) );
+            }
+            store.incrementIndexStatistics( indexId, delta );
+        }
+
+        // then
+        IndexSample sample = store.indexSample( indexId );
+        assertEquals( 2000, sample.indexSize() );
+        assertThat( sample.uniqueValues() ).isBetween( 9L, 11L );
+        assertEquals( 0, sample.updates() );
+    }
+
+    @Test
+    void shouldCountNewDistinctValuesOfLowCardinalityIndexWhenIncrementingStatistics()
+    {
+        // given an index of 10 000 entries with only 10 distinct values
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 10_000, 10, 10_000, sketchOf( 0, 10, i -> Values.stringValue( "value" + i ) ) ) );
+
+        // when adding 500 entries of new values, as well as entries of the existing values
+        IndexStatisticsDelta delta = new IndexStatisticsDelta();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            delta.include( IndexEntryUpdate.add( 10_000 + i, SCHEMA, Values.stringValue( "value" + (i % 2 == 0 ? i % 10 : 10 + i) ) ) );
+        }
+        store.incrementIndexStatistics( indexId, delta );
+
+        // then every new value counts, and none of the existing ones
+        IndexSample sample = store.indexSample( indexId );
+        assertEquals( 11_000, sample.indexSize() );
+        assertThat( sample.uniqueValues() ).isBetween( 460L, 560L );
+        assertEquals( 0, sample.updates() );
+    }
+
+    @Test
+    void shouldOnlyKeepIndexSizeUpToDateWhenSampleHasNoSketch()
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 1000, 10, 100 ) );
+
+        // when
+        IndexStatisticsDelta delta = new IndexStatisticsDelta();
+        for ( int i = 0; i < 50; i++ )
+        {
+            delta.include( IndexEntryUpdate.add( 1000 + i, SCHEMA, Values.intValue( 1000 + i ) ) );
+        }
+        delta.include( IndexEntryUpdate.remove( 0, SCHEMA, Values.intValue( 0 ) ) );
+        store.incrementIndexStatistics( indexId, delta );
+
+        // then the distinct values of the sample are kept, and every update counts towards the next sample
+        assertEquals( new IndexSample( 1049, 10, 100, 51 ), store.indexSample( indexId ) );
+    }
+
+    @Test
+    void shouldStartIncrementalStatisticsOverWhenReplacingSample()
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 10, 10, 10, sketchOf( 0, 10, i -> Values.intValue( i ) ) ) );
+        IndexStatisticsDelta delta = new IndexStatisticsDelta();
+        for ( int i = 10; i < 20; i++ )
+        {
+            delta.include( IndexEntryUpdate.add( i, SCHEMA, Values.intValue( i ) ) );
+        }
+        store.incrementIndexStatistics( indexId, delta );
+
+        // when
+        store.replaceStats( indexId, new IndexSample( 20, 2, 20, sketchOf( 0, 2, i -> Values.intValue( i ) ) ) );
+        store.incrementIndexStatistics( indexId, delta );
+
+        // then the values added before the new sample are counted anew, on top of the values of the new sample
+        IndexSample sample = store.indexSample( indexId );
+        assertEquals( 30, sample.indexSize() );
+        assertThat( sample.uniqueValues() ).isBetween( 11L, 13L );
+    }
+
+    @Test
+    void shouldNotIncrementStatisticsOfUnknownIndex()
+    {
+        // when
+        IndexStatisticsDelta delta = new IndexStatisticsDelta();
+        delta.include( IndexEntryUpdate.add( 1, SCHEMA, Values.intValue( 1 ) ) );
+        store.incrementIndexStatistics( 4, delta );
+
+        // then
+        assertEquals( new IndexSample(), store.indexSample( 4 ) );
+    }
+
     @Test
     void shouldStoreDataOnCheckpoint() throws IOException
     {
@@ -297,4 +435,14 @@ class IndexStatisticsStoreTest
         store.replaceStats( indexId, indexSample );
         assertEquals( indexSample, store.indexSample( indexId ) );
     }
+
+    private static HyperLogLog sketchOf( int from, int to, IntFunction<Value> value )
+    {
+        HyperLogLog sketch = new HyperLogLog();
+        for ( int i = from; i < to; i++ )
+        {
+            sketch.add( HyperLogLog.hash( value.apply( i ) ) );
+        }
+        return sketch;
+    }
 }
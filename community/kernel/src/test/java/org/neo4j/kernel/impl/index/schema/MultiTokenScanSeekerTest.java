@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.neo4j.index.internal.gbptree.Seeker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.kernel.impl.index.schema.MultiTokenScanSeeker.RESEEK_DISTANCE;
+
+class MultiTokenScanSeekerTest
+{
+    private static final int A = 1;
+    private static final int B = 2;
+    private static final int C = 3;
+
+    private final Map<Integer,NavigableMap<Long,Long>> index = new HashMap<>();
+    private final MutableIntIntMap visitedRanges = new IntIntHashMap();
+    private final MutableIntIntMap seeks = new IntIntHashMap();
+
+    @Test
+    void shouldIntersectBitsOfRangesThatAllTokensHave() throws IOException
+    {
+        // given
+        add( A, 1, 0b0111 );
+        add( A, 2, 0b0001 );
+        add( A, 4, 0b1111 );
+        add( B, 2, 0b0010 );
+        add( B, 4, 0b0101 );
+        add( B, 5, 0b0001 );
+        add( C, 1, 0b0001 );
+        add( C, 4, 0b1100 );
+
+        // then
+        assertThat( intersection( false, A, B ) ).containsExactly( "4:101" );
+        assertThat( intersection( false, A, C ) ).containsExactly( "1:1", "4:1100" );
+        assertThat( intersection( true, A, C ) ).containsExactly( "4:1100", "1:1" );
+        assertThat( intersection( false, A, B, C ) ).containsExactly( "4:100" );
+    }
+
+    @Test
+    void shouldUnionBitsOfRangesThatAnyTokenHas() throws IOException
+    {
+        // given
+        add( A, 1, 0b0011 );
+        add( A, 4, 0b0001 );
+        add( B, 4, 0b0110 );
+        add( B, 100, 0b1000 );
+
+        // then
+        assertThat( union( false, A, B ) ).containsExactly( "1:11", "4:111", "100:1000" );
+        assertThat( union( true, A, B ) ).containsExactly( "100:1000", "4:111", "1:11" );
+    }
+
+    @Test
+    void shouldSeekAgainRatherThanStepThroughRangesFarBehind() throws IOException
+    {
+        // given a dense token and a sparse one
+        for ( long range = 0; range < 10_000; range++ )
+        {
+            add( A, range, -1L );
+        }
+        add( B, 5_000, 0b0001 );
+        add( B, 9_000, 0b0010 );
+
+        // when
+        List<String> ascending = intersection( false, A, B );
+
+        // then only the ranges of the dense token around the ones of the sparse token are read
+        assertThat( ascending ).containsExactly( "5000:1", "9000:10" );
+        assertThat( visitedRanges.get( A ) ).isEqualTo( 5 ); // 0, 5000, 5001, 9000, 9001
+        assertThat( seeks.get( A ) ).isEqualTo( 3 );
+
+        // when
+        visitedRanges.clear();
+        seeks.clear();
+        List<String> descending = intersection( true, A, B );
+
+        // then
+        assertThat( descending ).containsExactly( "9000:10", "5000:1" );
+        assertThat( visitedRanges.get( A ) ).isEqualTo( 5 ); // 9999, 9000, 8999, 5000, 4999
+        assertThat( seeks.get( A ) ).isEqualTo( 3 );
+    }
+
+    @Test
+    void shouldStepThroughRangesCloseBehind() throws IOException
+    {
+        // given
+        for ( long range = 0; range <= 2 * RESEEK_DISTANCE; range++ )
+        {
+            add( A, range, -1L );
+        }
+        add( B, RESEEK_DISTANCE, 0b0001 );
+
+        // when
+        List<String> result = intersection( false, A, B );
+
+        // then
+        assertThat( result ).containsExactly( RESEEK_DISTANCE + ":1" );
+        assertThat( visitedRanges.get( A ) ).isEqualTo( RESEEK_DISTANCE + 2 );
+        assertThat( seeks.get( A ) ).isEqualTo( 1 );
+    }
+
+    private void add( int tokenId, long range, long bits )
+    {
+        index.computeIfAbsent( tokenId, t -> new TreeMap<>() ).put( range, bits );
+    }
+
+    private List<String> intersection( boolean descending, int... tokenIds ) throws IOException
+    {
+        return seek( true, descending, tokenIds );
+    }
+
+    private List<String> union( boolean descending, int... tokenIds ) throws IOException
+    {
+        return seek( false, descending, tokenIds );
+    }
+
+    private List<String> seek( boolean intersection, boolean descending, int... tokenIds ) throws IOException
+    {
+        List<String> result = new ArrayList<>();
+        long fromRange = descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+        try ( MultiTokenScanSeeker seeker = new MultiTokenScanSeeker( tokenIds, fromRange,
+                ( tokenId, from ) -> new RangeSeeker( tokenId, from, descending ), intersection, descending ) )
+        {
+            while ( seeker.next() )
+            {
+                assertThat( seeker.key().tokenId ).isEqualTo( tokenIds[0] );
+                result.add( seeker.key().idRange + ":" + Long.toBinaryString( seeker.value().bits ) );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Seeker over the ranges of one token in {@link #index}, which counts the ranges it visits.
+     */
+    private class RangeSeeker implements Seeker<TokenScanKey,TokenScanValue>
+    {
+        private final int tokenId;
+        private final Iterator<Map.Entry<Long,Long>> ranges;
+        private final TokenScanKey key = new TokenScanKey();
+        private final TokenScanValue value = new TokenScanValue();
+
+        RangeSeeker( int tokenId, long fromRange, boolean descending )
+        {
+            NavigableMap<Long,Long> tokenRanges = index.getOrDefault( tokenId, new TreeMap<>() );
+            this.tokenId = tokenId;
+            this.ranges = descending ? tokenRanges.headMap( fromRange, true ).descendingMap().entrySet().iterator()
+                                     : tokenRanges.tailMap( fromRange, true ).entrySet().iterator();
+            seeks.addToValue( tokenId, 1 );
+        }
+
+        @Override
+        public boolean next()
+        {
+            if ( !ranges.hasNext() )
+            {
+                return false;
+            }
+            Map.Entry<Long,Long> range = ranges.next();
+            key.set( tokenId, range.getKey() );
+            value.bits = range.getValue();
+            visitedRanges.addToValue( tokenId, 1 );
+            return true;
+        }
+
+        @Override
+        public TokenScanKey key()
+        {
+            return key;
+        }
+
+        @Override
+        public TokenScanValue value()
+        {
+            return value;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -369,6 +369,35 @@ abstract class NativeIndexAccessorTests<KEY extends NativeIndexKey<KEY>, VALUE e
         }
     }
 
+    @Test
+    void shouldReturnMatchingEntriesForManyExactPredicatesInOneMultiQuery() throws Exception
+    {
+        // given
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+        processAll( updates );
+
+        // when querying every other value, in random order, together with a value which is not in the index
+        List<Value> values = new ArrayList<>();
+        for ( int i = 0; i < updates.length; i += 2 )
+        {
+            values.add( updates[i].values()[0] );
+        }
+        values.add( generateUniqueValue( updates ) );
+        Collections.shuffle( values, random.random() );
+        PropertyIndexQuery.ExactPredicate[][] queries = values.stream()
+                .map( value -> new PropertyIndexQuery.ExactPredicate[]{PropertyIndexQuery.exact( 0, value )} )
+                .toArray( PropertyIndexQuery.ExactPredicate[][]::new );
+        var reader = accessor.newValueReader();
+        NodeValueIterator result = new NodeValueIterator();
+        reader.multiQuery( NULL_CONTEXT, result, unconstrained(), queries );
+
+        // then
+        try ( result )
+        {
+            assertEntityIdHits( extractEntityIds( updates, in( values.toArray( new Value[0] ) ) ), result );
+        }
+    }
+
     @Test
     void shouldReturnMatchingEntriesForRangePredicateWithInclusiveStartAndExclusiveEnd() throws Exception
     {
@@ -247,6 +247,38 @@ public class TokenIndexAccessorTest extends IndexAccessorTests<TokenScanKey,Toke
         assertReaderFindsExpected( indexOrder, tokenId, expectedIds );
     }
 
+    @ParameterizedTest
+    @EnumSource( IndexOrder.class )
+    void readerShouldFindIntersectionOfTokens( IndexOrder indexOrder ) throws Exception
+    {
+        // Given
+        addToIndex( 1, 1, 2, 3,    64, 65,     130, 1000,       2001, 5000 );
+        addToIndex( 2, 1, 2,    4, 64,     66, 130, 1000, 2000,       5000 );
+        addToIndex( 3,    2,       64,         130,       2000, 2001, 5000 );
+
+        // When
+        assertReaderFindsExpected( indexOrder, true, new int[]{1, 2}, LongLists.immutable.of( 1, 2, 64, 130, 1000, 5000 ) );
+        assertReaderFindsExpected( indexOrder, true, new int[]{1, 2, 3}, LongLists.immutable.of( 2, 64, 130, 5000 ) );
+        assertReaderFindsExpected( indexOrder, true, new int[]{1, 4}, LongLists.immutable.empty() );
+    }
+
+    @ParameterizedTest
+    @EnumSource( IndexOrder.class )
+    void readerShouldFindUnionOfTokens( IndexOrder indexOrder ) throws Exception
+    {
+        // Given
+        addToIndex( 1, 1, 2, 3,    64, 65,           1000,       2001 );
+        addToIndex( 2, 1, 2,    4, 64,     66,       1000, 2000       );
+        addToIndex( 3,    2,                   130,                   5000 );
+
+        // When
+        assertReaderFindsExpected( indexOrder, false, new int[]{1, 2},
+                LongLists.immutable.of( 1, 2, 3, 4, 64, 65, 66, 1000, 2000, 2001 ) );
+        assertReaderFindsExpected( indexOrder, false, new int[]{1, 2, 3, 4},
+                LongLists.immutable.of( 1, 2, 3, 4, 64, 65, 66, 130, 1000, 2000, 2001, 5000 ) );
+        assertReaderFindsExpected( indexOrder, false, new int[]{4, 3}, LongLists.immutable.of( 2, 130, 5000 ) );
+    }
+
     @ParameterizedTest
     @MethodSource( "orderCombinations" )
     void readerShouldHandleNestedQueries( IndexOrder outerOrder, IndexOrder innerOrder ) throws Exception
@@ -429,6 +461,30 @@ public class TokenIndexAccessorTest extends IndexAccessorTests<TokenScanKey,Toke
         }
     }
 
+    private void assertReaderFindsExpected( IndexOrder indexOrder, boolean allTokens, int[] tokenIds, LongList expectedIds ) throws Exception
+    {
+        if ( indexOrder.equals( IndexOrder.DESCENDING ) )
+        {
+            expectedIds = expectedIds.toReversed();
+        }
+        try ( var reader = accessor.newTokenReader();
+              CollectingEntityTokenClient collectingEntityTokenClient = new CollectingEntityTokenClient( tokenIds[0] ) )
+        {
+            IndexQueryConstraints constraint = IndexQueryConstraints.constrained( indexOrder, false );
+            TokenPredicate[] queries = Arrays.stream( tokenIds ).mapToObj( TokenPredicate::new ).toArray( TokenPredicate[]::new );
+            reader.query( collectingEntityTokenClient, constraint, queries, allTokens, NULL );
+
+            // Then
+            int count = 0;
+            while ( collectingEntityTokenClient.next() )
+            {
+                count++;
+            }
+            assertThat( count ).isEqualTo( expectedIds.size() );
+            assertThat( collectingEntityTokenClient.actualIds ).isEqualTo( expectedIds );
+        }
+    }
+
     private void maybeRestartAccessor() throws IOException
     {
         if ( random.nextDouble() < 0.1 )
@@ -494,6 +550,13 @@ public class TokenIndexAccessorTest extends IndexAccessorTests<TokenScanKey,Toke
             throw new UnsupportedOperationException( "Did not expect to use this method" );
         }
 
+        @Override
+        public void initialize( IndexProgressor progressor, int[] tokens, boolean allTokens, IndexOrder order )
+        {
+            assertThat( tokens[0] ).isEqualTo( expectedToken );
+            this.progressor = progressor;
+        }
+
         @Override
         public boolean acceptEntity( long reference, TokenSet tokens )
         {
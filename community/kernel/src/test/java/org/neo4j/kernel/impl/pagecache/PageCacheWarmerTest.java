@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.layout.Neo4jLayout;
+import org.neo4j.io.pagecache.DelegatingPageCache;
+import org.neo4j.io.pagecache.DelegatingPagedFile;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
+import org.neo4j.logging.AssertableLogProvider;
+import org.neo4j.logging.NullLog;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.time.Clocks;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.helpers.DatabaseReadOnlyChecker.readOnly;
+import static org.neo4j.configuration.helpers.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.logging.AssertableLogProvider.Level.WARN;
+import static org.neo4j.logging.LogAssertions.assertThat;
+
+@PageCacheExtension
+class PageCacheWarmerTest
+{
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private PageCache pageCache;
+    @Inject
+    private TestDirectory testDirectory;
+
+    private DatabaseLayout databaseLayout;
+    private JobScheduler scheduler;
+
+    @BeforeEach
+    void setUp()
+    {
+        databaseLayout = Neo4jLayout.of( testDirectory.homePath() ).databaseLayout( DEFAULT_DATABASE_NAME );
+        scheduler = JobSchedulerFactory.createInitialisedScheduler();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        scheduler.close();
+    }
+
+    @Test
+    void mustWarmUpProfiledPagesAfterRemapping() throws Exception
+    {
+        Path file = databaseLayout.file( "neostore.nodestore.db" );
+        createFile( file, 100 );
+        BitSet touched = new BitSet();
+        touched.set( 3 );
+        touched.set( 10, 20 );
+        touched.set( 99 );
+
+        try ( PagedFile pagedFile = pageCache.map( file, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+        {
+            touch( pagedFile, touched );
+            assertThat( warmer( Config.defaults() ).profile() ).isGreaterThanOrEqualTo( touched.cardinality() );
+        }
+        assertThat( fs.fileExists( databaseLayout.pageCacheProfilesDirectory().resolve( file.getFileName() + PageCacheWarmer.PROFILE_SUFFIX ) ) ).isTrue();
+
+        try ( PagedFile pagedFile = pageCache.map( file, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+        {
+            assertThat( pagedFile.residentPages( NULL ).isEmpty() ).isTrue();
+            RecordingMonitor monitor = new RecordingMonitor();
+            long loaded = warmer( Config.defaults(), monitor ).warmUp();
+
+            BitSet resident = pagedFile.residentPages( NULL );
+            assertThat( loaded ).isEqualTo( resident.cardinality() );
+            assertThat( touched.stream().allMatch( resident::get ) ).isTrue();
+            assertThat( monitor.startedFiles ).isEqualTo( 1 );
+            assertThat( monitor.completedPages ).isEqualTo( loaded );
+        }
+    }
+
+    @Test
+    void mustLoadAllPagesWhenPrefetching() throws Exception
+    {
+        Path file = databaseLayout.file( "neostore.relationshipstore.db" );
+        createFile( file, 50 );
+
+        try ( PagedFile pagedFile = pageCache.map( file, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+        {
+            long loaded = warmer( Config.defaults( pagecache_warmup_prefetch, true ) ).warmUp();
+            assertThat( loaded ).isEqualTo( 50 );
+            assertThat( pagedFile.residentPages( NULL ).cardinality() ).isEqualTo( 50 );
+        }
+    }
+
+    @Test
+    void mustDeleteProfilesOfFilesThatAreNoLongerMapped() throws Exception
+    {
+        Path first = databaseLayout.file( "first" );
+        Path second = databaseLayout.file( "second" );
+        createFile( first, 10 );
+        createFile( second, 10 );
+        Path firstProfile = databaseLayout.pageCacheProfilesDirectory().resolve( "first" + PageCacheWarmer.PROFILE_SUFFIX );
+        Path secondProfile = databaseLayout.pageCacheProfilesDirectory().resolve( "second" + PageCacheWarmer.PROFILE_SUFFIX );
+
+        try ( PagedFile pagedFirst = pageCache.map( first, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+        {
+            try ( PagedFile pagedSecond = pageCache.map( second, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+            {
+                warmer( Config.defaults() ).profile();
+            }
+            assertThat( fs.fileExists( firstProfile ) ).isTrue();
+            assertThat( fs.fileExists( secondProfile ) ).isTrue();
+
+            warmer( Config.defaults() ).profile();
+            assertThat( fs.fileExists( firstProfile ) ).isTrue();
+            assertThat( fs.fileExists( secondProfile ) ).isFalse();
+        }
+    }
+
+    @Test
+    void mustNotWriteProfilesWhenReadOnly() throws Exception
+    {
+        Path file = databaseLayout.file( "file" );
+        createFile( file, 10 );
+        try ( PagedFile pagedFile = pageCache.map( file, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+        {
+            PageCacheWarmer warmer = new PageCacheWarmer( fs, pageCache, scheduler, databaseLayout, Config.defaults(), readOnly(), Clocks.nanoClock(),
+                    PageCacheTracer.NULL, NullLog.getInstance(), new PageCacheWarmer.MonitorAdapter() );
+            assertThat( warmer.profile() ).isZero();
+        }
+        assertThat( fs.fileExists( databaseLayout.pageCacheProfilesDirectory() ) ).isFalse();
+    }
+
+    @Test
+    void mustWarmUpOtherFilesAndLogWhenLoadingAFileFails() throws Exception
+    {
+        Path failing = databaseLayout.file( "failing" );
+        Path working = databaseLayout.file( "working" );
+        createFile( failing, 10 );
+        createFile( working, 10 );
+        PageCache failingPageCache = new DelegatingPageCache( pageCache )
+        {
+            @Override
+            public List<PagedFile> listExistingMappings() throws IOException
+            {
+                return super.listExistingMappings().stream()
+                        .map( pagedFile -> pagedFile.path().equals( failing ) ? failingToLoad( pagedFile ) : pagedFile )
+                        .collect( Collectors.toList() );
+            }
+        };
+        AssertableLogProvider logProvider = new AssertableLogProvider();
+
+        try ( PagedFile pagedFailing = pageCache.map( failing, pageCache.pageSize(), DEFAULT_DATABASE_NAME );
+                PagedFile pagedWorking = pageCache.map( working, pageCache.pageSize(), DEFAULT_DATABASE_NAME ) )
+        {
+            PageCacheWarmer warmer = new PageCacheWarmer( fs, failingPageCache, scheduler, databaseLayout, Config.defaults( pagecache_warmup_prefetch, true ),
+                    writable(), Clocks.nanoClock(), PageCacheTracer.NULL, logProvider.getLog( PageCacheWarmer.class ), new PageCacheWarmer.MonitorAdapter() );
+            assertThat( warmer.warmUp() ).isEqualTo( 10 );
+            assertThat( pagedWorking.residentPages( NULL ).cardinality() ).isEqualTo( 10 );
+        }
+        assertThat( logProvider ).forClass( PageCacheWarmer.class ).forLevel( WARN )
+                .containsMessages( "Page cache warmup failed to load the pages of " + failing );
+    }
+
+    private PageCacheWarmer warmer( Config config )
+    {
+        return warmer( config, new PageCacheWarmer.MonitorAdapter() );
+    }
+
+    private PageCacheWarmer warmer( Config config, PageCacheWarmer.Monitor monitor )
+    {
+        return new PageCacheWarmer( fs, pageCache, scheduler, databaseLayout, config, writable(), Clocks.nanoClock(), PageCacheTracer.NULL,
+                NullLog.getInstance(), monitor );
+    }
+
+    private static PagedFile failingToLoad( PagedFile pagedFile )
+    {
+        return new DelegatingPagedFile( pagedFile )
+        {
+            @Override
+            public long loadPages( BitSet pages, IOController ioController, CursorContext context )
+            {
+                throw new IllegalStateException( "boom" );
+            }
+        };
+    }
+
+    private void createFile( Path file, int pages ) throws IOException
+    {
+        fs.mkdirs( file.getParent() );
+        try ( PagedFile pagedFile = pageCache.map( file, pageCache.pageSize(), DEFAULT_DATABASE_NAME, Sets.immutable.of( CREATE ) ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int i = 0; i < pages; i++ )
+                {
+                    assertThat( cursor.next() ).isTrue();
+                    cursor.putLong( i );
+                }
+            }
+            pagedFile.flushAndForce();
+        }
+    }
+
+    private static void touch( PagedFile pagedFile, BitSet pages ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PagedFile.PF_SHARED_READ_LOCK, NULL ) )
+        {
+            for ( int pageId = pages.nextSetBit( 0 ); pageId >= 0; pageId = pages.nextSetBit( pageId + 1 ) )
+            {
+                assertThat( cursor.next( pageId ) ).isTrue();
+            }
+        }
+    }
+
+    private static class RecordingMonitor extends PageCacheWarmer.MonitorAdapter
+    {
+        private int startedFiles;
+        private long completedPages;
+
+        @Override
+        public void warmupStarted( int files, long pages )
+        {
+            startedFiles = files;
+        }
+
+        @Override
+        public void warmupCompleted( long loadedPages, long elapsedMillis )
+        {
+            completedPages = loadedPages;
+        }
+    }
+}
@@ -110,4 +110,39 @@ class PhysicalFlushableChecksumChannelTest
         assertEquals( 10, buffer.get() );
         assertEquals( checksum.getValue(), buffer.getInt() );
     }
+
+    @Test
+    void calculateChecksumOverBytesWrittenInBulkLargerThanBuffer() throws IOException
+    {
+        final Path firstFile = directory.homePath().resolve( "file1" );
+        StoreChannel storeChannel = fileSystem.write( firstFile );
+        byte[] bytes = new byte[1000];
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            bytes[i] = (byte) i;
+        }
+        int channelChecksum;
+        try ( PhysicalFlushableChecksumChannel channel = new PhysicalFlushableChecksumChannel( storeChannel, new HeapScopedBuffer( 100, INSTANCE ) ) )
+        {
+            channel.beginChecksum();
+            channel.putAll( ByteBuffer.wrap( bytes ) );
+            channelChecksum = channel.putChecksum();
+        }
+
+        int fileSize = (int) fileSystem.getFileSize( firstFile );
+        assertEquals( bytes.length + Integer.BYTES, fileSize );
+        byte[] writtenBytes = new byte[fileSize];
+        try ( InputStream in = Files.newInputStream( firstFile ) )
+        {
+            in.read( writtenBytes );
+        }
+        ByteBuffer buffer = ByteBuffer.wrap( writtenBytes );
+
+        Checksum checksum = CHECKSUM_FACTORY.get();
+        checksum.update( bytes, 0, bytes.length );
+
+        assertEquals( checksum.getValue(), channelChecksum );
+        assertEquals( ByteBuffer.wrap( bytes ), buffer.slice().limit( bytes.length ) );
+        assertEquals( checksum.getValue(), buffer.position( bytes.length ).getInt() );
+    }
 }
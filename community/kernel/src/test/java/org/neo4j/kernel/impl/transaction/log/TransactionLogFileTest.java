@@ -27,13 +27,18 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
+import org.neo4j.configuration.Config;
 import org.neo4j.internal.nativeimpl.NativeAccess;
 import org.neo4j.internal.nativeimpl.NativeCallResult;
 import org.neo4j.io.ByteUnit;
@@ -43,6 +48,9 @@ import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.ReadableChannel;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.database.DatabaseTracers;
+import org.neo4j.kernel.impl.api.tracer.DefaultTracer;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.entry.IncompleteLogHeaderException;
@@ -53,12 +61,20 @@ import org.neo4j.kernel.impl.transaction.log.files.LogFilesBuilder;
 import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.lock.LockTracer;
+import org.neo4j.logging.NullLog;
+import org.neo4j.monitoring.DatabaseHealth;
+import org.neo4j.monitoring.PanicEventGenerator;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StoreId;
 import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.LifeExtension;
 import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import org.neo4j.util.concurrent.Futures;
 
 import static java.util.concurrent.locks.LockSupport.parkNanos;
@@ -74,6 +90,9 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_log_flusher;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_file_recycling;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_file_recycling_max_files;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL;
 import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
@@ -159,6 +178,99 @@ class TransactionLogFileTest
         assertEquals( 1, capturingNativeAccess.getKeepCounter() );
     }
 
+    @Test
+    void reuseRecycledLogFileOnRotation() throws IOException
+    {
+        var capturingNativeAccess = new CapturingNativeAccess();
+        Config config = Config.newBuilder()
+                .set( transaction_log_file_recycling, true )
+                .set( transaction_log_file_recycling_max_files, 1 ).build();
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, fileSystem )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withNativeAccess( capturingNativeAccess )
+                .withConfig( config )
+                .build();
+        life.add( logFiles );
+        life.start();
+
+        LogFile logFile = logFiles.getLogFile();
+        byte[] someBytes = someBytes( 40 );
+        logFile.getTransactionLogWriter().getChannel().put( someBytes, someBytes.length );
+        logFile.rotate();
+        logFile.rotate();
+        Path firstFile = logFile.getLogFileForVersion( 1 );
+        long firstFileSize = fileSystem.getFileSize( firstFile );
+
+        logFile.recycleLogFile( 1 );
+        logFile.recycleLogFile( 2 );
+
+        TransactionLogFilesHelper fileHelper = new TransactionLogFilesHelper( fileSystem, databaseLayout.getTransactionLogsDirectory() );
+        Path recycledFile = fileHelper.getRecycledLogFileForVersion( 1 );
+        assertThat( fileHelper.getRecycledFiles() ).containsExactly( recycledFile );
+        assertThat( fileSystem.getFileSize( recycledFile ) ).isEqualTo( firstFileSize );
+        assertThat( fileSystem.fileExists( firstFile ) ).isFalse();
+        assertThat( fileSystem.fileExists( logFile.getLogFileForVersion( 2 ) ) ).isFalse();
+        assertThat( logFile.getLowestLogVersion() ).isEqualTo( 3 );
+
+        int preallocations = capturingNativeAccess.getPreallocateCounter();
+        logFile.rotate();
+
+        assertThat( capturingNativeAccess.getPreallocateCounter() ).isEqualTo( preallocations );
+        assertThat( fileHelper.getRecycledFiles() ).isEmpty();
+        Path reusedFile = logFile.getLogFileForVersion( 4 );
+        assertThat( fileSystem.getFileSize( reusedFile ) ).isEqualTo( firstFileSize );
+        assertThat( logFile.extractHeader( 4 ).getLogVersion() ).isEqualTo( 4 );
+        try ( ReadableChannel reader = logFile.getReader( new LogPosition( 4, CURRENT_FORMAT_LOG_HEADER_SIZE ) ) )
+        {
+            assertArrayEquals( new byte[someBytes.length], readBytes( reader, someBytes.length ) );
+        }
+    }
+
+    @Test
+    void deleteRatherThanRecycleLogFileThatIsOpenByReader() throws IOException
+    {
+        Config config = Config.newBuilder()
+                .set( transaction_log_file_recycling, true )
+                .set( transaction_log_file_recycling_max_files, 2 ).build();
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, fileSystem )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( config )
+                .build();
+        life.add( logFiles );
+        life.start();
+
+        LogFile logFile = logFiles.getLogFile();
+        byte[] someBytes = someBytes( 40 );
+        logFile.getTransactionLogWriter().getChannel().put( someBytes, someBytes.length );
+        logFile.rotate();
+        logFile.getTransactionLogWriter().getChannel().put( someBytes, someBytes.length );
+        logFile.rotate();
+
+        TransactionLogFilesHelper fileHelper = new TransactionLogFilesHelper( fileSystem, databaseLayout.getTransactionLogsDirectory() );
+        try ( ReadableChannel reader = logFile.getReader( new LogPosition( 1, CURRENT_FORMAT_LOG_HEADER_SIZE ) ) )
+        {
+            logFile.recycleLogFile( 1 );
+
+            assertThat( fileSystem.fileExists( logFile.getLogFileForVersion( 1 ) ) ).isFalse();
+            assertThat( fileHelper.getRecycledFiles() ).isEmpty();
+            assertArrayEquals( someBytes, readBytes( reader, someBytes.length ) );
+        }
+
+        try ( ReadableChannel reader = logFile.getReader( new LogPosition( 2, CURRENT_FORMAT_LOG_HEADER_SIZE ) ) )
+        {
+            assertArrayEquals( someBytes, readBytes( reader, someBytes.length ) );
+        }
+        logFile.recycleLogFile( 2 );
+
+        assertThat( fileHelper.getRecycledFiles() ).containsExactly( fileHelper.getRecycledLogFileForVersion( 2 ) );
+    }
+
     @Test
     void shouldOpenInFreshDirectoryAndFinallyAddHeader() throws Exception
     {
@@ -450,6 +562,100 @@ class TransactionLogFileTest
         assertThat( capturingChannel.getFlushCounter().get() - flushesBefore ).isEqualTo( 2 );
     }
 
+    @Test
+    void shouldForceFromDedicatedFlusherWhenEnabled() throws Throwable
+    {
+        DefaultTracer tracer = new DefaultTracer();
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, wrappingFileSystem )
+                .withRotationThreshold( rotationThreshold )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( Config.defaults( dedicated_transaction_log_flusher, true ) )
+                .withDatabaseTracers( new DatabaseTracers( tracer, LockTracer.NONE, PageCacheTracer.NULL ) )
+                .withJobScheduler( life.add( new ThreadPoolJobScheduler( "TransactionLogFlusher" ) ) )
+                .build();
+        life.start();
+        life.add( logFiles );
+
+        LogFile logFile = logFiles.getLogFile();
+        var capturingChannel = wrappingFileSystem.getCapturingChannel();
+        capturingChannel.getFlushingThreads().clear();
+        long forcedAppendsBefore = tracer.logForcedAppends();
+        ReentrantLock writeAllLock = capturingChannel.getWriteAllLock();
+        writeAllLock.lock();
+
+        int executors = 10;
+        var executorService = Executors.newFixedThreadPool( executors );
+        try
+        {
+            List<Future<Boolean>> futures = Stream.iterate( 0, i -> i + 1 )
+                    .limit( executors )
+                    .map( v -> executorService.submit( () -> logFile.forceAfterAppend( LogAppendEvent.NULL ) ) )
+                    .collect( toList() );
+            while ( !writeAllLock.hasQueuedThreads() )
+            {
+                parkNanos( 100 );
+            }
+            writeAllLock.unlock();
+            boolean anyRotationCheck = false;
+            for ( Future<Boolean> future : futures )
+            {
+                anyRotationCheck |= future.get();
+            }
+            assertTrue( anyRotationCheck );
+        }
+        finally
+        {
+            if ( writeAllLock.isLocked() )
+            {
+                writeAllLock.unlock();
+            }
+            executorService.shutdownNow();
+        }
+
+        assertThat( capturingChannel.getFlushingThreads() ).isNotEmpty().allMatch( name -> name.startsWith( "TransactionLogFlusher" ) );
+        assertThat( tracer.logForcedAppends() - forcedAppendsBefore ).isEqualTo( executors );
+        assertThat( tracer.numberOfLogForces() ).isGreaterThan( 0 );
+    }
+
+    @Test
+    void dedicatedFlusherMustStopOnPanic() throws Throwable
+    {
+        DatabaseHealth databaseHealth = new DatabaseHealth( PanicEventGenerator.NO_OP, NullLog.getInstance() );
+        List<JobHandle<?>> flusherJobs = new CopyOnWriteArrayList<>();
+        ThreadPoolJobScheduler scheduler = life.add( new ThreadPoolJobScheduler()
+        {
+            @Override
+            public JobHandle<?> schedule( Group group, JobMonitoringParams monitoredJobParams, Runnable job )
+            {
+                JobHandle<?> handle = super.schedule( group, monitoredJobParams, job );
+                flusherJobs.add( handle );
+                return handle;
+            }
+        } );
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, wrappingFileSystem )
+                .withRotationThreshold( rotationThreshold )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( Config.defaults( dedicated_transaction_log_flusher, true ) )
+                .withDatabaseHealth( databaseHealth )
+                .withJobScheduler( scheduler )
+                .build();
+        life.start();
+        life.add( logFiles );
+        assertThat( flusherJobs ).hasSize( 1 );
+
+        databaseHealth.panic( new Exception( "Panic" ) );
+
+        // The flusher stops on its own, and the committing transactions fail on the panic instead of waiting for it
+        flusherJobs.get( 0 ).waitTermination( 1, TimeUnit.MINUTES );
+        assertThrows( IOException.class, () -> logFiles.getLogFile().forceAfterAppend( LogAppendEvent.NULL ) );
+    }
+
     private static byte[] readBytes( ReadableChannel reader, int length ) throws IOException
     {
         byte[] result = new byte[length];
@@ -534,6 +740,30 @@ class TransactionLogFileTest
             return NativeCallResult.SUCCESS;
         }
 
+        @Override
+        public NativeCallResult tryAdviseHugePages( long address, long bytes )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public int getNumaNodeCount()
+        {
+            return 0;
+        }
+
+        @Override
+        public NativeCallResult tryInterleaveMemory( long address, long bytes )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryBindMemory( long address, long bytes, int node )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
         @Override
         public String describe()
         {
@@ -600,6 +830,7 @@ class TransactionLogFileTest
         private final AtomicInteger writeAllCounter = new AtomicInteger();
         private final AtomicInteger flushCounter = new AtomicInteger();
         private final ReentrantLock writeAllLock = new ReentrantLock();
+        private final Queue<String> flushingThreads = new ConcurrentLinkedQueue<>();
 
         private CapturingStoreChannel( StoreChannel delegate )
         {
@@ -625,6 +856,7 @@ class TransactionLogFileTest
         public void flush() throws IOException
         {
             flushCounter.incrementAndGet();
+            flushingThreads.add( Thread.currentThread().getName() );
             super.flush();
         }
 
@@ -642,5 +874,10 @@ class TransactionLogFileTest
         {
             return flushCounter;
         }
+
+        public Queue<String> getFlushingThreads()
+        {
+            return flushingThreads;
+        }
     }
 }
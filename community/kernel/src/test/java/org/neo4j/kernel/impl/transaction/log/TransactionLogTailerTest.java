@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.internal.helpers.collection.Visitor;
+import org.neo4j.kernel.impl.api.TransactionCommitNotifier;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.OtherThreadExtension;
+import org.neo4j.test.rule.OtherThreadRule;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.impl.transaction.log.GivenTransactionCursor.given;
+
+@ExtendWith( OtherThreadExtension.class )
+class TransactionLogTailerTest
+{
+    @Inject
+    private OtherThreadRule t2;
+
+    private final LogicalTransactionStore transactionStore = mock( LogicalTransactionStore.class );
+    private final TransactionIdStore transactionIdStore = mock( TransactionIdStore.class );
+    private final TransactionCommitNotifier notifier = new TransactionCommitNotifier();
+    private final AtomicLong lastClosedTransactionId = new AtomicLong( TransactionIdStore.BASE_TX_ID );
+
+    @Test
+    void shouldOnlyPollClosedTransactions() throws Exception
+    {
+        // given
+        when( transactionIdStore.getLastClosedTransactionId() ).thenAnswer( invocation -> lastClosedTransactionId.get() );
+        when( transactionStore.getTransactions( 2 ) ).thenReturn( given( transaction( 2 ), transaction( 3 ), transaction( 4 ) ) );
+        when( transactionStore.getTransactions( 4 ) ).thenReturn( given( transaction( 4 ) ) );
+        try ( TransactionLogTailer tailer = new TransactionLogTailer( transactionStore, transactionIdStore, notifier, 2 ) )
+        {
+            List<Long> visited = new ArrayList<>();
+
+            // when
+            assertThat( tailer.poll( collectInto( visited ) ) ).isZero();
+            lastClosedTransactionId.set( 3 );
+            assertThat( tailer.poll( collectInto( visited ) ) ).isEqualTo( 2 );
+            lastClosedTransactionId.set( 4 );
+            assertThat( tailer.poll( collectInto( visited ) ) ).isEqualTo( 1 );
+
+            // then
+            assertThat( visited ).containsExactly( 2L, 3L, 4L );
+            assertThat( tailer.nextTransactionId() ).isEqualTo( 5 );
+        }
+    }
+
+    @Test
+    void shouldLookUpTransactionByIdWhenNotFoundAtPreviousPosition() throws Exception
+    {
+        // given
+        LogPosition endOfFirstTransaction = new LogPosition( 0, 100 );
+        TransactionCursor firstCursor = mock( TransactionCursor.class );
+        when( firstCursor.next() ).thenReturn( true, false );
+        when( firstCursor.get() ).thenReturn( transaction( 2 ) );
+        when( firstCursor.position() ).thenReturn( endOfFirstTransaction );
+        when( transactionStore.getTransactions( 2 ) ).thenReturn( firstCursor );
+        // e.g. preallocated space at the end of a log file that has been rotated since
+        when( transactionStore.getTransactions( endOfFirstTransaction ) ).thenReturn( given() );
+        when( transactionStore.getTransactions( 3 ) ).thenReturn( given( transaction( 3 ) ) );
+        when( transactionIdStore.getLastClosedTransactionId() ).thenReturn( 2L, 3L );
+        try ( TransactionLogTailer tailer = new TransactionLogTailer( transactionStore, transactionIdStore, notifier, 2 ) )
+        {
+            List<Long> visited = new ArrayList<>();
+
+            // when
+            tailer.poll( collectInto( visited ) );
+            tailer.poll( collectInto( visited ) );
+
+            // then
+            assertThat( visited ).containsExactly( 2L, 3L );
+        }
+    }
+
+    @Test
+    void shouldFailWhenClosedTransactionCannotBeRead() throws Exception
+    {
+        // given
+        when( transactionIdStore.getLastClosedTransactionId() ).thenReturn( 2L );
+        when( transactionStore.getTransactions( 2 ) ).thenReturn( given() );
+        try ( TransactionLogTailer tailer = new TransactionLogTailer( transactionStore, transactionIdStore, notifier, 2 ) )
+        {
+            // when/then
+            assertThatThrownBy( () -> tailer.poll( transaction -> false ) ).isInstanceOf( NoSuchTransactionException.class );
+        }
+    }
+
+    @Test
+    void shouldStopPollingWhenVisitorSaysSo() throws Exception
+    {
+        // given
+        when( transactionIdStore.getLastClosedTransactionId() ).thenReturn( 3L );
+        when( transactionStore.getTransactions( 2 ) ).thenReturn( given( transaction( 2 ), transaction( 3 ) ) );
+        try ( TransactionLogTailer tailer = new TransactionLogTailer( transactionStore, transactionIdStore, notifier, 2 ) )
+        {
+            // when
+            int count = tailer.poll( transaction -> true );
+
+            // then
+            assertThat( count ).isOne();
+            assertThat( tailer.nextTransactionId() ).isEqualTo( 3 );
+        }
+    }
+
+    @Test
+    void shouldTimeOutAwaitingTransactionsWhenNoneAreClosed() throws Exception
+    {
+        // given
+        when( transactionIdStore.getLastClosedTransactionId() ).thenReturn( TransactionIdStore.BASE_TX_ID );
+        try ( TransactionLogTailer tailer = new TransactionLogTailer( transactionStore, transactionIdStore, notifier, 2 ) )
+        {
+            // when/then
+            assertThat( tailer.awaitTransactions( 10, MILLISECONDS ) ).isFalse();
+        }
+    }
+
+    @Test
+    void shouldWakeUpAwaitingThreadWhenTransactionIsClosed() throws Exception
+    {
+        // given
+        when( transactionIdStore.getLastClosedTransactionId() ).thenAnswer( invocation -> lastClosedTransactionId.get() );
+        try ( TransactionLogTailer tailer = new TransactionLogTailer( transactionStore, transactionIdStore, notifier, 2 ) )
+        {
+            // when
+            Future<Boolean> awaiting = t2.execute( () -> tailer.awaitTransactions( 1, MINUTES ) );
+            lastClosedTransactionId.set( 2 );
+            tailer.transactionsClosed( 2 );
+
+            // then
+            assertThat( awaiting.get( 1, MINUTES ) ).isTrue();
+        }
+    }
+
+    private static Visitor<CommittedTransactionRepresentation,IOException> collectInto( List<Long> visited )
+    {
+        return transaction ->
+        {
+            visited.add( transaction.getCommitEntry().getTxId() );
+            return false;
+        };
+    }
+
+    private static CommittedTransactionRepresentation transaction( long txId )
+    {
+        return new CommittedTransactionRepresentation( null, null, new LogEntryCommit( txId, 0, 0 ) );
+    }
+}
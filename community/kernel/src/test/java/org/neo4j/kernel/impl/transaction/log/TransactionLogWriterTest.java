@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.io.ByteUnit;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.database.DbmsLogEntryWriterFactory;
+import org.neo4j.kernel.impl.api.TestCommand;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.rule.RandomRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.kernel.api.security.AuthSubject.ANONYMOUS;
+import static org.neo4j.kernel.KernelVersion.LATEST;
+import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+@ExtendWith( RandomExtension.class )
+class TransactionLogWriterTest
+{
+    @Inject
+    private RandomRule random;
+
+    @Test
+    void shouldWriteSameBytesWithPreSerializedCommands() throws IOException
+    {
+        // given a transaction larger than the initial serialization buffer
+        List<StorageCommand> commands = new ArrayList<>();
+        for ( int i = 0; i < 20; i++ )
+        {
+            commands.add( new TestCommand( random.nextBytes( new byte[random.nextInt( 1, 5_000 )] ) ) );
+        }
+        TransactionRepresentation transaction = transaction( commands );
+        InMemoryClosableChannel plainChannel = new InMemoryClosableChannel( (int) ByteUnit.kibiBytes( 256 ) );
+        InMemoryClosableChannel preSerializedChannel = new InMemoryClosableChannel( (int) ByteUnit.kibiBytes( 256 ) );
+        TransactionLogWriter plainWriter = logWriter( plainChannel );
+        TransactionLogWriter preSerializedWriter = logWriter( preSerializedChannel );
+
+        // when
+        int plainChecksum = plainWriter.append( transaction, 42, 1234 );
+        SerializedCommandsChannel serializedCommands = preSerializedWriter.serializeCommands( transaction );
+        int preSerializedChecksum = preSerializedWriter.append( transaction, 42, 1234, serializedCommands );
+        preSerializedWriter.release( serializedCommands );
+
+        // then
+        assertThat( preSerializedChecksum ).isEqualTo( plainChecksum );
+        assertThat( preSerializedChannel.getCurrentPosition() ).isEqualTo( plainChannel.getCurrentPosition() );
+        int length = (int) plainChannel.getCurrentPosition().getByteOffset();
+        assertThat( readBytes( preSerializedChannel, length ) ).isEqualTo( readBytes( plainChannel, length ) );
+    }
+
+    @Test
+    void shouldSerializeCommandsStraightIntoLogWhenTheyExceedMaxSerializedSize() throws IOException
+    {
+        // given a transaction larger than the max serialization buffer
+        int maxCapacity = (int) ByteUnit.kibiBytes( 64 );
+        List<StorageCommand> commands = new ArrayList<>();
+        for ( int i = 0; i < 20; i++ )
+        {
+            commands.add( new TestCommand( random.nextBytes( new byte[5_000] ) ) );
+        }
+        TransactionRepresentation transaction = transaction( commands );
+        InMemoryClosableChannel plainChannel = new InMemoryClosableChannel( (int) ByteUnit.kibiBytes( 256 ) );
+        InMemoryClosableChannel preSerializedChannel = new InMemoryClosableChannel( (int) ByteUnit.kibiBytes( 256 ) );
+        TransactionLogWriter plainWriter = logWriter( plainChannel );
+        TransactionLogWriter preSerializedWriter =
+                new TransactionLogWriter( preSerializedChannel, new DbmsLogEntryWriterFactory( () -> LATEST ), INSTANCE, 3, maxCapacity );
+
+        // when
+        int plainChecksum = plainWriter.append( transaction, 42, 1234 );
+        SerializedCommandsChannel serializedCommands = preSerializedWriter.serializeCommands( transaction );
+        assertThat( serializedCommands.overflowed() ).isTrue();
+        assertThat( serializedCommands.isCompressed() ).isFalse();
+        assertThat( serializedCommands.capacity() ).isLessThanOrEqualTo( maxCapacity );
+        int preSerializedChecksum = preSerializedWriter.append( transaction, 42, 1234, serializedCommands );
+        preSerializedWriter.release( serializedCommands );
+
+        // then the commands are written to the log just like without serializing them first
+        assertThat( preSerializedChecksum ).isEqualTo( plainChecksum );
+        assertThat( preSerializedChannel.getCurrentPosition() ).isEqualTo( plainChannel.getCurrentPosition() );
+        int length = (int) plainChannel.getCurrentPosition().getByteOffset();
+        assertThat( readBytes( preSerializedChannel, length ) ).isEqualTo( readBytes( plainChannel, length ) );
+        preSerializedWriter.releaseSerializationBuffers();
+    }
+
+    @Test
+    void shouldReuseSmallSerializationBuffers() throws IOException
+    {
+        TransactionLogWriter writer = logWriter( new InMemoryClosableChannel() );
+        TransactionRepresentation transaction = transaction( List.of( new TestCommand() ) );
+
+        SerializedCommandsChannel first = writer.serializeCommands( transaction );
+        writer.release( first );
+        SerializedCommandsChannel second = writer.serializeCommands( transaction );
+
+        assertThat( second ).isSameAs( first );
+        assertThat( second.size() ).isEqualTo( first.size() );
+        writer.release( second );
+        writer.releaseSerializationBuffers();
+    }
+
+    @Test
+    void shouldNotPoolGrownSerializationBuffers() throws IOException
+    {
+        TransactionLogWriter writer = logWriter( new InMemoryClosableChannel() );
+        int commandSize = TransactionLogWriter.SERIALIZED_COMMANDS_MAX_POOLED_CAPACITY + 1;
+        TransactionRepresentation largeTransaction = transaction( List.of( new TestCommand( commandSize ) ) );
+
+        SerializedCommandsChannel large = writer.serializeCommands( largeTransaction );
+        assertThat( large.size() ).isGreaterThan( commandSize );
+        writer.release( large );
+        SerializedCommandsChannel next = writer.serializeCommands( transaction( List.of( new TestCommand() ) ) );
+
+        assertThat( next ).isNotSameAs( large );
+        writer.release( next );
+        writer.releaseSerializationBuffers();
+    }
+
+    @Test
+    void shouldWriteReadableCompressedCommandsWhenCompressionEnabled() throws IOException
+    {
+        // given commands that compress well
+        List<StorageCommand> commands = new ArrayList<>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            commands.add( new TestCommand( 1_000 ) );
+        }
+        TransactionRepresentation transaction = transaction( commands );
+        InMemoryClosableChannel plainChannel = new InMemoryClosableChannel( (int) ByteUnit.kibiBytes( 64 ), true );
+        InMemoryClosableChannel compressedChannel = new InMemoryClosableChannel( (int) ByteUnit.kibiBytes( 64 ), true );
+        TransactionLogWriter plainWriter = logWriter( plainChannel );
+        TransactionLogWriter compressingWriter = new TransactionLogWriter( compressedChannel, new DbmsLogEntryWriterFactory( () -> LATEST ), INSTANCE, 3 );
+
+        // when
+        plainWriter.append( transaction, 42, 1234 );
+        SerializedCommandsChannel serializedCommands = compressingWriter.serializeCommands( transaction );
+        int checksum = compressingWriter.append( transaction, 42, 1234, serializedCommands );
+        compressingWriter.release( serializedCommands );
+
+        // then
+        assertThat( compressedChannel.writerPosition() ).isLessThan( plainChannel.writerPosition() / 4 );
+        try ( PhysicalTransactionCursor cursor = new PhysicalTransactionCursor( compressedChannel, logEntryReader() ) )
+        {
+            assertThat( cursor.next() ).isTrue();
+            CommittedTransactionRepresentation committed = cursor.get();
+            List<StorageCommand> readCommands = new ArrayList<>();
+            committed.getTransactionRepresentation().accept( command ->
+            {
+                readCommands.add( command );
+                return false;
+            } );
+            assertThat( readCommands ).isEqualTo( commands );
+            assertThat( committed.getCommitEntry().getTxId() ).isEqualTo( 42 );
+            assertThat( committed.getCommitEntry().getChecksum() ).isEqualTo( checksum );
+            assertThat( cursor.next() ).isFalse();
+        }
+        compressingWriter.releaseSerializationBuffers();
+    }
+
+    @Test
+    void shouldNotCompressSmallCommands() throws IOException
+    {
+        TransactionLogWriter writer = new TransactionLogWriter( new InMemoryClosableChannel(), new DbmsLogEntryWriterFactory( () -> LATEST ), INSTANCE, 3 );
+
+        SerializedCommandsChannel serializedCommands = writer.serializeCommands( transaction( List.of( new TestCommand( 10 ) ) ) );
+
+        assertThat( serializedCommands.size() ).isLessThan( TransactionLogWriter.MIN_COMPRESSED_COMMANDS_SIZE );
+        assertThat( serializedCommands.isCompressed() ).isFalse();
+        writer.release( serializedCommands );
+        writer.releaseSerializationBuffers();
+    }
+
+    @Test
+    void shouldNotCompressCommandsOfKernelVersionWithoutCompressedCommands() throws IOException
+    {
+        TransactionLogWriter writer = new TransactionLogWriter( new InMemoryClosableChannel(), new DbmsLogEntryWriterFactory( () -> LATEST ), INSTANCE, 3 );
+        List<StorageCommand> commands = new ArrayList<>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            commands.add( new TestCommand( 1_000 )
+            {
+                @Override
+                public KernelVersion version()
+                {
+                    return KernelVersion.V4_3_D4;
+                }
+            } );
+        }
+
+        SerializedCommandsChannel serializedCommands = writer.serializeCommands( transaction( commands ) );
+
+        assertThat( serializedCommands.size() ).isGreaterThanOrEqualTo( TransactionLogWriter.MIN_COMPRESSED_COMMANDS_SIZE );
+        assertThat( serializedCommands.isCompressed() ).isFalse();
+        writer.release( serializedCommands );
+        writer.releaseSerializationBuffers();
+    }
+
+    private static TransactionLogWriter logWriter( InMemoryClosableChannel channel )
+    {
+        return new TransactionLogWriter( channel, new DbmsLogEntryWriterFactory( () -> LATEST ) );
+    }
+
+    private static TransactionRepresentation transaction( List<StorageCommand> commands )
+    {
+        PhysicalTransactionRepresentation tx = new PhysicalTransactionRepresentation( commands );
+        tx.setHeader( new byte[]{1, 2, 3}, 12345, 41, 12355, -1, ANONYMOUS );
+        return tx;
+    }
+
+    private static byte[] readBytes( InMemoryClosableChannel channel, int length ) throws IOException
+    {
+        byte[] bytes = new byte[length];
+        channel.get( bytes, length );
+        return bytes;
+    }
+}
@@ -19,10 +19,12 @@
  */
 package org.neo4j.kernel.impl.transaction.log.entry;
 
+import com.github.luben.zstd.Zstd;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.impl.api.TestCommand;
@@ -185,6 +187,143 @@ class VersionAwareLogEntryReaderTest
         assertTrue( e.getMessage().contains( "The checksum chain is broken" ) );
     }
 
+    @Test
+    void shouldReadCompressedCommandsAsIndividualCommandEntries() throws IOException
+    {
+        // given
+        final LogEntryStart start = new LogEntryStart( 1, 2, BASE_TX_CHECKSUM, new byte[]{4}, new LogPosition( 0, 0 ) );
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        TestCommand[] commands = {new TestCommand( 300 ), new TestCommand( new byte[]{1, 2, 3} ), new TestCommand( 1000 )};
+
+        writeStartEntry( channel, start );
+        writeCompressedCommands( channel, commands );
+        int checksum = writeCommitEntry( channel, 42, 21 );
+
+        // when/then
+        assertEquals( start, logEntryReader.readLogEntry( channel ) );
+        for ( TestCommand command : commands )
+        {
+            assertEquals( new LogEntryCommand( LATEST, command ), logEntryReader.readLogEntry( channel ) );
+        }
+        LogEntryCommit commit = (LogEntryCommit) logEntryReader.readLogEntry( channel );
+        assertEquals( 42, commit.getTxId() );
+        assertEquals( checksum, commit.getChecksum() );
+        assertNull( logEntryReader.readLogEntry( channel ) );
+    }
+
+    @Test
+    void shouldDiscardRestOfCompressedCommandsWhenReadingFromAnotherPosition() throws IOException
+    {
+        // given
+        final LogEntryStart start = new LogEntryStart( 1, 2, BASE_TX_CHECKSUM, new byte[]{4}, new LogPosition( 0, 0 ) );
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        TestCommand[] commands = {new TestCommand( 300 ), new TestCommand( 400 )};
+
+        writeStartEntry( channel, start );
+        writeCompressedCommands( channel, commands );
+        writeCommitEntry( channel, 42, 21 );
+        assertEquals( start, logEntryReader.readLogEntry( channel ) );
+        assertEquals( new LogEntryCommand( LATEST, commands[0] ), logEntryReader.readLogEntry( channel ) );
+
+        // when
+        channel.setCurrentPosition( 0 );
+        channel.beginChecksum();
+
+        // then
+        assertEquals( start, logEntryReader.readLogEntry( channel ) );
+        assertEquals( new LogEntryCommand( LATEST, commands[0] ), logEntryReader.readLogEntry( channel ) );
+        assertEquals( new LogEntryCommand( LATEST, commands[1] ), logEntryReader.readLogEntry( channel ) );
+        assertEquals( 42, ((LogEntryCommit) logEntryReader.readLogEntry( channel )).getTxId() );
+    }
+
+    @Test
+    void shouldFailOnCompressedCommandsOfKernelVersionWithoutCompressedCommands()
+    {
+        // given
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        channel.put( KernelVersion.V4_3_D4.version() );
+        channel.put( LogEntryTypeCodes.COMPRESSED_COMMANDS );
+        channel.putInt( 100 );
+        channel.putInt( 100 );
+        channel.put( new byte[100], 100 );
+
+        // when/then
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( channel ) );
+    }
+
+    @Test
+    void shouldFailOnCompressedCommandsWithTooLargeUncompressedLength()
+    {
+        // given
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        writeCompressedCommandsHeader( channel, LogEntryParserSetV4_3_D5.MAX_UNCOMPRESSED_COMMANDS_LENGTH + 1, 100 );
+        channel.put( new byte[100], 100 );
+
+        // when/then
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( channel ) );
+    }
+
+    @Test
+    void shouldFailOnCompressedCommandsWithCompressedLengthLargerThanPossible()
+    {
+        // given
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        int uncompressedLength = 100;
+        int compressedLength = Math.toIntExact( Zstd.compressBound( uncompressedLength ) + 1 );
+        writeCompressedCommandsHeader( channel, uncompressedLength, compressedLength );
+        channel.put( new byte[compressedLength], compressedLength );
+
+        // when/then
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( channel ) );
+    }
+
+    @Test
+    void shouldReturnNullWhenCompressedCommandsEndBeforeTheirLength() throws IOException
+    {
+        // given a log that ends in the middle of compressed commands that are larger than one read chunk
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        writeCompressedCommandsHeader( channel, LogEntryParserSetV4_3_D5.MAX_UNCOMPRESSED_COMMANDS_LENGTH, 8 * 1024 * 1024 );
+        channel.put( new byte[500], 500 );
+
+        // when
+        final LogEntry logEntry = logEntryReader.readLogEntry( channel );
+
+        // then
+        assertNull( logEntry );
+    }
+
+    private static void writeCompressedCommandsHeader( InMemoryClosableChannel channel, int uncompressedLength, int compressedLength )
+    {
+        channel.put( LATEST.version() );
+        channel.put( LogEntryTypeCodes.COMPRESSED_COMMANDS );
+        channel.putInt( uncompressedLength );
+        channel.putInt( compressedLength );
+    }
+
+    private static void writeCompressedCommands( InMemoryClosableChannel channel, TestCommand... commands ) throws IOException
+    {
+        InMemoryClosableChannel serialized = new InMemoryClosableChannel( 10_000 );
+        LogEntryWriter<InMemoryClosableChannel> commandWriter = new LogEntryWriter<>( serialized, LATEST );
+        for ( TestCommand command : commands )
+        {
+            commandWriter.serialize( command );
+        }
+        int length = serialized.writerPosition();
+        byte[] uncompressed = new byte[length];
+        serialized.get( uncompressed, length );
+        byte[] compressed = Zstd.compress( uncompressed );
+        new LogEntryWriter<>( channel, LATEST ).writeCompressedCommands( length, ByteBuffer.wrap( compressed ) );
+    }
+
+    private static int writeCommitEntry( InMemoryClosableChannel channel, long txId, long timeWritten )
+    {
+        channel.put( LATEST.version() );
+        channel.put( LogEntryTypeCodes.TX_COMMIT );
+        channel.putLong( txId );
+        channel.putLong( timeWritten );
+        return channel.putChecksum();
+    }
+
     private static void writeStartEntry( InMemoryClosableChannel channel, LogEntryStart start )
     {
         channel.beginChecksum();
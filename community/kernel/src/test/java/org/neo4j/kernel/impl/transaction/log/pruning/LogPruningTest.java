@@ -48,10 +48,12 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.checkpoint_logical_log_keep_threshold;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_file_recycling;
 import static org.neo4j.logging.AssertableLogProvider.Level.INFO;
 
 class LogPruningTest
@@ -92,6 +94,22 @@ class LogPruningTest
         verifyNoMoreInteractions( fs );
     }
 
+    @Test
+    void mustRecycleLogFilesThatCanBePrunedWhenRecyclingIsEnabled() throws IOException
+    {
+        when( factory.strategyFromConfigValue( eq( fs ), eq( logFiles ), eq( logProvider ), eq( clock ), anyString() ) )
+                .thenReturn( upTo -> LongStream.range( 3, upTo ) );
+        config.set( transaction_log_file_recycling, true );
+        LogPruning pruning = new LogPruningImpl( fs, logFiles, logProvider, factory, clock, config );
+        pruning.pruneLogs( 5 );
+        LogFile logFile = logFiles.getLogFile();
+        InOrder order = inOrder( logFile );
+        order.verify( logFile ).recycleLogFile( 3 );
+        order.verify( logFile ).recycleLogFile( 4 );
+        verify( logFile, never() ).recycleLogFile( 5 );
+        verifyNoMoreInteractions( fs );
+    }
+
     @Test
     void mustHaveLogFilesToPruneIfStrategyFindsFiles()
     {
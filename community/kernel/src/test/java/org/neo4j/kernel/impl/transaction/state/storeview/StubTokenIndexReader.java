@@ -61,6 +61,13 @@ public class StubTokenIndexReader implements TokenIndexReader
         index.forEach( ( token, entities ) -> client.initialize( new StubIndexProgressor( client, entities ), token.intValue(), IndexOrder.NONE ) );
     }
 
+    @Override
+    public void query( IndexProgressor.EntityTokenClient client, IndexQueryConstraints constraints, TokenPredicate[] queries, boolean allTokens,
+                       CursorContext cursorContext )
+    {
+        throw new UnsupportedOperationException( "Stub implementation does not support this method." );
+    }
+
     @Override
     public TokenScan entityTokenScan( int tokenId, CursorContext cursorContext )
     {
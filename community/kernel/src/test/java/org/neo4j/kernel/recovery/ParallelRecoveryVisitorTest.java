@@ -53,6 +53,7 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.CommandStream;
 import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.EntityChangeVisitor;
 import org.neo4j.storageengine.api.IndexUpdateListener;
 import org.neo4j.storageengine.api.MetadataProvider;
 import org.neo4j.storageengine.api.StorageCommand;
@@ -321,6 +322,11 @@ class ParallelRecoveryVisitorTest
             lockOrder[lockOrderCursor.getAndIncrement()] = idOf( commands );
         }
 
+        @Override
+        public void decodeChanges( CommandStream commands, EntityChangeVisitor visitor, CursorContext cursorContext )
+        {
+        }
+
         @Override
         public void apply( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
         {
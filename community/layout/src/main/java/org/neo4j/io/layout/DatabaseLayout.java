@@ -50,6 +50,7 @@ public class DatabaseLayout
     private static final String DATABASE_LOCK_FILENAME = "database_lock";
     private static final String BACKUP_TOOLS_FOLDER = "tools";
     private static final String QUARANTINE_MARKER_FILENAME = "quarantine_marker";
+    private static final String PAGE_CACHE_PROFILES_FOLDER = "profiles";
 
     private final Path databaseDirectory;
     private final Neo4jLayout neo4jLayout;
@@ -121,6 +122,11 @@ public class DatabaseLayout
         return databaseDirectory().resolve( BACKUP_TOOLS_FOLDER );
     }
 
+    public Path pageCacheProfilesDirectory()
+    {
+        return databaseDirectory().resolve( PAGE_CACHE_PROFILES_FOLDER );
+    }
+
     public Path metadataStore()
     {
         return file( DatabaseFile.METADATA_STORE.getName() );
@@ -61,6 +61,16 @@ public class NodeValueIterator extends PrimitiveLongCollections.AbstractPrimitiv
         this.progressor = progressor;
     }
 
+    @Override
+    public void initializeMultiQuery( IndexDescriptor descriptor,
+                                      IndexProgressor progressor,
+                                      PropertyIndexQuery.ExactPredicate[][] queries,
+                                      IndexQueryConstraints constraints,
+                                      boolean indexIncludesTransactionState )
+    {
+        this.progressor = progressor;
+    }
+
     @Override
     public boolean acceptEntity( long reference, float score, Value... values )
     {
@@ -51,6 +51,30 @@ public class AbsentNativeAccess implements NativeAccess
         return NativeCallResult.SUCCESS;
     }
 
+    @Override
+    public NativeCallResult tryAdviseHugePages( long address, long bytes )
+    {
+        return NativeCallResult.SUCCESS;
+    }
+
+    @Override
+    public int getNumaNodeCount()
+    {
+        return 0;
+    }
+
+    @Override
+    public NativeCallResult tryInterleaveMemory( long address, long bytes )
+    {
+        return NativeCallResult.SUCCESS;
+    }
+
+    @Override
+    public NativeCallResult tryBindMemory( long address, long bytes, int node )
+    {
+        return NativeCallResult.SUCCESS;
+    }
+
     @Override
     public String describe()
     {
@@ -47,6 +47,24 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static final int POSIX_FADV_DONTNEED = 4;
 
+    /**
+     * Constant defined in mman.h and suggest that the specified memory range should be backed by transparent huge pages.
+     * For more info check man page for madvise.
+     */
+    private static final int MADV_HUGEPAGE = 14;
+
+    /**
+     * Constant defined in mempolicy.h and suggest that memory should be allocated on the given node, falling back to other nodes.
+     * For more info check man page for mbind.
+     */
+    private static final int MPOL_PREFERRED = 1;
+
+    /**
+     * Constant defined in mempolicy.h and suggest that memory should be interleaved page by page over the given nodes.
+     * For more info check man page for mbind.
+     */
+    private static final int MPOL_INTERLEAVE = 3;
+
     private static final int EINVAL = 22;
     private static final int ERANGE = 34;
 
@@ -98,6 +116,16 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static native int posix_fallocate( int fd, long offset, long len ) throws LastErrorException;
 
+    /**
+     * Give advice about use of memory. Allows an application to tell the kernel how it expects to use some mapped or shared memory areas,
+     * so that the kernel can choose appropriate read-ahead and caching techniques. The advice is not binding.
+     * @param address start of the memory range, aligned to the page size
+     * @param length length of the memory range in bytes
+     * @param advice advise options
+     * @return 0 on success. On error, -1 is returned and errno is set
+     */
+    private static native int madvise( long address, long length, int advice ) throws LastErrorException;
+
     /**
      * Return pointer to a string describing error number, possibly using the LC_MESSAGES part of the current locale to select the appropriate language.
      * @param errnum error number to describe
@@ -156,6 +184,57 @@ public class LinuxNativeAccess implements NativeAccess
         return wrapResult( () -> posix_fallocate( fd, 0, bytes ) );
     }
 
+    @Override
+    public NativeCallResult tryAdviseHugePages( long address, long bytes )
+    {
+        if ( address == 0 || bytes <= 0 )
+        {
+            return new NativeCallResult( ERROR, "Incorrect memory range." );
+        }
+        return wrapResult( () -> madvise( address, bytes, MADV_HUGEPAGE ) );
+    }
+
+    @Override
+    public int getNumaNodeCount()
+    {
+        return Numa.NODES;
+    }
+
+    @Override
+    public NativeCallResult tryInterleaveMemory( long address, long bytes )
+    {
+        if ( address == 0 || bytes <= 0 )
+        {
+            return new NativeCallResult( ERROR, "Incorrect memory range." );
+        }
+        if ( Numa.NODES == 0 )
+        {
+            return new NativeCallResult( ERROR, "NUMA memory placement is not available." );
+        }
+        long[] nodeMask = new long[Numa.NODES / Long.SIZE + 1];
+        for ( int node = 0; node < Numa.NODES; node++ )
+        {
+            nodeMask[node / Long.SIZE] |= 1L << (node % Long.SIZE);
+        }
+        return Numa.bind( address, bytes, MPOL_INTERLEAVE, nodeMask );
+    }
+
+    @Override
+    public NativeCallResult tryBindMemory( long address, long bytes, int node )
+    {
+        if ( address == 0 || bytes <= 0 )
+        {
+            return new NativeCallResult( ERROR, "Incorrect memory range." );
+        }
+        if ( node < 0 || node >= Numa.NODES )
+        {
+            return new NativeCallResult( ERROR, "Incorrect NUMA node " + node + ". Available NUMA nodes: " + Numa.NODES );
+        }
+        long[] nodeMask = new long[node / Long.SIZE + 1];
+        nodeMask[node / Long.SIZE] = 1L << (node % Long.SIZE);
+        return Numa.bind( address, bytes, MPOL_PREFERRED, nodeMask );
+    }
+
     @Override
     public String describe()
     {
@@ -242,6 +321,62 @@ public class LinuxNativeAccess implements NativeAccess
         return "Error occurred calling native function. Please check error code.";
     }
 
+    /**
+     * The NUMA functions live in libnuma, which is not installed everywhere, so they are registered separately and only when first needed.
+     */
+    private static final class Numa
+    {
+        private static final int NODES;
+
+        static
+        {
+            int nodes = 0;
+            try
+            {
+                if ( NATIVE_ACCESS_AVAILABLE )
+                {
+                    Native.register( Numa.class, "numa" );
+                    if ( numa_available() >= 0 )
+                    {
+                        nodes = numa_max_node() + 1;
+                    }
+                }
+            }
+            catch ( Throwable t )
+            {
+                // libnuma is not available, so there is no NUMA memory placement.
+            }
+            NODES = nodes;
+        }
+
+        /**
+         * @return a negative number if the NUMA API is not supported by the system, and zero or a positive number otherwise
+         */
+        private static native int numa_available();
+
+        /**
+         * @return the highest node number available on the system
+         */
+        private static native int numa_max_node();
+
+        /**
+         * Set the NUMA memory policy for the memory range.
+         * @param address start of the memory range, aligned to the page size
+         * @param length length of the memory range in bytes
+         * @param mode memory policy mode
+         * @param nodeMask bit mask of the nodes the policy applies to
+         * @param maxNode number of bits in the node mask, plus one
+         * @param flags policy flags
+         * @return 0 on success. On error, -1 is returned and errno is set
+         */
+        private static native int mbind( long address, long length, int mode, long[] nodeMask, long maxNode, int flags ) throws LastErrorException;
+
+        static NativeCallResult bind( long address, long bytes, int mode, long[] nodeMask )
+        {
+            return wrapResult( () -> mbind( address, bytes, mode, nodeMask, nodeMask.length * (long) Long.SIZE + 1, 0 ) );
+        }
+    }
+
     @FunctionalInterface
     private interface NativeCall
     {
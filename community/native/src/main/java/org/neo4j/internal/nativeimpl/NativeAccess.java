@@ -69,6 +69,40 @@ public interface NativeAccess
      */
     NativeCallResult tryPreallocateSpace( int fd, long bytes );
 
+    /**
+     * Try to advise that the memory region would benefit from being backed by transparent huge pages.
+     * Useful for large, long lived memory regions that are accessed randomly. For example: page cache memory.
+     * @param address start of the memory region, must be aligned to the operating system page size
+     * @param bytes length of the memory region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryAdviseHugePages( long address, long bytes );
+
+    /**
+     * Number of NUMA nodes that memory can be placed on.
+     * @return number of NUMA nodes, or zero if NUMA memory placement is not supported
+     */
+    int getNumaNodeCount();
+
+    /**
+     * Try to spread the pages of the memory region evenly over all NUMA nodes.
+     * Only affects pages that have not been touched yet.
+     * @param address start of the memory region, must be aligned to the operating system page size
+     * @param bytes length of the memory region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryInterleaveMemory( long address, long bytes );
+
+    /**
+     * Try to place the pages of the memory region on the given NUMA node. Pages will still be placed on other nodes, if the given node runs out of memory.
+     * Only affects pages that have not been touched yet.
+     * @param address start of the memory region, must be aligned to the operating system page size
+     * @param bytes length of the memory region in bytes
+     * @param node the NUMA node to place the memory on, from zero and up to {@link #getNumaNodeCount()}
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryBindMemory( long address, long bytes, int node );
+
     /**
      * Details about native access provider
      * @return details about native access
@@ -50,4 +50,13 @@ class AbsentNativeAccessTest
         assertEquals( SUCCESS, absentNativeAccess.tryPreallocateSpace( 1, 2L ) );
         assertEquals( SUCCESS, absentNativeAccess.tryPreallocateSpace( 3, 4L ) );
     }
+
+    @Test
+    void absentNativeAccessMemoryPlacementAlwaysFinishSuccessfully()
+    {
+        assertEquals( 0, absentNativeAccess.getNumaNodeCount() );
+        assertEquals( SUCCESS, absentNativeAccess.tryAdviseHugePages( 4096, 4096 ) );
+        assertEquals( SUCCESS, absentNativeAccess.tryInterleaveMemory( 4096, 4096 ) );
+        assertEquals( SUCCESS, absentNativeAccess.tryBindMemory( 4096, 4096, 1 ) );
+    }
 }
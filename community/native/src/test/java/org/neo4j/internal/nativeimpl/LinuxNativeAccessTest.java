@@ -19,6 +19,7 @@
  */
 package org.neo4j.internal.nativeimpl;
 
+import com.sun.jna.Native;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -156,6 +157,42 @@ class LinuxNativeAccessTest
             assertNotEquals( 0, nativeAccess.tryEvictFromCache( descriptor ) );
         }
 
+        @Test
+        void failToPlaceIncorrectMemoryRange()
+        {
+            assertEquals( ERROR, nativeAccess.tryAdviseHugePages( 0, 4096 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryAdviseHugePages( 4096, 0 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryInterleaveMemory( 0, 4096 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryBindMemory( 0, 4096, 0 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryBindMemory( 4096, 4096, -1 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryBindMemory( 4096, 4096, nativeAccess.getNumaNodeCount() ).getErrorCode() );
+        }
+
+        @Test
+        void placeMemoryOnLinuxForCorrectMemoryRange()
+        {
+            long hugePageSize = 2 * 1024 * 1024;
+            long size = 4 * hugePageSize;
+            long pointer = Native.malloc( size + hugePageSize );
+            assertNotEquals( 0, pointer );
+            try
+            {
+                long address = pointer + hugePageSize - pointer % hugePageSize;
+                // Transparent huge pages might be disabled, or not compiled into the kernel, but the advice must never fail in other ways.
+                NativeCallResult hugePages = nativeAccess.tryAdviseHugePages( address, size );
+                assertTrue( !hugePages.isError() || hugePages.getErrorCode() == 22 /* EINVAL */, hugePages.toString() );
+                if ( nativeAccess.getNumaNodeCount() > 0 )
+                {
+                    assertFalse( nativeAccess.tryBindMemory( address, size, 0 ).isError() );
+                    assertFalse( nativeAccess.tryInterleaveMemory( address, size ).isError() );
+                }
+            }
+            finally
+            {
+                Native.free( pointer );
+            }
+        }
+
         @Test
         void skipCacheOnLinuxForCorrectDescriptor() throws IOException, IllegalAccessException, ClassNotFoundException
         {
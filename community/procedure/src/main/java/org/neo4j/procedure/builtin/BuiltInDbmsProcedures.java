@@ -19,6 +19,7 @@
  */
 package org.neo4j.procedure.builtin;
 
+import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -57,6 +58,9 @@ import org.neo4j.internal.kernel.api.security.AdminActionOnResource;
 import org.neo4j.internal.kernel.api.security.AdminActionOnResource.DatabaseScope;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.internal.kernel.api.security.UserSegment;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.KernelTransactionHandle;
 import org.neo4j.kernel.api.exceptions.InvalidArgumentsException;
@@ -612,6 +616,34 @@ public class BuiltInDbmsProcedures
         return capabilities.stream().filter( c -> !c.internal() ).map( c -> new CapabilityResult( c, service.get( c.name() ) ) );
     }
 
+    @Admin
+    @SystemProcedure
+    @Description( "List the access statistics of the files of all databases that are mapped by the page cache. " +
+            "There is one row for every file as a whole, with no tag, and one for every tag of the page cursor tracers that accessed the file. " +
+            "Evictions, flushes and written bytes are only counted for the file as a whole." )
+    @Procedure( name = "dbms.pageCache.fileStats", mode = DBMS )
+    public Stream<PageCacheFileStatsResult> pageCacheFileStats() throws IOException
+    {
+        List<PageCacheFileStatsResult> results = new ArrayList<>();
+        for ( DatabaseContext databaseContext : getDatabaseManager().registeredDatabases().values() )
+        {
+            if ( databaseContext.database().isStarted() )
+            {
+                PageCache pageCache = databaseContext.dependencies().resolveDependency( PageCache.class );
+                for ( PagedFile pagedFile : pageCache.listExistingMappings() )
+                {
+                    PagedFileStatistics statistics = pagedFile.statistics();
+                    results.add( PageCacheFileStatsResult.forFile( pagedFile, statistics ) );
+                    for ( PagedFileStatistics.TagStatistics tagStatistics : statistics.tags() )
+                    {
+                        results.add( PageCacheFileStatsResult.forTag( pagedFile, tagStatistics ) );
+                    }
+                }
+            }
+        }
+        return results.stream();
+    }
+
     private NetworkConnectionTracker getConnectionTracker()
     {
         return resolver.resolveDependency( NetworkConnectionTracker.class );
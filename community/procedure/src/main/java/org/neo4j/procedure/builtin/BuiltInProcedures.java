@@ -56,9 +56,12 @@ import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
+import org.neo4j.kernel.impl.api.TransactionCommitNotifier;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
+import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.TransactionLogTailer;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.procedure.Admin;
 import org.neo4j.procedure.Context;
@@ -66,7 +69,9 @@ import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
+import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StoreIdProvider;
+import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.values.storable.Value;
 
 import static org.neo4j.internal.helpers.collection.Iterators.asList;
@@ -405,6 +410,21 @@ public class BuiltInProcedures
                 .clearQueryCaches();
     }
 
+    @Admin
+    @Description( "Stream the changes to nodes and relationships made by the transactions committed from the given transaction id and onwards, " +
+            "as read from the transaction log. The stream ends when it has caught up with the committed transactions. " +
+            "If no transactions have been committed from the given transaction id, it waits for one to be committed, at most for the given timeout." )
+    @Procedure( name = "db.changes", mode = READ )
+    public Stream<ChangeResult> changes( @Name( "fromTransactionId" ) long fromTransactionId,
+            @Name( value = "timeoutMillis", defaultValue = "0" ) long timeoutMillis )
+    {
+        TransactionLogTailer tailer = new TransactionLogTailer( resolver.resolveDependency( LogicalTransactionStore.class ),
+                resolver.resolveDependency( TransactionIdStore.class ), resolver.resolveDependency( TransactionCommitNotifier.class ),
+                Math.max( fromTransactionId, TransactionIdStore.BASE_TX_ID + 1 ) );
+        return stream( new TransactionChangesIterator( tailer, resolver.resolveDependency( StorageEngine.class ), kernelTransaction.tokenRead(),
+                kernelTransaction.cursorContext(), timeoutMillis ) );
+    }
+
     @SystemProcedure
     @Procedure( name = "db.schema.nodeTypeProperties", mode = Mode.READ )
     @Description( "Show the derived property schema of the nodes in tabular form." )
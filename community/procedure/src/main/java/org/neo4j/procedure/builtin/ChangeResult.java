@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import org.neo4j.values.storable.Value;
+
+public class ChangeResult
+{
+    public final long transactionId;
+    public final long commitTime;
+    public final String change;
+    public final long entityId;
+    public final String token;
+    public final Long startNode;
+    public final Long endNode;
+    public final Object before;
+    public final Object after;
+
+    private ChangeResult( long transactionId, long commitTime, String change, long entityId, String token, Long startNode, Long endNode,
+            Value before, Value after )
+    {
+        this.transactionId = transactionId;
+        this.commitTime = commitTime;
+        this.change = change;
+        this.entityId = entityId;
+        this.token = token;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        this.before = before == null ? null : before.asObjectCopy();
+        this.after = after == null ? null : after.asObjectCopy();
+    }
+
+    static ChangeResult entity( long transactionId, long commitTime, String change, long entityId, String token )
+    {
+        return new ChangeResult( transactionId, commitTime, change, entityId, token, null, null, null, null );
+    }
+
+    static ChangeResult relationship( long transactionId, long commitTime, String change, long relationshipId, String type, long startNode,
+            long endNode )
+    {
+        return new ChangeResult( transactionId, commitTime, change, relationshipId, type, startNode, endNode, null, null );
+    }
+
+    static ChangeResult property( long transactionId, long commitTime, String change, long entityId, String propertyKey, Value before, Value after )
+    {
+        return new ChangeResult( transactionId, commitTime, change, entityId, propertyKey, null, null, before, after );
+    }
+}
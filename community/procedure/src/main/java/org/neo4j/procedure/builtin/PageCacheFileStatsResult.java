@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import org.neo4j.internal.helpers.MathUtil;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
+
+public class PageCacheFileStatsResult
+{
+    public final String database;
+    public final String file;
+    public final String tag;
+    public final long pins;
+    public final long hits;
+    public final long faults;
+    public final double hitRatio;
+    public final long evictions;
+    public final long flushes;
+    public final long bytesWritten;
+
+    private PageCacheFileStatsResult( PagedFile pagedFile, String tag, long pins, long hits, long faults, long evictions, long flushes,
+            long bytesWritten )
+    {
+        this.database = pagedFile.getDatabaseName();
+        this.file = pagedFile.path().toString();
+        this.tag = tag;
+        this.pins = pins;
+        this.hits = hits;
+        this.faults = faults;
+        this.hitRatio = MathUtil.portion( hits, faults );
+        this.evictions = evictions;
+        this.flushes = flushes;
+        this.bytesWritten = bytesWritten;
+    }
+
+    static PageCacheFileStatsResult forFile( PagedFile pagedFile, PagedFileStatistics statistics )
+    {
+        return new PageCacheFileStatsResult( pagedFile, null, statistics.pins(), statistics.hits(), statistics.faults(), statistics.evictions(),
+                statistics.flushes(), statistics.bytesWritten() );
+    }
+
+    static PageCacheFileStatsResult forTag( PagedFile pagedFile, PagedFileStatistics.TagStatistics statistics )
+    {
+        return new PageCacheFileStatsResult( pagedFile, statistics.tag(), statistics.pins(), statistics.hits(), statistics.faults(), 0, 0, 0 );
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.graphdb.Resource;
+import org.neo4j.internal.helpers.collection.PrefetchingIterator;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.TransactionLogTailer;
+import org.neo4j.storageengine.api.EntityChangeVisitor;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Decodes the transactions read by a {@link TransactionLogTailer} into {@link ChangeResult rows}, until it has caught up with the
+ * transactions closed so far. If there are no new transactions to begin with it waits for one, at most for the given timeout.
+ * Transactions are read in batches, which are cut off after the transaction that fills up a batch of {@link #BATCH_SIZE} rows.
+ */
+class TransactionChangesIterator extends PrefetchingIterator<ChangeResult> implements Resource, EntityChangeVisitor
+{
+    private static final int BATCH_SIZE = 1_000;
+
+    private final TransactionLogTailer tailer;
+    private final StorageEngine storageEngine;
+    private final TokenNameLookup tokens;
+    private final CursorContext cursorContext;
+    private final Deque<ChangeResult> batch = new ArrayDeque<>();
+    private long timeoutMillis;
+    private long transactionId;
+    private long commitTime;
+
+    TransactionChangesIterator( TransactionLogTailer tailer, StorageEngine storageEngine, TokenNameLookup tokens, CursorContext cursorContext,
+            long timeoutMillis )
+    {
+        this.tailer = tailer;
+        this.storageEngine = storageEngine;
+        this.tokens = tokens;
+        this.cursorContext = cursorContext;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected ChangeResult fetchNextOrNull()
+    {
+        try
+        {
+            while ( batch.isEmpty() )
+            {
+                if ( tailer.poll( this::decode ) > 0 )
+                {
+                    // Transactions without changes to nodes or relationships don't give any rows, so don't wait for more after these either
+                    timeoutMillis = 0;
+                }
+                else if ( timeoutMillis <= 0 || !tailer.awaitTransactions( timeoutMillis, TimeUnit.MILLISECONDS ) )
+                {
+                    return null;
+                }
+                else
+                {
+                    timeoutMillis = 0;
+                }
+            }
+            return batch.poll();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( "Interrupted while waiting for transactions", e );
+        }
+    }
+
+    private boolean decode( CommittedTransactionRepresentation transaction ) throws IOException
+    {
+        transactionId = transaction.getCommitEntry().getTxId();
+        commitTime = transaction.getCommitEntry().getTimeWritten();
+        storageEngine.decodeChanges( transaction.getTransactionRepresentation(), this, cursorContext );
+        return batch.size() >= BATCH_SIZE;
+    }
+
+    @Override
+    public void visitCreatedNode( long id )
+    {
+        batch.add( ChangeResult.entity( transactionId, commitTime, "NODE_CREATED", id, null ) );
+    }
+
+    @Override
+    public void visitDeletedNode( long id )
+    {
+        batch.add( ChangeResult.entity( transactionId, commitTime, "NODE_DELETED", id, null ) );
+    }
+
+    @Override
+    public void visitNodeLabelChanges( long id, long[] added, long[] removed )
+    {
+        for ( long label : added )
+        {
+            batch.add( ChangeResult.entity( transactionId, commitTime, "LABEL_ADDED", id, tokens.labelGetName( (int) label ) ) );
+        }
+        for ( long label : removed )
+        {
+            batch.add( ChangeResult.entity( transactionId, commitTime, "LABEL_REMOVED", id, tokens.labelGetName( (int) label ) ) );
+        }
+    }
+
+    @Override
+    public void visitUnknownNodeLabelChanges( long id )
+    {
+        batch.add( ChangeResult.entity( transactionId, commitTime, "LABELS_UNKNOWN", id, null ) );
+    }
+
+    @Override
+    public void visitNodePropertyChange( long id, int propertyKeyId, Value before, Value after )
+    {
+        String change = after == null ? "NODE_PROPERTY_REMOVED" : "NODE_PROPERTY_SET";
+        batch.add( ChangeResult.property( transactionId, commitTime, change, id, tokens.propertyKeyGetName( propertyKeyId ), before, after ) );
+    }
+
+    @Override
+    public void visitCreatedRelationship( long id, int type, long startNode, long endNode )
+    {
+        batch.add( ChangeResult.relationship( transactionId, commitTime, "RELATIONSHIP_CREATED", id, tokens.relationshipTypeGetName( type ),
+                startNode, endNode ) );
+    }
+
+    @Override
+    public void visitDeletedRelationship( long id, int type, long startNode, long endNode )
+    {
+        batch.add( ChangeResult.relationship( transactionId, commitTime, "RELATIONSHIP_DELETED", id, tokens.relationshipTypeGetName( type ),
+                startNode, endNode ) );
+    }
+
+    @Override
+    public void visitRelationshipPropertyChange( long id, int propertyKeyId, Value before, Value after )
+    {
+        String change = after == null ? "RELATIONSHIP_PROPERTY_REMOVED" : "RELATIONSHIP_PROPERTY_SET";
+        batch.add( ChangeResult.property( transactionId, commitTime, change, id, tokens.propertyKeyGetName( propertyKeyId ), before, after ) );
+    }
+
+    @Override
+    public void close()
+    {
+        tailer.close();
+    }
+}
@@ -40,6 +40,14 @@ class CountUpdater implements AutoCloseable
         writer.write( key, delta );
     }
 
+    /**
+     * Increments the count of the key with the given parts, see {@link CountsKey} for what they mean, without instantiating a {@link CountsKey}.
+     */
+    void increment( byte type, long first, int second, long delta )
+    {
+        writer.write( type, first, second, delta );
+    }
+
     @Override
     public void close()
     {
@@ -55,7 +63,12 @@ class CountUpdater implements AutoCloseable
 
     interface CountWriter extends AutoCloseable
     {
-        void write( CountsKey key, long delta );
+        default void write( CountsKey key, long delta )
+        {
+            write( key.type, key.first, key.second, delta );
+        }
+
+        void write( byte type, long first, int second, long delta );
 
         @Override
         void close();
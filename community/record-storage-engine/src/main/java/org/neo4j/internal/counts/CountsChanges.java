@@ -22,31 +22,33 @@ package org.neo4j.internal.counts;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
+import org.neo4j.internal.counts.GBPTreeGenericCountsStore.CountVisitor;
 import org.neo4j.util.Preconditions;
 
 /**
- * Changes to counts, kept as {@link AtomicLong} to allow for concurrent threads incrementing/decrementing.
+ * Changes to counts, kept in a {@link StripedCountsMap} to allow for concurrent threads incrementing/decrementing.
  * As part of checkpoint a new instance is created and the old (now immutable) instance accessible to read from while those counts are written to
  * the backing tree.
  */
 class CountsChanges
 {
-    static final long ABSENT = -1;
+    /**
+     * Returned for counts that aren't in here. Not a count any key can have, unlike {@code -1}, which a count can momentarily be when its
+     * decrements reach the changes before its increments.
+     */
+    static final long ABSENT = Long.MIN_VALUE;
 
-    private final ConcurrentHashMap<CountsKey,AtomicLong> changes = new ConcurrentHashMap<>();
-    private volatile ConcurrentHashMap<CountsKey,AtomicLong> previousChanges;
+    private final StripedCountsMap changes = new StripedCountsMap();
+    private volatile StripedCountsMap previousChanges;
     private volatile boolean frozen;
 
     CountsChanges()
     {
     }
 
-    private CountsChanges( ConcurrentHashMap<CountsKey,AtomicLong> previousChanges )
+    private CountsChanges( StripedCountsMap previousChanges )
     {
         this.previousChanges = previousChanges;
     }
@@ -77,32 +79,41 @@ class CountsChanges
      * @param delta the delta for the count, can be positive or negative.
      * @param defaultToStoredCount where to read the absolute count if it isn't already loaded into this instance (or the "old" instance).
      */
-    void add( CountsKey key, long delta, Function<CountsKey,AtomicLong> defaultToStoredCount )
+    void add( CountsKey key, long delta, ToLongFunction<CountsKey> defaultToStoredCount )
     {
-        Preconditions.checkState( !frozen, "Can't make changes in a frozen state" );
-        getCounter( key, defaultToStoredCount ).addAndGet( delta );
+        add( key.type, key.first, key.second, delta, defaultToStoredCount );
     }
 
-    private AtomicLong getCounter( CountsKey key, Function<CountsKey,AtomicLong> defaultToStoredCount )
+    /**
+     * Make a relative counts change to the key with the given parts, see {@link CountsKey} for what they mean.
+     * Changes to keys which are already loaded into this instance are made without instantiating any {@link CountsKey}.
+     */
+    void add( byte type, long first, int second, long delta, ToLongFunction<CountsKey> defaultToStoredCount )
     {
-        ConcurrentHashMap<CountsKey,AtomicLong> prev = previousChanges;
-        Function<CountsKey,AtomicLong> defaultFunction = prev == null ? defaultToStoredCount : k ->
+        Preconditions.checkState( !frozen, "Can't make changes in a frozen state" );
+        if ( !changes.tryAdd( type, first, second, delta ) )
         {
-            AtomicLong prevCount = prev.get( k );
-            if ( prevCount != null )
+            StripedCountsMap prev = previousChanges;
+            changes.add( type, first, second, delta, prev == null ? defaultToStoredCount : k ->
             {
-                return new AtomicLong( prevCount.get() );
-            }
-            return defaultToStoredCount.apply( k );
-        };
-        return changes.computeIfAbsent( key, defaultFunction );
+                long prevCount = prev.get( k.type, k.first, k.second, ABSENT );
+                return prevCount != ABSENT ? prevCount : defaultToStoredCount.applyAsLong( k );
+            } );
+        }
     }
 
-    Iterable<Map.Entry<CountsKey,AtomicLong>> sortedChanges( Comparator<CountsKey> comparator )
+    /**
+     * Visits all changes in this instance, i.e. not the "old" instance, in the order given by the comparator.
+     */
+    void visitSortedChanges( Comparator<CountsKey> comparator, CountVisitor visitor )
     {
-        List<Map.Entry<CountsKey,AtomicLong>> sortedChanges = new ArrayList<>( changes.entrySet() );
-        sortedChanges.sort( ( e1, e2 ) -> comparator.compare( e1.getKey(), e2.getKey() ) );
-        return sortedChanges;
+        List<Change> sortedChanges = new ArrayList<>( changes.size() );
+        changes.visit( ( key, count ) -> sortedChanges.add( new Change( key, count ) ) );
+        sortedChanges.sort( ( c1, c2 ) -> comparator.compare( c1.key, c2.key ) );
+        for ( Change change : sortedChanges )
+        {
+            visitor.visit( change.key, change.count );
+        }
     }
 
     /**
@@ -111,12 +122,12 @@ class CountsChanges
      */
     boolean containsChange( CountsKey key )
     {
-        if ( changes.containsKey( key ) )
+        if ( changes.contains( key.type, key.first, key.second ) )
         {
             return true;
         }
-        ConcurrentHashMap<CountsKey,AtomicLong> prev = previousChanges;
-        return prev != null && prev.containsKey( key );
+        StripedCountsMap prev = previousChanges;
+        return prev != null && prev.contains( key.type, key.first, key.second );
     }
 
     /**
@@ -126,25 +137,29 @@ class CountsChanges
      */
     long get( CountsKey key )
     {
-        AtomicLong count = changes.get( key );
-        if ( count != null )
+        long count = changes.get( key.type, key.first, key.second, ABSENT );
+        if ( count != ABSENT )
         {
-            return count.get();
+            return count;
         }
-        ConcurrentHashMap<CountsKey,AtomicLong> prev = previousChanges;
-        if ( prev != null )
-        {
-            AtomicLong prevCount = prev.get( key );
-            if ( prevCount != null )
-            {
-                return prevCount.get();
-            }
-        }
-        return ABSENT;
+        StripedCountsMap prev = previousChanges;
+        return prev != null ? prev.get( key.type, key.first, key.second, ABSENT ) : ABSENT;
     }
 
     int size()
     {
         return changes.size();
     }
+
+    private static class Change
+    {
+        private final CountsKey key;
+        private final long count;
+
+        Change( CountsKey key, long count )
+        {
+            this.key = key;
+            this.count = count;
+        }
+    }
 }
@@ -22,8 +22,6 @@ package org.neo4j.internal.counts;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Comparator;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Function;
 import java.util.function.ToLongFunction;
 
 import org.neo4j.function.ThrowingSupplier;
@@ -37,7 +35,7 @@ import org.neo4j.index.internal.gbptree.Writer;
 class DeltaTreeWriter implements CountUpdater.CountWriter
 {
     private final ThrowingSupplier<Writer<CountsKey,CountsValue>,IOException> treeWriter;
-    private final Function<CountsKey,AtomicLong> defaultToStoredCount;
+    private final ToLongFunction<CountsKey> defaultToStoredCount;
     private final Comparator<CountsKey> comparator;
     private final int maxCacheSize;
     private CountsChanges changes = new CountsChanges();
@@ -47,15 +45,15 @@ class DeltaTreeWriter implements CountUpdater.CountWriter
             Comparator<CountsKey> comparator, int maxCacheSize )
     {
         this.treeWriter = treeWriter;
-        this.defaultToStoredCount = k -> new AtomicLong( lookup.applyAsLong( k ) );
+        this.defaultToStoredCount = lookup;
         this.comparator = comparator;
         this.maxCacheSize = maxCacheSize;
     }
 
     @Override
-    public void write( CountsKey key, long delta )
+    public void write( byte type, long first, int second, long delta )
     {
-        changes.add( key, delta, defaultToStoredCount );
+        changes.add( type, first, second, delta, defaultToStoredCount );
         if ( ++changeCounter == 100 )
         {
             // Don't check size every time, it's unnecessarily expensive
@@ -71,7 +69,7 @@ class DeltaTreeWriter implements CountUpdater.CountWriter
     {
         try ( TreeWriter writer = new TreeWriter( treeWriter.get() ) )
         {
-            changes.sortedChanges( comparator ).forEach( entry -> writer.write( entry.getKey(), entry.getValue().get() ) );
+            changes.visitSortedChanges( comparator, writer::write );
         }
         catch ( IOException e )
         {
@@ -86,7 +86,12 @@ public class GBPTreeCountsStore extends GBPTreeGenericCountsStore implements Cou
      */
     public static CountsKey relationshipKey( long startLabelId, long typeId, long endLabelId )
     {
-        return new CountsKey( TYPE_RELATIONSHIP, (startLabelId << Integer.SIZE) | (typeId & 0xFFFFFFFFL), (int) endLabelId );
+        return new CountsKey( TYPE_RELATIONSHIP, relationshipKeyFirst( startLabelId, typeId ), (int) endLabelId );
+    }
+
+    private static long relationshipKeyFirst( long startLabelId, long typeId )
+    {
+        return (startLabelId << Integer.SIZE) | (typeId & 0xFFFFFFFFL);
     }
 
     public GBPTreeCountsStore( PageCache pageCache, Path file, FileSystemAbstraction fileSystem, RecoveryCleanupWorkCollector recoveryCollector,
@@ -166,13 +171,13 @@ public class GBPTreeCountsStore extends GBPTreeGenericCountsStore implements Cou
         @Override
         public void incrementNodeCount( long labelId, long delta )
         {
-            actual.increment( nodeKey( labelId ), delta );
+            actual.increment( TYPE_NODE, labelId, 0, delta );
         }
 
         @Override
         public void incrementRelationshipCount( long startLabelId, int typeId, long endLabelId, long delta )
         {
-            actual.increment( relationshipKey( startLabelId, typeId, endLabelId ), delta );
+            actual.increment( TYPE_RELATIONSHIP, relationshipKeyFirst( startLabelId, typeId ), (int) endLabelId, delta );
         }
 
         @Override
@@ -27,8 +27,6 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -339,7 +337,7 @@ public class GBPTreeGenericCountsStore implements CountsStorage
         try ( TreeWriter writer = new TreeWriter( tree.unsafeWriter( cursorContext ) ) )
         {
             // Sort the entries in the natural tree order to get more performance in the writer
-            changes.sortedChanges( layout ).forEach( entry -> writer.write( entry.getKey(), entry.getValue().get() ) );
+            changes.visitSortedChanges( layout, writer::write );
         }
     }
 
@@ -385,14 +383,14 @@ public class GBPTreeGenericCountsStore implements CountsStorage
     public void visitAllCounts( CountVisitor visitor, CursorContext cursorContext )
     {
         // First visit the changes that we haven't check-pointed yet
-        for ( Map.Entry<CountsKey,AtomicLong> changedEntry : changes.sortedChanges( layout ) )
+        changes.visitSortedChanges( layout, ( key, count ) ->
         {
             // Our simplistic approach to the changes map makes it contain 0 counts at times, we don't remove entries from it
-            if ( changedEntry.getValue().get() != 0 )
+            if ( count != 0 )
             {
-                visitor.visit( changedEntry.getKey(), changedEntry.getValue().get() );
+                visitor.visit( key, count );
             }
-        }
+        } );
 
         // Then visit the remaining stored changes from the last check-point
         try ( Seeker<CountsKey,CountsValue> seek = tree.seek( CountsKey.MIN_COUNT, CountsKey.MAX_COUNT, cursorContext ) )
@@ -94,7 +94,7 @@ public class GBPTreeRelationshipGroupDegreesStore extends GBPTreeGenericCountsSt
         @Override
         public void increment( long groupId, RelationshipDirection direction, long delta )
         {
-            actual.increment( degreeKey( groupId, direction ), delta );
+            actual.increment( TYPE_DEGREE, degreeKeyFirst( groupId, direction ), 0, delta );
         }
 
         @Override
@@ -121,7 +121,12 @@ public class GBPTreeRelationshipGroupDegreesStore extends GBPTreeGenericCountsSt
      */
     static CountsKey degreeKey( long groupId, RelationshipDirection direction )
     {
-        return new CountsKey( TYPE_DEGREE, groupId << 2 | direction.id(), 0 );
+        return new CountsKey( TYPE_DEGREE, degreeKeyFirst( groupId, direction ), 0 );
+    }
+
+    private static long degreeKeyFirst( long groupId, RelationshipDirection direction )
+    {
+        return groupId << 2 | direction.id();
     }
 
     static String keyToString( CountsKey key )
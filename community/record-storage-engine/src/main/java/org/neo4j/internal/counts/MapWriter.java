@@ -19,9 +19,6 @@
  */
 package org.neo4j.internal.counts;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Function;
 import java.util.function.ToLongFunction;
 
 import org.neo4j.util.concurrent.OutOfOrderSequence;
@@ -29,7 +26,7 @@ import org.neo4j.util.concurrent.OutOfOrderSequence;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
 
 /**
- * Used during recovery and normal operations mode where changes gets applied to a {@link ConcurrentHashMap} and counts that haven't been seen before
+ * Used during recovery and normal operations mode where changes gets applied to a {@link CountsChanges} and counts that haven't been seen before
  * are looked up from stored counts and placed into the map too.
  */
 public class MapWriter implements CountUpdater.CountWriter
@@ -37,20 +34,20 @@ public class MapWriter implements CountUpdater.CountWriter
     private final CountsChanges changes;
     private final OutOfOrderSequence idSequence;
     private final long txId;
-    private final Function<CountsKey,AtomicLong> defaultToStoredCount;
+    private final ToLongFunction<CountsKey> defaultToStoredCount;
 
     MapWriter( ToLongFunction<CountsKey> storeLookup, CountsChanges changes, OutOfOrderSequence idSequence, long txId )
     {
         this.changes = changes;
         this.idSequence = idSequence;
         this.txId = txId;
-        defaultToStoredCount = k -> new AtomicLong( storeLookup.applyAsLong( k ) );
+        this.defaultToStoredCount = storeLookup;
     }
 
     @Override
-    public void write( CountsKey key, long delta )
+    public void write( byte type, long first, int second, long delta )
     {
-        changes.add( key, delta, defaultToStoredCount );
+        changes.add( type, first, second, delta, defaultToStoredCount );
     }
 
     @Override
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+import org.neo4j.internal.counts.GBPTreeGenericCountsStore.CountVisitor;
+
+/**
+ * A concurrent map from {@link CountsKey} to count, keyed by the primitive parts of the keys so that no key objects are needed to update or read
+ * a count. The map is split into stripes, each one an open addressing table of its own, which only needs locking when a new key is inserted.
+ * <p>
+ * Incrementing the count of a key which is already in the map is lock-free. Each count is made up of a number of lanes and a thread adds its
+ * deltas to one of the lanes, chosen from its thread id. Threads committing small transactions concurrently will therefore not contend on the
+ * same count, even when they all update the same label, at the cost of reads having to sum the lanes of a count.
+ * <p>
+ * Reads are exact: a read only returns a sum of the lanes of a count that it has seen while no increment was in progress in the stripe,
+ * see {@link Stripe#count(int)}, so it never returns a count that the key never had.
+ * <p>
+ * Entries are never moved, or removed, once inserted. Keys and counts are kept in chunks that are allocated as needed, and only the table of
+ * entry numbers is re-allocated when a stripe grows. Readers can therefore look up entries without any locking, also while a stripe is growing.
+ */
+class StripedCountsMap
+{
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int CHUNK_SHIFT = 5;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_TABLE_SIZE = 8;
+    private static final int MAX_LANES = 8;
+    /**
+     * Distance, in longs, between the sequences of two lanes of a stripe, so that the sequences of different lanes are on different cache lines.
+     */
+    private static final int SEQUENCE_STRIDE = 8;
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle( int[].class );
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle( long[].class );
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int laneMask;
+
+    StripedCountsMap()
+    {
+        this( Math.min( MAX_LANES, Integer.highestOneBit( Runtime.getRuntime().availableProcessors() ) ) );
+    }
+
+    /**
+     * @param lanes number of lanes to split each count into, must be a power of two.
+     */
+    StripedCountsMap( int lanes )
+    {
+        if ( Integer.bitCount( lanes ) != 1 )
+        {
+            throw new IllegalArgumentException( "Number of lanes must be a power of two, but was " + lanes );
+        }
+        this.laneMask = lanes - 1;
+        for ( int i = 0; i < STRIPES; i++ )
+        {
+            stripes[i] = new Stripe( lanes );
+        }
+    }
+
+    /**
+     * Adds the delta to the count of the given key, but only if the key is already in this map.
+     *
+     * @return {@code true} if the key was in this map and the delta added, otherwise {@code false}.
+     */
+    boolean tryAdd( byte type, long first, int second, long delta )
+    {
+        long high = high( type, second );
+        int hash = hash( high, first );
+        Stripe stripe = stripes[hash >>> (Integer.SIZE - STRIPE_BITS)];
+        int entry = stripe.find( hash, high, first );
+        if ( entry < 0 )
+        {
+            return false;
+        }
+        stripe.add( entry, delta, lane() );
+        return true;
+    }
+
+    /**
+     * Adds the delta to the count of the given key, inserting the key if it isn't already in this map.
+     *
+     * @param initialCount the count to start from if the key isn't in this map. Called at most once, while holding the lock of the stripe of the key.
+     */
+    void add( byte type, long first, int second, long delta, ToLongFunction<CountsKey> initialCount )
+    {
+        long high = high( type, second );
+        int hash = hash( high, first );
+        Stripe stripe = stripes[hash >>> (Integer.SIZE - STRIPE_BITS)];
+        int entry = stripe.find( hash, high, first );
+        if ( entry < 0 )
+        {
+            entry = stripe.insert( hash, high, first, initialCount );
+        }
+        stripe.add( entry, delta, lane() );
+    }
+
+    /**
+     * @return {@code true} if the key is in this map, otherwise {@code false}.
+     */
+    boolean contains( byte type, long first, int second )
+    {
+        long high = high( type, second );
+        int hash = hash( high, first );
+        return stripes[hash >>> (Integer.SIZE - STRIPE_BITS)].find( hash, high, first ) >= 0;
+    }
+
+    /**
+     * @return the count of the key, or {@code absent} if the key isn't in this map.
+     */
+    long get( byte type, long first, int second, long absent )
+    {
+        long high = high( type, second );
+        int hash = hash( high, first );
+        Stripe stripe = stripes[hash >>> (Integer.SIZE - STRIPE_BITS)];
+        int entry = stripe.find( hash, high, first );
+        return entry >= 0 ? stripe.count( entry ) : absent;
+    }
+
+    int size()
+    {
+        int size = 0;
+        for ( Stripe stripe : stripes )
+        {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * Visits all keys and their counts, in no particular order. A new {@link CountsKey} is instantiated for each visited key.
+     */
+    void visit( CountVisitor visitor )
+    {
+        for ( Stripe stripe : stripes )
+        {
+            stripe.visit( visitor );
+        }
+    }
+
+    private int lane()
+    {
+        return (int) Thread.currentThread().getId() & laneMask;
+    }
+
+    private static long high( byte type, int second )
+    {
+        return ((long) type << Integer.SIZE) | (second & 0xFFFFFFFFL);
+    }
+
+    private static int hash( long high, long first )
+    {
+        long hash = first * 0x9E3779B97F4A7C15L + high * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 29;
+        return (int) (hash ^ (hash >>> Integer.SIZE));
+    }
+
+    private static final class Stripe
+    {
+        private final int lanes;
+        /**
+         * Open addressing table of entry number + 1, where 0 means an empty slot. Slots are published with release semantics after the
+         * entry they point to has been written, which makes the entry visible to readers acquiring the slot.
+         */
+        private volatile int[] table = new int[INITIAL_TABLE_SIZE];
+        /**
+         * Two longs per entry: the type and second part of the key, followed by the first part of the key.
+         */
+        private volatile long[][] keyChunks = new long[0][];
+        /**
+         * {@link #lanes} longs per entry, with all entries of a lane next to each other so that threads adding to different lanes of the
+         * same count don't write to the same cache line.
+         */
+        private volatile long[][] countChunks = new long[0][];
+        private volatile int size;
+        /**
+         * Two sequences per lane, {@link #SEQUENCE_STRIDE} apart: the number of increments started on the lane, in any entry of this stripe,
+         * followed by the number of increments finished on it. A lane has an increment in progress while the two differ.
+         */
+        private final long[] sequences;
+
+        Stripe( int lanes )
+        {
+            this.lanes = lanes;
+            this.sequences = new long[lanes * SEQUENCE_STRIDE];
+        }
+
+        int find( int hash, long high, long first )
+        {
+            int[] table = this.table;
+            int mask = table.length - 1;
+            for ( int slot = hash & mask; ; slot = (slot + 1) & mask )
+            {
+                int entry = (int) INTS.getAcquire( table, slot ) - 1;
+                if ( entry < 0 )
+                {
+                    return -1;
+                }
+                long[] keys = keyChunks[entry >>> CHUNK_SHIFT];
+                int offset = (entry & CHUNK_MASK) << 1;
+                if ( keys[offset] == high && keys[offset + 1] == first )
+                {
+                    return entry;
+                }
+            }
+        }
+
+        synchronized int insert( int hash, long high, long first, ToLongFunction<CountsKey> initialCount )
+        {
+            // Another thread may have inserted this key since it was looked up without the lock
+            int entry = find( hash, high, first );
+            if ( entry >= 0 )
+            {
+                return entry;
+            }
+
+            long initial = initialCount.applyAsLong( new CountsKey( (byte) (high >>> Integer.SIZE), first, (int) high ) );
+            entry = size;
+            int chunk = entry >>> CHUNK_SHIFT;
+            if ( chunk == keyChunks.length )
+            {
+                long[][] newKeyChunks = Arrays.copyOf( keyChunks, chunk + 1 );
+                newKeyChunks[chunk] = new long[CHUNK_SIZE * 2];
+                long[][] newCountChunks = Arrays.copyOf( countChunks, chunk + 1 );
+                newCountChunks[chunk] = new long[CHUNK_SIZE * lanes];
+                keyChunks = newKeyChunks;
+                countChunks = newCountChunks;
+            }
+            int offset = (entry & CHUNK_MASK) << 1;
+            long[] keys = keyChunks[chunk];
+            keys[offset] = high;
+            keys[offset + 1] = first;
+            countChunks[chunk][entry & CHUNK_MASK] = initial;
+
+            int[] table = this.table;
+            if ( (entry + 1) * 2 > table.length )
+            {
+                int[] newTable = new int[table.length * 2];
+                for ( int existing = 0; existing < entry; existing++ )
+                {
+                    long[] existingKeys = keyChunks[existing >>> CHUNK_SHIFT];
+                    int existingOffset = (existing & CHUNK_MASK) << 1;
+                    place( newTable, hash( existingKeys[existingOffset], existingKeys[existingOffset + 1] ), existing );
+                }
+                place( newTable, hash, entry );
+                size = entry + 1;
+                this.table = newTable;
+            }
+            else
+            {
+                size = entry + 1;
+                int mask = table.length - 1;
+                int slot = hash & mask;
+                while ( table[slot] != 0 )
+                {
+                    slot = (slot + 1) & mask;
+                }
+                INTS.setRelease( table, slot, entry + 1 );
+            }
+            return entry;
+        }
+
+        private static void place( int[] table, int hash, int entry )
+        {
+            int mask = table.length - 1;
+            int slot = hash & mask;
+            while ( table[slot] != 0 )
+            {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry + 1;
+        }
+
+        void add( int entry, long delta, int lane )
+        {
+            long[] counts = countChunks[entry >>> CHUNK_SHIFT];
+            int started = lane * SEQUENCE_STRIDE;
+            LONGS.getAndAdd( sequences, started, 1L );
+            LONGS.getAndAdd( counts, lane * CHUNK_SIZE + (entry & CHUNK_MASK), delta );
+            LONGS.getAndAdd( sequences, started + 1, 1L );
+        }
+
+        /**
+         * Sums the lanes of the count of the entry. The sum is only returned if no increment was in progress in this stripe when reading of the
+         * lanes began, and no increment started before reading of the lanes ended. The lanes then had the values that were read, all at once,
+         * so the sum is a count the key had at that point. Otherwise the lanes are read again.
+         */
+        long count( int entry )
+        {
+            long[] counts = countChunks[entry >>> CHUNK_SHIFT];
+            int index = entry & CHUNK_MASK;
+            long[] startedBefore = new long[lanes];
+            while ( true )
+            {
+                if ( !readQuiescentSequences( startedBefore ) )
+                {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long count = 0;
+                for ( int lane = 0; lane < lanes; lane++ )
+                {
+                    count += (long) LONGS.getVolatile( counts, lane * CHUNK_SIZE + index );
+                }
+                if ( noIncrementStartedSince( startedBefore ) )
+                {
+                    return count;
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * Reads the number of increments started on each lane into {@code started}.
+         *
+         * @return {@code true} if no lane had an increment in progress, otherwise {@code false}.
+         */
+        private boolean readQuiescentSequences( long[] started )
+        {
+            for ( int lane = 0; lane < lanes; lane++ )
+            {
+                int sequence = lane * SEQUENCE_STRIDE;
+                // Finished is read before started. Finished never overtakes started, so if they are equal no increment was in progress
+                // on this lane when started was read
+                long finished = (long) LONGS.getVolatile( sequences, sequence + 1 );
+                started[lane] = (long) LONGS.getVolatile( sequences, sequence );
+                if ( started[lane] != finished )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean noIncrementStartedSince( long[] started )
+        {
+            for ( int lane = 0; lane < lanes; lane++ )
+            {
+                if ( (long) LONGS.getVolatile( sequences, lane * SEQUENCE_STRIDE ) != started[lane] )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void visit( CountVisitor visitor )
+        {
+            int size = this.size;
+            long[][] keyChunks = this.keyChunks;
+            for ( int entry = 0; entry < size; entry++ )
+            {
+                long[] keys = keyChunks[entry >>> CHUNK_SHIFT];
+                int offset = (entry & CHUNK_MASK) << 1;
+                long high = keys[offset];
+                visitor.visit( new CountsKey( (byte) (high >>> Integer.SIZE), keys[offset + 1], (int) high ), count( entry ) );
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ class TreeWriter implements CountUpdater.CountWriter
             ( existingKey, newKey, existingValue, newValue ) -> newValue.count > 0 ? REPLACED : REMOVED;
 
     private final Writer<CountsKey,CountsValue> treeWriter;
+    private final CountsKey key = new CountsKey();
     private final CountsValue value = new CountsValue();
 
     TreeWriter( Writer<CountsKey,CountsValue> treeWriter )
@@ -43,8 +44,9 @@ class TreeWriter implements CountUpdater.CountWriter
     }
 
     @Override
-    public void write( CountsKey key, long delta )
+    public void write( byte type, long first, int second, long delta )
     {
+        key.initialize( type, first, second );
         merge( treeWriter, key, value.initialize( delta ) );
     }
 
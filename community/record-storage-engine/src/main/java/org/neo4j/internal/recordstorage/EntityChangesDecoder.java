@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.neo4j.internal.recordstorage.Command.NodeCommand;
+import org.neo4j.internal.recordstorage.Command.PropertyCommand;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.CommandStream;
+import org.neo4j.storageengine.api.EntityChangeVisitor;
+
+import static org.neo4j.internal.recordstorage.Command.Mode.CREATE;
+import static org.neo4j.internal.recordstorage.Command.Mode.DELETE;
+import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
+
+/**
+ * Decodes the {@link NodeCommand node}, {@link RelationshipCommand relationship} and {@link PropertyCommand property} commands of a transaction
+ * into logical changes for an {@link EntityChangeVisitor}. Commands are grouped per entity the same way as for {@link OnlineIndexUpdates},
+ * and the visiting order is: created and changed nodes, then relationships, then deleted nodes.
+ */
+class EntityChangesDecoder extends CommandVisitor.Adapter
+{
+    private static final long[] NO_LABELS = new long[0];
+
+    private final PropertyPhysicalToLogicalConverter converter;
+    private final EntityCommandGrouper<NodeCommand> nodeCommands = new EntityCommandGrouper<>( NodeCommand.class, 16 );
+    private final EntityCommandGrouper<RelationshipCommand> relationshipCommands = new EntityCommandGrouper<>( RelationshipCommand.class, 16 );
+
+    EntityChangesDecoder( PropertyPhysicalToLogicalConverter converter )
+    {
+        this.converter = converter;
+    }
+
+    void decode( CommandStream commands, EntityChangeVisitor visitor ) throws IOException
+    {
+        commands.accept( command -> ((Command) command).handle( this ) );
+        try
+        {
+            decodeNodes( visitor, false );
+            decodeRelationships( visitor );
+            decodeNodes( visitor, true );
+        }
+        finally
+        {
+            nodeCommands.clear();
+            relationshipCommands.clear();
+        }
+    }
+
+    @Override
+    public boolean visitNodeCommand( NodeCommand command )
+    {
+        nodeCommands.add( command );
+        return false;
+    }
+
+    @Override
+    public boolean visitRelationshipCommand( RelationshipCommand command )
+    {
+        relationshipCommands.add( command );
+        return false;
+    }
+
+    @Override
+    public boolean visitPropertyCommand( PropertyCommand command )
+    {
+        if ( command.getAfter().isNodeSet() )
+        {
+            nodeCommands.add( command );
+        }
+        else if ( command.getAfter().isRelSet() )
+        {
+            relationshipCommands.add( command );
+        }
+        return false;
+    }
+
+    private void decodeNodes( EntityChangeVisitor visitor, boolean deleted )
+    {
+        EntityCommandGrouper<NodeCommand>.Cursor cursor = nodeCommands.sortAndAccessGroups();
+        while ( cursor.nextEntity() )
+        {
+            long nodeId = cursor.currentEntityId();
+            NodeCommand command = cursor.currentEntityCommand();
+            if ( (command != null && command.getMode() == DELETE) != deleted )
+            {
+                while ( cursor.nextProperty() != null )
+                {
+                    // The property commands of this node are decoded in the other pass
+                }
+                continue;
+            }
+
+            if ( command != null && command.getMode() == CREATE )
+            {
+                visitor.visitCreatedNode( nodeId );
+            }
+            if ( command != null && mayHaveChangedLabels( command.getBefore(), command.getAfter() ) )
+            {
+                long[] labelsBefore = labels( command.getBefore() );
+                long[] labelsAfter = labels( command.getAfter() );
+                if ( labelsBefore == null || labelsAfter == null )
+                {
+                    visitor.visitUnknownNodeLabelChanges( nodeId );
+                }
+                else
+                {
+                    long[] added = difference( labelsAfter, labelsBefore );
+                    long[] removed = difference( labelsBefore, labelsAfter );
+                    if ( added.length > 0 || removed.length > 0 )
+                    {
+                        visitor.visitNodeLabelChanges( nodeId, added, removed );
+                    }
+                }
+            }
+            converter.convertPropertyRecord( cursor, ( key, before, after ) -> visitor.visitNodePropertyChange( nodeId, key, before, after ) );
+            if ( deleted )
+            {
+                visitor.visitDeletedNode( nodeId );
+            }
+        }
+    }
+
+    private void decodeRelationships( EntityChangeVisitor visitor )
+    {
+        EntityCommandGrouper<RelationshipCommand>.Cursor cursor = relationshipCommands.sortAndAccessGroups();
+        while ( cursor.nextEntity() )
+        {
+            long relationshipId = cursor.currentEntityId();
+            RelationshipCommand command = cursor.currentEntityCommand();
+            if ( command != null && command.getMode() == CREATE )
+            {
+                RelationshipRecord after = command.getAfter();
+                visitor.visitCreatedRelationship( relationshipId, after.getType(), after.getFirstNode(), after.getSecondNode() );
+            }
+            converter.convertPropertyRecord( cursor,
+                    ( key, before, after ) -> visitor.visitRelationshipPropertyChange( relationshipId, key, before, after ) );
+            if ( command != null && command.getMode() == DELETE )
+            {
+                RelationshipRecord before = command.getBefore();
+                visitor.visitDeletedRelationship( relationshipId, before.getType(), before.getFirstNode(), before.getSecondNode() );
+            }
+        }
+    }
+
+    /**
+     * A transaction that changes the labels of a node either changes its label field, or rewrites its dynamic label records,
+     * which are then part of the command. The labels of other nodes are not decoded, since their commands may not have their dynamic label records.
+     */
+    private static boolean mayHaveChangedLabels( NodeRecord before, NodeRecord after )
+    {
+        return before.inUse() != after.inUse() || before.getLabelField() != after.getLabelField() || !after.isLight();
+    }
+
+    /**
+     * Labels are only decoded from the record in the command. A transaction that changes the labels of a node makes both of its images
+     * heavy, so the dynamic label records are only missing from commands that were written in some other way. Those labels are not read
+     * from the store, since the store has the labels of the node as they are now, and the dynamic label records may even have been deleted.
+     *
+     * @return the sorted labels of the node, or {@code null} if they are in dynamic label records that are not part of the command.
+     */
+    private static long[] labels( NodeRecord record )
+    {
+        return record.inUse() ? parseLabelsField( record ).getIfLoaded() : NO_LABELS;
+    }
+
+    /**
+     * @return the labels in the sorted {@code labels} which are not in the sorted {@code others}.
+     */
+    private static long[] difference( long[] labels, long[] others )
+    {
+        long[] result = new long[labels.length];
+        int count = 0;
+        int o = 0;
+        for ( long label : labels )
+        {
+            while ( o < others.length && others[o] < label )
+            {
+                o++;
+            }
+            if ( o == others.length || others[o] != label )
+            {
+                result[count++] = label;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf( result, count );
+    }
+}
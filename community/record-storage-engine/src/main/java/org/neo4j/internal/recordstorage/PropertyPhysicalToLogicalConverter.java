@@ -49,6 +49,28 @@ public class PropertyPhysicalToLogicalConverter
      * Converts physical changes to PropertyRecords for a entity into logical updates
      */
     public void convertPropertyRecord( EntityCommandGrouper<?>.Cursor changes, EntityUpdates.Builder properties )
+    {
+        convertPropertyRecord( changes, ( key, before, after ) ->
+        {
+            if ( before == null )
+            {
+                properties.added( key, after );
+            }
+            else if ( after == null )
+            {
+                properties.removed( key, before );
+            }
+            else
+            {
+                properties.changed( key, before, after );
+            }
+        } );
+    }
+
+    /**
+     * Converts physical changes to PropertyRecords for a entity into logical changes, one for each property key that changed.
+     */
+    public void convertPropertyRecord( EntityCommandGrouper<?>.Cursor changes, PropertyChangeVisitor properties )
     {
         mapBlocks( changes );
 
@@ -100,20 +122,13 @@ public class PropertyPhysicalToLogicalConverter
                 {
                     Value beforeVal = valueOf( beforeBlock );
                     Value afterVal = valueOf( afterBlock );
-                    properties.changed( key, beforeVal, afterVal );
+                    properties.change( key, beforeVal, afterVal );
                 }
             }
             else
             {
                 // ADD/REMOVE
-                if ( afterBlock != null )
-                {
-                    properties.added( key, valueOf( afterBlock ) );
-                }
-                else
-                {
-                    properties.removed( key, valueOf( beforeBlock ) );
-                }
+                properties.change( key, valueOf( beforeBlock ), valueOf( afterBlock ) );
             }
         }
     }
@@ -151,6 +166,16 @@ public class PropertyPhysicalToLogicalConverter
         Arrays.sort( afterBlocks, 0, afterBlocksCursor, BLOCK_COMPARATOR );
     }
 
+    /**
+     * Receives a logical property change, where {@code before} is {@code null} for an added property
+     * and {@code after} is {@code null} for a removed property.
+     */
+    @FunctionalInterface
+    public interface PropertyChangeVisitor
+    {
+        void change( int propertyKeyId, Value before, Value after );
+    }
+
     private Value valueOf( PropertyBlock block )
     {
         if ( block == null )
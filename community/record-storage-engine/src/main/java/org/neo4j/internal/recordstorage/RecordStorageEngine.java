@@ -92,6 +92,7 @@ import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.CommandStream;
 import org.neo4j.storageengine.api.CommandsToApply;
 import org.neo4j.storageengine.api.ConstraintRuleAccessor;
+import org.neo4j.storageengine.api.EntityChangeVisitor;
 import org.neo4j.storageengine.api.IndexUpdateListener;
 import org.neo4j.storageengine.api.MetadataProvider;
 import org.neo4j.storageengine.api.StorageCommand;
@@ -467,6 +468,13 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         }
     }
 
+    @Override
+    public void decodeChanges( CommandStream commands, EntityChangeVisitor visitor, CursorContext cursorContext ) throws IOException
+    {
+        PropertyPhysicalToLogicalConverter converter = new PropertyPhysicalToLogicalConverter( neoStores.getPropertyStore(), cursorContext );
+        new EntityChangesDecoder( converter ).decode( commands, visitor );
+    }
+
     @Override
     public void apply( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
     {
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.counts.CountsAccessor;
+import org.neo4j.internal.helpers.Args;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.muninn.StandalonePageCacheFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.test.Race;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.helpers.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.counts.GBPTreeCountsStore.NO_MONITOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
+
+/**
+ * Measures the commit throughput of the counts store for small transactions which all create two nodes with the same label and a relationship
+ * between them, i.e. where all committing threads update the same few counts, while another thread reads those counts. A checkpoint is made
+ * every so often, like in a real database. The throughput for each number of threads is printed, to be compared across thread counts, machines
+ * and implementations of the counts changes. It is not part of the test suite, since its numbers only mean something on a machine with
+ * as many CPUs as threads, which has nothing else to do.
+ * <p>
+ * Usage: {@code CountsStoreContention [-threads 1,2,4,8] [-transactions 1000000] [-warmup 200000] [-dir <directory>]}
+ */
+public class CountsStoreContention
+{
+    private static final int LABEL_ID = 1;
+    private static final int RELATIONSHIP_TYPE_ID = 1;
+
+    private CountsStoreContention()
+    {
+    }
+
+    public static void main( String[] arguments ) throws Throwable
+    {
+        Args args = Args.parse( arguments );
+        String[] threadCounts = args.get( "threads", "1,2,4,8" ).split( "," );
+        int transactions = args.getNumber( "transactions", 1_000_000 ).intValue();
+        int warmup = args.getNumber( "warmup", 200_000 ).intValue();
+        Path dir = args.has( "dir" ) ? Path.of( args.get( "dir" ) ) : Files.createTempDirectory( "counts-contention" );
+
+        try ( FileSystemAbstraction fs = new DefaultFileSystemAbstraction();
+              ThreadPoolJobScheduler jobScheduler = new ThreadPoolJobScheduler();
+              PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler ) )
+        {
+            for ( String threadCount : threadCounts )
+            {
+                int threads = Integer.parseInt( threadCount.trim() );
+                Path file = dir.resolve( "counts-" + threads + ".db" );
+                fs.deleteFile( file );
+                try ( GBPTreeCountsStore countsStore = new GBPTreeCountsStore( pageCache, file, fs, immediate(), CountsBuilder.EMPTY, writable(),
+                        PageCacheTracer.NULL, NO_MONITOR, DEFAULT_DATABASE_NAME, 100_000 ) )
+                {
+                    countsStore.start( NULL, INSTANCE );
+                    AtomicLong nextTxId = new AtomicLong( BASE_TX_ID );
+
+                    commit( countsStore, nextTxId, threads, warmup );
+                    long start = System.nanoTime();
+                    long reads = commit( countsStore, nextTxId, threads, transactions );
+                    long elapsedNanos = System.nanoTime() - start;
+
+                    System.out.printf( "threads=%d: %.0f tx/s, %.1fns per transaction and thread, %.0f reads/s%n", threads,
+                            transactions * 1e9 / elapsedNanos, (double) elapsedNanos * threads / transactions, reads * 1e9 / elapsedNanos );
+                    long expected = warmup + transactions;
+                    if ( countsStore.nodeCount( LABEL_ID, NULL ) != 2 * expected ||
+                         countsStore.relationshipCount( LABEL_ID, RELATIONSHIP_TYPE_ID, LABEL_ID, NULL ) != expected )
+                    {
+                        throw new IllegalStateException( "Not all committed changes were counted" );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of times the counts were read while committing.
+     */
+    private static long commit( GBPTreeCountsStore countsStore, AtomicLong nextTxId, int threads, int transactions ) throws Throwable
+    {
+        AtomicLong remainingTransactions = new AtomicLong( transactions );
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        Race race = new Race();
+        race.addContestants( threads, () ->
+        {
+            while ( remainingTransactions.getAndDecrement() > 0 )
+            {
+                try ( CountsAccessor.Updater updater = countsStore.apply( nextTxId.incrementAndGet(), NULL ) )
+                {
+                    updater.incrementNodeCount( LABEL_ID, 2 );
+                    updater.incrementRelationshipCount( LABEL_ID, RELATIONSHIP_TYPE_ID, LABEL_ID, 1 );
+                }
+            }
+            done.set( true );
+        }, 1 );
+        race.addContestant( () ->
+        {
+            while ( !done.get() )
+            {
+                countsStore.nodeCount( LABEL_ID, NULL );
+                reads.incrementAndGet();
+            }
+        }, 1 );
+        race.addContestant( Race.throwing( () ->
+        {
+            while ( !done.get() )
+            {
+                countsStore.checkpoint( NULL );
+                TimeUnit.MILLISECONDS.sleep( 100 );
+            }
+        } ), 1 );
+        race.go();
+        return reads.get();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.counts.CountsAccessor;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.test.Race;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.helpers.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.counts.GBPTreeCountsStore.NO_MONITOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
+
+/**
+ * Many threads committing small transactions which all update the same few counts, while the counts are check-pointed and read concurrently.
+ * Each transaction also updates one of a range of other counts, to grow the changes past the max cache size and have them flushed by the updaters too.
+ */
+@PageCacheExtension
+class GBPTreeCountsStoreConcurrentUpdatesIT
+{
+    private static final int THREADS = 4;
+    private static final int TRANSACTIONS = 100_000;
+    private static final int MAX_CACHE_SIZE = 32;
+    private static final int LABEL_ID = 1;
+    private static final int RELATIONSHIP_TYPE_ID = 1;
+    private static final int OTHER_LABELS_START = 100;
+    private static final int OTHER_LABELS = 64;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Test
+    void shouldCountAllConcurrentlyCommittedChanges() throws Throwable
+    {
+        try ( GBPTreeCountsStore countsStore = openCountsStore() )
+        {
+            AtomicLong nextTxId = new AtomicLong( BASE_TX_ID );
+            AtomicInteger runningCommitters = new AtomicInteger( THREADS );
+            AtomicLong remainingTransactions = new AtomicLong( TRANSACTIONS );
+            Race race = new Race();
+            race.addContestants( THREADS, () ->
+            {
+                while ( remainingTransactions.getAndDecrement() > 0 )
+                {
+                    long txId = nextTxId.incrementAndGet();
+                    try ( CountsAccessor.Updater updater = countsStore.apply( txId, NULL ) )
+                    {
+                        updater.incrementNodeCount( LABEL_ID, 2 );
+                        updater.incrementRelationshipCount( LABEL_ID, RELATIONSHIP_TYPE_ID, LABEL_ID, 1 );
+                        updater.incrementNodeCount( otherLabel( txId ), 1 );
+                    }
+                }
+                runningCommitters.decrementAndGet();
+            }, 1 );
+            race.addContestant( Race.throwing( () ->
+            {
+                while ( runningCommitters.get() > 0 )
+                {
+                    countsStore.checkpoint( NULL );
+                    TimeUnit.MILLISECONDS.sleep( 10 );
+                }
+            } ), 1 );
+            race.addContestant( () ->
+            {
+                long previousNodeCount = 0;
+                long previousRelationshipCount = 0;
+                while ( runningCommitters.get() > 0 )
+                {
+                    // Both nodes of a transaction are counted in one increment, so an odd count would be half a transaction
+                    long nodeCount = countsStore.nodeCount( LABEL_ID, NULL );
+                    assertThat( nodeCount ).isEven().isGreaterThanOrEqualTo( previousNodeCount );
+                    long relationshipCount = countsStore.relationshipCount( LABEL_ID, RELATIONSHIP_TYPE_ID, LABEL_ID, NULL );
+                    assertThat( relationshipCount ).isGreaterThanOrEqualTo( previousRelationshipCount );
+                    previousNodeCount = nodeCount;
+                    previousRelationshipCount = relationshipCount;
+                }
+            }, 1 );
+            race.go();
+
+            assertAllTransactionsCounted( countsStore );
+            countsStore.checkpoint( NULL );
+        }
+
+        try ( GBPTreeCountsStore countsStore = openCountsStore() )
+        {
+            assertAllTransactionsCounted( countsStore );
+        }
+    }
+
+    private GBPTreeCountsStore openCountsStore() throws IOException
+    {
+        GBPTreeCountsStore countsStore = new GBPTreeCountsStore( pageCache, directory.file( "counts.db" ), fs, immediate(), CountsBuilder.EMPTY,
+                writable(), PageCacheTracer.NULL, NO_MONITOR, DEFAULT_DATABASE_NAME, MAX_CACHE_SIZE );
+        countsStore.start( NULL, INSTANCE );
+        return countsStore;
+    }
+
+    private static void assertAllTransactionsCounted( GBPTreeCountsStore countsStore )
+    {
+        assertThat( countsStore.nodeCount( LABEL_ID, NULL ) ).isEqualTo( 2L * TRANSACTIONS );
+        assertThat( countsStore.relationshipCount( LABEL_ID, RELATIONSHIP_TYPE_ID, LABEL_ID, NULL ) ).isEqualTo( TRANSACTIONS );
+        long otherLabelsCount = 0;
+        for ( int i = 0; i < OTHER_LABELS; i++ )
+        {
+            long count = countsStore.nodeCount( OTHER_LABELS_START + i, NULL );
+            assertThat( count ).isGreaterThan( 0 );
+            otherLabelsCount += count;
+        }
+        assertThat( otherLabelsCount ).isEqualTo( TRANSACTIONS );
+    }
+
+    private static int otherLabel( long txId )
+    {
+        return OTHER_LABELS_START + (int) (txId % OTHER_LABELS);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.test.Race;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.rule.RandomRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith( RandomExtension.class )
+class StripedCountsMapTest
+{
+    private static final byte TYPE = 1;
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    @Inject
+    private RandomRule random;
+
+    @Test
+    void shouldNotAddToAbsentKeyWithTryAdd()
+    {
+        // given
+        StripedCountsMap counts = new StripedCountsMap( 4 );
+
+        // when
+        boolean added = counts.tryAdd( TYPE, 1, 2, 10 );
+
+        // then
+        assertThat( added ).isFalse();
+        assertThat( counts.contains( TYPE, 1, 2 ) ).isFalse();
+        assertThat( counts.get( TYPE, 1, 2, ABSENT ) ).isEqualTo( ABSENT );
+        assertThat( counts.size() ).isZero();
+    }
+
+    @Test
+    void shouldStartFromInitialCountOnlyOnce()
+    {
+        // given
+        StripedCountsMap counts = new StripedCountsMap( 4 );
+        AtomicInteger initialCountCalls = new AtomicInteger();
+
+        // when
+        counts.add( TYPE, 1, 2, 10, key ->
+        {
+            initialCountCalls.incrementAndGet();
+            assertThat( key ).isEqualTo( new CountsKey( TYPE, 1, 2 ) );
+            return 100;
+        } );
+        counts.add( TYPE, 1, 2, 5, key -> initialCountCalls.incrementAndGet() );
+        assertThat( counts.tryAdd( TYPE, 1, 2, -3 ) ).isTrue();
+
+        // then
+        assertThat( initialCountCalls.get() ).isEqualTo( 1 );
+        assertThat( counts.get( TYPE, 1, 2, ABSENT ) ).isEqualTo( 112 );
+        assertThat( counts.size() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldTellKeysApartByAllTheirParts()
+    {
+        // given
+        StripedCountsMap counts = new StripedCountsMap( 1 );
+
+        // when
+        counts.add( (byte) 1, 5, 0, 1, key -> 0 );
+        counts.add( (byte) 2, 5, 0, 2, key -> 0 );
+        counts.add( (byte) 1, 5, 1, 3, key -> 0 );
+        counts.add( (byte) 1, 6, 0, 4, key -> 0 );
+        counts.add( (byte) 1, -1, -1, 5, key -> 0 );
+
+        // then
+        assertThat( counts.get( (byte) 1, 5, 0, ABSENT ) ).isEqualTo( 1 );
+        assertThat( counts.get( (byte) 2, 5, 0, ABSENT ) ).isEqualTo( 2 );
+        assertThat( counts.get( (byte) 1, 5, 1, ABSENT ) ).isEqualTo( 3 );
+        assertThat( counts.get( (byte) 1, 6, 0, ABSENT ) ).isEqualTo( 4 );
+        assertThat( counts.get( (byte) 1, -1, -1, ABSENT ) ).isEqualTo( 5 );
+        assertThat( counts.size() ).isEqualTo( 5 );
+    }
+
+    @Test
+    void shouldGrowAndVisitAllKeys()
+    {
+        // given
+        StripedCountsMap counts = new StripedCountsMap( 2 );
+        Map<CountsKey,Long> expected = new HashMap<>();
+        for ( int i = 0; i < 10_000; i++ )
+        {
+            long first = random.nextLong();
+            int second = random.nextInt();
+            long delta = random.nextInt( 1, 1000 );
+            counts.add( TYPE, first, second, delta, key -> 0 );
+            expected.merge( new CountsKey( TYPE, first, second ), delta, Long::sum );
+        }
+
+        // when
+        Map<CountsKey,Long> visited = new HashMap<>();
+        counts.visit( ( key, count ) -> assertThat( visited.put( key, count ) ).isNull() );
+
+        // then
+        assertThat( visited ).isEqualTo( expected );
+        assertThat( counts.size() ).isEqualTo( expected.size() );
+        expected.forEach( ( key, count ) -> assertThat( counts.get( key.type, key.first, key.second, ABSENT ) ).isEqualTo( count ) );
+    }
+
+    @Test
+    void shouldAddConcurrently()
+    {
+        // given
+        StripedCountsMap counts = new StripedCountsMap( 4 );
+        int threads = 8;
+        int keys = 2_000;
+        int rounds = 20;
+
+        // when
+        Race race = new Race();
+        race.addContestants( threads, () ->
+        {
+            for ( int round = 0; round < rounds; round++ )
+            {
+                for ( int key = 0; key < keys; key++ )
+                {
+                    if ( !counts.tryAdd( TYPE, key, key % 7, 1 ) )
+                    {
+                        counts.add( TYPE, key, key % 7, 1, k -> 1_000 );
+                    }
+                }
+            }
+        } );
+        race.goUnchecked();
+
+        // then
+        MutableLong total = new MutableLong();
+        counts.visit( ( key, count ) -> total.add( count ) );
+        assertThat( counts.size() ).isEqualTo( keys );
+        assertThat( total.longValue() ).isEqualTo( keys * (1_000L + threads * rounds) );
+        for ( int key = 0; key < keys; key++ )
+        {
+            assertThat( counts.get( TYPE, key, key % 7, ABSENT ) ).isEqualTo( 1_000L + threads * rounds );
+        }
+    }
+
+    @Test
+    void shouldNeverReadCountKeyNeverHadWhileIncrementedAndDecrementedConcurrently()
+    {
+        // given a count that other threads increment and then decrement, typically on other lanes, so it never goes below zero
+        StripedCountsMap counts = new StripedCountsMap( 8 );
+        counts.add( TYPE, 1, 2, 0, key -> 0 );
+        int pairs = 4;
+        int rounds = 20_000;
+        Semaphore incremented = new Semaphore( 0 );
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger reads = new AtomicInteger();
+
+        // when
+        Race race = new Race();
+        race.addContestants( pairs, () ->
+        {
+            for ( int round = 0; round < rounds; round++ )
+            {
+                counts.tryAdd( TYPE, 1, 2, 1 );
+                incremented.release();
+            }
+            done.incrementAndGet();
+        } );
+        race.addContestants( pairs, () ->
+        {
+            for ( int round = 0; round < rounds; round++ )
+            {
+                incremented.acquireUninterruptibly();
+                counts.tryAdd( TYPE, 1, 2, -1 );
+            }
+            done.incrementAndGet();
+        } );
+        race.addContestant( () ->
+        {
+            while ( done.get() < pairs * 2 )
+            {
+                long count = counts.get( TYPE, 1, 2, ABSENT );
+                assertThat( count ).isBetween( 0L, (long) pairs * rounds );
+                reads.incrementAndGet();
+            }
+        } );
+        race.goUnchecked();
+
+        // then
+        assertThat( reads.get() ).isPositive();
+        assertThat( counts.get( TYPE, 1, 2, ABSENT ) ).isZero();
+    }
+
+    @Test
+    void shouldOnlyAcceptPowerOfTwoLanes()
+    {
+        assertThatThrownBy( () -> new StripedCountsMap( 3 ) ).isInstanceOf( IllegalArgumentException.class );
+    }
+}
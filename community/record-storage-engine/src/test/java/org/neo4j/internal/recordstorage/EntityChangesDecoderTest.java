@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.Command.NodeCommand;
+import org.neo4j.internal.recordstorage.Command.PropertyCommand;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.EntityChangeVisitor;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.values.storable.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.helpers.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.io.pagecache.tracing.PageCacheTracer.NULL;
+import static org.neo4j.kernel.impl.store.DynamicNodeLabels.dynamicPointer;
+import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
+import static org.neo4j.kernel.impl.store.record.Record.NO_LABELS_FIELD;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_PROPERTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.values.storable.Values.intValue;
+
+@PageCacheExtension
+@Neo4jLayoutExtension
+class EntityChangesDecoderTest
+{
+    private static final long NODE = 3;
+    private static final long OTHER_NODE = 4;
+    private static final long RELATIONSHIP = 7;
+    private static final int TYPE = 2;
+    private static final long[] MANY_LABELS = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+    @Inject
+    private PageCache pageCache;
+    @Inject
+    private DatabaseLayout databaseLayout;
+
+    private NeoStores neoStores;
+    private NodeStore nodeStore;
+    private EntityChangesDecoder decoder;
+
+    @BeforeEach
+    void setUp()
+    {
+        StoreFactory storeFactory = new StoreFactory( databaseLayout, Config.defaults(),
+                new DefaultIdGeneratorFactory( fileSystem, immediate(), databaseLayout.getDatabaseName() ), pageCache, fileSystem,
+                NullLogProvider.getInstance(), NULL, writable() );
+        neoStores = storeFactory.openAllNeoStores( true );
+        nodeStore = neoStores.getNodeStore();
+        decoder = new EntityChangesDecoder( new PropertyPhysicalToLogicalConverter( neoStores.getPropertyStore(), CursorContext.NULL ) );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        neoStores.close();
+    }
+
+    @Test
+    void shouldDecodeCreatedNodeWithLabelsAndProperties() throws IOException
+    {
+        NodeRecord after = created( node( NODE, 0, 1, 2 ) );
+
+        List<String> changes = decode(
+                new NodeCommand( notInUse( NODE ), after ),
+                new PropertyCommand( new PropertyRecord( 0 ), created( nodeProperties( 0, NODE, block( 5, intValue( 10 ) ) ) ) ) );
+
+        assertThat( changes ).containsExactly(
+                "created node 3",
+                "node 3 labels added [1, 2] removed []",
+                "node 3 property 5 null -> Int(10)" );
+    }
+
+    @Test
+    void shouldDecodeRemovedLabel() throws IOException
+    {
+        List<String> changes = decode( new NodeCommand( node( NODE, NO_NEXT_PROPERTY.longValue(), 1, 2 ), node( NODE, NO_NEXT_PROPERTY.longValue(), 1 ) ) );
+
+        assertThat( changes ).containsExactly( "node 3 labels added [] removed [2]" );
+    }
+
+    @Test
+    void shouldDecodeChangedAndRemovedProperties() throws IOException
+    {
+        List<String> changes = decode( new PropertyCommand(
+                nodeProperties( 0, NODE, block( 5, intValue( 10 ) ), block( 6, intValue( 11 ) ) ),
+                nodeProperties( 0, NODE, block( 5, intValue( 20 ) ) ) ) );
+
+        assertThat( changes ).containsExactly(
+                "node 3 property 5 Int(10) -> Int(20)",
+                "node 3 property 6 Int(11) -> null" );
+    }
+
+    @Test
+    void shouldDecodeCreatedAndDeletedRelationships() throws IOException
+    {
+        long otherRelationship = RELATIONSHIP + 1;
+        List<String> changes = decode(
+                new RelationshipCommand( relationship( otherRelationship, NO_NEXT_PROPERTY.longValue() ),
+                        new RelationshipRecord( otherRelationship ) ),
+                new PropertyCommand( relationshipProperties( 1, otherRelationship, block( 5, intValue( 20 ) ) ),
+                        relationshipProperties( 1, otherRelationship ) ),
+                new RelationshipCommand( new RelationshipRecord( RELATIONSHIP ), created( relationship( RELATIONSHIP, 0 ) ) ),
+                new PropertyCommand( new PropertyRecord( 0 ), created( relationshipProperties( 0, RELATIONSHIP, block( 5, intValue( 10 ) ) ) ) ) );
+
+        assertThat( changes ).containsExactly(
+                "created relationship 7 type 2 from 3 to 4",
+                "relationship 7 property 5 null -> Int(10)",
+                "relationship 8 property 5 Int(20) -> null",
+                "deleted relationship 8 type 2 from 3 to 4" );
+    }
+
+    @Test
+    void shouldDecodeDeletedNodeAfterItsRelationships() throws IOException
+    {
+        List<String> changes = decode(
+                new NodeCommand( node( NODE, 0, 1 ), notInUse( NODE ) ),
+                new PropertyCommand( nodeProperties( 0, NODE, block( 5, intValue( 10 ) ) ), nodeProperties( 0, NODE ) ),
+                new RelationshipCommand( relationship( RELATIONSHIP, NO_NEXT_PROPERTY.longValue() ), new RelationshipRecord( RELATIONSHIP ) ),
+                new NodeCommand( node( OTHER_NODE, NO_NEXT_PROPERTY.longValue(), 1 ), node( OTHER_NODE, NO_NEXT_PROPERTY.longValue(), 1, 2 ) ) );
+
+        assertThat( changes ).containsExactly(
+                "node 4 labels added [2] removed []",
+                "deleted relationship 7 type 2 from 3 to 4",
+                "node 3 labels added [] removed [1]",
+                "node 3 property 5 Int(10) -> null",
+                "deleted node 3" );
+    }
+
+    @Test
+    void shouldDecodeLabelsOfCreatedNodeFromDynamicLabelRecordsInCommand() throws IOException
+    {
+        NodeRecord after = created( node( NODE, NO_NEXT_PROPERTY.longValue(), MANY_LABELS ) );
+        assertThat( after.isLight() ).isFalse();
+
+        List<String> changes = decode( new NodeCommand( notInUse( NODE ), after ) );
+
+        assertThat( changes ).containsExactly(
+                "created node 3",
+                "node 3 labels added [1, 2, 3, 4, 5, 6, 7, 8, 9, 10] removed []" );
+    }
+
+    @Test
+    void shouldDecodeDynamicLabelsBeforeChangeFromCommandOfNodeDeletedSince() throws IOException
+    {
+        // given a transaction that removed a label from a node with dynamic labels
+        NodeRecord stored = node( NODE, NO_NEXT_PROPERTY.longValue(), MANY_LABELS );
+        nodeStore.updateRecord( stored, CursorContext.NULL );
+        NodeRecord before = new NodeRecord( stored );
+        NodeRecord after = new NodeRecord( stored );
+        parseLabelsField( after ).put( Arrays.copyOf( MANY_LABELS, MANY_LABELS.length - 1 ), nodeStore, nodeStore.getDynamicLabelStore(),
+                CursorContext.NULL, INSTANCE );
+        NodeCommand command = new NodeCommand( before, after );
+
+        // and a later transaction that deleted the node, along with its dynamic label records
+        NodeRecord deleted = new NodeRecord( stored );
+        deleted.setInUse( false );
+        deleted.getDynamicLabelRecords().forEach( record -> record.setInUse( false ) );
+        nodeStore.updateRecord( deleted, CursorContext.NULL );
+
+        // when
+        List<String> changes = decode( command );
+
+        // then
+        assertThat( changes ).containsExactly( "node 3 labels added [] removed [10]" );
+    }
+
+    @Test
+    void shouldReportUnknownLabelChangesWhenDynamicLabelRecordsAreNotInCommand() throws IOException
+    {
+        // The dynamic label records are not in the store either, so reading the labels from it would fail
+        NodeRecord after = node( NODE, NO_NEXT_PROPERTY.longValue(), MANY_LABELS );
+        NodeRecord before = lightNode( NODE, NO_NEXT_PROPERTY.longValue(), after.getLabelField() );
+        parseLabelsField( after ).put( Arrays.copyOf( MANY_LABELS, MANY_LABELS.length - 1 ), nodeStore, nodeStore.getDynamicLabelStore(),
+                CursorContext.NULL, INSTANCE );
+
+        List<String> changes = decode( new NodeCommand( before, after ) );
+
+        assertThat( changes ).containsExactly( "node 3 labels unknown" );
+    }
+
+    @Test
+    void shouldNotReadDynamicLabelsOfNodeWithUnchangedLabels() throws IOException
+    {
+        // The dynamic label record is not in the store, so reading the labels would fail
+        long labelField = dynamicPointer( 100 );
+
+        List<String> changes = decode(
+                new NodeCommand( lightNode( NODE, 0, labelField ), lightNode( NODE, 0, labelField ) ),
+                new PropertyCommand( nodeProperties( 0, NODE, block( 5, intValue( 10 ) ) ), nodeProperties( 0, NODE, block( 5, intValue( 20 ) ) ) ) );
+
+        assertThat( changes ).containsExactly( "node 3 property 5 Int(10) -> Int(20)" );
+    }
+
+    private List<String> decode( StorageCommand... commands ) throws IOException
+    {
+        List<String> changes = new ArrayList<>();
+        decoder.decode( new GroupOfCommands( commands ), new EntityChangeVisitor()
+        {
+            @Override
+            public void visitCreatedNode( long id )
+            {
+                changes.add( "created node " + id );
+            }
+
+            @Override
+            public void visitDeletedNode( long id )
+            {
+                changes.add( "deleted node " + id );
+            }
+
+            @Override
+            public void visitNodeLabelChanges( long id, long[] added, long[] removed )
+            {
+                changes.add( "node " + id + " labels added " + Arrays.toString( added ) + " removed " + Arrays.toString( removed ) );
+            }
+
+            @Override
+            public void visitUnknownNodeLabelChanges( long id )
+            {
+                changes.add( "node " + id + " labels unknown" );
+            }
+
+            @Override
+            public void visitNodePropertyChange( long id, int propertyKeyId, Value before, Value after )
+            {
+                changes.add( "node " + id + " property " + propertyKeyId + " " + before + " -> " + after );
+            }
+
+            @Override
+            public void visitCreatedRelationship( long id, int type, long startNode, long endNode )
+            {
+                changes.add( "created relationship " + id + " type " + type + " from " + startNode + " to " + endNode );
+            }
+
+            @Override
+            public void visitDeletedRelationship( long id, int type, long startNode, long endNode )
+            {
+                changes.add( "deleted relationship " + id + " type " + type + " from " + startNode + " to " + endNode );
+            }
+
+            @Override
+            public void visitRelationshipPropertyChange( long id, int propertyKeyId, Value before, Value after )
+            {
+                changes.add( "relationship " + id + " property " + propertyKeyId + " " + before + " -> " + after );
+            }
+        } );
+        return changes;
+    }
+
+    private NodeRecord node( long id, long nextProp, long... labels )
+    {
+        NodeRecord node = lightNode( id, nextProp, NO_LABELS_FIELD.longValue() );
+        parseLabelsField( node ).put( labels, nodeStore, nodeStore.getDynamicLabelStore(), CursorContext.NULL, INSTANCE );
+        return node;
+    }
+
+    private static NodeRecord lightNode( long id, long nextProp, long labelField )
+    {
+        return new NodeRecord( id ).initialize( true, nextProp, false, NO_NEXT_RELATIONSHIP.longValue(), labelField );
+    }
+
+    private static NodeRecord notInUse( long id )
+    {
+        return new NodeRecord( id ).initialize( false, NO_NEXT_PROPERTY.longValue(), false, NO_NEXT_RELATIONSHIP.longValue(),
+                NO_LABELS_FIELD.longValue() );
+    }
+
+    private static RelationshipRecord relationship( long id, long nextProp )
+    {
+        return new RelationshipRecord( id ).initialize( true, nextProp, NODE, OTHER_NODE, TYPE, NO_NEXT_RELATIONSHIP.longValue(),
+                NO_NEXT_RELATIONSHIP.longValue(), NO_NEXT_RELATIONSHIP.longValue(), NO_NEXT_RELATIONSHIP.longValue(), true, true );
+    }
+
+    private static PropertyRecord nodeProperties( long id, long nodeId, PropertyBlock... blocks )
+    {
+        PropertyRecord record = properties( id, blocks );
+        record.setNodeId( nodeId );
+        return record;
+    }
+
+    private static PropertyRecord relationshipProperties( long id, long relationshipId, PropertyBlock... blocks )
+    {
+        PropertyRecord record = properties( id, blocks );
+        record.setRelId( relationshipId );
+        return record;
+    }
+
+    private static PropertyRecord properties( long id, PropertyBlock... blocks )
+    {
+        PropertyRecord record = new PropertyRecord( id ).initialize( blocks.length > 0, NO_NEXT_PROPERTY.longValue(), NO_NEXT_PROPERTY.longValue() );
+        for ( PropertyBlock block : blocks )
+        {
+            record.addPropertyBlock( block );
+        }
+        return record;
+    }
+
+    private static PropertyBlock block( int key, Value value )
+    {
+        PropertyBlock block = new PropertyBlock();
+        PropertyStore.encodeValue( block, key, value, null, null, true, CursorContext.NULL, INSTANCE );
+        return block;
+    }
+
+    private static <RECORD extends AbstractBaseRecord> RECORD created( RECORD record )
+    {
+        record.setCreated();
+        return record;
+    }
+}
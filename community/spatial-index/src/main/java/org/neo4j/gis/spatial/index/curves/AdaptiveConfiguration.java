@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gis.spatial.index.curves;
+
+public class AdaptiveConfiguration extends StandardConfiguration
+{
+    private final int adaptiveLevels;
+    private final double maxFalsePositiveFraction;
+
+    public AdaptiveConfiguration( int extraLevels, int adaptiveLevels, double maxFalsePositiveFraction )
+    {
+        super( extraLevels );
+        this.adaptiveLevels = adaptiveLevels;
+        this.maxFalsePositiveFraction = maxFalsePositiveFraction;
+    }
+
+    /**
+     * This stops at the maxDepth calculated in the maxDepth() function, or if the overlap is over 99%, like the standard configuration,
+     * except for tiles that would give too many false positives. Those are tiles where the fraction of the tile outside of the search area
+     * is more than the configured maximum, and the traversal keeps splitting them, up to a number of levels below maxDepth.
+     * Tiles that mostly overlap the search area are not split further, which limits the false positives without multiplying the number
+     * of ranges across the whole search area.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean stopAtThisDepth( double overlap, int depth, int maxDepth )
+    {
+        if ( overlap >= 0.99 || depth >= maxDepth + adaptiveLevels )
+        {
+            return true;
+        }
+        return depth >= maxDepth && 1.0 - overlap <= maxFalsePositiveFraction;
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "(" + extraLevels + "," + adaptiveLevels + "," + maxFalsePositiveFraction + ")";
+    }
+}
@@ -524,6 +524,24 @@ public class SpaceFillingCurveTest
         assertThat( ranges.get( 0 ).min ).isGreaterThan( Long.MIN_VALUE );
     }
 
+    @Test
+    void shouldCoverLessAreaWithAdaptiveConfiguration()
+    {
+        Envelope envelope = new Envelope( -100, 100, -100, 100 );
+        HilbertSpaceFillingCurve2D curve = new HilbertSpaceFillingCurve2D( envelope, 12 );
+        Envelope[] searchEnvelopes = {new Envelope( -10.3, 20.7, 5.1, 33.9 ), new Envelope( -99.9, 0.1, -0.1, 0.1 ), new Envelope( 1.01, 9.37, -50.3, -20.9 )};
+        for ( Envelope searchEnvelope : searchEnvelopes )
+        {
+            HistogramMonitor standardMonitor = new HistogramMonitor( curve.getMaxLevel() );
+            HistogramMonitor adaptiveMonitor = new HistogramMonitor( curve.getMaxLevel() );
+            curve.getTilesIntersectingEnvelope( searchEnvelope, new StandardConfiguration( 1 ), standardMonitor );
+            curve.getTilesIntersectingEnvelope( searchEnvelope, new AdaptiveConfiguration( 1, 3, 0.25 ), adaptiveMonitor );
+
+            assertThat( adaptiveMonitor.getSearchArea() ).isLessThanOrEqualTo( adaptiveMonitor.getCoveredArea() );
+            assertThat( adaptiveMonitor.getCoveredArea() ).as( "covered area for " + searchEnvelope ).isLessThan( standardMonitor.getCoveredArea() );
+        }
+    }
+
     //
     // Set of tests for 3D HilbertCurve at various levels
     //
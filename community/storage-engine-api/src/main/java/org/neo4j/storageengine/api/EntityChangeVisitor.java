@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api;
+
+import org.neo4j.values.storable.Value;
+
+/**
+ * Receives the logical changes that a transaction made to nodes and relationships, as decoded from the
+ * commands of the transaction by {@link StorageEngine#decodeChanges(CommandStream, EntityChangeVisitor, org.neo4j.io.pagecache.context.CursorContext)}.
+ * <p>
+ * Relationships are created after the nodes they connect and deleted before them, so all changes of one transaction
+ * can be replayed in the order they are visited. The changes of a created entity come after its creation, and the changes
+ * of a deleted entity before its deletion.
+ */
+public interface EntityChangeVisitor
+{
+    void visitCreatedNode( long id );
+
+    void visitDeletedNode( long id );
+
+    /**
+     * The labels are decoded from the node as it is in the commands of the transaction, both before and after the change,
+     * and never from the store, which may have changed since.
+     *
+     * @param id the node.
+     * @param added sorted ids of the labels that were added to the node.
+     * @param removed sorted ids of the labels that were removed from the node.
+     */
+    void visitNodeLabelChanges( long id, long[] added, long[] removed );
+
+    /**
+     * The labels of the node may have changed, but the commands of the transaction don't have the dynamic label records
+     * needed to tell which labels the node had before or after the change.
+     *
+     * @param id the node.
+     */
+    void visitUnknownNodeLabelChanges( long id );
+
+    /**
+     * @param id the node.
+     * @param propertyKeyId the property key of the changed property.
+     * @param before the value before the change, or {@code null} if the property was added.
+     * @param after the value after the change, or {@code null} if the property was removed.
+     */
+    void visitNodePropertyChange( long id, int propertyKeyId, Value before, Value after );
+
+    void visitCreatedRelationship( long id, int type, long startNode, long endNode );
+
+    void visitDeletedRelationship( long id, int type, long startNode, long endNode );
+
+    /**
+     * @param id the relationship.
+     * @param propertyKeyId the property key of the changed property.
+     * @param before the value before the change, or {@code null} if the property was added.
+     * @param after the value after the change, or {@code null} if the property was removed.
+     */
+    void visitRelationshipPropertyChange( long id, int propertyKeyId, Value before, Value after );
+
+    class Adapter implements EntityChangeVisitor
+    {
+        @Override
+        public void visitCreatedNode( long id )
+        {
+        }
+
+        @Override
+        public void visitDeletedNode( long id )
+        {
+        }
+
+        @Override
+        public void visitNodeLabelChanges( long id, long[] added, long[] removed )
+        {
+        }
+
+        @Override
+        public void visitUnknownNodeLabelChanges( long id )
+        {
+        }
+
+        @Override
+        public void visitNodePropertyChange( long id, int propertyKeyId, Value before, Value after )
+        {
+        }
+
+        @Override
+        public void visitCreatedRelationship( long id, int type, long startNode, long endNode )
+        {
+        }
+
+        @Override
+        public void visitDeletedRelationship( long id, int type, long startNode, long endNode )
+        {
+        }
+
+        @Override
+        public void visitRelationshipPropertyChange( long id, int propertyKeyId, Value before, Value after )
+        {
+        }
+    }
+}
@@ -117,6 +117,18 @@ public interface StorageEngine extends Lifecycle
      */
     void lockRecoveryCommands( CommandStream commands, LockService lockService, LockGroup lockGroup, TransactionApplicationMode mode );
 
+    /**
+     * Decodes the commands of a committed transaction into the logical changes that it made to nodes and relationships.
+     * Some values may have to be read from storage, e.g. property values that were left unchanged in a record the transaction changed,
+     * and those reflect the current state of the storage rather than the state at the time of the transaction.
+     *
+     * @param commands the commands of one transaction, as {@link #createCommands created} by this storage engine.
+     * @param visitor {@link EntityChangeVisitor} receiving the changes.
+     * @param cursorContext underlying page cursor context.
+     * @throws IOException if there were any problem reading the commands.
+     */
+    void decodeChanges( CommandStream commands, EntityChangeVisitor visitor, CursorContext cursorContext ) throws IOException;
+
     /**
      * Apply a batch of groups of commands to this storage.
      *
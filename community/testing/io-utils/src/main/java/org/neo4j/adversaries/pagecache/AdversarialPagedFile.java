@@ -28,6 +28,7 @@ import org.neo4j.adversaries.Adversary;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 
 /**
  * A {@linkplain PagedFile paged file} that wraps another paged file and an {@linkplain Adversary adversary} to provide
@@ -117,4 +118,22 @@ public class AdversarialPagedFile implements PagedFile
     {
         return delegate.getDatabaseName();
     }
+
+    @Override
+    public PagedFileStatistics statistics()
+    {
+        return delegate.statistics();
+    }
+
+    @Override
+    public void markReadStable( long startPageId, long endPageId )
+    {
+        delegate.markReadStable( startPageId, endPageId );
+    }
+
+    @Override
+    public void clearReadStable( long startPageId, long endPageId )
+    {
+        delegate.clearReadStable( startPageId, endPageId );
+    }
 }
@@ -21,8 +21,10 @@ package org.neo4j.io.pagecache;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.BitSet;
 
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.monitoring.PagedFileStatistics;
 
 public class DelegatingPagedFile implements PagedFile
 {
@@ -92,4 +94,34 @@ public class DelegatingPagedFile implements PagedFile
     {
         return delegate.getDatabaseName();
     }
+
+    @Override
+    public BitSet residentPages( CursorContext context ) throws IOException
+    {
+        return delegate.residentPages( context );
+    }
+
+    @Override
+    public long loadPages( BitSet pages, IOController ioController, CursorContext context ) throws IOException
+    {
+        return delegate.loadPages( pages, ioController, context );
+    }
+
+    @Override
+    public PagedFileStatistics statistics()
+    {
+        return delegate.statistics();
+    }
+
+    @Override
+    public void markReadStable( long startPageId, long endPageId )
+    {
+        delegate.markReadStable( startPageId, endPageId );
+    }
+
+    @Override
+    public void clearReadStable( long startPageId, long endPageId )
+    {
+        delegate.clearReadStable( startPageId, endPageId );
+    }
 }
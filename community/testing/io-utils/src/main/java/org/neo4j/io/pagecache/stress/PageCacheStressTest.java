@@ -58,6 +58,7 @@ public class PageCacheStressTest
     private final int numberOfThreads;
 
     private final int numberOfCachePages;
+    private final long compressedTierSize;
 
     private final PageCacheTracer tracer;
     private final Condition condition;
@@ -70,6 +71,7 @@ public class PageCacheStressTest
         this.numberOfThreads = builder.numberOfThreads;
 
         this.numberOfCachePages = builder.numberOfCachePages;
+        this.compressedTierSize = builder.compressedTierSize;
 
         this.tracer = builder.tracer;
         this.condition = builder.condition;
@@ -83,7 +85,8 @@ public class PageCacheStressTest
               JobScheduler jobScheduler = new ThreadPoolJobScheduler() )
         {
             PageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory( fs );
-            try ( PageCache pageCacheUnderTest = new MuninnPageCache( swapperFactory, jobScheduler, config( numberOfCachePages ).pageCacheTracer( tracer ) ) )
+            MuninnPageCache.Configuration configuration = config( numberOfCachePages ).pageCacheTracer( tracer ).compressedTierSize( compressedTierSize );
+            try ( PageCache pageCacheUnderTest = new MuninnPageCache( swapperFactory, jobScheduler, configuration ) )
             {
                 PageCacheStresser pageCacheStresser = new PageCacheStresser( numberOfPages, numberOfThreads, workingDirectory );
                 pageCacheStresser.stress( pageCacheUnderTest, tracer, condition );
@@ -97,6 +100,7 @@ public class PageCacheStressTest
         int numberOfThreads = 7;
 
         int numberOfCachePages = 1000;
+        long compressedTierSize;
 
         PageCacheTracer tracer = NULL;
         Condition condition;
@@ -141,6 +145,12 @@ public class PageCacheStressTest
             return this;
         }
 
+        public Builder withCompressedTierSize( long compressedTierSize )
+        {
+            this.compressedTierSize = compressedTierSize;
+            return this;
+        }
+
         public Builder withWorkingDirectory( Path workingDirectory )
         {
             this.workingDirectory = workingDirectory;
@@ -58,6 +58,13 @@ public class StubRead implements Read
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void nodeIndexMultiSeek( IndexReadSession index, NodeValueIndexCursor cursor, IndexQueryConstraints constraints,
+            PropertyIndexQuery.ExactPredicate[][] queries )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void relationshipIndexSeek( IndexReadSession index, RelationshipValueIndexCursor cursor, IndexQueryConstraints constraints,
             PropertyIndexQuery... query )
@@ -97,6 +104,18 @@ public class StubRead implements Read
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void nodeLabelIntersectionScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints, TokenPredicate... queries )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void nodeLabelUnionScan( TokenReadSession session, NodeLabelIndexCursor cursor, IndexQueryConstraints constraints, TokenPredicate... queries )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void allNodesScan( NodeCursor cursor )
     {
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.entry;
+
+import java.nio.ByteBuffer;
+
+import org.neo4j.kernel.KernelVersion;
+
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMPRESSED_COMMANDS;
+
+/**
+ * A block of {@link LogEntryCommand command entries} that was compressed as a whole when written. This entry is never handed out by the
+ * {@link VersionAwareLogEntryReader}, which instead hands out the decompressed command entries one by one, just as if they were written uncompressed.
+ * <pre>
+ *     COMPRESSED COMMANDS LOG ENTRY: [VERSION][TYPE][UNCOMPRESSED_LENGTH][COMPRESSED_LENGTH][COMPRESSED COMMAND ENTRIES]
+ * </pre>
+ */
+class LogEntryCompressedCommands extends AbstractLogEntry
+{
+    private final ByteBuffer commands;
+
+    LogEntryCompressedCommands( KernelVersion version, ByteBuffer commands )
+    {
+        super( version, COMPRESSED_COMMANDS );
+        this.commands = commands;
+    }
+
+    /**
+     * @return the decompressed command entries.
+     */
+    ByteBuffer commands()
+    {
+        return commands;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CompressedCommands[" + commands.remaining() + " bytes]";
+    }
+}
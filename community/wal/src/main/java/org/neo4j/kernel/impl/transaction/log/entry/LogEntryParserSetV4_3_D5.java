@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.entry;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.ReadableChannel;
+import org.neo4j.io.fs.ReadableChecksumChannel;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
+import org.neo4j.storageengine.api.CommandReaderFactory;
+
+/**
+ * Adds the {@link LogEntryTypeCodes#COMPRESSED_COMMANDS} entry, which holds all the commands of a transaction compressed into one entry.
+ */
+public class LogEntryParserSetV4_3_D5 extends LogEntryParserSetV4_3
+{
+    /**
+     * The largest uncompressed size of the commands of a {@link LogEntryTypeCodes#COMPRESSED_COMMANDS} entry. Larger commands are written uncompressed,
+     * so a larger length read from the log can only come from a corrupt entry.
+     */
+    public static final int MAX_UNCOMPRESSED_COMMANDS_LENGTH = (int) ByteUnit.mebiBytes( 64 );
+    private static final int COMPRESSED_COMMANDS_READ_CHUNK_SIZE = (int) ByteUnit.mebiBytes( 1 );
+
+    LogEntryParserSetV4_3_D5()
+    {
+        super( KernelVersion.V4_3_D5 );
+        register( new LogEntryParser( LogEntryTypeCodes.COMPRESSED_COMMANDS )
+        {
+            @Override
+            public LogEntry parse( KernelVersion version, ReadableChecksumChannel channel, LogPositionMarker marker, CommandReaderFactory commandReaderFactory )
+                    throws IOException
+            {
+                int uncompressedLength = channel.getInt();
+                int compressedLength = channel.getInt();
+                if ( uncompressedLength < 0 || uncompressedLength > MAX_UNCOMPRESSED_COMMANDS_LENGTH ||
+                     compressedLength < 0 || compressedLength > Zstd.compressBound( uncompressedLength ) )
+                {
+                    throw new IOException( "Invalid compressed commands lengths, uncompressed:" + uncompressedLength + ", compressed:" + compressedLength );
+                }
+                byte[] compressed = readCompressedCommands( channel, compressedLength );
+                byte[] commands = new byte[uncompressedLength];
+                long size = Zstd.decompressByteArray( commands, 0, uncompressedLength, compressed, 0, compressedLength );
+                if ( Zstd.isError( size ) || size != uncompressedLength )
+                {
+                    String reason = Zstd.isError( size ) ? Zstd.getErrorName( size ) : "got " + size + " bytes, expected " + uncompressedLength;
+                    throw new IOException( "Unable to decompress commands: " + reason );
+                }
+                return new LogEntryCompressedCommands( version, ByteBuffer.wrap( commands ) );
+            }
+        } );
+    }
+
+    /**
+     * Reads the compressed commands in chunks, so that the memory allocated for them is bounded by the bytes actually left in the channel, and not only
+     * by the length read from the log. A log that ends early then fails on reading past its end, rather than on allocating the full length up front.
+     */
+    private static byte[] readCompressedCommands( ReadableChannel channel, int length ) throws IOException
+    {
+        if ( length <= COMPRESSED_COMMANDS_READ_CHUNK_SIZE )
+        {
+            byte[] bytes = new byte[length];
+            channel.get( bytes, length );
+            return bytes;
+        }
+        byte[] chunk = new byte[COMPRESSED_COMMANDS_READ_CHUNK_SIZE];
+        byte[] bytes = new byte[COMPRESSED_COMMANDS_READ_CHUNK_SIZE];
+        int read = 0;
+        while ( read < length )
+        {
+            int chunkLength = Math.min( length - read, COMPRESSED_COMMANDS_READ_CHUNK_SIZE );
+            channel.get( chunk, chunkLength );
+            if ( bytes.length < read + chunkLength )
+            {
+                bytes = Arrays.copyOf( bytes, (int) Math.min( length, (long) bytes.length << 1 ) );
+            }
+            System.arraycopy( chunk, 0, bytes, read, chunkLength );
+            read += chunkLength;
+        }
+        return bytes;
+    }
+}
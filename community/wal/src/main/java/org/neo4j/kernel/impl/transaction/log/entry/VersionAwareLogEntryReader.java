@@ -45,6 +45,10 @@ public class VersionAwareLogEntryReader implements LogEntryReader
     private final boolean verifyChecksumChain;
     private LogEntryParserSet parserSet;
     private int lastTxChecksum = BASE_TX_CHECKSUM;
+    private DecompressedCommandsChannel compressedCommands;
+    private ReadableClosablePositionAwareChecksumChannel compressedCommandsSource;
+    private final LogPositionMarker compressedCommandsEnd = new LogPositionMarker();
+    private final LogPositionMarker currentPosition = new LogPositionMarker();
 
     public VersionAwareLogEntryReader( CommandReaderFactory commandReaderFactory )
     {
@@ -63,6 +67,14 @@ public class VersionAwareLogEntryReader implements LogEntryReader
     {
         try
         {
+            if ( compressedCommands != null )
+            {
+                LogEntry command = readCompressedCommand( channel );
+                if ( command != null )
+                {
+                    return command;
+                }
+            }
             while ( true )
             {
                 channel.getCurrentPosition( positionMarker );
@@ -128,6 +140,20 @@ public class VersionAwareLogEntryReader implements LogEntryReader
                     throw new IOException( e );
                 }
 
+                if ( entry instanceof LogEntryCompressedCommands )
+                {
+                    compressedCommands = new DecompressedCommandsChannel( ((LogEntryCompressedCommands) entry).commands() );
+                    compressedCommandsSource = channel;
+                    channel.getCurrentPosition( compressedCommandsEnd );
+                    LogEntry command = readCompressedCommand( channel );
+                    if ( command == null )
+                    {
+                        // An empty block, carry on with the entry after it
+                        continue;
+                    }
+                    return command;
+                }
+
                 verifyChecksumChain( entry );
                 return entry;
             }
@@ -138,6 +164,51 @@ public class VersionAwareLogEntryReader implements LogEntryReader
         }
     }
 
+    /**
+     * Reads the next command entry from the block of compressed commands read last, if the given channel is still positioned right after that block.
+     * Commands are read from the block as long as the caller keeps reading from where the block left off in the same channel, any other read
+     * discards the rest of the block.
+     *
+     * @return the next command entry of the block, or {@code null} if the block has no more commands or was discarded.
+     */
+    private LogEntry readCompressedCommand( ReadableClosablePositionAwareChecksumChannel channel ) throws IOException
+    {
+        if ( channel == compressedCommandsSource )
+        {
+            channel.getCurrentPosition( currentPosition );
+        }
+        if ( !compressedCommands.hasRemaining() || channel != compressedCommandsSource ||
+             currentPosition.getLogVersion() != compressedCommandsEnd.getLogVersion() ||
+             currentPosition.getByteOffset() != compressedCommandsEnd.getByteOffset() )
+        {
+            compressedCommands = null;
+            compressedCommandsSource = null;
+            return null;
+        }
+
+        byte versionCode = 0;
+        try
+        {
+            versionCode = compressedCommands.get();
+            byte typeCode = compressedCommands.get();
+            KernelVersion version = KernelVersion.getForVersion( versionCode );
+            if ( typeCode != LogEntryTypeCodes.COMMAND )
+            {
+                throw new IllegalStateException( "Unexpected entry type " + typeCode + " among compressed commands" );
+            }
+            return LogEntryParserSets.parserSet( version ).select( typeCode ).parse( version, compressedCommands, positionMarker, commandReaderFactory );
+        }
+        catch ( Exception e )
+        {
+            compressedCommands = null;
+            compressedCommandsSource = null;
+            LogPosition position = positionMarker.newPosition();
+            withMessage( e, e.getMessage() + ". Among compressed commands at position " + position + " and entry version " + versionCode );
+            throwIfInstanceOf( e, IOException.class );
+            throw new IOException( e );
+        }
+    }
+
     private void verifyChecksumChain( LogEntry e )
     {
         if ( VERIFY_CHECKSUM_CHAIN && verifyChecksumChain )
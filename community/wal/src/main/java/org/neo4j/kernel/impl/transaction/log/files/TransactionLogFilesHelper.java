@@ -36,6 +36,7 @@ public class TransactionLogFilesHelper
 {
     public static final String DEFAULT_NAME = "neostore.transaction.db";
     public static final String CHECKPOINT_FILE_PREFIX = "checkpoint";
+    public static final String RECYCLED_FILE_PREFIX = "recycled.";
     static final DirectoryStream.Filter<Path> DEFAULT_FILENAME_FILTER = new LogicalLogFilenameFilter( quote( DEFAULT_NAME ), quote( CHECKPOINT_FILE_PREFIX ) );
     public static final Predicate<String> DEFAULT_FILENAME_PREDICATE = file -> file.startsWith( DEFAULT_NAME ) || file.startsWith( CHECKPOINT_FILE_PREFIX );
 
@@ -44,8 +45,10 @@ public class TransactionLogFilesHelper
     private static final Path[] EMPTY_FILES_ARRAY = {};
 
     private final Path logBaseName;
+    private final Path recycledLogBaseName;
     private final FileSystemAbstraction fileSystem;
     private final DirectoryStream.Filter<Path> filenameFilter;
+    private final DirectoryStream.Filter<Path> recycledFilenameFilter;
 
     public TransactionLogFilesHelper( FileSystemAbstraction fileSystem, Path directory )
     {
@@ -57,6 +60,8 @@ public class TransactionLogFilesHelper
         this.fileSystem = fileSystem;
         this.logBaseName = directory.resolve( name );
         this.filenameFilter = new LogicalLogFilenameFilter( quote( name ) );
+        this.recycledLogBaseName = directory.resolve( RECYCLED_FILE_PREFIX + name );
+        this.recycledFilenameFilter = new LogicalLogFilenameFilter( quote( RECYCLED_FILE_PREFIX + name ) );
     }
 
     public Path getLogFileForVersion( long version )
@@ -64,6 +69,15 @@ public class TransactionLogFilesHelper
         return Path.of( logBaseName.toAbsolutePath() + VERSION_SUFFIX + version );
     }
 
+    /**
+     * @return the file a pruned log file of the given version is kept as while it waits to be reused for a later log version.
+     * Such files are not matched by {@link #getMatchedFiles()}.
+     */
+    public Path getRecycledLogFileForVersion( long version )
+    {
+        return Path.of( recycledLogBaseName.toAbsolutePath() + VERSION_SUFFIX + version );
+    }
+
     public static long getLogVersion( Path historyLogFile )
     {
         String historyLogFilename = historyLogFile.getFileName().toString();
@@ -90,6 +104,16 @@ public class TransactionLogFilesHelper
         return files;
     }
 
+    public Path[] getRecycledFiles() throws IOException
+    {
+        Path[] files = fileSystem.listFiles( recycledLogBaseName.getParent(), recycledFilenameFilter );
+        if ( files.length == 0 )
+        {
+            return EMPTY_FILES_ARRAY;
+        }
+        return files;
+    }
+
     public void accept( LogVersionVisitor visitor ) throws IOException
     {
         for ( Path file : getMatchedFiles() )